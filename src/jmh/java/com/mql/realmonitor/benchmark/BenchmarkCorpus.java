@@ -0,0 +1,64 @@
+package com.mql.realmonitor.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+
+/**
+ * Lädt die gespeicherten MQL5-Seiten für die Benchmarks.
+ * 
+ * Standardmäßig wird der mitgelieferte Korpus aus src/jmh/resources/corpus verwendet.
+ * Mit -Dbenchmark.corpus.dir=&lt;Verzeichnis&gt; können echte, gespeicherte Seiten
+ * (z.B. aus realtick/download_mql5) mit gleichem Dateinamen gemessen werden.
+ */
+public final class BenchmarkCorpus {
+    
+    public static final String CORPUS_DIR_PROPERTY = "benchmark.corpus.dir";
+    
+    public static final String SIGNAL_DESCRIPTION_PAGE = "signal_description.html";
+    public static final String SIGNAL_TRADITIONAL_PAGE = "signal_traditional.html";
+    public static final String QUOTES_PAGE = "quotes.html";
+    public static final String SIGNALS_LIST_PAGE = "signals_list.html";
+    
+    private BenchmarkCorpus() {
+    }
+    
+    /**
+     * Lädt eine Korpus-Seite als String.
+     * 
+     * @param fileName Dateiname innerhalb des Korpus
+     * @return Der HTML-Inhalt
+     * @throws IOException wenn die Seite nicht gefunden oder gelesen werden kann
+     */
+    public static String load(String fileName) throws IOException {
+        String externalDir = System.getProperty(CORPUS_DIR_PROPERTY);
+        if (externalDir != null && !externalDir.trim().isEmpty()) {
+            Path path = Paths.get(externalDir.trim(), fileName);
+            if (Files.exists(path)) {
+                return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+            }
+        }
+        
+        try (InputStream in = BenchmarkCorpus.class.getResourceAsStream("/corpus/" + fileName)) {
+            if (in == null) {
+                throw new IOException("Korpus-Seite nicht gefunden: " + fileName);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+    
+    /**
+     * Schaltet das java.util.logging der Parser ab.
+     * Sonst misst der Benchmark hauptsächlich die Konsolenausgabe statt des Parsings.
+     */
+    public static void silenceLogging() {
+        LogManager.getLogManager().reset();
+        Logger.getLogger("").setLevel(Level.OFF);
+    }
+}
@@ -0,0 +1,49 @@
+package com.mql.realmonitor.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mql.realmonitor.currency.CurrencyData;
+import com.mql.realmonitor.currency.CurrencyParser;
+
+/**
+ * Benchmark für CurrencyParser.parseRates über eine gespeicherte Kursseite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CurrencyParserBenchmark {
+    
+    private CurrencyParser parser;
+    private String quotesPage;
+    
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkCorpus.silenceLogging();
+        parser = new CurrencyParser();
+        quotesPage = BenchmarkCorpus.load(BenchmarkCorpus.QUOTES_PAGE);
+        
+        if (parser.parseRates(quotesPage).size() < 2) {
+            throw new IllegalStateException("Kursseite liefert nicht XAUUSD und BTCUSD");
+        }
+    }
+    
+    @Benchmark
+    public List<CurrencyData> parseRates() throws Exception {
+        return parser.parseRates(quotesPage);
+    }
+}
@@ -0,0 +1,46 @@
+package com.mql.realmonitor.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mql.realmonitor.gui.MqlSignalManager;
+
+/**
+ * Benchmark für die Auswertung der Signal-Liste (Top-10-Import im MqlSignalManager).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignalListParserBenchmark {
+    
+    private String signalsListPage;
+    
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkCorpus.silenceLogging();
+        signalsListPage = BenchmarkCorpus.load(BenchmarkCorpus.SIGNALS_LIST_PAGE);
+        
+        if (MqlSignalManager.parseTopSignals(signalsListPage).isEmpty()) {
+            throw new IllegalStateException("Signal-Liste enthält keine Einträge");
+        }
+    }
+    
+    @Benchmark
+    public Map<String, String> parseTopSignals() {
+        return MqlSignalManager.parseTopSignals(signalsListPage);
+    }
+}
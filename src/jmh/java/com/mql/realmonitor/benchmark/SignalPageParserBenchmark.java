@@ -0,0 +1,63 @@
+package com.mql.realmonitor.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mql.realmonitor.parser.HTMLParser;
+import com.mql.realmonitor.parser.SignalData;
+
+/**
+ * Benchmark für HTMLParser.parseSignalData.
+ * Misst getrennt den Pfad über das JavaScript description-Array und den
+ * traditionellen Pattern-Matching-Fallback.
+ * 
+ * Allokation pro Operation: mit "-prof gc" starten (Standard im benchmark-Profil).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignalPageParserBenchmark {
+    
+    private HTMLParser parser;
+    private String descriptionPage;
+    private String traditionalPage;
+    
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkCorpus.silenceLogging();
+        parser = new HTMLParser();
+        descriptionPage = BenchmarkCorpus.load(BenchmarkCorpus.SIGNAL_DESCRIPTION_PAGE);
+        traditionalPage = BenchmarkCorpus.load(BenchmarkCorpus.SIGNAL_TRADITIONAL_PAGE);
+        
+        // Korpus prüfen, damit nicht versehentlich der Fehlerpfad gemessen wird
+        if (parser.parseSignalData(descriptionPage, "bench-desc") == null) {
+            throw new IllegalStateException("Description-Seite konnte nicht geparst werden");
+        }
+        if (parser.parseSignalData(traditionalPage, "bench-trad") == null) {
+            throw new IllegalStateException("Traditionelle Seite konnte nicht geparst werden");
+        }
+    }
+    
+    @Benchmark
+    public SignalData descriptionArrayPath() {
+        return parser.parseSignalData(descriptionPage, "bench-desc");
+    }
+    
+    @Benchmark
+    public SignalData traditionalPath() {
+        return parser.parseSignalData(traditionalPage, "bench-trad");
+    }
+}
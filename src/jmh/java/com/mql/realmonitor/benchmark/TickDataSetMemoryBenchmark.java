@@ -0,0 +1,67 @@
+package com.mql.realmonitor.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mql.realmonitor.data.BinaryTickFile;
+import com.mql.realmonitor.data.TickDataLoader.TickData;
+import com.mql.realmonitor.data.TickDataLoader.TickDataSet;
+
+/**
+ * Benchmark für den Speicherbedarf einer Tick-Historie: Liste von TickData-Objekten
+ * gegenüber dem spaltenbasierten TickDataSet.
+ * Aussagekräftig ist gc.alloc.rate.norm (Bytes pro Aufruf) aus dem GC-Profiler (-prof gc).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TickDataSetMemoryBenchmark {
+    
+    @Param({"100000"})
+    private int tickCount;
+    
+    private LocalDateTime start;
+    private long startMillis;
+    
+    @Setup
+    public void setup() {
+        BenchmarkCorpus.silenceLogging();
+        start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        startMillis = BinaryTickFile.toEpochMillis(start);
+    }
+    
+    @Benchmark
+    public List<TickData> objectList() {
+        List<TickData> ticks = new ArrayList<>(tickCount);
+        for (int i = 0; i < tickCount; i++) {
+            ticks.add(new TickData(start.plusSeconds(i * 60L), 10000.0 + i, i % 100 - 50.0, i * 0.5));
+        }
+        return ticks;
+    }
+    
+    @Benchmark
+    public TickDataSet columnarDataSet() {
+        TickDataSet dataSet = new TickDataSet("benchmark", "benchmark.txt", start, tickCount);
+        for (int i = 0; i < tickCount; i++) {
+            dataSet.addTick(startMillis + i * 60_000L, 10000.0 + i, i % 100 - 50.0, i * 0.5);
+        }
+        return dataSet;
+    }
+}
@@ -0,0 +1,87 @@
+package com.mql.realmonitor.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mql.realmonitor.data.TickLineChecksum;
+import com.mql.realmonitor.data.TickLineParser;
+
+/**
+ * Benchmark für das Parsen von CSV-Tick-Zeilen: bisheriger Weg (String.split, LocalDateTime.parse,
+ * Regex in parseNumber) gegenüber dem TickLineParser.
+ * Gemessen wird ein Block von Zeilen im 5-Spalten-Format, die Hälfte mit Prüfsumme.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TickLineParserBenchmark {
+    
+    private static final int LINE_COUNT = 10_000;
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss");
+    
+    private String[] lines;
+    private TickLineParser parser;
+    
+    @Setup
+    public void setup() {
+        BenchmarkCorpus.silenceLogging();
+        parser = new TickLineParser();
+        lines = new String[LINE_COUNT];
+        
+        LocalDateTime timestamp = LocalDateTime.of(2025, 5, 24, 15, 13, 36);
+        for (int i = 0; i < LINE_COUNT; i++) {
+            String line = String.format(Locale.US, "%s,%.2f,%.2f,%.2f", timestamp.plusMinutes(i).format(DATETIME_FORMATTER)
+                                            .replace(' ', ','), 53745.30 + i, -479.54 + i % 100, 179.29 + i * 0.01);
+            lines[i] = i % 2 == 0 ? TickLineChecksum.append(line) : line;
+        }
+        
+        if (legacyParse() != tickLineParser()) {
+            throw new IllegalStateException("Beide Parser müssen dasselbe Ergebnis liefern");
+        }
+    }
+    
+    @Benchmark
+    public double legacyParse() {
+        double sum = 0;
+        for (String line : lines) {
+            if (TickLineChecksum.verify(line) == TickLineChecksum.Status.INVALID) {
+                continue;
+            }
+            String[] parts = TickLineChecksum.strip(line).split(",");
+            LocalDateTime timestamp = LocalDateTime.parse(parts[0].trim() + " " + parts[1].trim(), DATETIME_FORMATTER);
+            sum += timestamp.getMinute() + parseNumber(parts[2]) + parseNumber(parts[3]) + parseNumber(parts[4]);
+        }
+        return sum;
+    }
+    
+    @Benchmark
+    public double tickLineParser() {
+        double sum = 0;
+        for (String line : lines) {
+            if (parser.parse(line)) {
+                sum += (parser.getTimestampMillis() / 60_000L) % 60 + parser.getEquity() + parser.getFloatingProfit() + parser.getProfit();
+            }
+        }
+        return sum;
+    }
+    
+    private static double parseNumber(String numberStr) {
+        return Double.parseDouble(numberStr.trim().replaceAll("\\s+", "").replace(",", "."));
+    }
+}
@@ -0,0 +1 @@
+package com.mql.realmonitor.benchmark;
\ No newline at end of file
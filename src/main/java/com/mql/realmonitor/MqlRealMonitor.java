@@ -2,11 +2,14 @@ package com.mql.realmonitor;
 
 import com.mql.realmonitor.config.MqlRealMonitorConfig;
 import com.mql.realmonitor.currency.CurrencyDataLoader;
+import com.mql.realmonitor.data.TickDataCache;
+import com.mql.realmonitor.data.TickDataLoader;
 import com.mql.realmonitor.downloader.WebDownloader;
 import com.mql.realmonitor.downloader.DownloadResult;  // NEU: Import für DownloadResult
 import com.mql.realmonitor.downloader.FavoritesReader;
 import com.mql.realmonitor.parser.HTMLParser;
 import com.mql.realmonitor.parser.SignalData;
+import com.mql.realmonitor.tickdata.TickCompactionService;
 import com.mql.realmonitor.tickdata.TickDataWriter;
 import com.mql.realmonitor.gui.MqlRealMonitorGUI;
 import com.mql.realmonitor.utils.MqlUtils;
@@ -33,6 +36,7 @@ public class MqlRealMonitor {
     private WebDownloader downloader;
     private HTMLParser htmlParser;
     private TickDataWriter tickDataWriter;
+    private TickCompactionService tickCompactionService;
     private MqlRealMonitorGUI gui;
     private FavoritesReader favoritesReader;
     private ScheduledExecutorService scheduler;
@@ -86,6 +90,11 @@ public class MqlRealMonitor {
             downloader = new WebDownloader(config);
             htmlParser = new HTMLParser();
             tickDataWriter = new TickDataWriter(config);
+            TickDataCache.setMaxBytes(config.getTickCacheMb() * 1024L * 1024L); // NEU: Gemeinsamer Tick-Daten-Cache
+            TickDataLoader.setParallelLoadThreshold(config.getTickParallelLoadMb() * 1024L * 1024L); // NEU: Große Dateien parallel laden
+            tickDataWriter.recoverTickFiles(); // NEU: Abgerissene Zeilen nach Absturz entfernen
+            tickCompactionService = new TickCompactionService(config, tickDataWriter);
+            tickCompactionService.start(); // NEU: Aufbewahrungsregeln im Hintergrund anwenden
             favoritesReader = new FavoritesReader(config);
             
             // NEU: Currency Data Loader initialisieren
@@ -216,6 +225,7 @@ public class MqlRealMonitor {
      * NEU: Verwendet DownloadResult für präzise Fehlermeldungen
      */
     private void performMonitoringCycle() {
+        tickDataWriter.beginCycle();
         try {
             LOGGER.info("=== MONITORING-ZYKLUS START (MIT FEHLERDIAGNOSTIK) ===");
             gui.updateStatus("Lade Favoriten...");
@@ -302,12 +312,17 @@ public class MqlRealMonitor {
                 }
             }
             
+            // NEU: Group Commit - alle Tick-Einträge dieses Zyklus gemeinsam schreiben
+            int flushedFiles = tickDataWriter.flush();
+            LOGGER.info("Group Commit: " + flushedFiles + " Tick-Dateien geschrieben");
+            
             // Statistik loggen
             LOGGER.info("=== DOWNLOAD-STATISTIK ===");
             LOGGER.info("  Gesamt: " + favoriteIds.size());
             LOGGER.info("  Erfolgreich: " + successCount);
             LOGGER.info("  Fehler: " + errorCount);
             LOGGER.info("  Erfolgsrate: " + String.format("%.1f%%", (successCount * 100.0 / favoriteIds.size())));
+            LOGGER.info("  " + TickDataCache.getStatistics());
             
             // SCHRITT 2: NEU - Automatisches Currency Loading nach allen Signalprovidernale
             performAutomaticCurrencyLoading();
@@ -320,6 +335,10 @@ public class MqlRealMonitor {
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Fehler im Monitoring-Zyklus", e);
             gui.updateStatus("Fehler: " + e.getMessage());
+        } finally {
+            // Auch bei Abbruch keine Tick-Einträge im Puffer zurücklassen
+            tickDataWriter.flush();
+            tickDataWriter.endCycle();
         }
     }
     
@@ -382,6 +401,14 @@ public class MqlRealMonitor {
         return config;
     }
     
+    /**
+     * NEU: Gibt den gemeinsamen TickDataWriter zurück
+     * GUI und Toolbars verwenden dieselbe Instanz, damit der Last-Tick-Index nur einmal existiert
+     */
+    public TickDataWriter getTickDataWriter() {
+        return tickDataWriter;
+    }
+    
     /**
      * NEU: Prüft ob das Monitoring aktiv ist
      * Wird von StatusUpdater verwendet
@@ -421,6 +448,16 @@ public class MqlRealMonitor {
             }
         }
         
+        // NEU: Hintergrund-Kompaktierung vor dem Writer beenden
+        if (tickCompactionService != null) {
+            tickCompactionService.stop();
+        }
+        
+        // NEU: Gepufferte Tick-Einträge schreiben und offene Tick-Dateien schließen
+        if (tickDataWriter != null) {
+            tickDataWriter.close();
+        }
+        
         if (gui != null) {
             gui.dispose();
         }
@@ -27,12 +27,44 @@ public class MqlRealMonitorConfig {
     private static final String DEFAULT_USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36";
     private static final String DEFAULT_URL_TEMPLATE = "https://www.mql5.com/de/signals/%s?source=Site+Signals+Subscriptions#!tab=account";
     
+    // NEU: Standardwerte für das gepufferte Schreiben der Tick-Dateien
+    private static final String DEFAULT_TICK_DURABILITY = "FLUSH"; // FLUSH, FSYNC_BATCH oder FSYNC_TICK
+    private static final int DEFAULT_TICK_MAX_OPEN_FILES = 32;
+    private static final int DEFAULT_TICK_FLUSH_INTERVAL_SECONDS = 30;
+    private static final int DEFAULT_TICK_FLUSH_BUFFER_KB = 64;
+    private static final String DEFAULT_TICK_STORAGE_FORMAT = "CSV"; // CSV, BINARY oder LOG
+    private static final int DEFAULT_TICK_SEGMENT_MONTHS = 0; // 0 = keine Segmentierung
+    private static final boolean DEFAULT_TICK_CHECKSUMS = true;
+    private static final int DEFAULT_TICK_COMPRESS_AFTER_DAYS = 0; // 0 = keine Komprimierung
+    private static final int DEFAULT_TICK_RETENTION_DAYS = 0; // 0 = Ticks unbegrenzt aufbewahren
+    private static final int DEFAULT_TICK_THIN_AFTER_DAYS = 0; // 0 = nicht ausdünnen
+    private static final int DEFAULT_TICK_THIN_INTERVAL_MINUTES = 15;
+    private static final int DEFAULT_TICK_COMPACTION_KB_PER_SECOND = 256;
+    private static final int DEFAULT_TICK_CACHE_MB = 64;
+    private static final int DEFAULT_TICK_PARALLEL_LOAD_MB = 32;
+    
     // Konfigurationsvariablen - GEÄNDERT: intervalHour → intervalMinutes
     private int intervalMinutes;
     private int timeoutSeconds;
     private String userAgent;
     private String urlTemplate;
     
+    // NEU: Tick-Schreib-Optionen (Group Commit)
+    private String tickDurability;
+    private int tickMaxOpenFiles;
+    private int tickFlushIntervalSeconds;
+    private int tickFlushBufferKb;
+    private String tickStorageFormat;
+    private int tickSegmentMonths;
+    private boolean tickChecksums;
+    private int tickCompressAfterDays;
+    private int tickRetentionDays;
+    private int tickThinAfterDays;
+    private int tickThinIntervalMinutes;
+    private int tickCompactionKbPerSecond;
+    private int tickCacheMb;
+    private int tickParallelLoadMb;
+    
     // NEU: Dynamische Pfade basierend auf konfigurierbarem BASE_PATH
     private String basePath;
     private String configDir;
@@ -103,6 +135,20 @@ public class MqlRealMonitorConfig {
         this.timeoutSeconds = DEFAULT_TIMEOUT_SECONDS;
         this.userAgent = DEFAULT_USER_AGENT;
         this.urlTemplate = DEFAULT_URL_TEMPLATE;
+        this.tickDurability = DEFAULT_TICK_DURABILITY;
+        this.tickMaxOpenFiles = DEFAULT_TICK_MAX_OPEN_FILES;
+        this.tickFlushIntervalSeconds = DEFAULT_TICK_FLUSH_INTERVAL_SECONDS;
+        this.tickFlushBufferKb = DEFAULT_TICK_FLUSH_BUFFER_KB;
+        this.tickStorageFormat = DEFAULT_TICK_STORAGE_FORMAT;
+        this.tickSegmentMonths = DEFAULT_TICK_SEGMENT_MONTHS;
+        this.tickChecksums = DEFAULT_TICK_CHECKSUMS;
+        this.tickCompressAfterDays = DEFAULT_TICK_COMPRESS_AFTER_DAYS;
+        this.tickRetentionDays = DEFAULT_TICK_RETENTION_DAYS;
+        this.tickThinAfterDays = DEFAULT_TICK_THIN_AFTER_DAYS;
+        this.tickThinIntervalMinutes = DEFAULT_TICK_THIN_INTERVAL_MINUTES;
+        this.tickCompactionKbPerSecond = DEFAULT_TICK_COMPACTION_KB_PER_SECOND;
+        this.tickCacheMb = DEFAULT_TICK_CACHE_MB;
+        this.tickParallelLoadMb = DEFAULT_TICK_PARALLEL_LOAD_MB;
     }
     
     /**
@@ -179,6 +225,22 @@ public class MqlRealMonitorConfig {
         userAgent = properties.getProperty("userAgent", DEFAULT_USER_AGENT);
         urlTemplate = properties.getProperty("urlTemplate", DEFAULT_URL_TEMPLATE);
         
+        // NEU: Tick-Schreib-Optionen
+        tickDurability = properties.getProperty("tickDurability", DEFAULT_TICK_DURABILITY).trim().toUpperCase();
+        tickMaxOpenFiles = getIntProperty("tickMaxOpenFiles", DEFAULT_TICK_MAX_OPEN_FILES);
+        tickFlushIntervalSeconds = getIntProperty("tickFlushIntervalSeconds", DEFAULT_TICK_FLUSH_INTERVAL_SECONDS);
+        tickFlushBufferKb = getIntProperty("tickFlushBufferKb", DEFAULT_TICK_FLUSH_BUFFER_KB);
+        tickStorageFormat = properties.getProperty("tickStorageFormat", DEFAULT_TICK_STORAGE_FORMAT).trim().toUpperCase();
+        tickSegmentMonths = getIntProperty("tickSegmentMonths", DEFAULT_TICK_SEGMENT_MONTHS);
+        tickChecksums = Boolean.parseBoolean(properties.getProperty("tickChecksums", String.valueOf(DEFAULT_TICK_CHECKSUMS)).trim());
+        tickCompressAfterDays = getIntProperty("tickCompressAfterDays", DEFAULT_TICK_COMPRESS_AFTER_DAYS);
+        tickRetentionDays = getIntProperty("tickRetentionDays", DEFAULT_TICK_RETENTION_DAYS);
+        tickThinAfterDays = getIntProperty("tickThinAfterDays", DEFAULT_TICK_THIN_AFTER_DAYS);
+        tickThinIntervalMinutes = getIntProperty("tickThinIntervalMinutes", DEFAULT_TICK_THIN_INTERVAL_MINUTES);
+        tickCompactionKbPerSecond = getIntProperty("tickCompactionKbPerSecond", DEFAULT_TICK_COMPACTION_KB_PER_SECOND);
+        tickCacheMb = getIntProperty("tickCacheMb", DEFAULT_TICK_CACHE_MB);
+        tickParallelLoadMb = getIntProperty("tickParallelLoadMb", DEFAULT_TICK_PARALLEL_LOAD_MB);
+        
         // NEU: BASE_PATH aus Properties laden (falls dort gespeichert)
         String savedBasePath = properties.getProperty("basePath");
         if (savedBasePath != null && !savedBasePath.equals(basePath)) {
@@ -200,6 +262,22 @@ public class MqlRealMonitorConfig {
         properties.setProperty("userAgent", userAgent);
         properties.setProperty("urlTemplate", urlTemplate);
         
+        // NEU: Tick-Schreib-Optionen
+        properties.setProperty("tickDurability", tickDurability);
+        properties.setProperty("tickMaxOpenFiles", String.valueOf(tickMaxOpenFiles));
+        properties.setProperty("tickFlushIntervalSeconds", String.valueOf(tickFlushIntervalSeconds));
+        properties.setProperty("tickFlushBufferKb", String.valueOf(tickFlushBufferKb));
+        properties.setProperty("tickStorageFormat", tickStorageFormat);
+        properties.setProperty("tickSegmentMonths", String.valueOf(tickSegmentMonths));
+        properties.setProperty("tickChecksums", String.valueOf(tickChecksums));
+        properties.setProperty("tickCompressAfterDays", String.valueOf(tickCompressAfterDays));
+        properties.setProperty("tickRetentionDays", String.valueOf(tickRetentionDays));
+        properties.setProperty("tickThinAfterDays", String.valueOf(tickThinAfterDays));
+        properties.setProperty("tickThinIntervalMinutes", String.valueOf(tickThinIntervalMinutes));
+        properties.setProperty("tickCompactionKbPerSecond", String.valueOf(tickCompactionKbPerSecond));
+        properties.setProperty("tickCacheMb", String.valueOf(tickCacheMb));
+        properties.setProperty("tickParallelLoadMb", String.valueOf(tickParallelLoadMb));
+        
         // NEU: BASE_PATH für Referenz speichern (wird aber nicht beim Laden verwendet)
         properties.setProperty("basePath", basePath);
         properties.setProperty("configDir", configDir);
@@ -258,6 +336,17 @@ public class MqlRealMonitorConfig {
         LOGGER.info("  Favoriten-Datei: " + favoritesFile);
         LOGGER.info("  Download-Verzeichnis: " + downloadDir);
         LOGGER.info("  Tick-Verzeichnis: " + tickDir);
+        LOGGER.info("  Tick-Durability: " + tickDurability + " (max. " + tickMaxOpenFiles + " offene Dateien, Flush alle " + 
+                   tickFlushIntervalSeconds + "s oder " + tickFlushBufferKb + " KB)");
+        LOGGER.info("  Tick-Speicherformat: " + tickStorageFormat);
+        LOGGER.info("  Tick-Segmente: " + (tickSegmentMonths > 0 ? tickSegmentMonths + " Monat(e)" : "deaktiviert"));
+        LOGGER.info("  Tick-Prüfsummen: " + (tickChecksums ? "aktiviert" : "deaktiviert"));
+        LOGGER.info("  Tick-Komprimierung: " + (tickCompressAfterDays > 0 ? "Segmente älter als " + tickCompressAfterDays + " Tage" : "deaktiviert"));
+        LOGGER.info("  Tick-Aufbewahrung: " + (tickRetentionDays > 0 ? tickRetentionDays + " Tage" : "unbegrenzt") +
+                   ", Ausdünnen: " + (tickThinAfterDays > 0 ? "nach " + tickThinAfterDays + " Tagen auf " + tickThinIntervalMinutes + " Minuten" : "deaktiviert") +
+                   ", Drosselung: " + tickCompactionKbPerSecond + " KB/s");
+        LOGGER.info("  Tick-Cache: " + (tickCacheMb > 0 ? tickCacheMb + " MB" : "deaktiviert"));
+        LOGGER.info("  Paralleles Laden: " + (tickParallelLoadMb > 0 ? "ab " + tickParallelLoadMb + " MB" : "deaktiviert"));
         LOGGER.info("  Config-Datei: " + configFile);
         LOGGER.info("===============================");
     }
@@ -311,6 +400,133 @@ public class MqlRealMonitorConfig {
         return tickDir;
     }
     
+    /**
+     * NEU: Durability-Policy für Tick-Dateien: FLUSH, FSYNC_BATCH oder FSYNC_TICK
+     */
+    public String getTickDurability() {
+        return tickDurability;
+    }
+    
+    /**
+     * NEU: Maximale Anzahl gleichzeitig offener Tick-Dateien
+     */
+    public int getTickMaxOpenFiles() {
+        return tickMaxOpenFiles;
+    }
+    
+    /**
+     * NEU: Maximales Alter gepufferter Tick-Einträge in Sekunden bis zum Flush
+     */
+    public int getTickFlushIntervalSeconds() {
+        return tickFlushIntervalSeconds;
+    }
+    
+    /**
+     * NEU: Puffergröße in KB, ab der gepufferte Tick-Einträge geschrieben werden
+     */
+    public int getTickFlushBufferKb() {
+        return tickFlushBufferKb;
+    }
+    
+    /**
+     * NEU: Speicherformat für neue Tick-Einträge: CSV, BINARY oder LOG
+     */
+    public String getTickStorageFormat() {
+        return tickStorageFormat;
+    }
+    
+    /**
+     * NEU: true wenn Ticks im binären Format (.tkb) geschrieben werden
+     */
+    public boolean isBinaryTickStorage() {
+        return "BINARY".equals(tickStorageFormat);
+    }
+    
+    /**
+     * NEU: true wenn Ticks aller Signale in das gemeinsame Tick-Log (tick/ticks.log) geschrieben werden
+     */
+    public boolean isLogTickStorage() {
+        return "LOG".equals(tickStorageFormat);
+    }
+    
+    /**
+     * NEU: Länge eines Tick-Segments in Monaten (0 = keine Segmentierung)
+     */
+    public int getTickSegmentMonths() {
+        return tickSegmentMonths;
+    }
+    
+    /**
+     * NEU: true wenn CSV-Tick-Dateien in Zeit-Segmente aufgeteilt werden
+     */
+    public boolean isTickSegmentationEnabled() {
+        return tickSegmentMonths > 0 && "CSV".equals(tickStorageFormat);
+    }
+    
+    /**
+     * NEU: true wenn CSV-Tick-Zeilen mit CRC32-Prüfsumme geschrieben werden
+     */
+    public boolean isTickChecksums() {
+        return tickChecksums;
+    }
+    
+    /**
+     * NEU: Alter in Tagen, ab dem abgeschlossene Tick-Segmente komprimiert werden (0 = nie)
+     */
+    public int getTickCompressAfterDays() {
+        return tickCompressAfterDays;
+    }
+    
+    /**
+     * NEU: Alter in Tagen, ab dem Ticks aus abgeschlossenen Segmenten gelöscht werden (0 = nie)
+     * ERWEITERT: Gilt auch für nicht segmentierte CSV-Tick-Dateien
+     */
+    public int getTickRetentionDays() {
+        return tickRetentionDays;
+    }
+    
+    /**
+     * NEU: Alter in Tagen, ab dem Ticks auf einen Tick pro tickThinIntervalMinutes ausgedünnt werden (0 = nie)
+     */
+    public int getTickThinAfterDays() {
+        return tickThinAfterDays;
+    }
+    
+    public int getTickThinIntervalMinutes() {
+        return tickThinIntervalMinutes;
+    }
+    
+    /**
+     * NEU: Maximaler Durchsatz der Hintergrund-Kompaktierung in KB pro Sekunde
+     */
+    public int getTickCompactionKbPerSecond() {
+        return tickCompactionKbPerSecond;
+    }
+    
+    /**
+     * NEU: Maximale Größe des prozessweiten Tick-Daten-Caches in MB (0 = deaktiviert)
+     */
+    public int getTickCacheMb() {
+        return tickCacheMb;
+    }
+    
+    /**
+     * NEU: Dateigröße in MB, ab der CSV-Tick-Dateien memory-mapped und parallel geladen werden (0 = deaktiviert)
+     */
+    public int getTickParallelLoadMb() {
+        return tickParallelLoadMb;
+    }
+    
+    /**
+     * NEU: true wenn die Hintergrund-Kompaktierung laufen soll (nur für segmentierte CSV-Tick-Dateien)
+     * ERWEITERT: Auch für das Komprimieren alter Segmente (tickCompressAfterDays)
+     * ERWEITERT: Die Aufbewahrungsfrist gilt auch für nicht segmentierte CSV-Tick-Dateien
+     */
+    public boolean isTickCompactionEnabled() {
+        return (tickRetentionDays > 0 || tickThinAfterDays > 0 || tickCompressAfterDays > 0) && isTickSegmentationEnabled() ||
+               tickRetentionDays > 0 && !isBinaryTickStorage() && !isLogTickStorage();
+    }
+    
     /**
      * NEU: Gibt den Pfad zur Config-Datei zurück
      */
@@ -372,6 +588,89 @@ public class MqlRealMonitorConfig {
         }
     }
     
+    public void setTickDurability(String tickDurability) {
+        if (tickDurability != null && !tickDurability.trim().isEmpty()) {
+            this.tickDurability = tickDurability.trim().toUpperCase();
+        }
+    }
+    
+    public void setTickMaxOpenFiles(int tickMaxOpenFiles) {
+        if (tickMaxOpenFiles > 0) {
+            this.tickMaxOpenFiles = tickMaxOpenFiles;
+        }
+    }
+    
+    public void setTickFlushIntervalSeconds(int tickFlushIntervalSeconds) {
+        if (tickFlushIntervalSeconds > 0) {
+            this.tickFlushIntervalSeconds = tickFlushIntervalSeconds;
+        }
+    }
+    
+    public void setTickFlushBufferKb(int tickFlushBufferKb) {
+        if (tickFlushBufferKb > 0) {
+            this.tickFlushBufferKb = tickFlushBufferKb;
+        }
+    }
+    
+    public void setTickStorageFormat(String tickStorageFormat) {
+        if ("CSV".equalsIgnoreCase(tickStorageFormat) || "BINARY".equalsIgnoreCase(tickStorageFormat) ||
+            "LOG".equalsIgnoreCase(tickStorageFormat)) {
+            this.tickStorageFormat = tickStorageFormat.trim().toUpperCase();
+        }
+    }
+    
+    public void setTickSegmentMonths(int tickSegmentMonths) {
+        if (tickSegmentMonths >= 0 && tickSegmentMonths <= 12) {
+            this.tickSegmentMonths = tickSegmentMonths;
+        }
+    }
+    
+    public void setTickChecksums(boolean tickChecksums) {
+        this.tickChecksums = tickChecksums;
+    }
+    
+    public void setTickCompressAfterDays(int tickCompressAfterDays) {
+        if (tickCompressAfterDays >= 0) {
+            this.tickCompressAfterDays = tickCompressAfterDays;
+        }
+    }
+    
+    public void setTickRetentionDays(int tickRetentionDays) {
+        if (tickRetentionDays >= 0) {
+            this.tickRetentionDays = tickRetentionDays;
+        }
+    }
+    
+    public void setTickThinAfterDays(int tickThinAfterDays) {
+        if (tickThinAfterDays >= 0) {
+            this.tickThinAfterDays = tickThinAfterDays;
+        }
+    }
+    
+    public void setTickThinIntervalMinutes(int tickThinIntervalMinutes) {
+        if (tickThinIntervalMinutes > 0) {
+            this.tickThinIntervalMinutes = tickThinIntervalMinutes;
+        }
+    }
+    
+    public void setTickCompactionKbPerSecond(int tickCompactionKbPerSecond) {
+        if (tickCompactionKbPerSecond > 0) {
+            this.tickCompactionKbPerSecond = tickCompactionKbPerSecond;
+        }
+    }
+    
+    public void setTickCacheMb(int tickCacheMb) {
+        if (tickCacheMb >= 0) {
+            this.tickCacheMb = tickCacheMb;
+        }
+    }
+    
+    public void setTickParallelLoadMb(int tickParallelLoadMb) {
+        if (tickParallelLoadMb >= 0) {
+            this.tickParallelLoadMb = tickParallelLoadMb;
+        }
+    }
+    
     /**
      * NEU: Erlaubt nachträgliche Änderung des BASE_PATH
      * ACHTUNG: Bereits geladene Konfiguration wird neu eingelesen!
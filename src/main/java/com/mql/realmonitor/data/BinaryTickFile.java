@@ -0,0 +1,414 @@
+package com.mql.realmonitor.data;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.mql.realmonitor.data.TickDataLoader.TickData;
+import com.mql.realmonitor.data.TickDataLoader.TickDataSet;
+
+/**
+ * NEU: Binäres Tick-Format mit festen Satzlängen
+ * Alternative zum CSV-Format: kein String.split/LocalDateTime.parse beim Laden,
+ * Lesen über memory-mapped FileChannels und O(1) Zugriff auf jeden Tick.
+ * 
+ * Dateiaufbau (Big Endian):
+ * - Header (32 Bytes): Magic "MQLT", Version, Satzlänge, reserviert, Erstellzeit (Epoch-Millis), reserviert
+ * - Sätze (je 32 Bytes): Zeitstempel (Epoch-Millis), Equity, Floating Profit, Profit (je double)
+ * 
+ * Zeitstempel sind lokale Zeiten (wie im CSV), kodiert als Epoch-Millis mit Offset UTC.
+ * Damit ist die Umwandlung verlustfrei und unabhängig von Sommerzeit-Umstellungen.
+ * Ein unvollständiger letzter Satz (abgebrochener Schreibvorgang) wird beim Lesen ignoriert.
+ */
+public class BinaryTickFile {
+    
+    private static final Logger LOGGER = Logger.getLogger(BinaryTickFile.class.getName());
+    
+    public static final String FILE_EXTENSION = ".tkb";
+    
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 32;
+    public static final int RECORD_SIZE = 32;
+    
+    private static final int MAGIC = 0x4D514C54; // "MQLT"
+    
+    /**
+     * Liefert den Pfad der Binärdatei zu einem CSV-Tick-Pfad (xyz.txt -> xyz.tkb)
+     * 
+     * @param csvFilePath Pfad der CSV-Tick-Datei
+     * @return Pfad der zugehörigen Binärdatei
+     */
+    public static String getBinaryPath(String csvFilePath) {
+        if (csvFilePath.endsWith(FILE_EXTENSION)) {
+            return csvFilePath;
+        }
+        if (csvFilePath.endsWith(".txt")) {
+            return csvFilePath.substring(0, csvFilePath.length() - 4) + FILE_EXTENSION;
+        }
+        return csvFilePath + FILE_EXTENSION;
+    }
+    
+    /**
+     * Prüft ob für einen Tick-Pfad die Binärdatei verwendet werden soll
+     * Das ist der Fall wenn sie existiert und mindestens so aktuell ist wie die CSV-Datei.
+     * 
+     * @param csvFilePath Pfad der CSV-Tick-Datei
+     * @return Pfad der Binärdatei oder null wenn CSV gelesen werden soll
+     */
+    public static String getPreferredBinaryPath(String csvFilePath) {
+        if (csvFilePath == null) {
+            return null;
+        }
+        
+        File binaryFile = new File(getBinaryPath(csvFilePath));
+        if (!binaryFile.exists()) {
+            return null;
+        }
+        
+        File csvFile = new File(csvFilePath);
+        if (!csvFile.exists() || csvFile.equals(binaryFile) || binaryFile.lastModified() >= csvFile.lastModified()) {
+            return binaryFile.getPath();
+        }
+        
+        return null;
+    }
+    
+    public static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+    
+    public static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000L),
+                                           (int) Math.floorMod(epochMillis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+    
+    /**
+     * Erzeugt den Datei-Header
+     * 
+     * @param createdDate Erstellzeitpunkt (oder null für jetzt)
+     * @return Header-Bytes
+     */
+    public static byte[] createHeader(LocalDateTime createdDate) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(RECORD_SIZE);
+        header.putInt(0);
+        header.putLong(toEpochMillis(createdDate != null ? createdDate : LocalDateTime.now()));
+        header.putLong(0L);
+        return header.array();
+    }
+    
+    /**
+     * Kodiert einen Tick als Satz fester Länge
+     */
+    public static byte[] encodeRecord(LocalDateTime timestamp, double equity, double floatingProfit, double profit) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.putLong(toEpochMillis(timestamp));
+        record.putDouble(equity);
+        record.putDouble(floatingProfit);
+        record.putDouble(profit);
+        return record.array();
+    }
+    
+    /**
+     * Legt eine neue, leere Binärdatei mit Header an
+     * 
+     * @param binaryPath Pfad der Binärdatei
+     * @param createdDate Erstellzeitpunkt
+     */
+    public static void createFile(Path binaryPath, LocalDateTime createdDate) throws IOException {
+        Files.write(binaryPath, createHeader(createdDate),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+    
+    /**
+     * NEU: Schneidet einen unvollständigen letzten Satz ab (abgebrochener Schreibvorgang)
+     * Muss vor dem ersten Anhängen geschehen - sonst liegen alle folgenden Sätze versetzt.
+     * 
+     * @param binaryPath Pfad der Binärdatei
+     * @return Anzahl abgeschnittener Bytes (0 wenn die Datei intakt ist)
+     */
+    public static int truncateIncompleteRecord(Path binaryPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(binaryPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                return 0; // Header unvollständig - wird vom Reader abgewiesen
+            }
+            
+            long validSize = HEADER_SIZE + (size - HEADER_SIZE) / RECORD_SIZE * RECORD_SIZE;
+            if (validSize == size) {
+                return 0;
+            }
+            
+            channel.truncate(validSize);
+            channel.force(false);
+            LOGGER.warning("Unvollständigen Satz am Ende der Binärdatei abgeschnitten: " + binaryPath + 
+                          " (" + (size - validSize) + " Bytes)");
+            return (int) (size - validSize);
+        }
+    }
+    
+    /**
+     * Memory-mapped Lesezugriff auf eine Binärdatei
+     * Jeder Tick ist per Index in O(1) erreichbar, Zeitbereiche per binärer Suche.
+     */
+    public static class Reader implements Closeable {
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final int recordCount;
+        private final LocalDateTime createdDate;
+        
+        public Reader(Path binaryPath) throws IOException {
+            this.channel = FileChannel.open(binaryPath, StandardOpenOption.READ);
+            
+            try {
+                long size = channel.size();
+                if (size < HEADER_SIZE) {
+                    throw new IOException("Binäre Tick-Datei zu klein (kein Header): " + binaryPath);
+                }
+                
+                this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                
+                if (buffer.getInt(0) != MAGIC) {
+                    throw new IOException("Keine binäre Tick-Datei (Magic fehlt): " + binaryPath);
+                }
+                int version = buffer.getInt(4);
+                int recordSize = buffer.getInt(8);
+                if (version != VERSION || recordSize != RECORD_SIZE) {
+                    throw new IOException("Nicht unterstützte Version " + version + "/" + recordSize + ": " + binaryPath);
+                }
+                
+                this.createdDate = fromEpochMillis(buffer.getLong(16));
+                // Unvollständiger letzter Satz wird ignoriert
+                this.recordCount = (int) ((size - HEADER_SIZE) / RECORD_SIZE);
+            
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+        
+        public int getRecordCount() { return recordCount; }
+        public LocalDateTime getCreatedDate() { return createdDate; }
+        
+        public long getEpochMillis(int index) { return buffer.getLong(offset(index)); }
+        public double getEquity(int index) { return buffer.getDouble(offset(index) + 8); }
+        public double getFloatingProfit(int index) { return buffer.getDouble(offset(index) + 16); }
+        public double getProfit(int index) { return buffer.getDouble(offset(index) + 24); }
+        
+        public LocalDateTime getTimestamp(int index) {
+            return fromEpochMillis(getEpochMillis(index));
+        }
+        
+        public TickData getTick(int index) {
+            return new TickData(getTimestamp(index), getEquity(index), getFloatingProfit(index), getProfit(index));
+        }
+        
+        /**
+         * @return Index des ersten Ticks mit Zeitstempel >= epochMillis (recordCount wenn keiner)
+         */
+        public int lowerBound(long epochMillis) {
+            int low = 0;
+            int high = recordCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (getEpochMillis(mid) < epochMillis) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+        
+        /**
+         * @return Index des ersten Ticks mit Zeitstempel > epochMillis (recordCount wenn keiner)
+         */
+        public int upperBound(long epochMillis) {
+            int low = 0;
+            int high = recordCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (getEpochMillis(mid) <= epochMillis) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+        
+        /**
+         * Erstellt ein TickDataSet aus dem Index-Bereich [fromIndex, toIndex)
+         */
+        public TickDataSet toDataSet(String signalId, String filePath, int fromIndex, int toIndex) {
+            int from = Math.max(0, fromIndex);
+            int to = Math.min(recordCount, toIndex);
+            TickDataSet dataSet = new TickDataSet(signalId, filePath, createdDate, Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                dataSet.addTick(getEpochMillis(i), getEquity(i), getFloatingProfit(i), getProfit(i));
+            }
+            return dataSet;
+        }
+        
+        private int offset(int index) {
+            if (index < 0 || index >= recordCount) {
+                throw new IndexOutOfBoundsException("Tick-Index " + index + " außerhalb 0.." + (recordCount - 1));
+            }
+            return HEADER_SIZE + index * RECORD_SIZE;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+    
+    /**
+     * Lädt alle Ticks einer Binärdatei
+     * 
+     * @return TickDataSet oder null wenn keine Ticks vorhanden/Fehler
+     */
+    public static TickDataSet load(String binaryPath, String signalId) {
+        try (Reader reader = new Reader(Paths.get(binaryPath))) {
+            if (reader.getRecordCount() == 0) {
+                LOGGER.warning("Keine Ticks in binärer Tick-Datei: " + binaryPath);
+                return null;
+            }
+            TickDataSet dataSet = reader.toDataSet(signalId, binaryPath, 0, reader.getRecordCount());
+            LOGGER.info("Binäre Tick-Daten geladen: " + dataSet.getTickCount() + " Einträge für Signal " + signalId);
+            return dataSet;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Fehler beim Lesen der binären Tick-Datei: " + binaryPath, e);
+            return null;
+        }
+    }
+    
+    /**
+     * Lädt nur die Ticks eines Zeitraums (binäre Suche statt vollständigem Durchlauf)
+     * 
+     * @param fromDate Startdatum (inklusive)
+     * @param toDate Enddatum (inklusive)
+     */
+    public static TickDataSet loadRange(String binaryPath, String signalId, LocalDateTime fromDate, LocalDateTime toDate) {
+        try (Reader reader = new Reader(Paths.get(binaryPath))) {
+            int from = reader.lowerBound(toEpochMillis(fromDate));
+            int to = reader.upperBound(toEpochMillis(toDate));
+            TickDataSet dataSet = reader.toDataSet(signalId, binaryPath, from, to);
+            LOGGER.info("Binäre Tick-Daten für Zeitraum " + fromDate + " bis " + toDate + ": " +
+                       dataSet.getTickCount() + " von " + reader.getRecordCount() + " Ticks");
+            return dataSet;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Fehler beim Lesen der binären Tick-Datei: " + binaryPath, e);
+            return null;
+        }
+    }
+    
+    /**
+     * Lädt die neuesten N Ticks (direkter Zugriff auf das Dateiende)
+     */
+    public static TickDataSet loadLatest(String binaryPath, String signalId, int maxTicks) {
+        try (Reader reader = new Reader(Paths.get(binaryPath))) {
+            if (reader.getRecordCount() == 0) {
+                return null;
+            }
+            int from = Math.max(0, reader.getRecordCount() - maxTicks);
+            return reader.toDataSet(signalId, binaryPath, from, reader.getRecordCount());
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Fehler beim Lesen der binären Tick-Datei: " + binaryPath, e);
+            return null;
+        }
+    }
+    
+    /**
+     * Liest nur den letzten vollständigen Tick, ohne die Datei zu mappen
+     * 
+     * @return Der letzte Tick oder null wenn keiner vorhanden
+     */
+    public static TickData readLastTick(Path binaryPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(binaryPath, StandardOpenOption.READ)) {
+            long records = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+            if (records <= 0) {
+                return null;
+            }
+            
+            ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+            long position = HEADER_SIZE + (records - 1) * RECORD_SIZE;
+            while (record.hasRemaining()) {
+                if (channel.read(record, position + record.position()) < 0) {
+                    return null;
+                }
+            }
+            record.flip();
+            return new TickData(fromEpochMillis(record.getLong()), record.getDouble(), record.getDouble(), record.getDouble());
+        }
+    }
+    
+    /**
+     * Migriert eine CSV-Tick-Datei ins Binärformat
+     * Die Binärdatei wird zuerst als Temp-Datei geschrieben und dann atomar umbenannt.
+     * Die CSV-Datei bleibt unverändert erhalten.
+     * 
+     * @param csvFilePath Pfad der CSV-Tick-Datei
+     * @param signalId Die Signal-ID
+     * @return Anzahl migrierter Ticks oder -1 bei Fehlern
+     */
+    public static int migrateFromCsv(String csvFilePath, String signalId) {
+        String binaryPath = getBinaryPath(csvFilePath);
+        LOGGER.info("Migriere CSV-Tick-Datei ins Binärformat: " + csvFilePath + " -> " + binaryPath);
+        
+        TickDataSet dataSet = TickDataLoader.loadCsvTickData(csvFilePath, signalId);
+        Path target = Paths.get(binaryPath);
+        Path temp = Paths.get(binaryPath + ".tmp");
+        
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            LocalDateTime created = dataSet != null ? dataSet.getCreatedDate() : null;
+            out.write(createHeader(created));
+            
+            if (dataSet != null) {
+                ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+                for (TickData tick : dataSet.getTicks()) {
+                    record.clear();
+                    record.putLong(toEpochMillis(tick.getTimestamp()));
+                    record.putDouble(tick.getEquity());
+                    record.putDouble(tick.getFloatingProfit());
+                    record.putDouble(tick.getProfit());
+                    out.write(record.array());
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Fehler bei der Migration ins Binärformat: " + csvFilePath, e);
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Temp-Datei bleibt liegen - wird beim nächsten Versuch überschrieben
+            }
+            return -1;
+        }
+        
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Fehler beim Umbenennen der migrierten Binärdatei: " + binaryPath, e);
+            return -1;
+        }
+        
+        int count = dataSet != null ? dataSet.getTickCount() : 0;
+        LOGGER.info("Migration abgeschlossen: " + count + " Ticks nach " + binaryPath);
+        return count;
+    }
+}
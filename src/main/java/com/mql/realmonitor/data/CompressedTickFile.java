@@ -0,0 +1,403 @@
+package com.mql.realmonitor.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.mql.realmonitor.data.TickDataLoader.TickData;
+import com.mql.realmonitor.data.TickDataLoader.TickDataSet;
+
+/**
+ * NEU: Komprimiertes Format für alte Tick-Segmente (Gorilla-Verfahren)
+ * Aufeinanderfolgende Ticks unterscheiden sich kaum: Zeitabstände sind nahezu regelmäßig
+ * und Equity/Profit ändern sich oft gar nicht. Deshalb werden gespeichert:
+ * - Zeitstempel als Delta-of-Delta in Sekunden (meist 1 Bit pro Tick)
+ * - Equity, Floating Profit und Profit jeweils als XOR zum Vorgänger (unverändert = 1 Bit)
+ * 
+ * Dateiaufbau: Magic "MQLG", Version, Anzahl Ticks, Erstellzeit (Epoch-Millis), danach der Bitstrom.
+ * Gelesen wird streamend über den Decoder - ohne die Datei vorher komplett zu entpacken.
+ */
+public class CompressedTickFile {
+    
+    private static final Logger LOGGER = Logger.getLogger(CompressedTickFile.class.getName());
+    
+    public static final String FILE_EXTENSION = ".tkz";
+    
+    public static final int VERSION = 1;
+    
+    private static final int MAGIC = 0x4D514C47; // "MQLG"
+    
+    /**
+     * @return true wenn der Pfad eine komprimierte Tick-Datei bezeichnet
+     */
+    public static boolean isCompressed(String path) {
+        return path != null && path.endsWith(FILE_EXTENSION);
+    }
+    
+    /**
+     * Liefert den Pfad der komprimierten Datei zu einer Segment-Datei (xyz.txt -> xyz.tkz)
+     */
+    public static String getCompressedFileName(String fileName) {
+        if (fileName.endsWith(".txt")) {
+            return fileName.substring(0, fileName.length() - 4) + FILE_EXTENSION;
+        }
+        return fileName + FILE_EXTENSION;
+    }
+    
+    /**
+     * Schreibt Ticks komprimiert (Temp-Datei + atomares Umbenennen)
+     * 
+     * @param target Zieldatei
+     * @param createdDate Erstellzeit für den Header (null = jetzt)
+     * @param ticks Die Ticks in chronologischer Reihenfolge
+     */
+    public static void write(Path target, LocalDateTime createdDate, List<TickData> ticks) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(ticks.size());
+            out.writeLong((createdDate != null ? createdDate : LocalDateTime.now()).toInstant(ZoneOffset.UTC).toEpochMilli());
+            
+            Encoder encoder = new Encoder(out);
+            for (TickData tick : ticks) {
+                encoder.encode(tick);
+            }
+            encoder.finish();
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * Lädt die Ticks einer komprimierten Datei, optional auf einen Zeitraum begrenzt
+     * Das Dekodieren endet, sobald der Zeitraum überschritten ist.
+     * 
+     * @param fromDate Startdatum (inklusive) oder null
+     * @param toDate Enddatum (inklusive) oder null
+     * @return TickDataSet oder null bei Fehlern
+     */
+    public static TickDataSet load(Path path, String signalId, LocalDateTime fromDate, LocalDateTime toDate) {
+        try (Decoder decoder = new Decoder(path)) {
+            TickDataSet dataSet = new TickDataSet(signalId, path.toString(), decoder.getCreatedDate());
+            
+            TickData tick;
+            while ((tick = decoder.next()) != null) {
+                if (toDate != null && tick.getTimestamp().isAfter(toDate)) {
+                    break;
+                }
+                if (fromDate == null || !tick.getTimestamp().isBefore(fromDate)) {
+                    dataSet.addTick(tick);
+                }
+            }
+            
+            LOGGER.fine("Komprimierte Tick-Daten geladen: " + dataSet.getTickCount() + " von " +
+                       decoder.getTickCount() + " Ticks aus " + path);
+            return dataSet;
+        
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Fehler beim Lesen der komprimierten Tick-Datei: " + path, e);
+            return null;
+        }
+    }
+    
+    /**
+     * Kodiert Ticks in den Bitstrom
+     */
+    private static class Encoder {
+        private final BitOutput bits;
+        private final ValueEncoder equity = new ValueEncoder();
+        private final ValueEncoder floatingProfit = new ValueEncoder();
+        private final ValueEncoder profit = new ValueEncoder();
+        
+        private boolean first = true;
+        private long previousTime;
+        private long previousDelta;
+        
+        Encoder(OutputStream out) {
+            this.bits = new BitOutput(out);
+        }
+        
+        void encode(TickData tick) throws IOException {
+            long time = tick.getTimestamp().toEpochSecond(ZoneOffset.UTC);
+            
+            if (first) {
+                bits.writeBits(time, 64);
+                first = false;
+            } else {
+                long delta = time - previousTime;
+                writeDeltaOfDelta(delta - previousDelta);
+                previousDelta = delta;
+            }
+            previousTime = time;
+            
+            equity.encode(bits, tick.getEquity());
+            floatingProfit.encode(bits, tick.getFloatingProfit());
+            profit.encode(bits, tick.getProfit());
+        }
+        
+        private void writeDeltaOfDelta(long dod) throws IOException {
+            if (dod == 0) {
+                bits.writeBit(false);
+            } else if (dod >= -63 && dod <= 64) {
+                bits.writeBits(0b10, 2);
+                bits.writeBits(dod + 63, 7);
+            } else if (dod >= -255 && dod <= 256) {
+                bits.writeBits(0b110, 3);
+                bits.writeBits(dod + 255, 9);
+            } else if (dod >= -2047 && dod <= 2048) {
+                bits.writeBits(0b1110, 4);
+                bits.writeBits(dod + 2047, 12);
+            } else {
+                bits.writeBits(0b1111, 4);
+                bits.writeBits(dod, 64);
+            }
+        }
+        
+        void finish() throws IOException {
+            bits.flush();
+        }
+    }
+    
+    /**
+     * XOR-Kodierung einer Wertereihe (ein Zustand pro Spalte)
+     */
+    private static class ValueEncoder {
+        private long previousBits;
+        private int previousLeading = -1;
+        private int previousTrailing;
+        private boolean first = true;
+        
+        void encode(BitOutput bits, double value) throws IOException {
+            long valueBits = Double.doubleToLongBits(value);
+            
+            if (first) {
+                bits.writeBits(valueBits, 64);
+                previousBits = valueBits;
+                first = false;
+                return;
+            }
+            
+            long xor = valueBits ^ previousBits;
+            previousBits = valueBits;
+            
+            if (xor == 0) {
+                bits.writeBit(false);
+                return;
+            }
+            bits.writeBit(true);
+            
+            int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            int trailing = Long.numberOfTrailingZeros(xor);
+            
+            if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                // Signifikante Bits passen ins vorherige Fenster
+                bits.writeBit(false);
+                bits.writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+            } else {
+                int significant = 64 - leading - trailing;
+                bits.writeBit(true);
+                bits.writeBits(leading, 5);
+                bits.writeBits(significant - 1, 6);
+                bits.writeBits(xor >>> trailing, significant);
+                previousLeading = leading;
+                previousTrailing = trailing;
+            }
+        }
+    }
+    
+    /**
+     * NEU: Streamender Decoder - liefert einen Tick nach dem anderen
+     */
+    public static class Decoder implements Closeable {
+        private final InputStream in;
+        private final BitInput bits;
+        private final int tickCount;
+        private final LocalDateTime createdDate;
+        
+        private final ValueDecoder equity = new ValueDecoder();
+        private final ValueDecoder floatingProfit = new ValueDecoder();
+        private final ValueDecoder profit = new ValueDecoder();
+        
+        private int decoded;
+        private long previousTime;
+        private long previousDelta;
+        
+        public Decoder(Path path) throws IOException {
+            this.in = new BufferedInputStream(Files.newInputStream(path));
+            DataInputStream header = new DataInputStream(in);
+            
+            if (header.readInt() != MAGIC) {
+                in.close();
+                throw new IOException("Keine komprimierte Tick-Datei: " + path);
+            }
+            int version = header.readInt();
+            if (version != VERSION) {
+                in.close();
+                throw new IOException("Nicht unterstützte Version " + version + ": " + path);
+            }
+            
+            this.tickCount = header.readInt();
+            this.createdDate = LocalDateTime.ofInstant(Instant.ofEpochMilli(header.readLong()), ZoneOffset.UTC);
+            this.bits = new BitInput(in);
+        }
+        
+        public int getTickCount() { return tickCount; }
+        public LocalDateTime getCreatedDate() { return createdDate; }
+        
+        /**
+         * @return Der nächste Tick oder null wenn alle Ticks gelesen sind
+         */
+        public TickData next() throws IOException {
+            if (decoded >= tickCount) {
+                return null;
+            }
+            
+            long time;
+            if (decoded == 0) {
+                time = bits.readBits(64);
+            } else {
+                long delta = previousDelta + readDeltaOfDelta();
+                time = previousTime + delta;
+                previousDelta = delta;
+            }
+            previousTime = time;
+            decoded++;
+            
+            return new TickData(LocalDateTime.ofEpochSecond(time, 0, ZoneOffset.UTC),
+                               equity.decode(bits), floatingProfit.decode(bits), profit.decode(bits));
+        }
+        
+        private long readDeltaOfDelta() throws IOException {
+            if (!bits.readBit()) {
+                return 0;
+            }
+            if (!bits.readBit()) {
+                return bits.readBits(7) - 63;
+            }
+            if (!bits.readBit()) {
+                return bits.readBits(9) - 255;
+            }
+            if (!bits.readBit()) {
+                return bits.readBits(12) - 2047;
+            }
+            return bits.readBits(64);
+        }
+        
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+    
+    private static class ValueDecoder {
+        private long previousBits;
+        private int previousLeading;
+        private int previousTrailing;
+        private boolean first = true;
+        
+        double decode(BitInput bits) throws IOException {
+            if (first) {
+                previousBits = bits.readBits(64);
+                first = false;
+            } else if (bits.readBit()) {
+                if (bits.readBit()) {
+                    previousLeading = (int) bits.readBits(5);
+                    int significant = (int) bits.readBits(6) + 1;
+                    previousTrailing = 64 - previousLeading - significant;
+                }
+                int significant = 64 - previousLeading - previousTrailing;
+                previousBits ^= bits.readBits(significant) << previousTrailing;
+            }
+            return Double.longBitsToDouble(previousBits);
+        }
+    }
+    
+    /**
+     * Schreibt einzelne Bits (MSB zuerst)
+     */
+    private static class BitOutput {
+        private final OutputStream out;
+        private int current;
+        private int bitCount;
+        
+        BitOutput(OutputStream out) {
+            this.out = out;
+        }
+        
+        void writeBit(boolean bit) throws IOException {
+            current = (current << 1) | (bit ? 1 : 0);
+            if (++bitCount == 8) {
+                out.write(current);
+                current = 0;
+                bitCount = 0;
+            }
+        }
+        
+        void writeBits(long value, int count) throws IOException {
+            for (int i = count - 1; i >= 0; i--) {
+                writeBit(((value >>> i) & 1L) != 0);
+            }
+        }
+        
+        void flush() throws IOException {
+            if (bitCount > 0) {
+                out.write(current << (8 - bitCount));
+                current = 0;
+                bitCount = 0;
+            }
+            out.flush();
+        }
+    }
+    
+    /**
+     * Liest einzelne Bits (MSB zuerst)
+     */
+    private static class BitInput {
+        private final InputStream in;
+        private int current;
+        private int bitsLeft;
+        
+        BitInput(InputStream in) {
+            this.in = in;
+        }
+        
+        boolean readBit() throws IOException {
+            if (bitsLeft == 0) {
+                current = in.read();
+                if (current < 0) {
+                    throw new EOFException("Unerwartetes Ende der komprimierten Tick-Datei");
+                }
+                bitsLeft = 8;
+            }
+            return ((current >>> --bitsLeft) & 1) != 0;
+        }
+        
+        long readBits(int count) throws IOException {
+            long value = 0;
+            for (int i = 0; i < count; i++) {
+                value = (value << 1) | (readBit() ? 1L : 0L);
+            }
+            return value;
+        }
+    }
+}
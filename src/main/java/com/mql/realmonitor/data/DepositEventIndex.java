@@ -0,0 +1,398 @@
+package com.mql.realmonitor.data;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.mql.realmonitor.data.TickDataLoader.TickData;
+
+/**
+ * NEU: Persistenter Index der erkannten Ein-/Auszahlungen pro Signal (Sidecar-Datei tick/<id>.deposits)
+ * Die Erkennung läuft einmal pro neuem Tick-Paar beim Schreiben (TickDataWriter) statt bei jeder
+ * Gewinn-Berechnung über die komplette Historie. Zu den Ereignissen werden kumulierte Summen gehalten,
+ * damit die Ein-/Auszahlungen eines Zeitraums per binärer Suche in O(log n) ermittelt werden.
+ * 
+ * Der Index vermerkt den letzten erfassten Tick. Beim Öffnen werden nur Ticks danach nachgelesen;
+ * fehlt der Index, wird die Historie einmalig gestreamt. Wird die Tick-Datei neu geschrieben
+ * (Reparatur, Konvertierung, Bereinigung), muss der Index verworfen werden.
+ * 
+ * Format: Kommentar-Header, dann der letzte erfasste Tick (ISO-Zeitpunkt) und je Ereignis eine Zeile: Zeitpunkt,Betrag
+ */
+public class DepositEventIndex {
+    
+    private static final Logger LOGGER = Logger.getLogger(DepositEventIndex.class.getName());
+    
+    public static final String INDEX_SUFFIX = ".deposits";
+    
+    private static final String FILE_HEADER = "# MQL5 Ein-/Auszahlungs-Index - Format: Letzter Tick, dann je Ereignis Zeitpunkt,Betrag";
+    
+    // Schwellwerte für Ein-/Auszahlungserkennung
+    private static final double MINIMUM_AMOUNT_THRESHOLD = 100.0;     // Mindest-Betrag
+    private static final double PERCENTAGE_THRESHOLD = 0.03;          // 3% Equity-Sprung
+    private static final double TIME_THRESHOLD_MINUTES = 30.0;        // Max 30 Minuten zwischen Ticks
+    
+    // Ein Index pro Tick-Datei - Writer und Gewinn-Berechnung teilen sich den Stand
+    private static final Map<String, DepositEventIndex> OPEN_INDEXES = new ConcurrentHashMap<>();
+    
+    private final String tickFilePath;
+    private final String signalId;
+    private final Path indexFile;
+    
+    // Ereignisse chronologisch: Zeitpunkt (Epoch-Millis), Betrag und kumulierte Summe bis einschließlich Ereignis
+    private long[] eventTimes = new long[8];
+    private double[] eventAmounts = new double[8];
+    private double[] cumulativeAmounts = new double[8];
+    private int eventCount;
+    
+    private TickData previousTick;
+    private LocalDateTime lastTickTime;
+    private boolean dirty;
+    
+    private DepositEventIndex(String tickFilePath, String signalId) {
+        this.tickFilePath = tickFilePath;
+        this.signalId = signalId;
+        this.indexFile = getIndexPath(tickFilePath);
+    }
+    
+    /**
+     * @return Pfad der Index-Datei (tick/42.txt -> tick/42.deposits)
+     */
+    public static Path getIndexPath(String tickFilePath) {
+        String path = tickFilePath.endsWith(".txt") ? tickFilePath.substring(0, tickFilePath.length() - 4) : tickFilePath;
+        return Paths.get(path + INDEX_SUFFIX);
+    }
+    
+    /**
+     * Öffnet den Ereignis-Index einer Tick-Datei (einmal pro Prozess)
+     * Beim ersten Öffnen wird die Index-Datei gelesen und um die Ticks nach dem letzten erfassten Tick ergänzt.
+     * VERBESSERT: Sperre pro Tick-Datei statt global (TickSeedPass.lockFor)
+     * 
+     * @param tickFilePath Pfad der Tick-Datei
+     * @param signalId Die Signal-ID
+     * @return Der Index (nie null)
+     */
+    public static DepositEventIndex open(String tickFilePath, String signalId) {
+        DepositEventIndex index = OPEN_INDEXES.get(tickFilePath);
+        if (index != null) {
+            return index;
+        }
+        
+        synchronized (TickSeedPass.lockFor(tickFilePath)) {
+            if (!OPEN_INDEXES.containsKey(tickFilePath)) {
+                TickSeedPass pass = new TickSeedPass(tickFilePath, signalId);
+                join(pass);
+                pass.run();
+            }
+            return OPEN_INDEXES.get(tickFilePath);
+        }
+    }
+    
+    /**
+     * NEU: Meldet den Index für einen gemeinsamen Durchlauf an (Aufruf unter TickSeedPass.lockFor)
+     * Ist er noch nicht offen, wird die Index-Datei gelesen; nach pass.run() ist er ergänzt, gespeichert und offen.
+     * 
+     * @param pass Der Durchlauf über die Tick-Historie
+     */
+    public static void join(TickSeedPass pass) {
+        String tickFilePath = pass.getTickFilePath();
+        if (OPEN_INDEXES.containsKey(tickFilePath)) {
+            return;
+        }
+        
+        DepositEventIndex index = new DepositEventIndex(tickFilePath, pass.getSignalId());
+        index.read();
+        index.catchUp(pass);
+        pass.onFinished(() -> {
+            index.save();
+            OPEN_INDEXES.put(tickFilePath, index);
+        });
+    }
+    
+    /**
+     * NEU: Prüft ob der Index einer Tick-Datei bereits offen ist (Abfragen ohne Lesen der Historie)
+     */
+    public static boolean isOpen(String tickFilePath) {
+        return OPEN_INDEXES.containsKey(tickFilePath);
+    }
+    
+    /**
+     * Speichert alle geänderten Indizes (Group Commit)
+     * 
+     * @return Anzahl gespeicherter Indizes
+     */
+    public static int flushAll() {
+        int written = 0;
+        for (DepositEventIndex index : OPEN_INDEXES.values()) {
+            if (index.save()) {
+                written++;
+            }
+        }
+        return written;
+    }
+    
+    /**
+     * Verwirft den Index einer Tick-Datei (nach dem Neuschreiben der Datei)
+     * Beim nächsten Öffnen wird er aus den Tick-Daten neu aufgebaut.
+     */
+    public static void invalidate(String tickFilePath) {
+        synchronized (TickSeedPass.lockFor(tickFilePath)) {
+            OPEN_INDEXES.remove(tickFilePath);
+            try {
+                Files.deleteIfExists(getIndexPath(tickFilePath));
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Ein-/Auszahlungs-Index konnte nicht gelöscht werden: " + tickFilePath, e);
+            }
+        }
+    }
+    
+    /**
+     * Nimmt einen Tick auf und prüft das Paar mit dem vorherigen Tick auf eine Ein-/Auszahlung
+     * Ticks, die nicht neuer als der letzte erfasste Tick sind, werden ignoriert.
+     * KORRIGIERT: Ausnahme ist die beim Ende der Sommerzeit wiederholte Stunde (siehe TickDataLoader.isNewTick)
+     */
+    public synchronized void add(TickData tick) {
+        if (!TickDataLoader.isNewTick(lastTickTime, tick.getTimestamp())) {
+            return;
+        }
+        
+        if (isDepositOrWithdrawal(previousTick, tick)) {
+            addEvent(BinaryTickFile.toEpochMillis(tick.getTimestamp()), calculateUnexpectedChange(previousTick, tick));
+        }
+        previousTick = tick;
+        if (lastTickTime == null || tick.getTimestamp().isAfter(lastTickTime)) {
+            lastTickTime = tick.getTimestamp();
+        }
+        dirty = true;
+    }
+    
+    /**
+     * Erkennt Ein-/Auszahlungen zwischen zwei aufeinanderfolgenden Ticks
+     * VERBESSERT: Aus PeriodProfitCalculator.DepositWithdrawalDetector hierher verschoben (Erkennung beim Schreiben)
+     * 
+     * Logik: Wenn Equity-Änderung deutlich von Performance-Änderung abweicht
+     */
+    public static boolean isDepositOrWithdrawal(TickData previousTick, TickData currentTick) {
+        if (previousTick == null || currentTick == null) return false;
+        
+        // Zeitdifferenz prüfen (nur bei aufeinanderfolgenden Ticks sinnvoll)
+        long timeDiffMinutes = java.time.Duration.between(
+            previousTick.getTimestamp(), currentTick.getTimestamp()).toMinutes();
+        
+        if (timeDiffMinutes > TIME_THRESHOLD_MINUTES) {
+            // Bei großen Zeitabständen keine Ein-/Auszahlungserkennung
+            return false;
+        }
+        
+        // Berechne Änderungen
+        double equityChange = currentTick.getEquity() - previousTick.getEquity();
+        double profitChange = currentTick.getProfit() - previousTick.getProfit();
+        double floatingChange = currentTick.getFloatingProfit() - previousTick.getFloatingProfit();
+        double performanceChange = profitChange + floatingChange;
+        
+        // Unerwartete Equity-Änderung (potentielle Ein-/Auszahlung)
+        double unexpectedChange = equityChange - performanceChange;
+        
+        // Schwellwert-Prüfungen
+        boolean absoluteThreshold = Math.abs(unexpectedChange) > MINIMUM_AMOUNT_THRESHOLD;
+        boolean percentageThreshold = Math.abs(unexpectedChange / previousTick.getEquity()) > PERCENTAGE_THRESHOLD;
+        
+        boolean isDepositWithdrawal = absoluteThreshold && percentageThreshold;
+        
+        if (isDepositWithdrawal) {
+            String type = unexpectedChange > 0 ? "EINZAHLUNG" : "AUSZAHLUNG";
+            LOGGER.info("DEPOSIT/WITHDRAWAL DETECTED (" + type + "): " +
+                       "Equity: " + String.format("%.2f → %.2f (Δ %.2f)", 
+                                   previousTick.getEquity(), currentTick.getEquity(), equityChange) + 
+                       ", Performance: Δ " + String.format("%.2f", performanceChange) + 
+                       ", Unexpected: " + String.format("%.2f", unexpectedChange) + 
+                       " (Timestamp: " + currentTick.getTimestamp() + ")");
+        }
+        
+        return isDepositWithdrawal;
+    }
+    
+    /**
+     * NEU: Unerwartete Equity-Änderung zwischen zwei Ticks (Equity-Änderung minus Performance-Änderung)
+     * Bei einer erkannten Ein-/Auszahlung ist das der Betrag (positiv = Einzahlung).
+     */
+    public static double calculateUnexpectedChange(TickData previousTick, TickData currentTick) {
+        double equityChange = currentTick.getEquity() - previousTick.getEquity();
+        double profitChange = currentTick.getProfit() - previousTick.getProfit();
+        double floatingChange = currentTick.getFloatingProfit() - previousTick.getFloatingProfit();
+        return equityChange - (profitChange + floatingChange);
+    }
+    
+    /**
+     * @return Anzahl der erkannten Ein-/Auszahlungen
+     */
+    public synchronized int getEventCount() {
+        return eventCount;
+    }
+    
+    /**
+     * @return Summe aller Ein-/Auszahlungen - positiv = Netto-Einzahlung
+     */
+    public synchronized double getTotalAmount() {
+        return eventCount == 0 ? 0.0 : cumulativeAmounts[eventCount - 1];
+    }
+    
+    /**
+     * @return Summe aller Ein-/Auszahlungen nach dem Zeitpunkt (exklusive) - positiv = Netto-Einzahlung
+     */
+    public synchronized double getAmountAfter(LocalDateTime time) {
+        return getTotalAmount() - cumulativeUpTo(time);
+    }
+    
+    /**
+     * @return Summe der Ein-/Auszahlungen im Zeitraum (von exklusive, bis inklusive)
+     */
+    public synchronized double getAmountBetween(LocalDateTime from, LocalDateTime to) {
+        return to.isAfter(from) ? cumulativeUpTo(to) - cumulativeUpTo(from) : 0.0;
+    }
+    
+    /**
+     * @return Anzahl der Ein-/Auszahlungen nach dem Zeitpunkt (exklusive)
+     */
+    public synchronized int getEventCountAfter(LocalDateTime time) {
+        return eventCount - upperBound(BinaryTickFile.toEpochMillis(time));
+    }
+    
+    /**
+     * Kumulierte Summe aller Ereignisse bis einschließlich Zeitpunkt (Präfixsumme)
+     */
+    private double cumulativeUpTo(LocalDateTime time) {
+        int count = upperBound(BinaryTickFile.toEpochMillis(time));
+        return count == 0 ? 0.0 : cumulativeAmounts[count - 1];
+    }
+    
+    /**
+     * @return Anzahl der Ereignisse mit Zeitpunkt <= millis
+     */
+    private int upperBound(long millis) {
+        int low = 0;
+        int high = eventCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (eventTimes[mid] <= millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private void addEvent(long millis, double amount) {
+        if (eventCount == eventTimes.length) {
+            int capacity = eventTimes.length * 2;
+            eventTimes = Arrays.copyOf(eventTimes, capacity);
+            eventAmounts = Arrays.copyOf(eventAmounts, capacity);
+            cumulativeAmounts = Arrays.copyOf(cumulativeAmounts, capacity);
+        }
+        
+        // KORRIGIERT: Zeitstempel der wiederholten Stunde (Ende der Sommerzeit) sortiert einfügen
+        int index = upperBound(millis);
+        System.arraycopy(eventTimes, index, eventTimes, index + 1, eventCount - index);
+        System.arraycopy(eventAmounts, index, eventAmounts, index + 1, eventCount - index);
+        eventTimes[index] = millis;
+        eventAmounts[index] = amount;
+        eventCount++;
+        for (int i = index; i < eventCount; i++) {
+            cumulativeAmounts[i] = (i > 0 ? cumulativeAmounts[i - 1] : 0.0) + eventAmounts[i];
+        }
+    }
+    
+    /**
+     * Liest die Index-Datei (fehlt oder ist sie beschädigt, beginnt der Index leer)
+     */
+    private void read() {
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        
+        try {
+            for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                
+                if (lastTickTime == null) {
+                    lastTickTime = LocalDateTime.parse(line);
+                    continue;
+                }
+                
+                String[] parts = line.split(",");
+                addEvent(BinaryTickFile.toEpochMillis(LocalDateTime.parse(parts[0])), Double.parseDouble(parts[1]));
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Ein-/Auszahlungs-Index beschädigt, baue neu auf: " + indexFile, e);
+            eventCount = 0;
+            lastTickTime = null;
+        }
+    }
+    
+    /**
+     * Ergänzt die Ticks nach dem letzten erfassten Tick (im gemeinsamen Durchlauf gestreamt, konstanter Speicher)
+     * Der letzte erfasste Tick wird mitgelesen, damit das erste neue Tick-Paar geprüft werden kann.
+     */
+    private void catchUp(TickSeedPass pass) {
+        int before = eventCount;
+        LocalDateTime fromDate = lastTickTime != null ? lastTickTime.withNano(0) : null;
+        pass.register(fromDate, tick -> {
+            if (lastTickTime != null && !tick.getTimestamp().isAfter(lastTickTime)) {
+                previousTick = tick;
+            } else {
+                add(tick);
+            }
+        });
+        pass.onFinished(() -> {
+            if (eventCount > before) {
+                LOGGER.info("Ein-/Auszahlungs-Index für Signal " + signalId + ": " + (eventCount - before) +
+                           " neue Ereignisse, insgesamt " + eventCount);
+            }
+        });
+    }
+    
+    /**
+     * Speichert den Index, falls er sich geändert hat (atomar über eine temporäre Datei)
+     * 
+     * @return true wenn gespeichert wurde
+     */
+    private synchronized boolean save() {
+        if (!dirty || lastTickTime == null) {
+            return false;
+        }
+        
+        Path temp = Paths.get(indexFile + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(FILE_HEADER);
+                writer.newLine();
+                writer.write(lastTickTime.toString());
+                writer.newLine();
+                for (int i = 0; i < eventCount; i++) {
+                    writer.write(BinaryTickFile.fromEpochMillis(eventTimes[i]) + "," + eventAmounts[i]);
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+            return true;
+        
+        } catch (IOException e) {
+            // Bleibt geändert - wird beim nächsten Group Commit erneut versucht
+            LOGGER.log(Level.WARNING, "Ein-/Auszahlungs-Index konnte nicht gespeichert werden: " + indexFile, e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.mql.realmonitor.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+import com.mql.realmonitor.data.TickDataLoader.TickDataSet;
+
+/**
+ * NEU: Paralleles Laden sehr großer CSV-Tick-Dateien
+ * Die Datei wird an Zeilengrenzen in Blöcke geteilt. Jeder Block wird memory-mapped und auf dem
+ * Fork-Join-Pool mit einem eigenen TickLineParser geparst; die Teilergebnisse werden in Dateireihenfolge
+ * spaltenweise zusammengefügt. Die Ladezeit skaliert damit mit der Anzahl der Kerne.
+ */
+public class ParallelTickFileLoader {
+    
+    private static final Logger LOGGER = Logger.getLogger(ParallelTickFileLoader.class.getName());
+    
+    private static final long MIN_CHUNK_BYTES = 4L * 1024 * 1024;
+    private static final long MAX_CHUNK_BYTES = 64L * 1024 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int BYTES_PER_TICK_ESTIMATE = 48;
+    
+    /**
+     * Ergebnis eines Blocks
+     */
+    private static class ChunkResult {
+        final TickDataSet ticks;
+        final int dataLines;
+        
+        ChunkResult(TickDataSet ticks, int dataLines) {
+            this.ticks = ticks;
+            this.dataLines = dataLines;
+        }
+    }
+    
+    private ParallelTickFileLoader() {
+    }
+    
+    /**
+     * Lädt eine CSV-Tick-Datei parallel
+     * 
+     * @param file Die CSV-Tick-Datei
+     * @param signalId Die Signal-ID
+     * @return TickDataSet mit allen Ticks oder null bei Fehlern bzw. wenn die Datei keine Daten-Zeilen enthält
+     */
+    public static TickDataSet load(File file, String signalId) {
+        long startTime = System.currentTimeMillis();
+        
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<long[]> chunks = splitAtLineBoundaries(channel, size);
+            
+            ChunkResult[] results = IntStream.range(0, chunks.size())
+                .parallel()
+                .mapToObj(i -> parseChunk(channel, chunks.get(i)[0], chunks.get(i)[1], signalId, file.getPath()))
+                .toArray(ChunkResult[]::new);
+            
+            int totalTicks = Arrays.stream(results).mapToInt(result -> result.ticks.getTickCount()).sum();
+            int dataLines = Arrays.stream(results).mapToInt(result -> result.dataLines).sum();
+            if (dataLines == 0) {
+                return null;
+            }
+            
+            TickDataSet dataSet = new TickDataSet(signalId, file.getPath(), TickDataLoader.readCreatedDate(file), totalTicks);
+            for (ChunkResult result : results) {
+                dataSet.addTicks(result.ticks);
+            }
+            TickDataLoader.markConsumed(dataSet, file, size);
+            
+            LOGGER.info("Tick-Daten parallel geladen: " + dataSet.getTickCount() + " Einträge aus " + chunks.size() +
+                       " Blöcken in " + (System.currentTimeMillis() - startTime) + " ms für Signal " + signalId);
+            return dataSet;
+        
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.log(Level.WARNING, "Fehler beim parallelen Laden der Tick-Datei: " + file, e);
+            return null;
+        }
+    }
+    
+    /**
+     * Teilt die Datei in Blöcke, die jeweils am Anfang einer Zeile beginnen
+     * 
+     * @return Liste von [Start, Ende) Byte-Positionen
+     */
+    private static List<long[]> splitAtLineBoundaries(FileChannel channel, long size) throws IOException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        long chunkSize = Math.max(MIN_CHUNK_BYTES, Math.min(MAX_CHUNK_BYTES, size / ((long) threads * CHUNKS_PER_THREAD)));
+        
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(size, start + chunkSize);
+            if (end < size) {
+                end = findNextLineStart(channel, end, size, probe);
+            }
+            chunks.add(new long[] { start, end });
+            start = end;
+        }
+        return chunks;
+    }
+    
+    private static long findNextLineStart(FileChannel channel, long position, long size, ByteBuffer probe) throws IOException {
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+    
+    /**
+     * Parst einen Block (läuft parallel - jeder Block hat eigenen Parser und Zeilenpuffer)
+     */
+    private static ChunkResult parseChunk(FileChannel channel, long start, long end, String signalId, String filePath) {
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            int length = buffer.limit();
+            
+            TickDataSet ticks = new TickDataSet(signalId, filePath, null, length / BYTES_PER_TICK_ESTIMATE + 1);
+            TickLineParser parser = new TickLineParser();
+            byte[] line = new byte[256];
+            int lineLength = 0;
+            int dataLines = 0;
+            int lineStart = 0;
+            
+            for (int i = 0; i <= length; i++) {
+                byte b = i < length ? buffer.get(i) : (byte) '\n';
+                if (b != '\n') {
+                    if (lineLength == line.length) {
+                        line = Arrays.copyOf(line, line.length * 2);
+                    }
+                    line[lineLength++] = b;
+                    continue;
+                }
+                
+                if (isDataLine(line, lineLength)) {
+                    dataLines++;
+                    if (parser.parse(line, 0, lineLength)) {
+                        ticks.addTick(parser.getTimestampMillis(), parser.getEquity(), parser.getFloatingProfit(), parser.getProfit());
+                    } else {
+                        LOGGER.warning("Fehler beim Parsen der Zeile an Byte-Position " + (start + lineStart) +
+                                      " (" + parser.getError() + "), überspringe: " + filePath);
+                    }
+                }
+                lineLength = 0;
+                lineStart = i + 1;
+            }
+            
+            return new ChunkResult(ticks, dataLines);
+        
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * @return false für Leerzeilen und Kommentarzeilen
+     */
+    private static boolean isDataLine(byte[] line, int length) {
+        for (int i = 0; i < length; i++) {
+            if ((line[i] & 0xFF) > ' ') {
+                return line[i] != '#';
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,145 @@
+package com.mql.realmonitor.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * NEU: Liest eine Textdatei zeilenweise vom Dateiende her
+ * Es werden nur so viele Blöcke rückwärts gelesen, wie für die angeforderten Zeilen nötig sind.
+ * Die Kosten hängen damit von der Anzahl gelesener Zeilen ab, nicht von der Dateigröße.
+ * 
+ * Zeilenende ist '\n' (ein optionales '\r' davor wird entfernt), Kodierung UTF-8.
+ */
+public class ReverseLineReader implements Closeable {
+    
+    private static final int DEFAULT_BLOCK_SIZE = 8192;
+    
+    private final FileChannel channel;
+    private final ByteBuffer block;
+    
+    // Dateiposition, an der der aktuell geladene Block beginnt
+    private long blockStart;
+    
+    // Anzahl noch nicht gelesener Bytes im aktuellen Block (gelesen wird von cursor-1 abwärts)
+    private int cursor;
+    
+    // Bytes der aktuellen Zeile in umgekehrter Reihenfolge
+    private byte[] lineBytes = new byte[256];
+    private int lineLength;
+    
+    // Dateiposition, an der die zuletzt gelieferte Zeile beginnt
+    private long lineStartOffset;
+    
+    private boolean exhausted;
+    
+    public ReverseLineReader(Path file) throws IOException {
+        this(file, DEFAULT_BLOCK_SIZE);
+    }
+    
+    public ReverseLineReader(Path file, int blockSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.block = ByteBuffer.allocate(Math.max(64, blockSize));
+        this.blockStart = channel.size();
+        this.cursor = 0;
+        this.lineStartOffset = blockStart;
+        this.exhausted = blockStart == 0;
+    }
+    
+    /**
+     * Liefert die vorherige Zeile (beim ersten Aufruf die letzte Zeile der Datei)
+     * Endet die Datei mit einem Zeilenumbruch, wird zuerst eine leere Zeile geliefert.
+     * 
+     * @return Die Zeile ohne Zeilenende oder null wenn der Dateianfang erreicht ist
+     */
+    public String readPreviousLine() throws IOException {
+        if (exhausted) {
+            return null;
+        }
+        
+        lineLength = 0;
+        
+        while (true) {
+            if (cursor == 0) {
+                if (blockStart == 0) {
+                    // Dateianfang erreicht - erste Zeile der Datei
+                    exhausted = true;
+                    lineStartOffset = 0;
+                    return buildLine();
+                }
+                loadPreviousBlock();
+            }
+            
+            byte b = block.get(--cursor);
+            if (b == '\n') {
+                lineStartOffset = blockStart + cursor + 1;
+                return buildLine();
+            }
+            appendByte(b);
+        }
+    }
+    
+    /**
+     * @return Dateiposition (Byte-Offset), an der die zuletzt gelieferte Zeile beginnt
+     */
+    public long getLineStartOffset() {
+        return lineStartOffset;
+    }
+    
+    /**
+     * Lädt den Block vor dem aktuellen Block
+     */
+    private void loadPreviousBlock() throws IOException {
+        int size = (int) Math.min(block.capacity(), blockStart);
+        long newStart = blockStart - size;
+        
+        block.clear();
+        block.limit(size);
+        while (block.hasRemaining()) {
+            int read = channel.read(block, newStart + block.position());
+            if (read < 0) {
+                throw new IOException("Unerwartetes Dateiende beim Rückwärtslesen");
+            }
+        }
+        
+        blockStart = newStart;
+        cursor = size;
+    }
+    
+    private void appendByte(byte b) {
+        if (lineLength == lineBytes.length) {
+            lineBytes = Arrays.copyOf(lineBytes, lineBytes.length * 2);
+        }
+        lineBytes[lineLength++] = b;
+    }
+    
+    /**
+     * Dreht die gesammelten Bytes um und dekodiert sie als UTF-8
+     */
+    private String buildLine() {
+        int length = lineLength;
+        
+        // '\r' vor dem '\n' (Windows-Zeilenende) entfernen - liegt umgekehrt ganz vorne
+        int from = 0;
+        if (length > 0 && lineBytes[0] == '\r') {
+            from = 1;
+        }
+        
+        byte[] ordered = new byte[length - from];
+        for (int i = 0; i < ordered.length; i++) {
+            ordered[i] = lineBytes[length - 1 - i];
+        }
+        
+        return new String(ordered, StandardCharsets.UTF_8);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
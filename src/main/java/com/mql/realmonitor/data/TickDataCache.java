@@ -0,0 +1,305 @@
+package com.mql.realmonitor.data;
+
+import com.mql.realmonitor.data.TickDataLoader.TickDataSet;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * NEU: Prozessweiter Cache für geladene Tick-Daten (ein Eintrag pro Signal)
+ * Tabelle, Profit-Berechnung, Übersicht und Chart-Fenster laden dieselbe Tick-Datei sonst mehrfach
+ * pro Zyklus. Ein Eintrag gilt, solange sich Größe und Änderungszeit der Quelldateien (CSV, binäre
+ * Datei, Segment-Index, gemeinsames Tick-Log) nicht geändert haben.
+ * 
+ * Der Cache ist auf eine geschätzte Byte-Größe begrenzt und verdrängt die am längsten nicht
+ * genutzten Einträge (LRU). Die gelieferten TickDataSets werden geteilt und dürfen nicht verändert werden.
+ * 
+ * ERWEITERT: Ist nur die CSV-Datei gewachsen, werden lediglich die angehängten Ticks nachgelesen.
+ */
+public class TickDataCache {
+    
+    private static final Logger LOGGER = Logger.getLogger(TickDataCache.class.getName());
+    
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    
+    /**
+     * Ein gecachtes TickDataSet mit dem Stand seiner Quelldateien
+     */
+    private static class Entry {
+        final String filePath;
+        final TickDataSet dataSet;
+        final LocalDateTime coveredFrom; // null = vollständige Historie
+        final String fileStamp;
+        final long bytes;
+        
+        Entry(String filePath, TickDataSet dataSet, LocalDateTime coveredFrom, String fileStamp) {
+            this.filePath = filePath;
+            this.dataSet = dataSet;
+            this.coveredFrom = coveredFrom;
+            this.fileStamp = fileStamp;
+            this.bytes = estimateBytes(dataSet);
+        }
+        
+        boolean covers(LocalDateTime fromDate) {
+            return coveredFrom == null || (fromDate != null && !fromDate.isBefore(coveredFrom));
+        }
+    }
+    
+    private static final LinkedHashMap<String, Entry> ENTRIES = new LinkedHashMap<>(64, 0.75f, true);
+    
+    private static long maxBytes = DEFAULT_MAX_BYTES;
+    private static long currentBytes;
+    
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong evictions = new AtomicLong();
+    private static final AtomicLong invalidations = new AtomicLong();
+    private static final AtomicLong refreshes = new AtomicLong();
+    
+    private TickDataCache() {
+    }
+    
+    /**
+     * Setzt die maximale Größe des Caches und verdrängt bei Bedarf sofort
+     * 
+     * @param bytes Maximale geschätzte Größe in Bytes (0 = Cache deaktiviert)
+     */
+    public static synchronized void setMaxBytes(long bytes) {
+        maxBytes = Math.max(0, bytes);
+        evictIfNeeded();
+    }
+    
+    /**
+     * Liefert die komplette Tick-Historie eines Signals (gecacht)
+     * 
+     * @param filePath Pfad zur Tick-Datei
+     * @param signalId Die Signal-ID
+     * @return TickDataSet oder null wenn keine Daten vorhanden sind
+     */
+    public static TickDataSet getTickData(String filePath, String signalId) {
+        if (filePath == null) {
+            return null;
+        }
+        
+        TickDataSet cached = lookup(filePath, signalId, null);
+        if (cached != null) {
+            return cached;
+        }
+        
+        String fileStamp = getFileStamp(filePath, signalId);
+        TickDataSet dataSet = TickDataLoader.loadTickData(filePath, signalId);
+        store(signalId, new Entry(filePath, dataSet, null, fileStamp));
+        return dataSet;
+    }
+    
+    /**
+     * Liefert alle Ticks eines Signals ab einem Zeitpunkt (gecacht)
+     * Ist die komplette Historie oder ein früherer Zeitraum bereits im Cache, wird daraus geschnitten.
+     * 
+     * @param filePath Pfad zur Tick-Datei
+     * @param signalId Die Signal-ID
+     * @param fromDate Startdatum (inklusive)
+     * @return TickDataSet oder null bei Fehlern
+     */
+    public static TickDataSet getTickDataSince(String filePath, String signalId, LocalDateTime fromDate) {
+        if (filePath == null) {
+            return null;
+        }
+        
+        TickDataSet cached = lookup(filePath, signalId, fromDate);
+        if (cached != null) {
+            return slice(cached, fromDate);
+        }
+        
+        String fileStamp = getFileStamp(filePath, signalId);
+        TickDataSet dataSet = TickDataLoader.loadTickDataSince(filePath, signalId, fromDate);
+        store(signalId, new Entry(filePath, dataSet, fromDate, fileStamp));
+        return dataSet;
+    }
+    
+    /**
+     * Entfernt den Eintrag eines Signals (z.B. nach dem Neuschreiben der Tick-Datei)
+     */
+    public static synchronized void invalidate(String signalId) {
+        Entry removed = ENTRIES.remove(signalId);
+        if (removed != null) {
+            currentBytes -= removed.bytes;
+            invalidations.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Leert den Cache komplett
+     */
+    public static synchronized void clear() {
+        ENTRIES.clear();
+        currentBytes = 0;
+    }
+    
+    public static long getHitCount() {
+        return hits.get();
+    }
+    
+    public static long getMissCount() {
+        return misses.get();
+    }
+    
+    public static long getEvictionCount() {
+        return evictions.get();
+    }
+    
+    public static long getInvalidationCount() {
+        return invalidations.get();
+    }
+    
+    public static long getRefreshCount() {
+        return refreshes.get();
+    }
+    
+    public static synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+    
+    public static synchronized int getEntryCount() {
+        return ENTRIES.size();
+    }
+    
+    /**
+     * @return Trefferquote in Prozent (0 wenn noch keine Anfragen)
+     */
+    public static double getHitRatePercent() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : hits.get() * 100.0 / total;
+    }
+    
+    /**
+     * @return Zusammenfassung der Cache-Statistik für das Logging
+     */
+    public static String getStatistics() {
+        return String.format("Tick-Cache: %d Einträge, %.1f von %.1f MB, Treffer %d, Fehlzugriffe %d (%.1f%%), " +
+                             "inkrementell %d, verdrängt %d, invalidiert %d",
+                             getEntryCount(), getCurrentBytes() / (1024.0 * 1024.0), maxBytes / (1024.0 * 1024.0),
+                             hits.get(), misses.get(), getHitRatePercent(), refreshes.get(), evictions.get(), invalidations.get());
+    }
+    
+    /**
+     * Sucht einen gültigen Eintrag, der den gewünschten Zeitraum abdeckt
+     * Veraltete Einträge (Quelldateien geändert) werden dabei entfernt.
+     */
+    private static TickDataSet lookup(String filePath, String signalId, LocalDateTime fromDate) {
+        Entry entry;
+        synchronized (TickDataCache.class) {
+            entry = ENTRIES.get(signalId);
+        }
+        
+        if (entry != null && entry.filePath.equals(filePath) && entry.covers(fromDate)) {
+            String fileStamp = getFileStamp(filePath, signalId);
+            if (entry.fileStamp.equals(fileStamp)) {
+                hits.incrementAndGet();
+                return entry.dataSet;
+            }
+            
+            // NEU: Nur die CSV-Datei hat sich geändert - angehängte Ticks nachlesen statt neu zu laden
+            if (isCsvOnlyChange(entry.fileStamp, fileStamp)) {
+                TickDataSet refreshed = TickDataLoader.refreshTickData(entry.dataSet);
+                if (refreshed != null) {
+                    refreshes.incrementAndGet();
+                    store(signalId, new Entry(filePath, refreshed, entry.coveredFrom, fileStamp));
+                    return refreshed;
+                }
+            }
+            
+            synchronized (TickDataCache.class) {
+                if (ENTRIES.get(signalId) == entry) {
+                    ENTRIES.remove(signalId);
+                    currentBytes -= entry.bytes;
+                    invalidations.incrementAndGet();
+                }
+            }
+        }
+        
+        misses.incrementAndGet();
+        return null;
+    }
+    
+    private static synchronized void store(String signalId, Entry entry) {
+        if (entry.dataSet == null || entry.bytes > maxBytes) {
+            return;
+        }
+        
+        // Einen Eintrag mit größerem Zeitraum nicht durch einen kleineren ersetzen
+        Entry existing = ENTRIES.get(signalId);
+        if (existing != null && existing.fileStamp.equals(entry.fileStamp) &&
+            existing.covers(entry.coveredFrom) && !entry.covers(existing.coveredFrom)) {
+            return;
+        }
+        
+        if (existing != null) {
+            ENTRIES.remove(signalId);
+            currentBytes -= existing.bytes;
+        }
+        
+        ENTRIES.put(signalId, entry);
+        currentBytes += entry.bytes;
+        evictIfNeeded();
+    }
+    
+    private static void evictIfNeeded() {
+        Iterator<Map.Entry<String, Entry>> iterator = ENTRIES.entrySet().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            currentBytes -= eldest.getValue().bytes;
+            iterator.remove();
+            evictions.incrementAndGet();
+            LOGGER.fine("Tick-Cache: verdrängt " + eldest.getKey());
+        }
+    }
+    
+    /**
+     * Schneidet die Ticks ab fromDate aus einem (chronologisch sortierten) TickDataSet
+     */
+    private static TickDataSet slice(TickDataSet dataSet, LocalDateTime fromDate) {
+        if (dataSet.searchFrom(BinaryTickFile.toEpochMillis(fromDate)) == 0) {
+            return dataSet;
+        }
+        return dataSet.subRange(fromDate, null);
+    }
+    
+    /**
+     * NEU: true wenn sich nur die CSV-Datei (erster Teil des Stempels) geändert hat
+     */
+    private static boolean isCsvOnlyChange(String oldStamp, String newStamp) {
+        return oldStamp.substring(oldStamp.indexOf(';')).equals(newStamp.substring(newStamp.indexOf(';')));
+    }
+    
+    /**
+     * Ermittelt Größe und Änderungszeit aller Quelldateien eines Signals (CSV-Datei zuerst)
+     * KORRIGIERT: Das gemeinsame Tick-Log geht nur mit dem Index-Eintrag dieses Signals ein (Anzahl und
+     * letzter Offset) - Schreibvorgänge anderer Signale verwerfen den Eintrag nicht mehr.
+     */
+    private static String getFileStamp(String filePath, String signalId) {
+        StringBuilder stamp = new StringBuilder();
+        appendStamp(stamp, new File(filePath));
+        appendStamp(stamp, new File(BinaryTickFile.getBinaryPath(filePath)));
+        appendStamp(stamp, TickSegmentIndex.getSegmentDirectory(filePath).resolve(TickSegmentIndex.INDEX_FILE_NAME).toFile());
+        
+        TickLogStore logStore = TickLogStore.find(filePath);
+        if (logStore != null) {
+            stamp.append(logStore.getTickCount(signalId)).append(':').append(logStore.getLastOffset(signalId)).append(';');
+        }
+        return stamp.toString();
+    }
+    
+    private static void appendStamp(StringBuilder stamp, File file) {
+        stamp.append(file.length()).append(':').append(file.lastModified()).append(';');
+    }
+    
+    private static long estimateBytes(TickDataSet dataSet) {
+        return dataSet == null ? 0 : dataSet.getEstimatedBytes();
+    }
+}
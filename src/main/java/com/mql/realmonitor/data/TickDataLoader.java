@@ -1,9 +1,18 @@
 package com.mql.realmonitor.data;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -18,7 +27,19 @@ public class TickDataLoader {
     // Datum/Zeit-Formatter für das MQL5-Format
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
-    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss");
+    
+    // NEU: Offenes Zeitraum-Ende für "ab Datum"-Abfragen (noch als Epoch-Millis darstellbar)
+    private static final LocalDateTime OPEN_END = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    
+    // NEU: Beim Ende der Sommerzeit laufen die lokalen Zeitstempel um bis zu eine Stunde zurück
+    public static final Duration CLOCK_SETBACK_TOLERANCE = Duration.ofHours(1);
+    
+    // NEU: Anzahl Bytes vor dem Lesestand, an denen ein Neuschreiben der Datei erkannt wird
+    private static final int CONSUMED_TAIL_BYTES = 64;
+    
+    // NEU: Ab dieser Dateigröße werden CSV-Dateien memory-mapped und parallel geparst (0 = nie)
+    public static final long DEFAULT_PARALLEL_LOAD_THRESHOLD = 32L * 1024 * 1024;
+    private static volatile long parallelLoadThreshold = DEFAULT_PARALLEL_LOAD_THRESHOLD;
     
     /**
      * ERWEITERT: Datenklasse für einen einzelnen Tick mit Profit
@@ -58,86 +79,596 @@ public class TickDataLoader {
     
     /**
      * Container für alle Tick-Daten eines Signals
+     * VERBESSERT: Spaltenweise Ablage in primitiven Arrays (Zeitstempel als Epoch-Millis, Equity, Floating, Profit)
+     * statt einer Liste von TickData-Objekten - ca. 32 statt über 130 Bytes pro Tick.
+     * Für bestehende Aufrufer liefert getTicks() eine Listen-Sicht, die TickData-Objekte erst beim Zugriff erzeugt.
+     * Neue Aufrufer nutzen die Index-Zugriffe (getEquity(i) usw.) oder die primitiven Streams.
      */
     public static class TickDataSet {
+        private static final int INITIAL_CAPACITY = 64;
+        
         private final String signalId;
-        private final List<TickData> ticks;
         private final LocalDateTime createdDate;
         private final String filePath;
         
+        private long[] timestamps;
+        private double[] equities;
+        private double[] floatingProfits;
+        private double[] profits;
+        private int size;
+        
+        // NEU: Spalten werden mit Kopien geteilt (append-only) - belegt = Anzahl vergebener Plätze
+        private SharedColumns shared = new SharedColumns();
+        
+        // NEU: Bis zu dieser Byte-Position ist die CSV-Datei gelesen (-1 = unbekannt), davor liegen consumedTail
+        private long consumedLength = -1;
+        private byte[] consumedTail;
+        
         public TickDataSet(String signalId, String filePath, LocalDateTime createdDate) {
+            this(signalId, filePath, createdDate, INITIAL_CAPACITY);
+        }
+        
+        /**
+         * NEU: Mit erwarteter Anzahl Ticks (vermeidet Umkopieren beim Wachsen)
+         */
+        public TickDataSet(String signalId, String filePath, LocalDateTime createdDate, int expectedTicks) {
             this.signalId = signalId;
             this.filePath = filePath;
             this.createdDate = createdDate;
-            this.ticks = new ArrayList<>();
+            int capacity = Math.max(1, expectedTicks);
+            this.timestamps = new long[capacity];
+            this.equities = new double[capacity];
+            this.floatingProfits = new double[capacity];
+            this.profits = new double[capacity];
+        }
+        
+        /**
+         * NEU: Kopie als Grundlage für das Anhängen neuer Ticks,
+         * ohne dass Leser des Originals eine veränderte Datenmenge sehen
+         * VERBESSERT: Teilt die Spalten-Arrays mit dem Original (O(1) statt O(n)). Jede Kopie hat ihren
+         * eigenen Stand (size); angehängt wird in die Plätze hinter dem Stand des Originals, die dieses nie liest.
+         * Umkopiert wird nur, wenn die Kapazität nicht reicht oder die Plätze bereits eine andere Kopie belegt.
+         */
+        TickDataSet(TickDataSet source) {
+            this.signalId = source.signalId;
+            this.filePath = source.filePath;
+            this.createdDate = source.createdDate;
+            this.timestamps = source.timestamps;
+            this.equities = source.equities;
+            this.floatingProfits = source.floatingProfits;
+            this.profits = source.profits;
+            this.size = source.size;
+            this.shared = source.shared;
+            synchronized (shared) {
+                shared.copied = true;
+            }
+        }
+        
+        /**
+         * NEU: Belegungsstand gemeinsam genutzter Spalten-Arrays
+         */
+        private static final class SharedColumns {
+            private int used;
+            private boolean copied; // Eine Kopie liest mit - belegte Plätze dürfen nicht verschoben werden
+        }
+        
+        /**
+         * NEU: Stellt sicher, dass die Plätze [size, required) beschrieben werden dürfen
+         * Nur wer am Ende der belegten Plätze steht, hängt direkt an - sonst eigene Arrays.
+         * 
+         * @param required Benötigte Anzahl Plätze
+         * @param capacity Neue Kapazität, falls umkopiert werden muss (mindestens required)
+         */
+        private void ensureWritable(int required, int capacity) {
+            synchronized (shared) {
+                if (shared.used == size && required <= timestamps.length) {
+                    shared.used = required;
+                    return;
+                }
+            }
+            copyColumns(required, capacity);
+        }
+        
+        /**
+         * NEU: Eigene Spalten-Arrays anlegen (danach exklusiv für diesen Datensatz)
+         */
+        private void copyColumns(int required, int capacity) {
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            equities = Arrays.copyOf(equities, capacity);
+            floatingProfits = Arrays.copyOf(floatingProfits, capacity);
+            profits = Arrays.copyOf(profits, capacity);
+            shared = new SharedColumns();
+            shared.used = required;
         }
         
         public void addTick(TickData tick) {
-            ticks.add(tick);
+            addTick(BinaryTickFile.toEpochMillis(tick.getTimestamp()), tick.getEquity(), tick.getFloatingProfit(), tick.getProfit());
+        }
+        
+        /**
+         * NEU: Fügt einen Tick ohne Objekt-Erzeugung hinzu
+         */
+        public void addTick(long timestampMillis, double equity, double floatingProfit, double profit) {
+            int capacity = Math.max(size + 1, timestamps.length + (timestamps.length >> 1) + 1);
+            if (size > 0 && timestampMillis < timestamps[size - 1]) {
+                insertTick(timestampMillis, equity, floatingProfit, profit, capacity);
+                return;
+            }
+            
+            ensureWritable(size + 1, capacity);
+            timestamps[size] = timestampMillis;
+            equities[size] = equity;
+            floatingProfits[size] = floatingProfit;
+            profits[size] = profit;
+            size++;
+        }
+        
+        /**
+         * KORRIGIERT: Sortiert einen Tick mit zurücklaufendem Zeitstempel stabil ein (hinter gleiche Zeitstempel)
+         * Lokale Zeitstempel wiederholen beim Ende der Sommerzeit eine Stunde - die Zeitspalte bleibt so
+         * sortiert und die binäre Suche (floor/ceiling, Zeiträume) gültig. Liest eine Kopie die Spalten mit,
+         * wird vorher einmal umkopiert, damit deren Stand unverändert bleibt.
+         */
+        private void insertTick(long timestampMillis, double equity, double floatingProfit, double profit, int capacity) {
+            boolean copied;
+            synchronized (shared) {
+                copied = shared.copied;
+            }
+            if (copied) {
+                copyColumns(size + 1, capacity);
+            } else {
+                ensureWritable(size + 1, capacity);
+            }
+            
+            int index = searchAfter(timestampMillis);
+            int count = size - index;
+            System.arraycopy(timestamps, index, timestamps, index + 1, count);
+            System.arraycopy(equities, index, equities, index + 1, count);
+            System.arraycopy(floatingProfits, index, floatingProfits, index + 1, count);
+            System.arraycopy(profits, index, profits, index + 1, count);
+            timestamps[index] = timestampMillis;
+            equities[index] = equity;
+            floatingProfits[index] = floatingProfit;
+            profits[index] = profit;
+            size++;
+        }
+        
+        /**
+         * NEU: Übernimmt einen Tick aus einem anderen TickDataSet (ohne Objekt-Erzeugung)
+         */
+        public void addTick(TickDataSet source, int index) {
+            addTick(source.getTimestampMillis(index), source.equities[index], source.floatingProfits[index], source.profits[index]);
+        }
+        
+        /**
+         * NEU: Hängt alle Ticks eines anderen TickDataSet spaltenweise an (Block-Kopie)
+         */
+        public void addTicks(TickDataSet source) {
+            addTicks(source, 0, source.size);
+        }
+        
+        /**
+         * NEU: Hängt einen Index-Bereich [fromIndex, toIndex) eines anderen TickDataSet an (Block-Kopie)
+         */
+        public void addTicks(TickDataSet source, int fromIndex, int toIndex) {
+            if (size > 0 && fromIndex < toIndex && source.timestamps[fromIndex] < timestamps[size - 1]) {
+                // KORRIGIERT: Bereich beginnt vor dem letzten Tick - einzeln einsortieren
+                for (int i = fromIndex; i < toIndex; i++) {
+                    addTick(source, i);
+                }
+                return;
+            }
+            
+            int count = toIndex - fromIndex;
+            int required = size + count;
+            ensureWritable(required, Math.max(required, timestamps.length));
+            System.arraycopy(source.timestamps, fromIndex, timestamps, size, count);
+            System.arraycopy(source.equities, fromIndex, equities, size, count);
+            System.arraycopy(source.floatingProfits, fromIndex, floatingProfits, size, count);
+            System.arraycopy(source.profits, fromIndex, profits, size, count);
+            size = required;
         }
         
         public String getSignalId() { return signalId; }
-        public List<TickData> getTicks() { return Collections.unmodifiableList(ticks); }
         public LocalDateTime getCreatedDate() { return createdDate; }
         public String getFilePath() { return filePath; }
-        public int getTickCount() { return ticks.size(); }
+        public int getTickCount() { return size; }
+        public long getConsumedLength() { return consumedLength; }
+        
+        void setConsumed(long consumedLength, byte[] consumedTail) {
+            this.consumedLength = consumedLength;
+            this.consumedTail = consumedTail;
+        }
+        
+        /**
+         * VERBESSERT: Unveränderliche Listen-Sicht auf den aktuellen Stand (Kompatibilität)
+         * Später angehängte Ticks sind in einer bereits geholten Sicht nicht enthalten.
+         */
+        public List<TickData> getTicks() {
+            return new TickListView(timestamps, equities, floatingProfits, profits, 0, size);
+        }
+        
+        /**
+         * NEU: Unveränderliche Listen-Sicht auf einen Index-Bereich (ohne Kopie)
+         * 
+         * @param fromIndex Erster Index (inklusive)
+         * @param toIndex Letzter Index (exklusive)
+         */
+        public List<TickData> getTicks(int fromIndex, int toIndex) {
+            if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException("Bereich " + fromIndex + "-" + toIndex + ", Ticks: " + size);
+            }
+            return new TickListView(timestamps, equities, floatingProfits, profits, fromIndex, toIndex - fromIndex);
+        }
+        
+        /**
+         * NEU: Unveränderliche Listen-Sicht auf die Ticks eines Zeitraums (beide Grenzen inklusive, null = offen)
+         */
+        public List<TickData> getTicks(LocalDateTime fromTime, LocalDateTime toTime) {
+            int[] range = indexRange(fromTime, toTime);
+            return getTicks(range[0], range[1]);
+        }
+        
+        /**
+         * NEU: Kopie der Ticks eines Zeitraums als eigenes TickDataSet (beide Grenzen inklusive, null = offen)
+         */
+        public TickDataSet subRange(LocalDateTime fromTime, LocalDateTime toTime) {
+            int[] range = indexRange(fromTime, toTime);
+            TickDataSet subRange = new TickDataSet(signalId, filePath, createdDate, range[1] - range[0]);
+            subRange.addTicks(this, range[0], range[1]);
+            return subRange;
+        }
+        
+        // NEU: Zeitbasierte Suche per binärer Suche über die (chronologisch sortierte) Zeitspalte.
+        // Wie bei NavigableMap: floor <=, ceiling >=, lower <, higher > - Ergebnis -1 wenn kein Tick passt.
+        public int floorIndex(LocalDateTime time) { return indexOrNone(searchAfter(BinaryTickFile.toEpochMillis(time)) - 1); }
+        public int ceilingIndex(LocalDateTime time) { return indexOrNone(searchFrom(BinaryTickFile.toEpochMillis(time))); }
+        public int lowerIndex(LocalDateTime time) { return indexOrNone(searchFrom(BinaryTickFile.toEpochMillis(time)) - 1); }
+        public int higherIndex(LocalDateTime time) { return indexOrNone(searchAfter(BinaryTickFile.toEpochMillis(time))); }
+        
+        public TickData floorTick(LocalDateTime time) { return tickOrNull(floorIndex(time)); }
+        public TickData ceilingTick(LocalDateTime time) { return tickOrNull(ceilingIndex(time)); }
+        
+        /**
+         * NEU: Erster Index mit Zeitstempel >= timestampMillis (size wenn keiner)
+         */
+        public int searchFrom(long timestampMillis) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (timestamps[mid] < timestampMillis) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+        
+        /**
+         * NEU: Erster Index mit Zeitstempel > timestampMillis (size wenn keiner)
+         */
+        public int searchAfter(long timestampMillis) {
+            return timestampMillis == Long.MAX_VALUE ? size : searchFrom(timestampMillis + 1);
+        }
+        
+        private int[] indexRange(LocalDateTime fromTime, LocalDateTime toTime) {
+            int from = fromTime != null ? searchFrom(BinaryTickFile.toEpochMillis(fromTime)) : 0;
+            int to = toTime != null ? searchAfter(BinaryTickFile.toEpochMillis(toTime)) : size;
+            return new int[] { from, Math.max(from, to) };
+        }
+        
+        private int indexOrNone(int index) {
+            return index >= 0 && index < size ? index : -1;
+        }
+        
+        private TickData tickOrNull(int index) {
+            return index < 0 ? null : getTick(index);
+        }
+        
+        // NEU: Index-Zugriffe ohne Objekt-Erzeugung
+        public long getTimestampMillis(int index) { return timestamps[checkIndex(index)]; }
+        public double getEquity(int index) { return equities[checkIndex(index)]; }
+        public double getFloatingProfit(int index) { return floatingProfits[checkIndex(index)]; }
+        public double getProfit(int index) { return profits[checkIndex(index)]; }
+        public double getTotalValue(int index) { return equities[checkIndex(index)] + floatingProfits[index]; }
+        
+        public LocalDateTime getTimestamp(int index) {
+            return BinaryTickFile.fromEpochMillis(getTimestampMillis(index));
+        }
+        
+        public TickData getTick(int index) {
+            checkIndex(index);
+            return new TickData(BinaryTickFile.fromEpochMillis(timestamps[index]), equities[index], floatingProfits[index], profits[index]);
+        }
+        
+        // NEU: Primitive Streams über die Spalten
+        public LongStream timestampStream() { return Arrays.stream(timestamps, 0, size); }
+        public DoubleStream equityStream() { return Arrays.stream(equities, 0, size); }
+        public DoubleStream floatingProfitStream() { return Arrays.stream(floatingProfits, 0, size); }
+        public DoubleStream profitStream() { return Arrays.stream(profits, 0, size); }
+        
+        public DoubleStream totalValueStream() {
+            double[] e = equities;
+            double[] f = floatingProfits;
+            return IntStream.range(0, size).mapToDouble(i -> e[i] + f[i]);
+        }
+        
+        /**
+         * NEU: Geschätzter Heap-Bedarf der Spalten in Bytes
+         */
+        public long getEstimatedBytes() {
+            return 64L + timestamps.length * 32L;
+        }
         
         public TickData getLatestTick() {
-            return ticks.isEmpty() ? null : ticks.get(ticks.size() - 1);
+            return size == 0 ? null : getTick(size - 1);
         }
         
         public TickData getFirstTick() {
-            return ticks.isEmpty() ? null : ticks.get(0);
+            return size == 0 ? null : getTick(0);
         }
         
         public double getMaxEquity() {
-            return ticks.stream().mapToDouble(TickData::getEquity).max().orElse(0.0);
+            return equityStream().max().orElse(0.0);
         }
         
         public double getMinEquity() {
-            return ticks.stream().mapToDouble(TickData::getEquity).min().orElse(0.0);
+            return equityStream().min().orElse(0.0);
         }
         
         public double getMaxFloatingProfit() {
-            return ticks.stream().mapToDouble(TickData::getFloatingProfit).max().orElse(0.0);
+            return floatingProfitStream().max().orElse(0.0);
         }
         
         public double getMinFloatingProfit() {
-            return ticks.stream().mapToDouble(TickData::getFloatingProfit).min().orElse(0.0);
+            return floatingProfitStream().min().orElse(0.0);
         }
         
         // NEU: Profit Min/Max Methoden
         public double getMaxProfit() {
-            return ticks.stream().mapToDouble(TickData::getProfit).max().orElse(0.0);
+            return profitStream().max().orElse(0.0);
         }
         
         public double getMinProfit() {
-            return ticks.stream().mapToDouble(TickData::getProfit).min().orElse(0.0);
+            return profitStream().min().orElse(0.0);
         }
         
         public double getMaxTotalValue() {
-            return ticks.stream().mapToDouble(TickData::getTotalValue).max().orElse(0.0);
+            return totalValueStream().max().orElse(0.0);
         }
         
         public double getMinTotalValue() {
-            return ticks.stream().mapToDouble(TickData::getTotalValue).min().orElse(0.0);
+            return totalValueStream().min().orElse(0.0);
+        }
+        
+        private int checkIndex(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + ", Ticks: " + size);
+            }
+            return index;
         }
         
         @Override
         public String toString() {
             return String.format("TickDataSet{Signal=%s, Ticks=%d, Created=%s}", 
-                               signalId, ticks.size(), createdDate);
+                               signalId, size, createdDate);
+        }
+    }
+    
+    /**
+     * NEU: Unveränderliche Listen-Sicht auf die Spalten eines TickDataSet
+     * Hält die Array-Referenzen und die Größe zum Zeitpunkt der Erzeugung fest.
+     */
+    private static class TickListView extends AbstractList<TickData> implements RandomAccess {
+        private final long[] timestamps;
+        private final double[] equities;
+        private final double[] floatingProfits;
+        private final double[] profits;
+        private final int offset;
+        private final int size;
+        
+        TickListView(long[] timestamps, double[] equities, double[] floatingProfits, double[] profits, int offset, int size) {
+            this.timestamps = timestamps;
+            this.equities = equities;
+            this.floatingProfits = floatingProfits;
+            this.profits = profits;
+            this.offset = offset;
+            this.size = size;
+        }
+        
+        @Override
+        public TickData get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + ", Ticks: " + size);
+            }
+            int i = offset + index;
+            return new TickData(BinaryTickFile.fromEpochMillis(timestamps[i]), equities[i], floatingProfits[i], profits[i]);
+        }
+        
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+    
+    /**
+     * NEU: Kennzahlen aus einem einzigen Durchlauf über Ticks (Anzahl, Zeitraum, Minimum/Maximum je Spalte)
+     * Benötigt konstanten Speicher und kann direkt an streamTicks() übergeben werden:
+     * {@code ticks.forEach(statistics)}
+     */
+    public static class TickStatistics implements Consumer<TickData> {
+        private int tickCount;
+        private LocalDateTime firstTimestamp;
+        private LocalDateTime lastTimestamp;
+        private double minEquity = Double.POSITIVE_INFINITY;
+        private double maxEquity = Double.NEGATIVE_INFINITY;
+        private double minFloatingProfit = Double.POSITIVE_INFINITY;
+        private double maxFloatingProfit = Double.NEGATIVE_INFINITY;
+        private double minProfit = Double.POSITIVE_INFINITY;
+        private double maxProfit = Double.NEGATIVE_INFINITY;
+        private double minTotalValue = Double.POSITIVE_INFINITY;
+        private double maxTotalValue = Double.NEGATIVE_INFINITY;
+        
+        /**
+         * Kennzahlen eines TickDataSet (ein Durchlauf über die Spalten)
+         */
+        public static TickStatistics of(TickDataSet dataSet) {
+            TickStatistics statistics = new TickStatistics();
+            int count = dataSet.getTickCount();
+            for (int i = 0; i < count; i++) {
+                statistics.add(dataSet.getEquity(i), dataSet.getFloatingProfit(i), dataSet.getProfit(i));
+            }
+            if (count > 0) {
+                statistics.firstTimestamp = dataSet.getTimestamp(0);
+                statistics.lastTimestamp = dataSet.getTimestamp(count - 1);
+            }
+            return statistics;
+        }
+        
+        @Override
+        public void accept(TickData tick) {
+            if (tickCount == 0) {
+                firstTimestamp = tick.getTimestamp();
+            }
+            lastTimestamp = tick.getTimestamp();
+            add(tick.getEquity(), tick.getFloatingProfit(), tick.getProfit());
+        }
+        
+        private void add(double equity, double floatingProfit, double profit) {
+            tickCount++;
+            minEquity = Math.min(minEquity, equity);
+            maxEquity = Math.max(maxEquity, equity);
+            minFloatingProfit = Math.min(minFloatingProfit, floatingProfit);
+            maxFloatingProfit = Math.max(maxFloatingProfit, floatingProfit);
+            minProfit = Math.min(minProfit, profit);
+            maxProfit = Math.max(maxProfit, profit);
+            double totalValue = equity + floatingProfit;
+            minTotalValue = Math.min(minTotalValue, totalValue);
+            maxTotalValue = Math.max(maxTotalValue, totalValue);
+        }
+        
+        public int getTickCount() { return tickCount; }
+        public LocalDateTime getFirstTimestamp() { return firstTimestamp; }
+        public LocalDateTime getLastTimestamp() { return lastTimestamp; }
+        
+        // Minimum/Maximum sind 0.0 solange keine Ticks verarbeitet wurden (wie bei TickDataSet)
+        public double getMinEquity() { return valueOrZero(minEquity); }
+        public double getMaxEquity() { return valueOrZero(maxEquity); }
+        public double getMinFloatingProfit() { return valueOrZero(minFloatingProfit); }
+        public double getMaxFloatingProfit() { return valueOrZero(maxFloatingProfit); }
+        public double getMinProfit() { return valueOrZero(minProfit); }
+        public double getMaxProfit() { return valueOrZero(maxProfit); }
+        public double getMinTotalValue() { return valueOrZero(minTotalValue); }
+        public double getMaxTotalValue() { return valueOrZero(maxTotalValue); }
+        
+        private double valueOrZero(double value) {
+            return tickCount == 0 ? 0.0 : value;
         }
     }
     
     /**
      * Lädt Tick-Daten aus einer Datei
+     * ERWEITERT: Existiert eine aktuelle binäre Tick-Datei (.tkb), wird diese memory-mapped gelesen
+     * ERWEITERT: Abgeschlossene Zeit-Segmente werden vor der aktiven Datei eingelesen
+     * ERWEITERT: Ist das Signal im gemeinsamen Tick-Log enthalten, wird es index-gesteuert daraus gelesen
      * 
      * @param filePath Pfad zur Tick-Datei
      * @param signalId Die Signal-ID
      * @return TickDataSet mit allen geladenen Daten oder null bei Fehlern
      */
     public static TickDataSet loadTickData(String filePath, String signalId) {
+        TickLogStore logStore = TickLogStore.findPreferred(filePath, signalId);
+        if (logStore != null) {
+            return logStore.load(signalId, filePath, null, null);
+        }
+        
+        String binaryPath = BinaryTickFile.getPreferredBinaryPath(filePath);
+        if (binaryPath != null) {
+            return BinaryTickFile.load(binaryPath, signalId);
+        }
+        
+        if (TickSegmentIndex.hasSegments(filePath)) {
+            return loadSegmentedTickData(filePath, signalId, null, null);
+        }
+        
+        return loadCsvTickData(filePath, signalId);
+    }
+    
+    /**
+     * NEU: Lädt Tick-Daten aus den Zeit-Segmenten und der aktiven Tick-Datei
+     * Es werden nur Segmente gelesen, deren Zeitbereich laut Segment-Index den Zeitraum berührt.
+     * 
+     * @param filePath Pfad zur aktiven Tick-Datei
+     * @param signalId Die Signal-ID
+     * @param fromDate Startdatum (inklusive) oder null für unbegrenzt
+     * @param toDate Enddatum (inklusive) oder null für unbegrenzt
+     * @return TickDataSet mit den Ticks des Zeitraums oder null wenn keine Daten vorhanden
+     */
+    private static TickDataSet loadSegmentedTickData(String filePath, String signalId, 
+                                                    LocalDateTime fromDate, LocalDateTime toDate) {
+        TickSegmentIndex index = TickSegmentIndex.load(filePath);
+        List<TickSegmentIndex.Segment> segments = index.getSegmentsInRange(fromDate, toDate);
+        
+        List<TickDataSet> parts = new ArrayList<>();
+        for (TickSegmentIndex.Segment segment : segments) {
+            String segmentPath = index.resolve(segment).toString();
+            TickDataSet part = CompressedTickFile.isCompressed(segmentPath)
+                ? CompressedTickFile.load(index.resolve(segment), signalId, fromDate, toDate)
+                : loadCsvTickData(segmentPath, signalId);
+            if (part != null) {
+                parts.add(part);
+            }
+        }
+        
+        if (new File(filePath).exists()) {
+            TickDataSet active = fromDate != null ? loadCsvTickDataIndexed(filePath, signalId, fromDate, toDate)
+                                                  : loadCsvTickData(filePath, signalId);
+            if (active != null) {
+                parts.add(active);
+            }
+        }
+        
+        if (parts.isEmpty()) {
+            LOGGER.warning("Keine Tick-Daten in Segmenten gefunden: " + filePath);
+            return null;
+        }
+        
+        int totalTicks = parts.stream().mapToInt(TickDataSet::getTickCount).sum();
+        TickDataSet dataSet = new TickDataSet(signalId, filePath, parts.get(0).getCreatedDate(), totalTicks);
+        long fromMillis = fromDate != null ? BinaryTickFile.toEpochMillis(fromDate) : Long.MIN_VALUE;
+        long toMillis = toDate != null ? BinaryTickFile.toEpochMillis(toDate) : Long.MAX_VALUE;
+        for (TickDataSet part : parts) {
+            // VERBESSERT: Zeitraum per binärer Suche, Übernahme als Block
+            int fromIndex = part.searchFrom(fromMillis);
+            int toIndex = Math.max(fromIndex, part.searchAfter(toMillis));
+            dataSet.addTicks(part, fromIndex, toIndex);
+        }
+        
+        LOGGER.info("Segmentierte Tick-Daten geladen: " + dataSet.getTickCount() + " Einträge aus " + 
+                   segments.size() + " von " + index.getSegments().size() + " Segmenten + aktiver Datei für Signal " + signalId);
+        return dataSet;
+    }
+    
+    /**
+     * NEU: Setzt die Dateigröße, ab der CSV-Dateien parallel geladen werden
+     * 
+     * @param bytes Schwellwert in Bytes (0 = paralleles Laden deaktiviert)
+     */
+    public static void setParallelLoadThreshold(long bytes) {
+        parallelLoadThreshold = Math.max(0, bytes);
+    }
+    
+    /**
+     * NEU: Lädt Tick-Daten ausschließlich aus der CSV-Datei (ohne Binärformat-Prüfung)
+     * Wird u.a. für die Migration ins Binärformat verwendet.
+     * 
+     * @param filePath Pfad zur CSV-Tick-Datei
+     * @param signalId Die Signal-ID
+     * @return TickDataSet mit allen geladenen Daten oder null bei Fehlern
+     */
+    public static TickDataSet loadCsvTickData(String filePath, String signalId) {
         File file = new File(filePath);
         
         if (!file.exists()) {
@@ -152,14 +683,239 @@ public class TickDataLoader {
         
         LOGGER.info("Lade Tick-Daten für Signal " + signalId + " aus: " + filePath);
         
+        long lengthBefore = file.length();
+        
+        // NEU: Große Dateien memory-mapped in parallelen Blöcken parsen
+        if (parallelLoadThreshold > 0 && lengthBefore >= parallelLoadThreshold && 
+            Runtime.getRuntime().availableProcessors() > 1) {
+            TickDataSet dataSet = ParallelTickFileLoader.load(file, signalId);
+            if (dataSet != null) {
+                return dataSet;
+            }
+            LOGGER.fine("Paralleles Laden nicht möglich, lese sequentiell: " + filePath);
+        }
+        
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            return parseTickFile(reader, signalId, filePath);
+            TickDataSet dataSet = parseTickFile(reader, signalId, filePath);
+            if (dataSet != null) {
+                markConsumed(dataSet, file, lengthBefore);
+            }
+            return dataSet;
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Fehler beim Lesen der Tick-Datei: " + filePath, e);
             return null;
         }
     }
     
+    /**
+     * NEU: Liest nur die seit dem letzten Lesen an die CSV-Datei angehängten Ticks nach
+     * Die bereits geladenen Ticks werden übernommen, geparst werden nur die neuen Bytes bis zur letzten
+     * vollständigen Zeile. Ist die Datei geschrumpft oder neu geschrieben (Konvertierung, Reparatur),
+     * muss vollständig neu geladen werden.
+     * 
+     * @param dataSet Ein mit loadCsvTickData (bzw. loadTickData im CSV-Format) geladenes TickDataSet
+     * @return Das aktualisierte TickDataSet (neue Instanz wenn Ticks hinzukamen, sonst das übergebene)
+     *         oder null wenn ein vollständiges Neuladen nötig ist
+     */
+    public static TickDataSet refreshTickData(TickDataSet dataSet) {
+        long consumed = dataSet != null ? dataSet.getConsumedLength() : -1;
+        if (consumed < 0 || dataSet.getFilePath() == null) {
+            return null;
+        }
+        
+        File file = new File(dataSet.getFilePath());
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            long length = raf.length();
+            if (length < consumed || !Arrays.equals(readTail(raf, consumed), dataSet.consumedTail)) {
+                LOGGER.fine("Tick-Datei geschrumpft oder neu geschrieben - vollständiges Neuladen: " + dataSet.getFilePath());
+                return null;
+            }
+            if (length == consumed) {
+                return dataSet;
+            }
+            if (length - consumed > Integer.MAX_VALUE) {
+                return null;
+            }
+            
+            byte[] appended = new byte[(int) (length - consumed)];
+            raf.seek(consumed);
+            raf.readFully(appended);
+            
+            int end = appended.length;
+            while (end > 0 && appended[end - 1] != '\n') {
+                end--; // unvollständige letzte Zeile beim nächsten Mal lesen
+            }
+            if (end == 0) {
+                return dataSet;
+            }
+            
+            // VERBESSERT: Zeilen direkt aus dem Byte-Puffer parsen - ohne Zwischen-Strings
+            TickDataSet refreshed = new TickDataSet(dataSet);
+            TickLineParser parser = new TickLineParser();
+            int lineNumber = 0;
+            int lineStart = 0;
+            for (int i = 0; i < end; i++) {
+                if (appended[i] != '\n') {
+                    continue;
+                }
+                lineNumber++;
+                int first = lineStart;
+                while (first < i && appended[first] <= ' ') {
+                    first++;
+                }
+                if (first < i && appended[first] != '#') {
+                    addParsedTick(refreshed, parser, appended, lineStart, i - lineStart, lineNumber);
+                }
+                lineStart = i + 1;
+            }
+            
+            refreshed.setConsumed(consumed + end, readTail(raf, consumed + end));
+            LOGGER.fine("Tick-Daten inkrementell aktualisiert: " + (refreshed.getTickCount() - dataSet.getTickCount()) + 
+                       " neue Ticks aus " + end + " Bytes für Signal " + dataSet.getSignalId());
+            return refreshed;
+            
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Inkrementelles Lesen fehlgeschlagen: " + dataSet.getFilePath(), e);
+            return null;
+        }
+    }
+    
+    /**
+     * NEU: Merkt sich den Lesestand nach dem vollständigen Laden einer CSV-Datei
+     * Nur wenn die Datei während des Lesens nicht gewachsen ist und mit einem Zeilenende schließt.
+     */
+    static void markConsumed(TickDataSet dataSet, File file, long length) {
+        if (length <= 0 || file.length() != length) {
+            return;
+        }
+        
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            byte[] tail = readTail(raf, length);
+            if (tail[tail.length - 1] == '\n') {
+                dataSet.setConsumed(length, tail);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Lesestand nicht ermittelbar: " + file, e);
+        }
+    }
+    
+    private static byte[] readTail(RandomAccessFile raf, long end) throws IOException {
+        int size = (int) Math.min(CONSUMED_TAIL_BYTES, end);
+        byte[] tail = new byte[size];
+        raf.seek(end - size);
+        raf.readFully(tail);
+        return tail;
+    }
+    
+    /**
+     * NEU: Lädt einen Zeitraum aus einer CSV-Tick-Datei über den Tages-Index
+     * 
+     * @return TickDataSet mit den Ticks des Zeitraums oder null wenn kein Index verfügbar ist
+     */
+    private static TickDataSet loadCsvTickDataIndexed(String filePath, String signalId, 
+                                                      LocalDateTime fromDate, LocalDateTime toDate) {
+        TickDayIndex dayIndex = TickDayIndex.load(filePath);
+        if (dayIndex == null) {
+            return null;
+        }
+        
+        TickDataSet dataSet = loadCsvTickDataFrom(filePath, signalId, dayIndex.getStartOffset(fromDate), fromDate, toDate);
+        if (dataSet != null) {
+            LOGGER.info("Tick-Daten für Zeitraum " + fromDate + " bis " + toDate + " über Tages-Index geladen: " + 
+                       dataSet.getTickCount() + " Ticks (" + dayIndex.getDayCount() + " Tage indiziert)");
+        }
+        return dataSet;
+    }
+    
+    /**
+     * NEU: Lädt Tick-Daten ab einem Byte-Offset einer CSV-Tick-Datei
+     * Der Header (Created-Datum) wird vom Dateianfang gelesen, die Ticks ab dem Offset.
+     * Da die Datei chronologisch geschrieben wird, endet das Lesen beim ersten Tick nach toDate.
+     * 
+     * @param filePath Pfad zur CSV-Tick-Datei
+     * @param signalId Die Signal-ID
+     * @param offset Byte-Offset eines Zeilenanfangs
+     * @param fromDate Startdatum (inklusive) oder null für unbegrenzt
+     * @param toDate Enddatum (inklusive) oder null für unbegrenzt
+     * @return TickDataSet mit den gelesenen Ticks oder null bei Fehlern
+     */
+    private static TickDataSet loadCsvTickDataFrom(String filePath, String signalId, long offset,
+                                                   LocalDateTime fromDate, LocalDateTime toDate) {
+        File file = new File(filePath);
+        if (!file.exists() || !file.canRead()) {
+            return null;
+        }
+        
+        long lengthBefore = file.length();
+        try (FileInputStream in = new FileInputStream(file)) {
+            LocalDateTime createdDate = readCreatedDate(file);
+            TickDataSet dataSet = new TickDataSet(signalId, filePath, createdDate);
+            
+            in.getChannel().position(offset);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            
+            TickLineParser parser = new TickLineParser();
+            long fromMillis = fromDate != null ? BinaryTickFile.toEpochMillis(fromDate) : Long.MIN_VALUE;
+            long toMillis = toDate != null ? BinaryTickFile.toEpochMillis(toDate) : Long.MAX_VALUE;
+            
+            String line;
+            int lineNumber = 0;
+            boolean readToEnd = true;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                
+                if (!parseTickLine(parser, line, lineNumber)) {
+                    continue;
+                }
+                
+                long tickMillis = parser.getTimestampMillis();
+                if (tickMillis > toMillis) {
+                    readToEnd = false;
+                    break;
+                }
+                if (tickMillis >= fromMillis) {
+                    dataSet.addTick(tickMillis, parser.getEquity(), parser.getFloatingProfit(), parser.getProfit());
+                }
+            }
+            
+            // NEU: Bis zum Dateiende gelesen - spätere Aktualisierung kann inkrementell erfolgen
+            if (readToEnd) {
+                markConsumed(dataSet, file, lengthBefore);
+            }
+            return dataSet;
+        
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Fehler beim Lesen der Tick-Datei ab Offset " + offset + ": " + filePath, e);
+            return null;
+        }
+    }
+    
+    /**
+     * NEU: Liest das Created-Datum aus den Kommentarzeilen am Dateianfang
+     */
+    static LocalDateTime readCreatedDate(File file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (!line.startsWith("#")) {
+                    return null;
+                }
+                if (line.contains("Created:")) {
+                    return parseCreatedDate(line);
+                }
+            }
+        }
+        return null;
+    }
+    
     /**
      * Parst eine Tick-Datei
      * 
@@ -173,6 +929,7 @@ public class TickDataLoader {
         int lineNumber = 0;
         LocalDateTime createdDate = null;
         TickDataSet dataSet = null;
+        TickLineParser parser = new TickLineParser();
         
         while ((line = reader.readLine()) != null) {
             lineNumber++;
@@ -197,9 +954,8 @@ public class TickDataLoader {
             }
             
             // Tick-Daten parsen
-            TickData tick = parseTickLine(line, lineNumber);
-            if (tick != null) {
-                dataSet.addTick(tick);
+            if (parseTickLine(parser, line, lineNumber)) {
+                dataSet.addTick(parser.getTimestampMillis(), parser.getEquity(), parser.getFloatingProfit(), parser.getProfit());
             }
         }
         
@@ -233,121 +989,33 @@ public class TickDataLoader {
      * ERWEITERT: Parst eine einzelne Tick-Zeile mit Profit-Unterstützung
      * Format: 24.05.2025,15:13:36,2000.00,-479.54[,179.29]
      * Oder fehlerhaftes Format: 24.05.2025,15:13:36,53745,30,0,00 (6 Teile)
+     * VERBESSERT: Über den gemeinsamen TickLineParser - die Werte stehen danach im Parser bereit
      * 
+     * @param parser Der wiederverwendete Parser
      * @param line Die zu parsende Zeile
      * @param lineNumber Die Zeilennummer für Fehlerbehandlung
-     * @return TickData-Objekt oder null bei Fehlern
+     * @return true wenn die Zeile gültig ist
      */
-    private static TickData parseTickLine(String line, int lineNumber) {
-        try {
-            String[] parts = line.split(",");
-            
-            // Flexibles Parsing für verschiedene Formate
-            if (parts.length == 4) {
-                // Altes Format ohne Profit: Datum,Zeit,Equity,FloatingProfit
-                String dateStr = parts[0].trim();
-                String timeStr = parts[1].trim();
-                LocalDateTime timestamp = LocalDateTime.parse(dateStr + " " + timeStr, DATETIME_FORMATTER);
-                
-                // Equity und Floating Profit parsen
-                double equity = parseNumber(parts[2].trim());
-                double floatingProfit = parseNumber(parts[3].trim());
-                
-                return new TickData(timestamp, equity, floatingProfit, 0.0); // Profit = 0.0
-                
-            } else if (parts.length == 5) {
-                // NEUES Format mit Profit: Datum,Zeit,Equity,FloatingProfit,Profit
-                String dateStr = parts[0].trim();
-                String timeStr = parts[1].trim();
-                LocalDateTime timestamp = LocalDateTime.parse(dateStr + " " + timeStr, DATETIME_FORMATTER);
-                
-                // Equity, Floating Profit und Profit parsen
-                double equity = parseNumber(parts[2].trim());
-                double floatingProfit = parseNumber(parts[3].trim());
-                double profit = parseNumber(parts[4].trim());
-                
-                return new TickData(timestamp, equity, floatingProfit, profit);
-                
-            } else if (parts.length == 6) {
-                // Fehlerhaftes Format mit Tausendertrennzeichen: 
-                // 24.05.2025,15:22:13,53745,30,0,00
-                String dateStr = parts[0].trim();
-                String timeStr = parts[1].trim();
-                LocalDateTime timestamp = LocalDateTime.parse(dateStr + " " + timeStr, DATETIME_FORMATTER);
-                
-                // Equity zusammensetzen (parts[2] + "." + parts[3])
-                String equityStr = parts[2].trim() + "." + parts[3].trim();
-                double equity = parseNumber(equityStr);
-                
-                // Floating Profit zusammensetzen (parts[4] + "." + parts[5])
-                String floatingStr = parts[4].trim() + "." + parts[5].trim();
-                double floatingProfit = parseNumber(floatingStr);
-                
-                LOGGER.fine("Konvertiere fehlerhaftes Format in Zeile " + lineNumber + 
-                           ": Equity=" + equity + ", Floating=" + floatingProfit);
-                
-                return new TickData(timestamp, equity, floatingProfit, 0.0); // Profit = 0.0
-                
-            } else if (parts.length >= 7) {
-                // NEUES fehlerhaftes Format mit Profit und Tausendertrennzeichen:
-                // 24.05.2025,15:22:13,53745,30,0,00,179,29
-                String dateStr = parts[0].trim();
-                String timeStr = parts[1].trim();
-                LocalDateTime timestamp = LocalDateTime.parse(dateStr + " " + timeStr, DATETIME_FORMATTER);
-                
-                // Equity zusammensetzen (parts[2] + "." + parts[3])
-                String equityStr = parts[2].trim() + "." + parts[3].trim();
-                double equity = parseNumber(equityStr);
-                
-                // Floating Profit zusammensetzen (parts[4] + "." + parts[5])
-                String floatingStr = parts[4].trim() + "." + parts[5].trim();
-                double floatingProfit = parseNumber(floatingStr);
-                
-                // Profit parsen
-                double profit = 0.0;
-                if (parts.length == 7) {
-                    // Profit ist eine ganze Zahl
-                    profit = parseNumber(parts[6].trim());
-                } else if (parts.length >= 8) {
-                    // Profit ist aufgeteilt (parts[6] + "." + parts[7])
-                    String profitStr = parts[6].trim() + "." + parts[7].trim();
-                    profit = parseNumber(profitStr);
-                }
-                
-                LOGGER.fine("Konvertiere fehlerhaftes erweitertes Format in Zeile " + lineNumber + 
-                           ": Equity=" + equity + ", Floating=" + floatingProfit + ", Profit=" + profit);
-                
-                return new TickData(timestamp, equity, floatingProfit, profit);
-                
-            } else {
-                LOGGER.warning("Ungültiges Tick-Format in Zeile " + lineNumber + 
-                              ": " + line + " (erwartet 4, 5, 6 oder 7+ Teile, gefunden: " + parts.length + ")");
-                return null;
-            }
-            
-        } catch (Exception e) {
-            LOGGER.warning("Fehler beim Parsen von Zeile " + lineNumber + ": " + line + " -> " + e.getMessage());
-            return null;
+    private static boolean parseTickLine(TickLineParser parser, String line, int lineNumber) {
+        if (parser.parse(line)) {
+            return true;
         }
+        
+        LOGGER.warning("Fehler beim Parsen von Zeile " + lineNumber + " (" + parser.getError() + "), überspringe: " + line);
+        return false;
     }
     
     /**
-     * Hilfsmethode zum robusten Parsen von Zahlen
-     * 
-     * @param numberStr Der zu parsende String
-     * @return Die geparste Zahl
+     * NEU: Parst eine Tick-Zeile aus einem Byte-Puffer und hängt sie an das DataSet an
      */
-    private static double parseNumber(String numberStr) throws NumberFormatException {
-        if (numberStr == null || numberStr.trim().isEmpty()) {
-            throw new NumberFormatException("Leerer String");
+    private static void addParsedTick(TickDataSet dataSet, TickLineParser parser, byte[] buffer,
+                                      int offset, int length, int lineNumber) {
+        if (parser.parse(buffer, offset, length)) {
+            dataSet.addTick(parser.getTimestampMillis(), parser.getEquity(), parser.getFloatingProfit(), parser.getProfit());
+        } else {
+            LOGGER.warning("Fehler beim Parsen von Zeile " + lineNumber + " (" + parser.getError() + "), überspringe: " +
+                          new String(buffer, offset, length, StandardCharsets.UTF_8).trim());
         }
-        
-        // Entferne alle Leerzeichen und ersetze Komma durch Punkt
-        String cleaned = numberStr.trim()
-                                 .replaceAll("\\s+", "")
-                                 .replace(",", ".");
-        
-        return Double.parseDouble(cleaned);
     }
     
     /**
@@ -359,25 +1027,107 @@ public class TickDataLoader {
      * @return TickDataSet mit den neuesten Ticks
      */
     public static TickDataSet loadLatestTicks(String filePath, String signalId, int maxTicks) {
-        TickDataSet fullDataSet = loadTickData(filePath, signalId);
+        // NEU: Gemeinsames Tick-Log - nur die letzten Offsets des Signals lesen
+        TickLogStore logStore = TickLogStore.findPreferred(filePath, signalId);
+        if (logStore != null) {
+            return logStore.loadLatest(signalId, filePath, maxTicks);
+        }
         
-        if (fullDataSet == null || fullDataSet.getTickCount() <= maxTicks) {
-            return fullDataSet;
+        // NEU: Binärformat - direkter Zugriff auf die letzten Sätze
+        String binaryPath = BinaryTickFile.getPreferredBinaryPath(filePath);
+        if (binaryPath != null) {
+            return BinaryTickFile.loadLatest(binaryPath, signalId, maxTicks);
         }
         
-        // Neue TickDataSet mit nur den neuesten Ticks erstellen
-        TickDataSet limitedDataSet = new TickDataSet(signalId, filePath, fullDataSet.getCreatedDate());
-        List<TickData> allTicks = fullDataSet.getTicks();
+        // VERBESSERT: CSV-Datei rückwärts vom Dateiende lesen - Aufwand hängt nur von maxTicks ab
+        boolean segmented = TickSegmentIndex.hasSegments(filePath);
+        if (new File(filePath).exists()) {
+            TickDataSet latest = loadLatestCsvTicks(filePath, signalId, maxTicks);
+            if (latest != null && (latest.getTickCount() >= maxTicks || !segmented)) {
+                return latest;
+            }
+        }
         
-        int startIndex = Math.max(0, allTicks.size() - maxTicks);
-        for (int i = startIndex; i < allTicks.size(); i++) {
-            limitedDataSet.addTick(allTicks.get(i));
+        if (!segmented) {
+            return null;
+        }
+        
+        // NEU: Aktive Datei reicht nicht - nur so viele Segmente (vom jüngsten her) wie für maxTicks nötig
+        TickDataSet fullDataSet = loadSegmentedTickData(filePath, signalId, findLatestSegmentsStart(filePath, maxTicks), null);
+        if (fullDataSet == null || fullDataSet.getTickCount() <= maxTicks) {
+            return fullDataSet;
         }
         
+        TickDataSet limitedDataSet = new TickDataSet(signalId, filePath, fullDataSet.getCreatedDate(), maxTicks);
+        limitedDataSet.addTicks(fullDataSet, fullDataSet.getTickCount() - maxTicks, fullDataSet.getTickCount());
+        
         LOGGER.info("Neueste " + limitedDataSet.getTickCount() + " von " + fullDataSet.getTickCount() + " Ticks geladen");
         return limitedDataSet;
     }
     
+    /**
+     * NEU: Liest die letzten maxTicks gültigen Ticks einer CSV-Datei rückwärts vom Dateiende
+     * Es werden nur die Blöcke am Dateiende gelesen, die diese Zeilen enthalten.
+     * 
+     * @param filePath Pfad zur CSV-Tick-Datei
+     * @param signalId Die Signal-ID
+     * @param maxTicks Maximale Anzahl Ticks
+     * @return TickDataSet in chronologischer Reihenfolge (ggf. mit weniger Ticks) oder null bei Fehlern
+     */
+    private static TickDataSet loadLatestCsvTicks(String filePath, String signalId, int maxTicks) {
+        TickLineParser parser = new TickLineParser();
+        // KORRIGIERT: Spalten in Leserichtung (neueste zuerst) puffern und danach einmal aufsteigend
+        // anhängen - absteigendes addTick würde jeden Tick vorne einsortieren (quadratisch)
+        int capacity = Math.min(Math.max(maxTicks, 1), 4096);
+        long[] timestamps = new long[capacity];
+        double[] equities = new double[capacity];
+        double[] floatingProfits = new double[capacity];
+        double[] profits = new double[capacity];
+        int count = 0;
+        int linesRead = 0;
+        
+        try (ReverseLineReader reader = new ReverseLineReader(new File(filePath).toPath())) {
+            String line;
+            while (count < maxTicks && (line = reader.readPreviousLine()) != null) {
+                linesRead++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                
+                if (parser.parse(line)) {
+                    if (count == timestamps.length) {
+                        int newCapacity = (int) Math.min((long) maxTicks, timestamps.length * 2L);
+                        timestamps = Arrays.copyOf(timestamps, newCapacity);
+                        equities = Arrays.copyOf(equities, newCapacity);
+                        floatingProfits = Arrays.copyOf(floatingProfits, newCapacity);
+                        profits = Arrays.copyOf(profits, newCapacity);
+                    }
+                    timestamps[count] = parser.getTimestampMillis();
+                    equities[count] = parser.getEquity();
+                    floatingProfits[count] = parser.getFloatingProfit();
+                    profits[count] = parser.getProfit();
+                    count++;
+                } else {
+                    LOGGER.warning("Fehler beim Parsen von Zeile " + linesRead + " vom Dateiende (" + parser.getError() +
+                                  "), überspringe: " + line);
+                }
+            }
+            
+            TickDataSet dataSet = new TickDataSet(signalId, filePath, readCreatedDate(new File(filePath)), count);
+            for (int i = count - 1; i >= 0; i--) {
+                dataSet.addTick(timestamps[i], equities[i], floatingProfits[i], profits[i]);
+            }
+            
+            LOGGER.info("Neueste " + count + " Ticks rückwärts gelesen (" + linesRead + " Zeilen) für Signal " + signalId);
+            return dataSet;
+            
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Fehler beim Rückwärtslesen der Tick-Datei: " + filePath, e);
+            return null;
+        }
+    }
+    
     /**
      * Lädt Tick-Daten für einen bestimmten Zeitraum
      * 
@@ -389,20 +1139,37 @@ public class TickDataLoader {
      */
     public static TickDataSet loadTickDataForPeriod(String filePath, String signalId, 
                                                    LocalDateTime fromDate, LocalDateTime toDate) {
+        // NEU: Gemeinsames Tick-Log - Beginn des Zeitraums per binärer Suche über die Offsets
+        TickLogStore logStore = TickLogStore.findPreferred(filePath, signalId);
+        if (logStore != null) {
+            return logStore.load(signalId, filePath, fromDate, toDate);
+        }
+        
+        // NEU: Binärformat - Zeitbereich per binärer Suche
+        String binaryPath = BinaryTickFile.getPreferredBinaryPath(filePath);
+        if (binaryPath != null) {
+            return BinaryTickFile.loadRange(binaryPath, signalId, fromDate, toDate);
+        }
+        
+        // NEU: Segmentierte Daten - nur betroffene Segmente öffnen
+        if (TickSegmentIndex.hasSegments(filePath)) {
+            return loadSegmentedTickData(filePath, signalId, fromDate, toDate);
+        }
+        
+        // NEU: Tages-Index - direkt zum ersten Tag des Zeitraums springen
+        TickDataSet indexedDataSet = loadCsvTickDataIndexed(filePath, signalId, fromDate, toDate);
+        if (indexedDataSet != null) {
+            return indexedDataSet;
+        }
+        
         TickDataSet fullDataSet = loadTickData(filePath, signalId);
         
         if (fullDataSet == null) {
             return null;
         }
         
-        TickDataSet filteredDataSet = new TickDataSet(signalId, filePath, fullDataSet.getCreatedDate());
-        
-        for (TickData tick : fullDataSet.getTicks()) {
-            LocalDateTime tickTime = tick.getTimestamp();
-            if (!tickTime.isBefore(fromDate) && !tickTime.isAfter(toDate)) {
-                filteredDataSet.addTick(tick);
-            }
-        }
+        // VERBESSERT: Zeitraum per binärer Suche statt linearem Filtern
+        TickDataSet filteredDataSet = fullDataSet.subRange(fromDate, toDate);
         
         LOGGER.info("Tick-Daten für Zeitraum " + fromDate + " bis " + toDate + ": " + 
                    filteredDataSet.getTickCount() + " von " + fullDataSet.getTickCount() + " Ticks");
@@ -410,6 +1177,159 @@ public class TickDataLoader {
         return filteredDataSet;
     }
     
+    /**
+     * NEU: Lädt alle Tick-Daten ab einem Zeitpunkt (z.B. Beginn der Woche oder des Monats)
+     * Bei Binärformat oder Zeit-Segmenten werden ältere Daten gar nicht erst gelesen.
+     * 
+     * @param filePath Pfad zur Tick-Datei
+     * @param signalId Die Signal-ID
+     * @param fromDate Startdatum (inklusive)
+     * @return TickDataSet mit den Ticks ab fromDate oder null bei Fehlern
+     */
+    public static TickDataSet loadTickDataSince(String filePath, String signalId, LocalDateTime fromDate) {
+        return loadTickDataForPeriod(filePath, signalId, fromDate, OPEN_END);
+    }
+    
+    /**
+     * NEU: Öffnet einen lazy Iterator über die Ticks eines Signals (chronologisch)
+     * Die Ticks werden erst beim Weiterschalten gelesen und nicht gesammelt - einmalige Auswertungen
+     * (Peak, Zusammenfassung, Export) laufen damit mit konstantem Speicher und können jederzeit abbrechen.
+     * Der Iterator muss geschlossen werden (try-with-resources), sofern er nicht bis zum Ende gelesen wird.
+     * 
+     * @param filePath Pfad zur Tick-Datei
+     * @param signalId Die Signal-ID
+     * @param fromDate Startdatum (inklusive) oder null für unbegrenzt
+     * @param toDate Enddatum (inklusive) oder null für unbegrenzt
+     * @return TickIterator (leer wenn keine Tick-Daten vorhanden sind)
+     */
+    public static TickIterator openTicks(String filePath, String signalId, LocalDateTime fromDate, LocalDateTime toDate) {
+        TickIterator iterator = new TickIterator(fromDate, toDate);
+        if (filePath == null) {
+            return iterator;
+        }
+        
+        TickLogStore logStore = TickLogStore.findPreferred(filePath, signalId);
+        if (logStore != null) {
+            iterator.addDataSetSource(() -> logStore.load(signalId, filePath, fromDate, toDate));
+            return iterator;
+        }
+        
+        String binaryPath = BinaryTickFile.getPreferredBinaryPath(filePath);
+        if (binaryPath != null) {
+            iterator.addBinarySource(binaryPath);
+            return iterator;
+        }
+        
+        if (TickSegmentIndex.hasSegments(filePath)) {
+            TickSegmentIndex index = TickSegmentIndex.load(filePath);
+            for (TickSegmentIndex.Segment segment : index.getSegmentsInRange(fromDate, toDate)) {
+                Path segmentPath = index.resolve(segment);
+                if (CompressedTickFile.isCompressed(segmentPath.toString())) {
+                    iterator.addDataSetSource(() -> CompressedTickFile.load(segmentPath, signalId, fromDate, toDate));
+                } else {
+                    iterator.addCsvSource(segmentPath.toString(), 0);
+                }
+            }
+        }
+        
+        // Tages-Index: bei Startdatum erst ab dem passenden Tag lesen
+        TickDayIndex dayIndex = fromDate != null ? TickDayIndex.load(filePath) : null;
+        iterator.addCsvSource(filePath, dayIndex != null ? dayIndex.getStartOffset(fromDate) : 0);
+        return iterator;
+    }
+    
+    /**
+     * NEU: Lazy Stream über die Ticks eines Signals (siehe openTicks)
+     * Der Stream hält die Datei offen und muss geschlossen werden: {@code try (Stream<TickData> ticks = ...)}.
+     * Lesefehler werden als UncheckedIOException geworfen.
+     * 
+     * @param filePath Pfad zur Tick-Datei
+     * @param signalId Die Signal-ID
+     * @param fromDate Startdatum (inklusive) oder null für unbegrenzt
+     * @param toDate Enddatum (inklusive) oder null für unbegrenzt
+     * @return Sequentieller, geordneter Stream der Ticks
+     */
+    public static Stream<TickData> streamTicks(String filePath, String signalId, LocalDateTime fromDate, LocalDateTime toDate) {
+        TickIterator iterator = openTicks(filePath, signalId, fromDate, toDate);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                            .onClose(iterator::close);
+    }
+    
+    /**
+     * NEU: Prüft ob ein Tick neu ist gegenüber dem neuesten bereits aufgenommenen Zeitstempel
+     * Für fortgeschriebene Zustände (Peak-Index, Rollups, Engines): Gleiche Zeitstempel gelten als bereits
+     * aufgenommen. Ältere Zeitstempel sind nur innerhalb von CLOCK_SETBACK_TOLERANCE neu - so gehen die Ticks
+     * der beim Ende der Sommerzeit wiederholten Stunde nicht verloren.
+     * 
+     * @param latestTime Neuester aufgenommener Zeitstempel oder null
+     * @param time Zeitstempel des Ticks
+     * @return true wenn der Tick aufgenommen werden soll
+     */
+    public static boolean isNewTick(LocalDateTime latestTime, LocalDateTime time) {
+        if (latestTime == null || time.isAfter(latestTime)) {
+            return true;
+        }
+        return time.isBefore(latestTime) && !time.isBefore(latestTime.minus(CLOCK_SETBACK_TOLERANCE));
+    }
+    
+    /**
+     * NEU: Liest nur den ersten Tick der kompletten Historie (ältestes Segment bzw. Dateianfang)
+     * Für Basiswerte wie die initiale Equity, wenn sonst nur ein Zeitfenster geladen wird.
+     * 
+     * @param filePath Pfad zur Tick-Datei
+     * @param signalId Die Signal-ID
+     * @return Der erste Tick oder null wenn keine Ticks vorliegen oder die Datei nicht lesbar ist
+     */
+    public static TickData loadFirstTick(String filePath, String signalId) {
+        try (Stream<TickData> ticks = streamTicks(filePath, signalId, null, null)) {
+            return ticks.findFirst().orElse(null);
+        } catch (UncheckedIOException e) {
+            LOGGER.log(Level.WARNING, "Erster Tick konnte nicht gelesen werden: " + filePath, e);
+            return null;
+        }
+    }
+    
+    /**
+     * NEU: Prüft ob für ein Signal Tick-Daten vorliegen - unabhängig vom Speicherformat
+     * (CSV-Datei, binäre Datei, Zeit-Segmente oder gemeinsames Tick-Log)
+     * 
+     * @param filePath Pfad zur Tick-Datei
+     * @param signalId Die Signal-ID
+     * @return true wenn Tick-Daten existieren
+     */
+    public static boolean tickDataExists(String filePath, String signalId) {
+        if (filePath == null) {
+            return false;
+        }
+        
+        if (new File(filePath).exists() || BinaryTickFile.getPreferredBinaryPath(filePath) != null ||
+            TickSegmentIndex.hasSegments(filePath)) {
+            return true;
+        }
+        
+        TickLogStore logStore = TickLogStore.find(filePath);
+        return logStore != null && logStore.contains(signalId);
+    }
+    
+    /**
+     * NEU: Ermittelt ab welchem Zeitpunkt die jüngsten Segmente mindestens maxTicks enthalten
+     * 
+     * @return Startzeitpunkt oder null wenn alle Segmente benötigt werden
+     */
+    private static LocalDateTime findLatestSegmentsStart(String filePath, int maxTicks) {
+        List<TickSegmentIndex.Segment> segments = TickSegmentIndex.load(filePath).getSegments();
+        int count = 0;
+        
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            count += segments.get(i).getTickCount();
+            if (count >= maxTicks) {
+                return segments.get(i).getFirstTimestamp();
+            }
+        }
+        
+        return null;
+    }
+    
     /**
      * ERWEITERT: Erstellt eine Zusammenfassung der Tick-Daten mit Profit
      * 
@@ -421,31 +1341,67 @@ public class TickDataLoader {
             return "Keine Tick-Daten verfügbar";
         }
         
+        // VERBESSERT: Alle Kennzahlen in einem Durchlauf statt je einem pro Minimum/Maximum
+        return formatSummary(dataSet.getSignalId(), dataSet.getFilePath(), dataSet.getCreatedDate(), 
+                             TickStatistics.of(dataSet));
+    }
+    
+    /**
+     * NEU: Erstellt die Zusammenfassung direkt aus der Tick-Datei in einem lazy Durchlauf
+     * Die Ticks werden dabei nicht im Speicher gehalten.
+     * 
+     * @param filePath Pfad zur Tick-Datei
+     * @param signalId Die Signal-ID
+     * @return Zusammenfassung als String
+     */
+    public static String createSummary(String filePath, String signalId) {
+        TickStatistics statistics = new TickStatistics();
+        try (Stream<TickData> ticks = streamTicks(filePath, signalId, null, null)) {
+            ticks.forEach(statistics);
+        } catch (UncheckedIOException e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Lesen der Tick-Daten für Zusammenfassung: " + filePath, e);
+        }
+        
+        if (statistics.getTickCount() == 0) {
+            return "Keine Tick-Daten verfügbar";
+        }
+        
+        LocalDateTime createdDate = null;
+        try {
+            createdDate = new File(filePath).exists() ? readCreatedDate(new File(filePath)) : null;
+        } catch (IOException e) {
+            LOGGER.fine("Created-Datum nicht lesbar: " + filePath);
+        }
+        return formatSummary(signalId, filePath, createdDate, statistics);
+    }
+    
+    private static String formatSummary(String signalId, String filePath, LocalDateTime createdDate, 
+                                        TickStatistics statistics) {
         StringBuilder summary = new StringBuilder();
         summary.append("=== Tick-Daten Zusammenfassung ===\n");
-        summary.append("Signal ID: ").append(dataSet.getSignalId()).append("\n");
-        summary.append("Datei: ").append(dataSet.getFilePath()).append("\n");
-        summary.append("Erstellt: ").append(dataSet.getCreatedDate()).append("\n");
-        summary.append("Anzahl Ticks: ").append(dataSet.getTickCount()).append("\n");
-        
-        if (dataSet.getTickCount() > 0) {
-            summary.append("Zeitraum: ").append(dataSet.getFirstTick().getTimestamp())
-                   .append(" bis ").append(dataSet.getLatestTick().getTimestamp()).append("\n");
+        summary.append("Signal ID: ").append(signalId).append("\n");
+        summary.append("Datei: ").append(filePath).append("\n");
+        summary.append("Erstellt: ").append(createdDate).append("\n");
+        summary.append("Anzahl Ticks: ").append(statistics.getTickCount()).append("\n");
+        
+        if (statistics.getTickCount() > 0) {
+            summary.append("Zeitraum: ").append(statistics.getFirstTimestamp())
+                   .append(" bis ").append(statistics.getLastTimestamp()).append("\n");
             summary.append("Equity: ").append(String.format("%.2f - %.2f", 
-                         dataSet.getMinEquity(), dataSet.getMaxEquity())).append("\n");
+                         statistics.getMinEquity(), statistics.getMaxEquity())).append("\n");
             summary.append("Floating Profit: ").append(String.format("%.2f - %.2f", 
-                         dataSet.getMinFloatingProfit(), dataSet.getMaxFloatingProfit())).append("\n");
+                         statistics.getMinFloatingProfit(), statistics.getMaxFloatingProfit())).append("\n");
             
             // NEU: Profit-Zusammenfassung
-            double minProfit = dataSet.getMinProfit();
-            double maxProfit = dataSet.getMaxProfit();
+            double minProfit = statistics.getMinProfit();
+            double maxProfit = statistics.getMaxProfit();
             if (minProfit != 0.0 || maxProfit != 0.0) {
                 summary.append("Profit: ").append(String.format("%.2f - %.2f", 
                              minProfit, maxProfit)).append("\n");
             }
             
             summary.append("Gesamtwert: ").append(String.format("%.2f - %.2f", 
-                         dataSet.getMinTotalValue(), dataSet.getMaxTotalValue())).append("\n");
+                         statistics.getMinTotalValue(), statistics.getMaxTotalValue())).append("\n");
         }
         
         return summary.toString();
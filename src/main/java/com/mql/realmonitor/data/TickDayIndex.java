@@ -0,0 +1,314 @@
+package com.mql.realmonitor.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * NEU: Tages-Index für CSV-Tick-Dateien (Sidecar-Datei tick/<id>.idx)
+ * Bildet jeden Tag auf den Byte-Offset seiner ersten Tick-Zeile und die Anzahl seiner Ticks ab.
+ * Zeitraum-Abfragen springen damit direkt an den Beginn des gesuchten Tages, statt die
+ * ganze Datei zu parsen.
+ * 
+ * Der Index deckt die Datei bis zu einer Byte-Position ab. Beim Laden wird nur der Teil danach
+ * nachgelesen. Passt der Index nicht mehr zur Datei (neu geschrieben), wird er neu aufgebaut.
+ * 
+ * Format: Kommentar-Header, "#covered=<Bytes>", dann eine Zeile pro Tag: yyyy-MM-dd,Offset,Anzahl
+ */
+public class TickDayIndex {
+    
+    private static final Logger LOGGER = Logger.getLogger(TickDayIndex.class.getName());
+    
+    public static final String INDEX_SUFFIX = ".idx";
+    
+    private static final String COVERED_PREFIX = "#covered=";
+    private static final DateTimeFormatter LINE_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final int DATE_LENGTH = 10;
+    
+    /**
+     * Ein Tag im Index
+     */
+    public static class DayEntry {
+        private final LocalDate day;
+        private final long offset;
+        private int tickCount;
+        
+        DayEntry(LocalDate day, long offset, int tickCount) {
+            this.day = day;
+            this.offset = offset;
+            this.tickCount = tickCount;
+        }
+        
+        public LocalDate getDay() { return day; }
+        public long getOffset() { return offset; }
+        public int getTickCount() { return tickCount; }
+    }
+    
+    private final Path csvFile;
+    private final Path indexFile;
+    private final TreeMap<LocalDate, DayEntry> days = new TreeMap<>();
+    private long coveredLength;
+    
+    private TickDayIndex(Path csvFile) {
+        this.csvFile = csvFile;
+        this.indexFile = getIndexPath(csvFile.toString());
+    }
+    
+    /**
+     * @return Pfad der Index-Datei (tick/42.txt -> tick/42.idx)
+     */
+    public static Path getIndexPath(String csvFilePath) {
+        String path = csvFilePath.endsWith(".txt") ? csvFilePath.substring(0, csvFilePath.length() - 4) : csvFilePath;
+        return Paths.get(path + INDEX_SUFFIX);
+    }
+    
+    /**
+     * Lädt den Index einer Tick-Datei, ergänzt neue Zeilen und speichert ihn bei Änderungen
+     * Fehlt der Index oder passt er nicht zur Datei, wird er aus der Datei aufgebaut.
+     * 
+     * @param csvFilePath Pfad der CSV-Tick-Datei
+     * @return Der aktuelle Index oder null wenn die Datei fehlt oder nicht lesbar ist
+     */
+    public static TickDayIndex load(String csvFilePath) {
+        Path csvFile = Paths.get(csvFilePath);
+        if (!Files.exists(csvFile)) {
+            return null;
+        }
+        
+        TickDayIndex index = new TickDayIndex(csvFile);
+        try {
+            long fileSize = Files.size(csvFile);
+            boolean valid = index.read() && index.matches(fileSize);
+            if (!valid) {
+                index.days.clear();
+                index.coveredLength = 0;
+            }
+            
+            if (index.coveredLength < fileSize) {
+                index.scan(fileSize);
+                index.save();
+                if (!valid) {
+                    LOGGER.fine("Tages-Index aufgebaut: " + index.indexFile + " (" + index.days.size() + " Tage)");
+                }
+            }
+            return index;
+        
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Tages-Index nicht verfügbar für " + csvFilePath, e);
+            return null;
+        }
+    }
+    
+    /**
+     * Bringt den Index einer Tick-Datei auf den aktuellen Stand (nach dem Anhängen)
+     */
+    public static void update(String csvFilePath) {
+        load(csvFilePath);
+    }
+    
+    /**
+     * Löscht den Index einer Tick-Datei (nach dem Neuschreiben der Datei)
+     */
+    public static void invalidate(String csvFilePath) {
+        try {
+            Files.deleteIfExists(getIndexPath(csvFilePath));
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Tages-Index konnte nicht gelöscht werden: " + csvFilePath, e);
+        }
+    }
+    
+    /**
+     * Byte-Offset, ab dem alle Ticks ab fromDate liegen
+     * Das ist der Beginn des ersten indizierten Tages ab fromDate. Ticks danach liegen im nicht indizierten Rest.
+     * 
+     * @param fromDate Startzeitpunkt oder null für den Dateianfang
+     * @return Byte-Offset (0 = Dateianfang)
+     */
+    public long getStartOffset(LocalDateTime fromDate) {
+        if (fromDate == null) {
+            return 0;
+        }
+        
+        Map.Entry<LocalDate, DayEntry> entry = days.ceilingEntry(fromDate.toLocalDate());
+        return entry != null ? entry.getValue().getOffset() : coveredLength;
+    }
+    
+    /**
+     * Byte-Offset, ab dem mindestens die letzten maxTicks Ticks liegen
+     * 
+     * @param maxTicks Anzahl der gewünschten Ticks
+     * @return Byte-Offset (0 = Dateianfang)
+     */
+    public long getLatestOffset(int maxTicks) {
+        int count = 0;
+        for (DayEntry entry : days.descendingMap().values()) {
+            count += entry.getTickCount();
+            if (count >= maxTicks) {
+                return entry.getOffset();
+            }
+        }
+        return 0;
+    }
+    
+    public int getDayCount() {
+        return days.size();
+    }
+    
+    public long getCoveredLength() {
+        return coveredLength;
+    }
+    
+    /**
+     * Liest die Index-Datei
+     * 
+     * @return false wenn keine gültige Index-Datei existiert
+     */
+    private boolean read() {
+        if (!Files.exists(indexFile)) {
+            return false;
+        }
+        
+        try {
+            boolean hasCovered = false;
+            for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+                if (line.startsWith(COVERED_PREFIX)) {
+                    coveredLength = Long.parseLong(line.substring(COVERED_PREFIX.length()).trim());
+                    hasCovered = true;
+                    continue;
+                }
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                
+                String[] parts = line.split(",");
+                LocalDate day = LocalDate.parse(parts[0]);
+                days.put(day, new DayEntry(day, Long.parseLong(parts[1]), Integer.parseInt(parts[2])));
+            }
+            return hasCovered;
+        
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Tages-Index beschädigt, baue neu auf: " + indexFile, e);
+            return false;
+        }
+    }
+    
+    /**
+     * Prüft ob der Index noch zur Datei passt: abgedeckte Länge und Tagesanfänge stimmen
+     */
+    private boolean matches(long fileSize) throws IOException {
+        if (coveredLength > fileSize) {
+            return false;
+        }
+        if (days.isEmpty()) {
+            return true;
+        }
+        
+        try (RandomAccessFile file = new RandomAccessFile(csvFile.toFile(), "r")) {
+            return startsWithDay(file, days.firstEntry().getValue()) && startsWithDay(file, days.lastEntry().getValue());
+        }
+    }
+    
+    private static boolean startsWithDay(RandomAccessFile file, DayEntry entry) throws IOException {
+        if (entry.getOffset() + DATE_LENGTH > file.length()) {
+            return false;
+        }
+        
+        byte[] date = new byte[DATE_LENGTH];
+        file.seek(entry.getOffset());
+        file.readFully(date);
+        return entry.getDay().equals(parseDay(new String(date, StandardCharsets.US_ASCII)));
+    }
+    
+    /**
+     * Liest die Datei ab der abgedeckten Position bis zur letzten vollständigen Zeile
+     */
+    private void scan(long fileSize) throws IOException {
+        DayEntry current = days.isEmpty() ? null : days.lastEntry().getValue();
+        
+        try (FileChannel channel = FileChannel.open(csvFile, StandardOpenOption.READ);
+             InputStream in = new BufferedInputStream(Channels.newInputStream(channel.position(coveredLength)), 64 * 1024)) {
+            long position = coveredLength;
+            long lineStart = position;
+            byte[] head = new byte[DATE_LENGTH];
+            int headLength = 0;
+            
+            int b;
+            while (position < fileSize && (b = in.read()) != -1) {
+                position++;
+                
+                if (b != '\n') {
+                    if (headLength < DATE_LENGTH) {
+                        head[headLength++] = (byte) b;
+                    }
+                    continue;
+                }
+                
+                // Zeile vollständig - Datum am Zeilenanfang auswerten (Header und Leerzeilen liefern null)
+                LocalDate day = headLength == DATE_LENGTH ? parseDay(new String(head, StandardCharsets.US_ASCII)) : null;
+                if (day != null) {
+                    if (current == null || !current.getDay().equals(day)) {
+                        current = days.get(day);
+                        if (current == null) {
+                            current = new DayEntry(day, lineStart, 0);
+                            days.put(day, current);
+                        }
+                    }
+                    current.tickCount++;
+                }
+                
+                lineStart = position;
+                headLength = 0;
+                coveredLength = position;
+            }
+        }
+    }
+    
+    private void save() {
+        Path temp = Paths.get(indexFile + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write("# MQL5 Tick-Tagesindex - Format: Tag,Byte-Offset,Anzahl");
+                writer.newLine();
+                writer.write(COVERED_PREFIX + coveredLength);
+                writer.newLine();
+                for (DayEntry entry : days.values()) {
+                    writer.write(entry.getDay() + "," + entry.getOffset() + "," + entry.getTickCount());
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        
+        } catch (IOException e) {
+            // Index ist nur ein Beschleuniger - beim nächsten Laden wird er erneut aufgebaut
+            LOGGER.log(Level.FINE, "Tages-Index konnte nicht gespeichert werden: " + indexFile, e);
+        }
+    }
+    
+    private static LocalDate parseDay(String text) {
+        if (text.isEmpty() || !Character.isDigit(text.charAt(0))) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(text, LINE_DATE_FORMATTER);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
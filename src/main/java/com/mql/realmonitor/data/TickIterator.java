@@ -0,0 +1,282 @@
+package com.mql.realmonitor.data;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import com.mql.realmonitor.data.TickDataLoader.TickData;
+import com.mql.realmonitor.data.TickDataLoader.TickDataSet;
+
+/**
+ * NEU: Lazy Iterator über die Ticks eines Signals
+ * CSV-Dateien (aktive Datei und unkomprimierte Segmente) werden zeilenweise erst beim Weiterschalten
+ * geparst, Binärdateien memory-mapped satzweise gelesen - es liegt immer nur der aktuelle Tick im Speicher.
+ * Komprimierte Segmente und das gemeinsame Tick-Log werden quellenweise als TickDataSet geladen.
+ * 
+ * Optionale Zeitgrenzen werden beim Lesen angewendet: Da die Quellen chronologisch sind, endet die
+ * Iteration beim ersten Tick nach dem Enddatum. Die offene Datei wird am Ende der Iteration, bei einem
+ * Fehler und beim Schließen freigegeben - bei vorzeitigem Abbruch muss close() aufgerufen werden
+ * (try-with-resources bzw. Stream.close()).
+ * 
+ * Nicht thread-sicher.
+ */
+public class TickIterator implements Iterator<TickData>, Closeable {
+    
+    private static final Logger LOGGER = Logger.getLogger(TickIterator.class.getName());
+    
+    /**
+     * Eine Datenquelle: CSV-Datei, Binärdatei (beide lazy) oder ein bei Bedarf geladenes TickDataSet
+     */
+    private static class Source {
+        final String csvPath;
+        final long csvOffset;
+        final String binaryPath;
+        final Supplier<TickDataSet> loader;
+        
+        Source(String csvPath, long csvOffset, String binaryPath, Supplier<TickDataSet> loader) {
+            this.csvPath = csvPath;
+            this.csvOffset = csvOffset;
+            this.binaryPath = binaryPath;
+            this.loader = loader;
+        }
+    }
+    
+    private final Deque<Source> sources = new ArrayDeque<>();
+    private final long fromMillis;
+    private final long toMillis;
+    private final TickLineParser parser = new TickLineParser();
+    
+    private BufferedReader reader;
+    private String readerPath;
+    private int lineNumber;
+    
+    private BinaryTickFile.Reader binaryReader;
+    private int binaryIndex;
+    private int binaryEnd;
+    
+    private TickDataSet dataSet;
+    private int dataSetIndex;
+    private int dataSetEnd;
+    
+    private TickData next;
+    private boolean finished;
+    private int deliveredTicks;
+    
+    /**
+     * @param fromDate Startdatum (inklusive) oder null für unbegrenzt
+     * @param toDate Enddatum (inklusive) oder null für unbegrenzt
+     */
+    TickIterator(LocalDateTime fromDate, LocalDateTime toDate) {
+        this.fromMillis = fromDate != null ? BinaryTickFile.toEpochMillis(fromDate) : Long.MIN_VALUE;
+        this.toMillis = toDate != null ? BinaryTickFile.toEpochMillis(toDate) : Long.MAX_VALUE;
+    }
+    
+    /**
+     * Hängt eine CSV-Datei als Quelle an (wird lazy gelesen)
+     * 
+     * @param csvPath Pfad zur CSV-Tick-Datei
+     * @param offset Byte-Offset eines Zeilenanfangs, ab dem gelesen wird
+     */
+    void addCsvSource(String csvPath, long offset) {
+        sources.add(new Source(csvPath, offset, null, null));
+    }
+    
+    /**
+     * Hängt eine binäre Tick-Datei als Quelle an (wird memory-mapped satzweise gelesen)
+     */
+    void addBinarySource(String binaryPath) {
+        sources.add(new Source(null, 0, binaryPath, null));
+    }
+    
+    /**
+     * Hängt eine Quelle an, die erst beim Erreichen als TickDataSet geladen wird
+     */
+    void addDataSetSource(Supplier<TickDataSet> loader) {
+        sources.add(new Source(null, 0, null, loader));
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            next = advance();
+        }
+        return next != null;
+    }
+    
+    @Override
+    public TickData next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        TickData tick = next;
+        next = null;
+        deliveredTicks++;
+        return tick;
+    }
+    
+    /**
+     * @return Anzahl der bisher gelieferten Ticks
+     */
+    public int getDeliveredTicks() {
+        return deliveredTicks;
+    }
+    
+    @Override
+    public void close() {
+        finished = true;
+        next = null;
+        dataSet = null;
+        sources.clear();
+        closeReader();
+        closeBinaryReader();
+    }
+    
+    /**
+     * Liest den nächsten Tick im Zeitraum aus der aktuellen bzw. den folgenden Quellen
+     * 
+     * @return Der nächste Tick oder null wenn keine weiteren vorhanden sind
+     */
+    private TickData advance() {
+        try {
+            while (true) {
+                if (reader != null) {
+                    TickData tick = readCsvTick();
+                    if (tick != null || finished) {
+                        return tick;
+                    }
+                    closeReader();
+                } else if (binaryReader != null) {
+                    if (binaryIndex < binaryEnd) {
+                        return binaryReader.getTick(binaryIndex++);
+                    }
+                    boolean pastToDate = binaryEnd < binaryReader.getRecordCount();
+                    closeBinaryReader();
+                    if (pastToDate) {
+                        close();
+                        return null;
+                    }
+                } else if (dataSet != null) {
+                    if (dataSetIndex < dataSetEnd) {
+                        return dataSet.getTick(dataSetIndex++);
+                    }
+                    boolean pastToDate = dataSetEnd < dataSet.getTickCount();
+                    dataSet = null;
+                    if (pastToDate) {
+                        close();
+                        return null;
+                    }
+                } else if (!sources.isEmpty()) {
+                    open(sources.poll());
+                } else {
+                    close();
+                    return null;
+                }
+            }
+        } catch (IOException e) {
+            String path = readerPath != null ? readerPath : "binäre Tick-Datei";
+            close();
+            throw new UncheckedIOException("Fehler beim Lesen der Tick-Datei: " + path, e);
+        }
+    }
+    
+    /**
+     * @return Nächster Tick im Zeitraum, null am Dateiende (bzw. nach dem Enddatum, dann ist finished gesetzt)
+     */
+    private TickData readCsvTick() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            
+            if (!parser.parse(line)) {
+                LOGGER.warning("Fehler beim Parsen von Zeile " + lineNumber + " (" + parser.getError() +
+                              "), überspringe: " + readerPath);
+                continue;
+            }
+            
+            long tickMillis = parser.getTimestampMillis();
+            if (tickMillis > toMillis) {
+                close();
+                return null;
+            }
+            if (tickMillis >= fromMillis) {
+                return parser.toTickData();
+            }
+        }
+        return null;
+    }
+    
+    private void open(Source source) throws IOException {
+        if (source.csvPath != null) {
+            File file = new File(source.csvPath);
+            if (!file.exists()) {
+                return;
+            }
+            
+            FileInputStream in = new FileInputStream(file);
+            try {
+                in.getChannel().position(source.csvOffset);
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+            reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            readerPath = source.csvPath;
+            lineNumber = 0;
+            return;
+        }
+        
+        if (source.binaryPath != null) {
+            binaryReader = new BinaryTickFile.Reader(Paths.get(source.binaryPath));
+            binaryIndex = binaryReader.lowerBound(fromMillis);
+            binaryEnd = Math.max(binaryIndex, binaryReader.upperBound(toMillis));
+            return;
+        }
+        
+        TickDataSet loaded = source.loader.get();
+        if (loaded != null && loaded.getTickCount() > 0) {
+            dataSet = loaded;
+            dataSetIndex = loaded.searchFrom(fromMillis);
+            dataSetEnd = Math.max(dataSetIndex, loaded.searchAfter(toMillis));
+        }
+    }
+    
+    private void closeReader() {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                LOGGER.fine("Fehler beim Schließen der Tick-Datei " + readerPath + ": " + e.getMessage());
+            }
+            reader = null;
+            readerPath = null;
+        }
+    }
+    
+    private void closeBinaryReader() {
+        if (binaryReader != null) {
+            try {
+                binaryReader.close();
+            } catch (IOException e) {
+                LOGGER.fine("Fehler beim Schließen der binären Tick-Datei: " + e.getMessage());
+            }
+            binaryReader = null;
+        }
+    }
+}
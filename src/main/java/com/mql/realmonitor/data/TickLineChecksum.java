@@ -0,0 +1,116 @@
+package com.mql.realmonitor.data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * NEU: Prüfsumme für Tick-Zeilen
+ * Jede geschriebene Zeile erhält eine CRC32-Prüfsumme als Suffix:
+ * 24.05.2025,15:22:13,53745.30,0.00,179.29*1A2B3C4D
+ * 
+ * Eine abgerissene oder beschädigte Zeile (Absturz, Stromausfall) ist damit sicher erkennbar.
+ * Zeilen ohne Suffix (ältere Dateien) bleiben gültig, sind aber nicht prüfbar.
+ */
+public class TickLineChecksum {
+    
+    public static final char SEPARATOR = '*';
+    
+    private static final int CHECKSUM_LENGTH = 8;
+    
+    /**
+     * Ergebnis der Prüfung einer Zeile
+     */
+    public enum Status {
+        VALID,      // Prüfsumme vorhanden und korrekt
+        UNCHECKED,  // Keine Prüfsumme (altes Format)
+        INVALID     // Prüfsumme fehlerhaft oder Suffix beschädigt
+    }
+    
+    /**
+     * Hängt die Prüfsumme an eine Tick-Zeile an
+     * 
+     * @param line Die Tick-Zeile ohne Zeilenende
+     * @return Zeile mit Prüfsummen-Suffix
+     */
+    public static String append(String line) {
+        return line + SEPARATOR + String.format("%08X", checksum(line));
+    }
+    
+    /**
+     * Prüft eine Tick-Zeile
+     * 
+     * @param line Die Tick-Zeile (ohne Zeilenende, getrimmt)
+     * @return Status der Prüfung
+     */
+    public static Status verify(String line) {
+        int separatorIndex = line.lastIndexOf(SEPARATOR);
+        if (separatorIndex < 0) {
+            return Status.UNCHECKED;
+        }
+        
+        String expected = line.substring(separatorIndex + 1);
+        if (expected.length() != CHECKSUM_LENGTH) {
+            return Status.INVALID;
+        }
+        
+        try {
+            long value = Long.parseLong(expected, 16);
+            return value == checksum(line.substring(0, separatorIndex)) ? Status.VALID : Status.INVALID;
+        } catch (NumberFormatException e) {
+            return Status.INVALID;
+        }
+    }
+    
+    /**
+     * NEU: Prüft eine Tick-Zeile ohne Teil-Strings zu erzeugen (für den TickLineParser)
+     * 
+     * @param line Die Zeichenfolge mit der Zeile
+     * @param start Beginn der Zeile
+     * @param end Ende der Zeile (exklusive)
+     * @param separatorIndex Position des Trennzeichens vor der Prüfsumme
+     * @param crc Wiederverwendbare CRC32-Instanz
+     * @return Status der Prüfung (VALID oder INVALID)
+     */
+    public static Status verify(CharSequence line, int start, int end, int separatorIndex, CRC32 crc) {
+        if (end - separatorIndex - 1 != CHECKSUM_LENGTH) {
+            return Status.INVALID;
+        }
+        
+        long expected = 0;
+        for (int i = separatorIndex + 1; i < end; i++) {
+            int digit = Character.digit(line.charAt(i), 16);
+            if (digit < 0) {
+                return Status.INVALID;
+            }
+            expected = (expected << 4) | digit;
+        }
+        
+        crc.reset();
+        for (int i = start; i < separatorIndex; i++) {
+            char c = line.charAt(i);
+            if (c >= 0x80) {
+                // Nicht-ASCII: Prüfsumme über die UTF-8-Bytes wie beim Schreiben
+                return verify(line.subSequence(start, end).toString());
+            }
+            crc.update(c);
+        }
+        return expected == crc.getValue() ? Status.VALID : Status.INVALID;
+    }
+    
+    /**
+     * Entfernt das Prüfsummen-Suffix (ohne Prüfung)
+     * 
+     * @param line Die Tick-Zeile
+     * @return Zeile ohne Suffix
+     */
+    public static String strip(String line) {
+        int separatorIndex = line.lastIndexOf(SEPARATOR);
+        return separatorIndex < 0 ? line : line.substring(0, separatorIndex);
+    }
+    
+    private static long checksum(String content) {
+        CRC32 crc = new CRC32();
+        crc.update(content.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
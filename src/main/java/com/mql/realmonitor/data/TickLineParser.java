@@ -0,0 +1,435 @@
+package com.mql.realmonitor.data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.CRC32;
+
+import com.mql.realmonitor.data.TickDataLoader.TickData;
+
+/**
+ * NEU: Gemeinsamer, allokationsfreier Parser für CSV-Tick-Zeilen
+ * Zerlegt "dd.MM.yyyy,HH:mm:ss,Equity,FloatingProfit[,Profit]" direkt aus einer Zeichenfolge
+ * oder einem Byte-Puffer in primitive Werte - ohne String.split, Teil-Strings, Regex oder DateTimeFormatter.
+ * 
+ * Unterstützte Spalten-Varianten:
+ * 4 = Datum,Zeit,Equity,Floating (Profit 0.0)
+ * 5 = Datum,Zeit,Equity,Floating,Profit
+ * 6 = Datum,Zeit,Equity-Ganzzahl,Equity-Nachkomma,Floating-Ganzzahl,Floating-Nachkomma (Komma als Dezimaltrenner)
+ * 7 = wie 6, zusätzlich Profit als ganze Zahl
+ * 8 = wie 6, zusätzlich Profit-Ganzzahl,Profit-Nachkomma
+ * 
+ * Ein Prüfsummen-Suffix (TickLineChecksum) wird geprüft und entfernt.
+ * Eine Instanz hält ihren Zustand zwischen den Aufrufen und ist nicht thread-sicher -
+ * pro Lese-Schleife wird eine Instanz wiederverwendet.
+ */
+public class TickLineParser {
+    
+    private static final int MAX_FIELDS = 16;
+    private static final int MAX_FAST_DIGITS = 18;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final long DAYS_0000_TO_1970 = 719528L;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    
+    /**
+     * Fehlerursachen (konstante Texte für das Logging)
+     */
+    public static final String ERROR_CHECKSUM = "Prüfsumme ungültig";
+    public static final String ERROR_COLUMNS = "ungültige Spaltenanzahl (erwartet 4 bis 8)";
+    public static final String ERROR_DATE = "ungültiges Datum/Uhrzeit";
+    public static final String ERROR_NUMBER = "ungültige Zahl";
+    
+    /**
+     * Byte-Puffer als Zeichenfolge (ASCII) - wird wiederverwendet
+     */
+    private static final class ByteSequence implements CharSequence {
+        private byte[] buffer;
+        private int offset;
+        private int length;
+        
+        void wrap(byte[] buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+        }
+        
+        @Override
+        public int length() {
+            return length;
+        }
+        
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer[offset + index] & 0xFF);
+        }
+        
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(buffer, offset + start, end - start, StandardCharsets.UTF_8);
+        }
+        
+        @Override
+        public String toString() {
+            return new String(buffer, offset, length, StandardCharsets.UTF_8);
+        }
+    }
+    
+    private final int[] fieldStart = new int[MAX_FIELDS];
+    private final int[] fieldEnd = new int[MAX_FIELDS];
+    private final CRC32 crc = new CRC32();
+    private final ByteSequence bytes = new ByteSequence();
+    private final StringBuilder fallback = new StringBuilder(32);
+    
+    private long timestampMillis;
+    private double equity;
+    private double floatingProfit;
+    private double profit;
+    private int columnCount;
+    private String error;
+    
+    /**
+     * Parst eine Tick-Zeile
+     * 
+     * @param line Die Zeile (ohne Zeilenende, Leerzeichen am Rand sind erlaubt)
+     * @return true wenn die Zeile gültig ist - die Werte stehen dann über die Getter bereit
+     */
+    public boolean parse(CharSequence line) {
+        return parse(line, 0, line.length());
+    }
+    
+    /**
+     * Parst eine Tick-Zeile direkt aus einem Byte-Puffer (ASCII/UTF-8)
+     * 
+     * @param buffer Der Puffer
+     * @param offset Beginn der Zeile
+     * @param length Länge der Zeile ohne Zeilenende
+     * @return true wenn die Zeile gültig ist
+     */
+    public boolean parse(byte[] buffer, int offset, int length) {
+        bytes.wrap(buffer, offset, length);
+        return parse(bytes, 0, length);
+    }
+    
+    private boolean parse(CharSequence line, int start, int end) {
+        error = null;
+        columnCount = 0;
+        
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        
+        // Prüfsummen-Suffix prüfen und abschneiden
+        int separator = lastIndexOf(line, TickLineChecksum.SEPARATOR, start, end);
+        if (separator >= 0) {
+            if (TickLineChecksum.verify(line, start, end, separator, crc) == TickLineChecksum.Status.INVALID) {
+                return fail(ERROR_CHECKSUM);
+            }
+            end = separator;
+        }
+        
+        if (!split(line, start, end)) {
+            return fail(ERROR_COLUMNS);
+        }
+        if (!parseTimestamp(line)) {
+            return fail(ERROR_DATE);
+        }
+        
+        switch (columnCount) {
+            case 4:
+            case 5:
+                equity = parseNumber(line, 2, -1);
+                floatingProfit = parseNumber(line, 3, -1);
+                profit = columnCount == 5 ? parseNumber(line, 4, -1) : 0.0;
+                break;
+            default:
+                // Komma als Dezimaltrenner: Ganzzahl- und Nachkommateil stehen in getrennten Spalten
+                equity = parseNumber(line, 2, 3);
+                floatingProfit = parseNumber(line, 4, 5);
+                profit = columnCount == 6 ? 0.0 : parseNumber(line, 6, columnCount == 8 ? 7 : -1);
+                break;
+        }
+        
+        return error == null;
+    }
+    
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+    
+    public LocalDateTime getTimestamp() {
+        return BinaryTickFile.fromEpochMillis(timestampMillis);
+    }
+    
+    public double getEquity() {
+        return equity;
+    }
+    
+    public double getFloatingProfit() {
+        return floatingProfit;
+    }
+    
+    public double getProfit() {
+        return profit;
+    }
+    
+    /**
+     * @return Anzahl der Spalten der zuletzt geparsten Zeile (4 bis 8)
+     */
+    public int getColumnCount() {
+        return columnCount;
+    }
+    
+    /**
+     * @return Fehlerursache der zuletzt geparsten Zeile oder null
+     */
+    public String getError() {
+        return error;
+    }
+    
+    /**
+     * @return Die zuletzt geparste Zeile als TickData-Objekt
+     */
+    public TickData toTickData() {
+        return new TickData(getTimestamp(), equity, floatingProfit, profit);
+    }
+    
+    private boolean fail(String reason) {
+        error = reason;
+        return false;
+    }
+    
+    /**
+     * Zerlegt die Zeile an Kommas - leere Spalten am Ende zählen nicht (wie String.split)
+     */
+    private boolean split(CharSequence line, int start, int end) {
+        int count = 0;
+        int fieldBegin = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || line.charAt(i) == ',') {
+                if (count == MAX_FIELDS) {
+                    return false;
+                }
+                fieldStart[count] = fieldBegin;
+                fieldEnd[count] = i;
+                count++;
+                fieldBegin = i + 1;
+            }
+        }
+        
+        while (count > 0 && fieldStart[count - 1] == fieldEnd[count - 1]) {
+            count--;
+        }
+        
+        columnCount = count;
+        return count >= 4 && count <= 8;
+    }
+    
+    /**
+     * Datum (dd.MM.yyyy) und Uhrzeit (HH:mm:ss) aus den ersten beiden Spalten
+     */
+    private boolean parseTimestamp(CharSequence line) {
+        int dateStart = trimStart(line, 0);
+        int dateEnd = trimEnd(line, 0);
+        int timeStart = trimStart(line, 1);
+        int timeEnd = trimEnd(line, 1);
+        if (dateEnd - dateStart != 10 || timeEnd - timeStart != 8 ||
+            line.charAt(dateStart + 2) != '.' || line.charAt(dateStart + 5) != '.' ||
+            line.charAt(timeStart + 2) != ':' || line.charAt(timeStart + 5) != ':') {
+            return false;
+        }
+        
+        int day = digits(line, dateStart, 2);
+        int month = digits(line, dateStart + 3, 2);
+        int year = digits(line, dateStart + 6, 4);
+        int hour = digits(line, timeStart, 2);
+        int minute = digits(line, timeStart + 3, 2);
+        int second = digits(line, timeStart + 6, 2);
+        if (day < 1 || day > 31 || month < 1 || month > 12 || year < 0 ||
+            hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return false;
+        }
+        
+        // Wie DateTimeFormatter (ResolverStyle.SMART): zu großer Tag wird auf das Monatsende gesetzt
+        day = Math.min(day, monthLength(month, year));
+        
+        timestampMillis = toEpochDay(year, month, day) * MILLIS_PER_DAY +
+                          (hour * 3600L + minute * 60L + second) * 1000L;
+        return true;
+    }
+    
+    /**
+     * Parst eine Zahl aus einer Spalte, optional mit Nachkommateil aus einer zweiten Spalte
+     * Leerzeichen innerhalb der Zahl werden ignoriert. Ungewöhnliche Schreibweisen (Exponent, NaN)
+     * und sehr lange Zahlen gehen über Double.parseDouble.
+     * 
+     * @param wholeField Spalte mit der Zahl bzw. dem Ganzzahlteil
+     * @param fractionField Spalte mit dem Nachkommateil oder -1
+     */
+    private double parseNumber(CharSequence line, int wholeField, int fractionField) {
+        if (error != null) {
+            return 0.0;
+        }
+        
+        long mantissa = 0;
+        int digitCount = 0;
+        int scale = 0;
+        boolean negative = false;
+        boolean signAllowed = true;
+        boolean inFraction = false;
+        
+        for (int f = 0; f < 2; f++) {
+            int field = f == 0 ? wholeField : fractionField;
+            if (field < 0) {
+                break;
+            }
+            if (f == 1) {
+                inFraction = true;
+            }
+            
+            for (int i = fieldStart[field]; i < fieldEnd[field]; i++) {
+                char c = line.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    if (++digitCount > MAX_FAST_DIGITS) {
+                        return parseFallback(line, wholeField, fractionField);
+                    }
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (inFraction) {
+                        scale++;
+                    }
+                    signAllowed = false;
+                } else if (c <= ' ') {
+                    continue;
+                } else if (c == '.' && f == 0 && fractionField < 0 && !inFraction) {
+                    inFraction = true;
+                    signAllowed = false;
+                } else if ((c == '-' || c == '+') && signAllowed && f == 0) {
+                    negative = c == '-';
+                    signAllowed = false;
+                } else {
+                    return parseFallback(line, wholeField, fractionField);
+                }
+            }
+        }
+        
+        if (digitCount == 0) {
+            return parseFallback(line, wholeField, fractionField);
+        }
+        
+        double value;
+        if (scale == 0) {
+            value = mantissa;
+        } else if (mantissa < MAX_EXACT_MANTISSA && scale < POWERS_OF_TEN.length) {
+            // Beide Operanden sind exakt darstellbar - die Division ist korrekt gerundet
+            value = mantissa / POWERS_OF_TEN[scale];
+        } else {
+            return parseFallback(line, wholeField, fractionField);
+        }
+        return negative ? -value : value;
+    }
+    
+    private double parseFallback(CharSequence line, int wholeField, int fractionField) {
+        fallback.setLength(0);
+        appendWithoutWhitespace(line, wholeField);
+        if (fractionField >= 0) {
+            fallback.append('.');
+            appendWithoutWhitespace(line, fractionField);
+        }
+        
+        try {
+            return Double.parseDouble(fallback.toString());
+        } catch (NumberFormatException e) {
+            error = ERROR_NUMBER;
+            return 0.0;
+        }
+    }
+    
+    private void appendWithoutWhitespace(CharSequence line, int field) {
+        for (int i = fieldStart[field]; i < fieldEnd[field]; i++) {
+            char c = line.charAt(i);
+            if (c > ' ') {
+                fallback.append(c);
+            }
+        }
+    }
+    
+    private int trimStart(CharSequence line, int field) {
+        int i = fieldStart[field];
+        while (i < fieldEnd[field] && line.charAt(i) <= ' ') {
+            i++;
+        }
+        return i;
+    }
+    
+    private int trimEnd(CharSequence line, int field) {
+        int i = fieldEnd[field];
+        while (i > fieldStart[field] && line.charAt(i - 1) <= ' ') {
+            i--;
+        }
+        return i;
+    }
+    
+    /**
+     * @return Wert der Ziffernfolge oder -1 wenn ein Zeichen keine Ziffer ist
+     */
+    private static int digits(CharSequence line, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+    
+    private static int lastIndexOf(CharSequence line, char c, int start, int end) {
+        for (int i = end - 1; i >= start; i--) {
+            if (line.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private static boolean isLeapYear(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+    
+    private static int monthLength(int month, int year) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+    
+    /**
+     * Tage seit 1970-01-01 (gleiche Rechnung wie LocalDate.toEpochDay für Jahre ab 0)
+     */
+    private static long toEpochDay(long year, long month, long day) {
+        long total = 365 * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+}
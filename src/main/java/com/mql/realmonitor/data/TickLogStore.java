@@ -0,0 +1,534 @@
+package com.mql.realmonitor.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import com.mql.realmonitor.data.TickDataLoader.TickData;
+import com.mql.realmonitor.data.TickDataLoader.TickDataSet;
+
+/**
+ * NEU: Gemeinsamer, log-strukturierter Tick-Speicher für alle Signale
+ * Statt einer Datei pro Signal werden alle Ticks an eine einzige Datei (tick/ticks.log) angehängt.
+ * Die Ticks eines Monitoring-Zyklus werden gesammelt und mit einem sequentiellen Schreibvorgang geschrieben.
+ * Ein Offset-Index pro Signal (tick/ticks.log.idx) erlaubt das gezielte Lesen der Historie eines Signals.
+ * 
+ * Satzaufbau (Big Endian): Satzlänge (int), CRC32 (int), Länge Signal-ID (short), Signal-ID (UTF-8),
+ * Zeitstempel (Epoch-Millis), Equity, Floating Profit, Profit (je double).
+ * 
+ * Der Index ist ein Cache: Beim Öffnen wird der Teil des Logs nachgelesen, den der gespeicherte Index
+ * noch nicht abdeckt. Ein beschädigter Satz am Ende (Absturz) wird dabei abgeschnitten.
+ */
+public class TickLogStore implements Closeable {
+    
+    private static final Logger LOGGER = Logger.getLogger(TickLogStore.class.getName());
+    
+    public static final String LOG_FILE_NAME = "ticks.log";
+    public static final String INDEX_FILE_NAME = "ticks.log.idx";
+    
+    private static final int MAGIC = 0x4D514C4C; // "MQLL"
+    private static final int INDEX_MAGIC = 0x4D514C49; // "MQLI"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_FIXED_SIZE = 4 + 4 + 2 + 8 + 3 * 8;
+    private static final int WINDOW_SIZE = 64 * 1024;
+    
+    // Ein Store pro Tick-Verzeichnis - Writer und Loader teilen sich die Instanz
+    private static final Map<Path, TickLogStore> OPEN_STORES = new ConcurrentHashMap<>();
+    
+    /**
+     * Wachsende Liste von Satz-Offsets eines Signals (chronologisch)
+     */
+    private static class OffsetList {
+        private long[] offsets = new long[64];
+        private int size;
+        
+        void add(long offset) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            offsets[size++] = offset;
+        }
+        
+        long get(int index) { return offsets[index]; }
+        int size() { return size; }
+    }
+    
+    private final Path directory;
+    private final Path logFile;
+    private final Path indexFile;
+    private final FileChannel channel;
+    private final Map<String, OffsetList> index = new HashMap<>();
+    
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(4096);
+    private final List<String> pendingSignals = new ArrayList<>();
+    private final List<Integer> pendingLengths = new ArrayList<>();
+    
+    private long logSize;
+    private boolean indexDirty;
+    
+    // Lesefenster für index-gesteuertes Scannen (benachbarte Sätze liegen meist im selben Fenster)
+    private final ByteBuffer window = ByteBuffer.allocate(WINDOW_SIZE);
+    private long windowStart = -1;
+    private int windowLength;
+    
+    private TickLogStore(Path directory) throws IOException {
+        this.directory = directory;
+        this.logFile = directory.resolve(LOG_FILE_NAME);
+        this.indexFile = directory.resolve(INDEX_FILE_NAME);
+        
+        Files.createDirectories(directory);
+        this.channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            channel.write(header, 0);
+        }
+        
+        long covered = loadIndex();
+        catchUp(covered);
+    }
+    
+    /**
+     * Öffnet den Log-Store eines Tick-Verzeichnisses (legt ihn bei Bedarf an)
+     * 
+     * @param tickDirectory Das Tick-Verzeichnis
+     * @return Der geöffnete Store
+     */
+    public static TickLogStore open(Path tickDirectory) throws IOException {
+        Path key = tickDirectory.toAbsolutePath().normalize();
+        TickLogStore store = OPEN_STORES.get(key);
+        if (store != null) {
+            return store;
+        }
+        
+        synchronized (OPEN_STORES) {
+            store = OPEN_STORES.get(key);
+            if (store == null) {
+                store = new TickLogStore(key);
+                OPEN_STORES.put(key, store);
+            }
+            return store;
+        }
+    }
+    
+    /**
+     * Liefert den Log-Store zu einem Tick-Dateipfad, falls im Verzeichnis ein Log existiert
+     * 
+     * @param tickFilePath Pfad einer Tick-Datei (z.B. tick/42.txt)
+     * @return Der Store oder null wenn kein Log existiert
+     */
+    public static TickLogStore find(String tickFilePath) {
+        if (tickFilePath == null) {
+            return null;
+        }
+        
+        File parent = new File(tickFilePath).getAbsoluteFile().getParentFile();
+        if (parent == null || !new File(parent, LOG_FILE_NAME).exists()) {
+            return null;
+        }
+        
+        try {
+            return open(parent.toPath());
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Fehler beim Öffnen des Tick-Logs in " + parent, e);
+            return null;
+        }
+    }
+    
+    /**
+     * Prüft ob der Log-Store für ein Signal gelesen werden soll
+     * Das ist der Fall wenn er das Signal enthält und mindestens so aktuell ist wie die CSV-Datei.
+     * 
+     * @return Der Store oder null wenn die Einzeldatei gelesen werden soll
+     */
+    public static TickLogStore findPreferred(String tickFilePath, String signalId) {
+        TickLogStore store = find(tickFilePath);
+        if (store == null || !store.contains(signalId)) {
+            return null;
+        }
+        
+        File csvFile = new File(tickFilePath);
+        if (csvFile.exists() && csvFile.lastModified() > store.logFile.toFile().lastModified()) {
+            return null;
+        }
+        return store;
+    }
+    
+    /**
+     * Hängt einen Tick an (gepuffert bis zum nächsten flush)
+     */
+    public synchronized void append(String signalId, LocalDateTime timestamp, double equity,
+                                    double floatingProfit, double profit) {
+        byte[] id = signalId.getBytes(StandardCharsets.UTF_8);
+        int length = RECORD_FIXED_SIZE + id.length;
+        
+        ByteBuffer record = ByteBuffer.allocate(length);
+        record.putInt(length);
+        record.putInt(0); // CRC folgt
+        record.putShort((short) id.length);
+        record.put(id);
+        record.putLong(BinaryTickFile.toEpochMillis(timestamp));
+        record.putDouble(equity);
+        record.putDouble(floatingProfit);
+        record.putDouble(profit);
+        record.putInt(4, checksum(record.array(), 8, length - 8));
+        
+        pending.write(record.array(), 0, length);
+        pendingSignals.add(signalId);
+        pendingLengths.add(length);
+    }
+    
+    /**
+     * Group Commit: schreibt alle gepufferten Ticks mit einem sequentiellen Schreibvorgang
+     * 
+     * @param fsync true = zusätzlich per fsync sichern
+     * @return Anzahl geschriebener Ticks
+     */
+    public synchronized int flush(boolean fsync) throws IOException {
+        if (pendingSignals.isEmpty()) {
+            return 0;
+        }
+        
+        ByteBuffer buffer = ByteBuffer.wrap(pending.toByteArray());
+        long position = logSize;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+        
+        // Offsets erst nach erfolgreichem Schreiben in den Index übernehmen
+        long offset = logSize;
+        for (int i = 0; i < pendingSignals.size(); i++) {
+            index.computeIfAbsent(pendingSignals.get(i), k -> new OffsetList()).add(offset);
+            offset += pendingLengths.get(i);
+        }
+        
+        int written = pendingSignals.size();
+        logSize = position;
+        indexDirty = true;
+        pending.reset();
+        pendingSignals.clear();
+        pendingLengths.clear();
+        
+        LOGGER.fine("Tick-Log: " + written + " Ticks sequentiell geschrieben (" + logSize + " Bytes)");
+        return written;
+    }
+    
+    public synchronized boolean contains(String signalId) {
+        OffsetList offsets = index.get(signalId);
+        return offsets != null && offsets.size() > 0;
+    }
+    
+    public synchronized int getTickCount(String signalId) {
+        OffsetList offsets = index.get(signalId);
+        return offsets != null ? offsets.size() : 0;
+    }
+    
+    /**
+     * NEU: Offset des letzten geschriebenen Ticks eines Signals (-1 wenn nicht enthalten)
+     */
+    public synchronized long getLastOffset(String signalId) {
+        OffsetList offsets = index.get(signalId);
+        return offsets != null && offsets.size() > 0 ? offsets.get(offsets.size() - 1) : -1;
+    }
+    
+    /**
+     * Lädt die Ticks eines Signals, optional auf einen Zeitraum begrenzt
+     * Der Beginn des Zeitraums wird per binärer Suche über die Offsets ermittelt.
+     * 
+     * @param signalId Die Signal-ID
+     * @param filePath Pfad für das TickDataSet (Anzeige)
+     * @param fromDate Startdatum (inklusive) oder null
+     * @param toDate Enddatum (inklusive) oder null
+     * @return TickDataSet oder null wenn das Signal nicht enthalten ist
+     */
+    public synchronized TickDataSet load(String signalId, String filePath, LocalDateTime fromDate, LocalDateTime toDate) {
+        OffsetList offsets = index.get(signalId);
+        if (offsets == null) {
+            return null;
+        }
+        
+        try {
+            int from = fromDate != null ? lowerBound(offsets, BinaryTickFile.toEpochMillis(fromDate)) : 0;
+            long toMillis = toDate != null ? BinaryTickFile.toEpochMillis(toDate) : Long.MAX_VALUE;
+            
+            TickDataSet dataSet = new TickDataSet(signalId, filePath, null);
+            for (int i = from; i < offsets.size(); i++) {
+                TickData tick = readTick(offsets.get(i));
+                if (BinaryTickFile.toEpochMillis(tick.getTimestamp()) > toMillis) {
+                    break;
+                }
+                dataSet.addTick(tick);
+            }
+            
+            LOGGER.info("Tick-Log: " + dataSet.getTickCount() + " von " + offsets.size() + " Ticks geladen für Signal " + signalId);
+            return dataSet;
+        
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Fehler beim Lesen des Tick-Logs für Signal " + signalId, e);
+            return null;
+        }
+    }
+    
+    /**
+     * Lädt die neuesten N Ticks eines Signals
+     */
+    public synchronized TickDataSet loadLatest(String signalId, String filePath, int maxTicks) {
+        OffsetList offsets = index.get(signalId);
+        if (offsets == null) {
+            return null;
+        }
+        
+        try {
+            TickDataSet dataSet = new TickDataSet(signalId, filePath, null);
+            for (int i = Math.max(0, offsets.size() - maxTicks); i < offsets.size(); i++) {
+                dataSet.addTick(readTick(offsets.get(i)));
+            }
+            return dataSet;
+        
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Fehler beim Lesen des Tick-Logs für Signal " + signalId, e);
+            return null;
+        }
+    }
+    
+    /**
+     * @return Der letzte geschriebene Tick eines Signals oder null
+     */
+    public synchronized TickData readLast(String signalId) throws IOException {
+        OffsetList offsets = index.get(signalId);
+        if (offsets == null || offsets.size() == 0) {
+            return null;
+        }
+        return readTick(offsets.get(offsets.size() - 1));
+    }
+    
+    /**
+     * Speichert den Offset-Index (Temp-Datei + atomares Umbenennen)
+     */
+    public synchronized void saveIndex() throws IOException {
+        if (!indexDirty) {
+            return;
+        }
+        
+        Path temp = directory.resolve(INDEX_FILE_NAME + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(logSize);
+            out.writeInt(index.size());
+            
+            for (Map.Entry<String, OffsetList> entry : index.entrySet()) {
+                OffsetList offsets = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeInt(offsets.size());
+                for (int i = 0; i < offsets.size(); i++) {
+                    out.writeLong(offsets.get(i));
+                }
+            }
+        }
+        
+        Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        indexDirty = false;
+        LOGGER.fine("Tick-Log-Index gespeichert: " + index.size() + " Signale");
+    }
+    
+    /**
+     * Schreibt gepufferte Ticks, speichert den Index und schließt das Log
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush(false);
+            saveIndex();
+        } finally {
+            channel.close();
+            OPEN_STORES.remove(directory);
+            LOGGER.info("Tick-Log geschlossen: " + logFile);
+        }
+    }
+    
+    /**
+     * Lädt den gespeicherten Index
+     * 
+     * @return Log-Position, bis zu der der Index gültig ist
+     */
+    private long loadIndex() {
+        if (!Files.exists(indexFile)) {
+            return FILE_HEADER_SIZE;
+        }
+        
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != VERSION) {
+                LOGGER.warning("Unbekanntes Format des Tick-Log-Index, baue neu auf: " + indexFile);
+                return FILE_HEADER_SIZE;
+            }
+            
+            long covered = in.readLong();
+            if (covered > channel.size()) {
+                LOGGER.warning("Tick-Log-Index passt nicht zum Log (Log gekürzt?), baue neu auf");
+                return FILE_HEADER_SIZE;
+            }
+            
+            int signals = in.readInt();
+            for (int s = 0; s < signals; s++) {
+                String signalId = in.readUTF();
+                int count = in.readInt();
+                OffsetList offsets = new OffsetList();
+                for (int i = 0; i < count; i++) {
+                    offsets.add(in.readLong());
+                }
+                index.put(signalId, offsets);
+            }
+            return covered;
+        
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Tick-Log-Index nicht lesbar, baue neu auf: " + indexFile, e);
+            index.clear();
+            return FILE_HEADER_SIZE;
+        }
+    }
+    
+    /**
+     * Liest die Sätze ab der Position, die der Index noch nicht abdeckt
+     * Ein unvollständiger oder beschädigter Satz beendet das Log - der Rest wird abgeschnitten.
+     */
+    private void catchUp(long from) throws IOException {
+        long size = channel.size();
+        long position = from;
+        int recovered = 0;
+        
+        while (position + RECORD_FIXED_SIZE <= size) {
+            ByteBuffer record = ensureWindow(position, 4);
+            int length = record.getInt(record.position());
+            if (length < RECORD_FIXED_SIZE || position + length > size) {
+                break;
+            }
+            
+            record = ensureWindow(position, length);
+            int offset = record.position();
+            int storedCrc = record.getInt(offset + 4);
+            if (storedCrc != checksum(record.array(), offset + 8, length - 8)) {
+                break;
+            }
+            
+            int idLength = record.getShort(offset + 8);
+            String signalId = new String(record.array(), offset + 10, idLength, StandardCharsets.UTF_8);
+            index.computeIfAbsent(signalId, k -> new OffsetList()).add(position);
+            position += length;
+            recovered++;
+        }
+        
+        if (position < size) {
+            LOGGER.warning("Tick-Log: beschädigtes Ende ab Position " + position + " abgeschnitten (" + (size - position) + " Bytes)");
+            channel.truncate(position);
+            channel.force(false);
+        }
+        
+        logSize = position;
+        invalidateWindow();
+        if (recovered > 0) {
+            indexDirty = true;
+            LOGGER.info("Tick-Log: " + recovered + " Sätze nachindiziert");
+        }
+    }
+    
+    /**
+     * Binäre Suche: erster Offset mit Zeitstempel >= epochMillis
+     */
+    private int lowerBound(OffsetList offsets, long epochMillis) throws IOException {
+        int low = 0;
+        int high = offsets.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (readEpochMillis(offsets.get(mid)) < epochMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private long readEpochMillis(long offset) throws IOException {
+        ByteBuffer record = ensureWindow(offset, RECORD_FIXED_SIZE);
+        int idLength = record.getShort(record.position() + 8);
+        record = ensureWindow(offset, RECORD_FIXED_SIZE + idLength);
+        return record.getLong(record.position() + 10 + idLength);
+    }
+    
+    private TickData readTick(long offset) throws IOException {
+        ByteBuffer record = ensureWindow(offset, RECORD_FIXED_SIZE);
+        int idLength = record.getShort(record.position() + 8);
+        record = ensureWindow(offset, RECORD_FIXED_SIZE + idLength);
+        
+        int base = record.position() + 10 + idLength;
+        return new TickData(BinaryTickFile.fromEpochMillis(record.getLong(base)),
+                           record.getDouble(base + 8), record.getDouble(base + 16), record.getDouble(base + 24));
+    }
+    
+    /**
+     * Stellt sicher, dass [offset, offset+length) im Lesefenster liegt
+     * 
+     * @return Puffer, dessen position() auf offset zeigt
+     */
+    private ByteBuffer ensureWindow(long offset, int length) throws IOException {
+        if (windowStart < 0 || offset < windowStart || offset + length > windowStart + windowLength) {
+            window.clear();
+            int read = 0;
+            while (window.hasRemaining()) {
+                int n = channel.read(window, offset + read);
+                if (n <= 0) {
+                    break;
+                }
+                read += n;
+            }
+            if (read < length) {
+                throw new IOException("Unerwartetes Ende des Tick-Logs bei Position " + offset);
+            }
+            windowStart = offset;
+            windowLength = read;
+        }
+        
+        ByteBuffer view = window.duplicate();
+        view.position((int) (offset - windowStart));
+        return view;
+    }
+    
+    private void invalidateWindow() {
+        windowStart = -1;
+        windowLength = 0;
+    }
+    
+    private static int checksum(byte[] data, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,264 @@
+package com.mql.realmonitor.data;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.mql.realmonitor.data.TickDataLoader.TickData;
+
+/**
+ * NEU: Persistenter High-Water-Mark-Index pro Signal (Sidecar-Datei tick/<id>.peak)
+ * Hält den höchsten Gesamtwert (Equity + Floating Profit) der Tick-Historie mit Zeitpunkt. Der TickDataWriter
+ * schreibt jeden Tick fort, gespeichert wird beim Group Commit. Tabelle und Drawdown-Berechnung lesen den
+ * Peak damit in O(1), auch direkt nach einem Neustart.
+ * 
+ * Der Index vermerkt den letzten erfassten Tick. Beim Öffnen werden nur Ticks danach nachgelesen
+ * (z.B. nach einem Absturz vor dem Speichern); fehlt der Index, wird die Historie einmalig gestreamt.
+ * Wird die Tick-Datei neu geschrieben (Reparatur, Konvertierung, Bereinigung), muss der Index verworfen werden.
+ * 
+ * Format: Kommentar-Header, dann eine Zeile: Peak-Gesamtwert,Peak-Zeitpunkt,Letzter Tick,Anzahl Ticks
+ * (Zeitpunkte im ISO-Format mit voller Genauigkeit, damit das Nachlesen exakt beim nächsten Tick beginnt)
+ */
+public class TickPeakIndex {
+    
+    private static final Logger LOGGER = Logger.getLogger(TickPeakIndex.class.getName());
+    
+    public static final String INDEX_SUFFIX = ".peak";
+    
+    private static final String FILE_HEADER = "# MQL5 Peak-Index - Format: Peak-Gesamtwert,Peak-Zeitpunkt,Letzter Tick,Anzahl Ticks";
+    
+    // Ein Index pro Tick-Datei - Writer und Tabelle teilen sich den Stand
+    private static final Map<String, TickPeakIndex> OPEN_INDEXES = new ConcurrentHashMap<>();
+    
+    private final String tickFilePath;
+    private final String signalId;
+    private final Path indexFile;
+    
+    private double peakTotalValue = Double.NEGATIVE_INFINITY;
+    private LocalDateTime peakTimestamp;
+    private LocalDateTime lastTickTime;
+    private long tickCount;
+    private boolean dirty;
+    
+    private TickPeakIndex(String tickFilePath, String signalId) {
+        this.tickFilePath = tickFilePath;
+        this.signalId = signalId;
+        this.indexFile = getIndexPath(tickFilePath);
+    }
+    
+    /**
+     * @return Pfad der Index-Datei (tick/42.txt -> tick/42.peak)
+     */
+    public static Path getIndexPath(String tickFilePath) {
+        String path = tickFilePath.endsWith(".txt") ? tickFilePath.substring(0, tickFilePath.length() - 4) : tickFilePath;
+        return Paths.get(path + INDEX_SUFFIX);
+    }
+    
+    /**
+     * Öffnet den Peak-Index einer Tick-Datei (einmal pro Prozess)
+     * Beim ersten Öffnen wird die Index-Datei gelesen und um die Ticks nach dem letzten erfassten Tick ergänzt.
+     * VERBESSERT: Sperre pro Tick-Datei statt global (TickSeedPass.lockFor)
+     * 
+     * @param tickFilePath Pfad der Tick-Datei
+     * @param signalId Die Signal-ID
+     * @return Der Index (nie null)
+     */
+    public static TickPeakIndex open(String tickFilePath, String signalId) {
+        TickPeakIndex index = OPEN_INDEXES.get(tickFilePath);
+        if (index != null) {
+            return index;
+        }
+        
+        synchronized (TickSeedPass.lockFor(tickFilePath)) {
+            if (!OPEN_INDEXES.containsKey(tickFilePath)) {
+                TickSeedPass pass = new TickSeedPass(tickFilePath, signalId);
+                join(pass);
+                pass.run();
+            }
+            return OPEN_INDEXES.get(tickFilePath);
+        }
+    }
+    
+    /**
+     * NEU: Meldet den Index für einen gemeinsamen Durchlauf an (Aufruf unter TickSeedPass.lockFor)
+     * Ist er noch nicht offen, wird die Index-Datei gelesen; nach pass.run() ist er ergänzt, gespeichert und offen.
+     * 
+     * @param pass Der Durchlauf über die Tick-Historie
+     */
+    public static void join(TickSeedPass pass) {
+        String tickFilePath = pass.getTickFilePath();
+        if (OPEN_INDEXES.containsKey(tickFilePath)) {
+            return;
+        }
+        
+        TickPeakIndex index = new TickPeakIndex(tickFilePath, pass.getSignalId());
+        index.read();
+        index.catchUp(pass);
+        pass.onFinished(() -> {
+            index.save();
+            OPEN_INDEXES.put(tickFilePath, index);
+        });
+    }
+    
+    /**
+     * NEU: Prüft ob der Index einer Tick-Datei bereits offen ist (Abfragen ohne Lesen der Historie)
+     */
+    public static boolean isOpen(String tickFilePath) {
+        return OPEN_INDEXES.containsKey(tickFilePath);
+    }
+    
+    /**
+     * Speichert alle geänderten Indizes (Group Commit)
+     * 
+     * @return Anzahl gespeicherter Indizes
+     */
+    public static int flushAll() {
+        int written = 0;
+        for (TickPeakIndex index : OPEN_INDEXES.values()) {
+            if (index.save()) {
+                written++;
+            }
+        }
+        return written;
+    }
+    
+    /**
+     * Verwirft den Index einer Tick-Datei (nach dem Neuschreiben der Datei)
+     * Beim nächsten Öffnen wird er aus den Tick-Daten neu aufgebaut.
+     */
+    public static void invalidate(String tickFilePath) {
+        synchronized (TickSeedPass.lockFor(tickFilePath)) {
+            OPEN_INDEXES.remove(tickFilePath);
+            try {
+                Files.deleteIfExists(getIndexPath(tickFilePath));
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Peak-Index konnte nicht gelöscht werden: " + tickFilePath, e);
+            }
+        }
+    }
+    
+    /**
+     * Nimmt einen Tick auf (O(1))
+     * Ticks, die nicht neuer als der letzte erfasste Tick sind, werden ignoriert.
+     * KORRIGIERT: Ausnahme ist die beim Ende der Sommerzeit wiederholte Stunde (siehe TickDataLoader.isNewTick)
+     */
+    public synchronized void add(TickData tick) {
+        if (!TickDataLoader.isNewTick(lastTickTime, tick.getTimestamp())) {
+            return;
+        }
+        
+        if (tick.getTotalValue() > peakTotalValue) {
+            peakTotalValue = tick.getTotalValue();
+            peakTimestamp = tick.getTimestamp();
+        }
+        if (lastTickTime == null || tick.getTimestamp().isAfter(lastTickTime)) {
+            lastTickTime = tick.getTimestamp();
+        }
+        tickCount++;
+        dirty = true;
+    }
+    
+    /**
+     * @return true wenn mindestens ein Tick erfasst ist
+     */
+    public synchronized boolean hasData() {
+        return tickCount > 0;
+    }
+    
+    /**
+     * @return Höchster Gesamtwert der Historie (0.0 wenn keine Ticks erfasst sind)
+     */
+    public synchronized double getPeakTotalValue() {
+        return tickCount > 0 ? peakTotalValue : 0.0;
+    }
+    
+    public synchronized LocalDateTime getPeakTimestamp() {
+        return peakTimestamp;
+    }
+    
+    public synchronized long getTickCount() {
+        return tickCount;
+    }
+    
+    /**
+     * Liest die Index-Datei (fehlt oder ist sie beschädigt, beginnt der Index leer)
+     */
+    private void read() {
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        
+        try {
+            for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                
+                String[] parts = line.split(",");
+                peakTotalValue = Double.parseDouble(parts[0]);
+                peakTimestamp = LocalDateTime.parse(parts[1]);
+                lastTickTime = LocalDateTime.parse(parts[2]);
+                tickCount = Long.parseLong(parts[3]);
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Peak-Index beschädigt, baue neu auf: " + indexFile, e);
+            peakTotalValue = Double.NEGATIVE_INFINITY;
+            peakTimestamp = null;
+            lastTickTime = null;
+            tickCount = 0;
+        }
+    }
+    
+    /**
+     * Ergänzt die Ticks nach dem letzten erfassten Tick (im gemeinsamen Durchlauf gestreamt, konstanter Speicher)
+     */
+    private void catchUp(TickSeedPass pass) {
+        long before = tickCount;
+        LocalDateTime fromDate = lastTickTime != null ? lastTickTime.plusNanos(1_000_000) : null;
+        pass.register(fromDate, this::add);
+        pass.onFinished(() -> {
+            if (tickCount > before) {
+                LOGGER.info("Peak-Index für Signal " + signalId + ": " + (tickCount - before) + " Ticks nachgelesen, Peak " +
+                           String.format("%.2f", peakTotalValue) + " am " + peakTimestamp);
+            }
+        });
+    }
+    
+    /**
+     * Speichert den Index, falls er sich geändert hat (atomar über eine temporäre Datei)
+     * 
+     * @return true wenn gespeichert wurde
+     */
+    private synchronized boolean save() {
+        if (!dirty || tickCount == 0) {
+            return false;
+        }
+        
+        Path temp = Paths.get(indexFile + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(FILE_HEADER);
+                writer.newLine();
+                writer.write(peakTotalValue + "," + peakTimestamp + "," + lastTickTime + "," + tickCount);
+                writer.newLine();
+            }
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+            return true;
+        
+        } catch (IOException e) {
+            // Bleibt geändert - wird beim nächsten Group Commit erneut versucht
+            LOGGER.log(Level.WARNING, "Peak-Index konnte nicht gespeichert werden: " + indexFile, e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,607 @@
+package com.mql.realmonitor.data;
+
+import com.mql.realmonitor.data.TickDataLoader.TickData;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * NEU: Vorberechnete OHLC-Bars pro Signal für alle Chart-Zeitskalen (M1 bis D1)
+ * Die Bars werden beim Schreiben jedes Ticks inkrementell fortgeschrieben, Charts lesen sie direkt
+ * statt die komplette Tick-Historie zu filtern und zu samplen.
+ * 
+ * Abgeschlossene Bars werden beim Group Commit an tick/<id>.rollup/<Auflösung>.csv angehängt.
+ * Der offene Bar jeder Auflösung lebt nur im Speicher und wird beim Öffnen aus den Roh-Ticks
+ * nach dem letzten gespeicherten Bar rekonstruiert.
+ * Ein Offset-Index im Speicher (erster Bar jedes Tages) lässt Abfragen ab einem Zeitpunkt direkt
+ * an die passende Stelle der Rollup-Datei springen.
+ * 
+ * Format: Bar-Beginn,Schlusszeit,Anzahl,Total OHLC,Equity OHLC,Floating OHLC,Profit
+ */
+public class TickRollupStore {
+    
+    private static final Logger LOGGER = Logger.getLogger(TickRollupStore.class.getName());
+    
+    public static final String ROLLUP_DIR_SUFFIX = ".rollup";
+    
+    private static final DateTimeFormatter BAR_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String FILE_HEADER = "# MQL5 Tick-Rollup - Format: Beginn,Schluss,Anzahl,Total OHLC,Equity OHLC,Floating OHLC,Profit";
+    private static final int FIELD_COUNT = 16;
+    private static final int TAIL_READ_BYTES = 4096;
+    private static final int DAY_KEY_LENGTH = 10; // yyyy-MM-dd am Zeilenanfang
+    
+    // Ein Store pro Tick-Datei - Writer und Charts teilen sich die offenen Bars
+    private static final Map<String, TickRollupStore> OPEN_STORES = new ConcurrentHashMap<>();
+    
+    /**
+     * Auflösungen der Bars (entsprechen den Intervallen der Chart-Zeitskalen)
+     */
+    public enum Resolution {
+        M1(1), M5(5), M15(15), H1(60), H4(240), D1(1440);
+        
+        private final int minutes;
+        
+        Resolution(int minutes) {
+            this.minutes = minutes;
+        }
+        
+        public int getMinutes() {
+            return minutes;
+        }
+        
+        /**
+         * @return Beginn des Bars, in den der Zeitstempel fällt
+         */
+        public LocalDateTime getBarStart(LocalDateTime timestamp) {
+            long epochMinutes = timestamp.toEpochSecond(ZoneOffset.UTC) / 60;
+            return LocalDateTime.ofEpochSecond((epochMinutes - Math.floorMod(epochMinutes, minutes)) * 60, 0, ZoneOffset.UTC);
+        }
+        
+        /**
+         * @return Die Auflösung mit dem angegebenen Intervall oder null
+         */
+        public static Resolution forMinutes(int minutes) {
+            for (Resolution resolution : values()) {
+                if (resolution.minutes == minutes) {
+                    return resolution;
+                }
+            }
+            return null;
+        }
+    }
+    
+    /**
+     * Ein OHLC-Bar über Gesamtwert, Equity und Floating Profit
+     */
+    public static class Bar {
+        private final LocalDateTime start;
+        private LocalDateTime closeTime;
+        private int tickCount;
+        private double totalOpen, totalHigh, totalLow, totalClose;
+        private double equityOpen, equityHigh, equityLow, equityClose;
+        private double floatingOpen, floatingHigh, floatingLow, floatingClose;
+        private double profitClose;
+        
+        Bar(LocalDateTime start, TickData first) {
+            this.start = start;
+            this.totalOpen = totalHigh = totalLow = first.getTotalValue();
+            this.equityOpen = equityHigh = equityLow = first.getEquity();
+            this.floatingOpen = floatingHigh = floatingLow = first.getFloatingProfit();
+            add(first);
+        }
+        
+        private Bar(LocalDateTime start) {
+            this.start = start;
+        }
+        
+        void add(TickData tick) {
+            if (closeTime == null || tick.getTimestamp().isAfter(closeTime)) {
+                closeTime = tick.getTimestamp();
+            }
+            tickCount++;
+            
+            totalClose = tick.getTotalValue();
+            totalHigh = Math.max(totalHigh, totalClose);
+            totalLow = Math.min(totalLow, totalClose);
+            
+            equityClose = tick.getEquity();
+            equityHigh = Math.max(equityHigh, equityClose);
+            equityLow = Math.min(equityLow, equityClose);
+            
+            floatingClose = tick.getFloatingProfit();
+            floatingHigh = Math.max(floatingHigh, floatingClose);
+            floatingLow = Math.min(floatingLow, floatingClose);
+            
+            profitClose = tick.getProfit();
+        }
+        
+        public LocalDateTime getStart() { return start; }
+        public LocalDateTime getCloseTime() { return closeTime; }
+        public int getTickCount() { return tickCount; }
+        public double getTotalOpen() { return totalOpen; }
+        public double getTotalHigh() { return totalHigh; }
+        public double getTotalLow() { return totalLow; }
+        public double getTotalClose() { return totalClose; }
+        public double getEquityOpen() { return equityOpen; }
+        public double getEquityHigh() { return equityHigh; }
+        public double getEquityLow() { return equityLow; }
+        public double getEquityClose() { return equityClose; }
+        public double getFloatingOpen() { return floatingOpen; }
+        public double getFloatingHigh() { return floatingHigh; }
+        public double getFloatingLow() { return floatingLow; }
+        public double getFloatingClose() { return floatingClose; }
+        public double getProfitClose() { return profitClose; }
+        
+        /**
+         * @return Der Bar als Chart-Punkt (Schlusswerte zur Schlusszeit)
+         */
+        public TickData toTickData() {
+            return new TickData(closeTime, equityClose, floatingClose, profitClose);
+        }
+        
+        String format() {
+            return String.format(Locale.US, "%s,%s,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f",
+                start.format(BAR_TIME_FORMATTER), closeTime.format(BAR_TIME_FORMATTER), tickCount,
+                totalOpen, totalHigh, totalLow, totalClose,
+                equityOpen, equityHigh, equityLow, equityClose,
+                floatingOpen, floatingHigh, floatingLow, floatingClose,
+                profitClose);
+        }
+        
+        static Bar parse(String line) {
+            String[] parts = line.split(",");
+            if (parts.length != FIELD_COUNT) {
+                return null;
+            }
+            
+            try {
+                Bar bar = new Bar(LocalDateTime.parse(parts[0], BAR_TIME_FORMATTER));
+                bar.closeTime = LocalDateTime.parse(parts[1], BAR_TIME_FORMATTER);
+                bar.tickCount = Integer.parseInt(parts[2]);
+                bar.totalOpen = Double.parseDouble(parts[3]);
+                bar.totalHigh = Double.parseDouble(parts[4]);
+                bar.totalLow = Double.parseDouble(parts[5]);
+                bar.totalClose = Double.parseDouble(parts[6]);
+                bar.equityOpen = Double.parseDouble(parts[7]);
+                bar.equityHigh = Double.parseDouble(parts[8]);
+                bar.equityLow = Double.parseDouble(parts[9]);
+                bar.equityClose = Double.parseDouble(parts[10]);
+                bar.floatingOpen = Double.parseDouble(parts[11]);
+                bar.floatingHigh = Double.parseDouble(parts[12]);
+                bar.floatingLow = Double.parseDouble(parts[13]);
+                bar.floatingClose = Double.parseDouble(parts[14]);
+                bar.profitClose = Double.parseDouble(parts[15]);
+                return bar;
+            } catch (Exception e) {
+                return null;
+            }
+        }
+    }
+    
+    private final String signalId;
+    private final String tickFilePath;
+    private final Path rollupDir;
+    private final Map<Resolution, Bar> openBars = new EnumMap<>(Resolution.class);
+    private final Map<Resolution, List<Bar>> pendingBars = new EnumMap<>(Resolution.class);
+    private final Map<Resolution, LocalDateTime> persistedUntil = new EnumMap<>(Resolution.class);
+    private final Map<Resolution, BarOffsetIndex> offsetIndexes = new EnumMap<>(Resolution.class);
+    private LocalDateTime lastTickTime;
+    
+    /**
+     * NEU: Offset-Index einer Rollup-Datei - Byte-Position des ersten Bars jedes Tages (nur im Speicher)
+     * Angehängte Bars werden beim nächsten Zugriff ab der bisher abgedeckten Position nachgelesen.
+     */
+    private static class BarOffsetIndex {
+        private final TreeMap<LocalDate, Long> dayOffsets = new TreeMap<>();
+        private long coveredLength;
+    }
+    
+    private TickRollupStore(String tickFilePath, String signalId) {
+        this.signalId = signalId;
+        this.tickFilePath = tickFilePath;
+        this.rollupDir = getRollupDirectory(tickFilePath);
+        for (Resolution resolution : Resolution.values()) {
+            pendingBars.put(resolution, new ArrayList<>());
+        }
+    }
+    
+    /**
+     * @return Verzeichnis der Rollup-Dateien (tick/42.txt -> tick/42.rollup)
+     */
+    public static Path getRollupDirectory(String tickFilePath) {
+        String path = tickFilePath.endsWith(".txt") ? tickFilePath.substring(0, tickFilePath.length() - 4) : tickFilePath;
+        return Paths.get(path + ROLLUP_DIR_SUFFIX);
+    }
+    
+    /**
+     * Öffnet den Rollup-Store einer Tick-Datei (einmal pro Prozess)
+     * Beim ersten Öffnen werden die offenen Bars aus den Roh-Ticks nach dem letzten gespeicherten Bar
+     * rekonstruiert - fehlen die Rollup-Dateien, wird die gesamte Historie einmalig aggregiert.
+     * VERBESSERT: Sperre pro Tick-Datei statt global (TickSeedPass.lockFor)
+     * 
+     * @param tickFilePath Pfad der Tick-Datei
+     * @param signalId Die Signal-ID
+     * @return Der Store (nie null)
+     */
+    public static TickRollupStore open(String tickFilePath, String signalId) {
+        TickRollupStore store = OPEN_STORES.get(tickFilePath);
+        if (store != null) {
+            return store;
+        }
+        
+        synchronized (TickSeedPass.lockFor(tickFilePath)) {
+            if (!OPEN_STORES.containsKey(tickFilePath)) {
+                TickSeedPass pass = new TickSeedPass(tickFilePath, signalId);
+                join(pass);
+                pass.run();
+            }
+            return OPEN_STORES.get(tickFilePath);
+        }
+    }
+    
+    /**
+     * NEU: Meldet den Store für einen gemeinsamen Durchlauf an (Aufruf unter TickSeedPass.lockFor)
+     * Ist er noch nicht offen, werden nach pass.run() die offenen Bars rekonstruiert und der Store ist offen.
+     * 
+     * @param pass Der Durchlauf über die Tick-Historie
+     */
+    public static void join(TickSeedPass pass) {
+        String tickFilePath = pass.getTickFilePath();
+        if (OPEN_STORES.containsKey(tickFilePath)) {
+            return;
+        }
+        
+        TickRollupStore store = new TickRollupStore(tickFilePath, pass.getSignalId());
+        store.catchUp(pass);
+        pass.onFinished(() -> OPEN_STORES.put(tickFilePath, store));
+    }
+    
+    /**
+     * NEU: Prüft ob der Store einer Tick-Datei bereits offen ist (Abfragen ohne Lesen der Historie)
+     */
+    public static boolean isOpen(String tickFilePath) {
+        return OPEN_STORES.containsKey(tickFilePath);
+    }
+    
+    /**
+     * Schreibt die abgeschlossenen Bars aller offenen Stores (Group Commit)
+     * 
+     * @return Anzahl geschriebener Bars
+     */
+    public static int flushAll() {
+        int written = 0;
+        for (TickRollupStore store : OPEN_STORES.values()) {
+            written += store.flush();
+        }
+        return written;
+    }
+    
+    /**
+     * NEU: Verwirft den Store einer Tick-Datei (nach dem Neuschreiben der Datei)
+     * Das Rollup-Verzeichnis wird gelöscht, beim nächsten Öffnen werden die Bars aus den Tick-Daten neu aufgebaut.
+     */
+    public static void invalidate(String tickFilePath) {
+        synchronized (TickSeedPass.lockFor(tickFilePath)) {
+            OPEN_STORES.remove(tickFilePath);
+            Path rollupDir = getRollupDirectory(tickFilePath);
+            if (!Files.isDirectory(rollupDir)) {
+                return;
+            }
+            
+            try (Stream<Path> files = Files.list(rollupDir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+                Files.deleteIfExists(rollupDir);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Rollup-Verzeichnis konnte nicht gelöscht werden: " + rollupDir, e);
+            }
+        }
+    }
+    
+    /**
+     * Nimmt einen Tick in alle Auflösungen auf
+     * Ticks, die nicht neuer als der letzte aufgenommene Tick sind, werden ignoriert.
+     * KORRIGIERT: Ausnahme ist die beim Ende der Sommerzeit wiederholte Stunde (siehe TickDataLoader.isNewTick) -
+     * liegt deren Bar vor dem offenen Bar, geht der Tick in den offenen Bar ein (Bars bleiben chronologisch).
+     */
+    public synchronized void add(TickData tick) {
+        if (!TickDataLoader.isNewTick(lastTickTime, tick.getTimestamp())) {
+            return;
+        }
+        if (lastTickTime == null || tick.getTimestamp().isAfter(lastTickTime)) {
+            lastTickTime = tick.getTimestamp();
+        }
+        
+        for (Resolution resolution : Resolution.values()) {
+            addToResolution(resolution, tick);
+        }
+    }
+    
+    private void addToResolution(Resolution resolution, TickData tick) {
+        LocalDateTime barStart = resolution.getBarStart(tick.getTimestamp());
+        Bar open = openBars.get(resolution);
+        if (open != null && barStart.isBefore(open.getStart())) {
+            open.add(tick); // Zeitstempel zurückgelaufen - Werte sind trotzdem die neuesten
+            return;
+        }
+        
+        LocalDateTime persisted = persistedUntil.get(resolution);
+        if (persisted != null && !barStart.isAfter(persisted)) {
+            return; // Bar ist bereits gespeichert
+        }
+        
+        if (open != null && open.getStart().equals(barStart)) {
+            open.add(tick);
+            return;
+        }
+        
+        if (open != null) {
+            pendingBars.get(resolution).add(open);
+        }
+        openBars.put(resolution, new Bar(barStart, tick));
+    }
+    
+    /**
+     * Hängt die abgeschlossenen Bars an die Rollup-Dateien an
+     * Bei Fehlern bleiben die Bars vorgemerkt und werden beim nächsten Flush erneut geschrieben.
+     * 
+     * @return Anzahl geschriebener Bars
+     */
+    public synchronized int flush() {
+        int written = 0;
+        
+        for (Resolution resolution : Resolution.values()) {
+            List<Bar> pending = pendingBars.get(resolution);
+            if (pending.isEmpty()) {
+                continue;
+            }
+            
+            Path file = getRollupFile(resolution);
+            try {
+                Files.createDirectories(rollupDir);
+                boolean newFile = !Files.exists(file);
+                try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                                                                     StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    if (newFile) {
+                        writer.write(FILE_HEADER);
+                        writer.newLine();
+                    }
+                    for (Bar bar : pending) {
+                        writer.write(bar.format());
+                        writer.newLine();
+                    }
+                }
+                
+                persistedUntil.put(resolution, pending.get(pending.size() - 1).getStart());
+                written += pending.size();
+                pending.clear();
+            
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Fehler beim Schreiben der Rollup-Datei: " + file, e);
+            }
+        }
+        
+        return written;
+    }
+    
+    /**
+     * Liefert die Bars einer Auflösung ab einem Zeitpunkt: gespeicherte, noch nicht geschriebene und den offenen Bar
+     * 
+     * @param resolution Die Auflösung
+     * @param fromDate Startzeitpunkt oder null für alle Bars
+     * @return Chronologische Liste der Bars
+     */
+    public synchronized List<Bar> getBars(Resolution resolution, LocalDateTime fromDate) {
+        List<Bar> bars = new ArrayList<>();
+        String fromKey = fromDate != null ? resolution.getBarStart(fromDate).format(BAR_TIME_FORMATTER) : null;
+        
+        Path file = getRollupFile(resolution);
+        if (Files.exists(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                // VERBESSERT: Über den Offset-Index direkt zum ersten Tag ab fromDate springen
+                long offset = 0;
+                if (fromDate != null) {
+                    Map.Entry<LocalDate, Long> first = updateOffsetIndex(resolution, channel).dayOffsets
+                        .ceilingEntry(resolution.getBarStart(fromDate).toLocalDate());
+                    offset = first != null ? first.getValue() : channel.size();
+                }
+                
+                BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    Channels.newInputStream(channel.position(offset)), StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    // Zeitstempel sind lexikographisch sortierbar - ältere Bars ohne Parsen überspringen
+                    if (line.isEmpty() || line.startsWith("#") || (fromKey != null && line.compareTo(fromKey) < 0)) {
+                        continue;
+                    }
+                    Bar bar = Bar.parse(line);
+                    if (bar != null) {
+                        bars.add(bar);
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Fehler beim Lesen der Rollup-Datei: " + file, e);
+            }
+        }
+        
+        for (Bar bar : pendingBars.get(resolution)) {
+            if (fromKey == null || !bar.getStart().isBefore(resolution.getBarStart(fromDate))) {
+                bars.add(bar);
+            }
+        }
+        
+        Bar open = openBars.get(resolution);
+        if (open != null && (fromDate == null || !open.getStart().isBefore(resolution.getBarStart(fromDate)))) {
+            bars.add(open);
+        }
+        
+        return bars;
+    }
+    
+    /**
+     * @return Die Bars als Chart-Punkte (Schlusswerte)
+     */
+    public static List<TickData> toTickData(List<Bar> bars) {
+        List<TickData> ticks = new ArrayList<>(bars.size());
+        for (Bar bar : bars) {
+            ticks.add(bar.toTickData());
+        }
+        return ticks;
+    }
+    
+    public String getSignalId() {
+        return signalId;
+    }
+    
+    private Path getRollupFile(Resolution resolution) {
+        return rollupDir.resolve(resolution.name() + ".csv");
+    }
+    
+    /**
+     * NEU: Bringt den Offset-Index einer Auflösung auf den Stand der Datei
+     * Gelesen wird nur der Teil nach der bisher abgedeckten Position (beim ersten Zugriff die ganze Datei).
+     * 
+     * @param resolution Die Auflösung
+     * @param channel Geöffnete Rollup-Datei (Position wird verändert)
+     * @return Der aktuelle Index
+     */
+    private BarOffsetIndex updateOffsetIndex(Resolution resolution, FileChannel channel) throws IOException {
+        BarOffsetIndex index = offsetIndexes.computeIfAbsent(resolution, r -> new BarOffsetIndex());
+        long size = channel.size();
+        if (size < index.coveredLength) {
+            // Datei kürzer als abgedeckt - neu geschrieben, Index neu aufbauen
+            index.dayOffsets.clear();
+            index.coveredLength = 0;
+        }
+        if (size == index.coveredLength) {
+            return index;
+        }
+        
+        InputStream in = new BufferedInputStream(Channels.newInputStream(channel.position(index.coveredLength)));
+        byte[] dayKey = new byte[DAY_KEY_LENGTH];
+        int keyLength = 0;
+        long lineStart = index.coveredLength;
+        long position = lineStart;
+        
+        int b;
+        while ((b = in.read()) != -1) {
+            position++;
+            if (b != '\n') {
+                if (keyLength < DAY_KEY_LENGTH) {
+                    dayKey[keyLength++] = (byte) b;
+                }
+                continue;
+            }
+            
+            if (keyLength == DAY_KEY_LENGTH && dayKey[0] != '#') {
+                try {
+                    LocalDate day = LocalDate.parse(new String(dayKey, StandardCharsets.US_ASCII));
+                    index.dayOffsets.putIfAbsent(day, lineStart);
+                } catch (DateTimeParseException e) {
+                    // Keine Bar-Zeile - überspringen
+                }
+            }
+            
+            // Nur vollständige Zeilen gelten als abgedeckt
+            lineStart = position;
+            index.coveredLength = position;
+            keyLength = 0;
+        }
+        
+        return index;
+    }
+    
+    /**
+     * Rekonstruiert die offenen Bars aus den Roh-Ticks nach dem jeweils letzten gespeicherten Bar
+     * VERBESSERT: Im gemeinsamen Durchlauf gestreamt statt die Historie als TickDataSet zu laden
+     */
+    private void catchUp(TickSeedPass pass) {
+        LocalDateTime catchUpFrom = null;
+        boolean complete = true;
+        
+        for (Resolution resolution : Resolution.values()) {
+            LocalDateTime lastStart = readLastBarStart(getRollupFile(resolution));
+            if (lastStart == null) {
+                complete = false;
+                continue;
+            }
+            
+            persistedUntil.put(resolution, lastStart);
+            LocalDateTime nextStart = lastStart.plusMinutes(resolution.getMinutes());
+            if (catchUpFrom == null || nextStart.isBefore(catchUpFrom)) {
+                catchUpFrom = nextStart;
+            }
+        }
+        
+        boolean rebuild = !complete;
+        int[] ticks = {0};
+        pass.register(rebuild ? null : catchUpFrom, tick -> {
+            ticks[0]++;
+            add(tick);
+        });
+        pass.onFinished(() -> {
+            int rebuilt = flush();
+            if (rebuild && ticks[0] > 0) {
+                LOGGER.info("Rollups aufgebaut für Signal " + signalId + ": " + ticks[0] + " Ticks, " + rebuilt + " Bars");
+            }
+        });
+    }
+    
+    /**
+     * Liest den Beginn des letzten Bars aus dem Dateiende
+     * 
+     * @return Bar-Beginn oder null wenn die Datei fehlt oder keinen Bar enthält
+     */
+    private static LocalDateTime readLastBarStart(Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            long start = Math.max(0, raf.length() - TAIL_READ_BYTES);
+            byte[] tail = new byte[(int) (raf.length() - start)];
+            raf.seek(start);
+            raf.readFully(tail);
+            
+            String[] lines = new String(tail, StandardCharsets.UTF_8).split("\r?\n");
+            for (int i = lines.length - 1; i >= 0; i--) {
+                Bar bar = Bar.parse(lines[i].trim());
+                if (bar != null) {
+                    return bar.getStart();
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Lesen der Rollup-Datei: " + file, e);
+        }
+        
+        return null;
+    }
+}
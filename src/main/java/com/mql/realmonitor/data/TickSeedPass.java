@@ -0,0 +1,140 @@
+package com.mql.realmonitor.data;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import com.mql.realmonitor.data.TickDataLoader.TickData;
+
+/**
+ * NEU: Gemeinsamer Durchlauf über die Tick-Historie eines Signals beim Öffnen fortgeschriebener Zustände
+ * (Rollups, Peak-Index, Ein-/Auszahlungs-Index, Gewinn- und Risiko-Engine). Jeder Teilnehmer meldet an,
+ * ab welchem Zeitpunkt er Ticks braucht; die Historie wird nur einmal ab dem frühesten Zeitpunkt gestreamt
+ * (Dateireihenfolge wie beim Schreiben, konstanter Speicher) und an alle Teilnehmer verteilt.
+ * 
+ * Geöffnet und verworfen wird unter einer Sperre pro Tick-Datei (lockFor) - der Aufbau eines Signals
+ * blockiert weder die Writer noch die Abfragen anderer Signale.
+ */
+public class TickSeedPass {
+    
+    private static final Logger LOGGER = Logger.getLogger(TickSeedPass.class.getName());
+    
+    // Eine Sperre pro Tick-Datei, gemeinsam für alle fortgeschriebenen Zustände
+    private static final Map<String, Object> OPEN_LOCKS = new ConcurrentHashMap<>();
+    
+    /**
+     * Angemeldeter Teilnehmer eines Durchlaufs
+     */
+    private static class Participant {
+        final LocalDateTime fromDate;
+        final Consumer<TickData> consumer;
+        
+        Participant(LocalDateTime fromDate, Consumer<TickData> consumer) {
+            this.fromDate = fromDate;
+            this.consumer = consumer;
+        }
+        
+        boolean accepts(TickData tick) {
+            return fromDate == null || !tick.getTimestamp().isBefore(fromDate);
+        }
+    }
+    
+    private final String tickFilePath;
+    private final String signalId;
+    private final List<Participant> participants = new ArrayList<>();
+    private final List<Runnable> finishers = new ArrayList<>();
+    
+    public TickSeedPass(String tickFilePath, String signalId) {
+        this.tickFilePath = tickFilePath;
+        this.signalId = signalId;
+    }
+    
+    /**
+     * Liefert die Sperre einer Tick-Datei
+     * Unter ihr werden die Zustände der Datei geöffnet (aufgebaut und registriert) und verworfen.
+     * 
+     * @param tickFilePath Pfad der Tick-Datei
+     * @return Sperr-Objekt (pro Pfad immer dasselbe)
+     */
+    public static Object lockFor(String tickFilePath) {
+        return OPEN_LOCKS.computeIfAbsent(tickFilePath, k -> new Object());
+    }
+    
+    public String getTickFilePath() {
+        return tickFilePath;
+    }
+    
+    public String getSignalId() {
+        return signalId;
+    }
+    
+    /**
+     * Meldet einen Teilnehmer an
+     * 
+     * @param fromDate Erster benötigter Zeitstempel (inklusive) oder null für die komplette Historie
+     * @param consumer Empfänger der Ticks in Dateireihenfolge
+     */
+    public void register(LocalDateTime fromDate, Consumer<TickData> consumer) {
+        participants.add(new Participant(fromDate, consumer));
+    }
+    
+    /**
+     * Meldet eine Aktion nach dem Durchlauf an (Speichern, Registrieren) - in Anmeldereihenfolge ausgeführt
+     */
+    public void onFinished(Runnable finisher) {
+        finishers.add(finisher);
+    }
+    
+    /**
+     * Streamt die Tick-Historie einmal ab dem frühesten angemeldeten Zeitpunkt und führt danach die
+     * angemeldeten Aktionen aus (auch wenn keine Tick-Daten vorliegen oder das Lesen fehlschlägt)
+     * 
+     * @return Anzahl gelesener Ticks
+     */
+    public int run() {
+        int streamed = 0;
+        if (!participants.isEmpty() && TickDataLoader.tickDataExists(tickFilePath, signalId)) {
+            streamed = stream();
+        }
+        
+        for (Runnable finisher : finishers) {
+            finisher.run();
+        }
+        return streamed;
+    }
+    
+    private int stream() {
+        LocalDateTime fromDate = participants.get(0).fromDate;
+        for (Participant participant : participants) {
+            if (participant.fromDate == null) {
+                fromDate = null;
+                break;
+            }
+            if (participant.fromDate.isBefore(fromDate)) {
+                fromDate = participant.fromDate;
+            }
+        }
+        
+        int[] streamed = {0};
+        try (Stream<TickData> ticks = TickDataLoader.streamTicks(tickFilePath, signalId, fromDate, null)) {
+            ticks.forEach(tick -> {
+                streamed[0]++;
+                for (Participant participant : participants) {
+                    if (participant.accepts(tick)) {
+                        participant.consumer.accept(tick);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Lesen der Tick-Historie für Signal " + signalId + ": " + tickFilePath, e);
+        }
+        return streamed[0];
+    }
+}
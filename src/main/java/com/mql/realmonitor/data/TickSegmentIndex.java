@@ -0,0 +1,265 @@
+package com.mql.realmonitor.data;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * NEU: Index der Zeit-Segmente einer Tick-Datei
+ * Bei aktivierter Segmentierung bleibt tick/<id>.txt das aktive (jüngste) Segment.
+ * Abgeschlossene Segmente liegen in tick/<id>.segments/<id>_yyyy-MM.txt,
+ * ihre Zeitbereiche stehen in tick/<id>.segments/segments.idx.
+ * 
+ * Zeitraum-Abfragen öffnen damit nur die betroffenen Segmente, und die
+ * Bereinigung alter Einträge ist ein Löschen ganzer Segment-Dateien.
+ * 
+ * Index-Format (eine Zeile pro Segment):
+ * Dateiname,ersterZeitstempel,letzterZeitstempel,Anzahl[,kompaktiertBis] (Zeitstempel ISO-8601)
+ */
+public class TickSegmentIndex {
+    
+    private static final Logger LOGGER = Logger.getLogger(TickSegmentIndex.class.getName());
+    
+    public static final String SEGMENT_DIR_SUFFIX = ".segments";
+    public static final String INDEX_FILE_NAME = "segments.idx";
+    
+    private static final DateTimeFormatter SEGMENT_NAME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+    
+    /**
+     * Ein abgeschlossenes Segment mit seinem Zeitbereich
+     */
+    public static class Segment {
+        private final String fileName;
+        private final LocalDateTime firstTimestamp;
+        private final LocalDateTime lastTimestamp;
+        private final int tickCount;
+        private final LocalDateTime compactedUntil;
+        
+        public Segment(String fileName, LocalDateTime firstTimestamp, LocalDateTime lastTimestamp, int tickCount) {
+            this(fileName, firstTimestamp, lastTimestamp, tickCount, null);
+        }
+        
+        /**
+         * NEU: Segment mit Stand der Kompaktierung (Ticks bis compactedUntil sind bereits ausgedünnt)
+         */
+        public Segment(String fileName, LocalDateTime firstTimestamp, LocalDateTime lastTimestamp, int tickCount,
+                       LocalDateTime compactedUntil) {
+            this.fileName = fileName;
+            this.firstTimestamp = firstTimestamp;
+            this.lastTimestamp = lastTimestamp;
+            this.tickCount = tickCount;
+            this.compactedUntil = compactedUntil;
+        }
+        
+        public String getFileName() { return fileName; }
+        public LocalDateTime getFirstTimestamp() { return firstTimestamp; }
+        public LocalDateTime getLastTimestamp() { return lastTimestamp; }
+        public int getTickCount() { return tickCount; }
+        public LocalDateTime getCompactedUntil() { return compactedUntil; }
+        
+        /**
+         * @return true wenn sich das Segment mit dem Zeitraum überschneidet (Grenzen inklusive, null = offen)
+         */
+        public boolean overlaps(LocalDateTime fromDate, LocalDateTime toDate) {
+            return (fromDate == null || !lastTimestamp.isBefore(fromDate)) &&
+                   (toDate == null || !firstTimestamp.isAfter(toDate));
+        }
+        
+        @Override
+        public String toString() {
+            return fileName + " [" + firstTimestamp + " - " + lastTimestamp + ", " + tickCount + " Ticks]";
+        }
+    }
+    
+    private final Path segmentDir;
+    private final List<Segment> segments = new ArrayList<>();
+    
+    private TickSegmentIndex(Path segmentDir) {
+        this.segmentDir = segmentDir;
+    }
+    
+    /**
+     * Liefert das Segment-Verzeichnis zu einer Tick-Datei (tick/42.txt -> tick/42.segments)
+     * 
+     * @param activeFilePath Pfad der aktiven Tick-Datei
+     * @return Pfad des Segment-Verzeichnisses
+     */
+    public static Path getSegmentDirectory(String activeFilePath) {
+        String path = activeFilePath.endsWith(".txt") ? activeFilePath.substring(0, activeFilePath.length() - 4) : activeFilePath;
+        return Paths.get(path + SEGMENT_DIR_SUFFIX);
+    }
+    
+    /**
+     * @return true wenn für die Tick-Datei abgeschlossene Segmente existieren
+     */
+    public static boolean hasSegments(String activeFilePath) {
+        return activeFilePath != null && Files.exists(getSegmentDirectory(activeFilePath).resolve(INDEX_FILE_NAME));
+    }
+    
+    /**
+     * Ermittelt den Beginn des Segments, in das ein Zeitstempel fällt
+     * Segmente beginnen immer an einem Vielfachen von segmentMonths ab Januar.
+     * 
+     * @param timestamp Der Zeitstempel
+     * @param segmentMonths Segmentlänge in Monaten (1 = monatlich, 3 = quartalsweise, ...)
+     * @return Erster Monat des Segments
+     */
+    public static YearMonth getSegmentStart(LocalDateTime timestamp, int segmentMonths) {
+        int months = Math.max(1, segmentMonths);
+        int monthIndex = timestamp.getMonthValue() - 1;
+        return YearMonth.of(timestamp.getYear(), monthIndex - (monthIndex % months) + 1);
+    }
+    
+    /**
+     * @return Dateiname eines Segments, z.B. 42_2025-01.txt
+     */
+    public static String getSegmentFileName(String signalId, YearMonth segmentStart) {
+        return signalId + "_" + segmentStart.format(SEGMENT_NAME_FORMATTER) + ".txt";
+    }
+    
+    /**
+     * Lädt den Segment-Index einer Tick-Datei
+     * Existiert noch kein Index, wird ein leerer Index geliefert.
+     * 
+     * @param activeFilePath Pfad der aktiven Tick-Datei
+     * @return Der Index (nie null)
+     */
+    public static TickSegmentIndex load(String activeFilePath) {
+        TickSegmentIndex index = new TickSegmentIndex(getSegmentDirectory(activeFilePath));
+        Path indexFile = index.segmentDir.resolve(INDEX_FILE_NAME);
+        
+        if (!Files.exists(indexFile)) {
+            return index;
+        }
+        
+        try {
+            for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                
+                String[] parts = line.split(",");
+                if (parts.length != 4 && parts.length != 5) {
+                    LOGGER.warning("Ungültige Zeile im Segment-Index " + indexFile + ": " + line);
+                    continue;
+                }
+                
+                LocalDateTime compactedUntil = parts.length == 5 ? LocalDateTime.parse(parts[4].trim()) : null;
+                index.segments.add(new Segment(parts[0].trim(), LocalDateTime.parse(parts[1].trim()),
+                                               LocalDateTime.parse(parts[2].trim()), Integer.parseInt(parts[3].trim()),
+                                               compactedUntil));
+            }
+            index.sort();
+        
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Fehler beim Lesen des Segment-Index: " + indexFile, e);
+        }
+        
+        return index;
+    }
+    
+    /**
+     * Speichert den Index (Temp-Datei + atomares Umbenennen)
+     */
+    public void save() throws IOException {
+        Files.createDirectories(segmentDir);
+        Path indexFile = segmentDir.resolve(INDEX_FILE_NAME);
+        Path temp = segmentDir.resolve(INDEX_FILE_NAME + ".tmp");
+        
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write("# MQL5 Tick-Segmente - Format: Datei,Erster Tick,Letzter Tick,Anzahl[,Kompaktiert bis]");
+            writer.newLine();
+            for (Segment segment : segments) {
+                writer.write(segment.getFileName() + "," + segment.getFirstTimestamp() + "," +
+                             segment.getLastTimestamp() + "," + segment.getTickCount() +
+                             (segment.getCompactedUntil() != null ? "," + segment.getCompactedUntil() : ""));
+                writer.newLine();
+            }
+        }
+        
+        Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOGGER.fine("Segment-Index gespeichert: " + indexFile + " (" + segments.size() + " Segmente)");
+    }
+    
+    /**
+     * @return Alle Segmente chronologisch sortiert
+     */
+    public List<Segment> getSegments() {
+        return Collections.unmodifiableList(segments);
+    }
+    
+    /**
+     * @return Segmente, die sich mit dem Zeitraum überschneiden (null = offene Grenze)
+     */
+    public List<Segment> getSegmentsInRange(LocalDateTime fromDate, LocalDateTime toDate) {
+        List<Segment> result = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (segment.overlaps(fromDate, toDate)) {
+                result.add(segment);
+            }
+        }
+        return result;
+    }
+    
+    public Segment findSegment(String fileName) {
+        for (Segment segment : segments) {
+            if (segment.getFileName().equals(fileName)) {
+                return segment;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Fügt ein Segment hinzu oder ersetzt den Eintrag mit gleichem Dateinamen
+     */
+    public void putSegment(Segment segment) {
+        removeSegment(segment.getFileName());
+        segments.add(segment);
+        sort();
+    }
+    
+    public boolean removeSegment(String fileName) {
+        return segments.removeIf(segment -> segment.getFileName().equals(fileName));
+    }
+    
+    /**
+     * @return Pfad der Segment-Datei
+     */
+    public Path resolve(Segment segment) {
+        return segmentDir.resolve(segment.getFileName());
+    }
+    
+    public Path getSegmentDirectory() {
+        return segmentDir;
+    }
+    
+    /**
+     * @return Anzahl der Ticks in allen abgeschlossenen Segmenten
+     */
+    public int getTotalTickCount() {
+        int total = 0;
+        for (Segment segment : segments) {
+            total += segment.getTickCount();
+        }
+        return total;
+    }
+    
+    private void sort() {
+        segments.sort(Comparator.comparing(Segment::getFirstTimestamp));
+    }
+}
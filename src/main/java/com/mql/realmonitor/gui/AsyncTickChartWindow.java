@@ -161,8 +161,7 @@ public class AsyncTickChartWindow {
                 updateLoadingStatus("Prüfe Tick-Datei-Zugriff...", "Phase 2: Dateizugriff");
                 if (isLoadingCancelled) return;
                 
-                java.io.File tickFile = new java.io.File(tickFilePath);
-                if (!tickFile.exists()) {
+                if (!com.mql.realmonitor.data.TickDataLoader.tickDataExists(tickFilePath, signalId)) {
                     throw new RuntimeException("Tick-Datei nicht gefunden: " + tickFilePath);
                 }
                 
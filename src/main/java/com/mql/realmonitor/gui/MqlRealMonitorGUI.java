@@ -244,9 +244,8 @@ public class MqlRealMonitorGUI {
             com.mql.realmonitor.downloader.FavoritesReader favoritesReader = 
                 new com.mql.realmonitor.downloader.FavoritesReader(monitor.getConfig());
             
-            // TickDataWriter für das Lesen der letzten Einträge
-            com.mql.realmonitor.tickdata.TickDataWriter tickDataWriter = 
-                new com.mql.realmonitor.tickdata.TickDataWriter(monitor.getConfig());
+            // VERBESSERT: Gemeinsamer TickDataWriter - das Lesen wärmt gleichzeitig den Last-Tick-Index auf
+            com.mql.realmonitor.tickdata.TickDataWriter tickDataWriter = monitor.getTickDataWriter();
             
             // Favoriten laden
             java.util.List<String> favoriteIds = favoritesReader.readFavorites();
@@ -278,10 +277,9 @@ public class MqlRealMonitorGUI {
                     
                     try {
                         String tickFilePath = monitor.getConfig().getTickFilePath(signalId);
-                        java.io.File tickFile = new java.io.File(tickFilePath);
                         
-                        if (tickFile.exists()) {
-                            SignalData lastSignalData = tickDataWriter.readLastTickEntry(tickFilePath, signalId);
+                        if (com.mql.realmonitor.data.TickDataLoader.tickDataExists(tickFilePath, signalId)) {
+                            SignalData lastSignalData = tickDataWriter.getLastTickEntry(signalId);
                             
                             if (lastSignalData != null && lastSignalData.isValid()) {
                                 display.asyncExec(() -> providerTable.updateProviderData(lastSignalData));
@@ -38,6 +38,9 @@ public class MqlSignalManager {
     
     private static final Logger LOGGER = Logger.getLogger(MqlSignalManager.class.getName());
     
+    // Pattern für die Signal-Liste (einmal kompiliert statt pro Aufruf)
+    private static final Pattern TOP_SIGNAL_PATTERN = Pattern.compile("data-id=\"(\\d+)\"\\s+data-name=\"([^\"]+)\"");
+    
     private final MqlRealMonitorGUI gui;
     
     // Signal-Komponenten
@@ -646,15 +649,15 @@ public class MqlSignalManager {
 
     /**
      * Parst die Signal-IDs und Namen aus dem HTML-Inhalt.
+     * Statisch und öffentlich, damit die Listen-Auswertung auch im Benchmark gemessen werden kann.
      */
-    private Map<String, String> parseTopSignals(String html) {
+    public static Map<String, String> parseTopSignals(String html) {
         Map<String, String> signals = new LinkedHashMap<>();
         if (html == null || html.isEmpty()) {
             return signals;
         }
 
-        Pattern pattern = Pattern.compile("data-id=\"(\\d+)\"\\s+data-name=\"([^\"]+)\"");
-        Matcher matcher = pattern.matcher(html);
+        Matcher matcher = TOP_SIGNAL_PATTERN.matcher(html);
 
         while (matcher.find()) {
             String id = matcher.group(1);
@@ -672,7 +675,7 @@ public class MqlSignalManager {
     /**
      * Einfaches HTML-Entity Decoding
      */
-    private String unescapeHtml(String text) {
+    private static String unescapeHtml(String text) {
         if (text == null) return null;
         return text.replace("&amp;", "&")
                    .replace("&quot;", "\"")
@@ -407,10 +407,12 @@ public class MqlToolbarManager {
                 // Konvertierung in separatem Thread ausführen
                 new Thread(() -> {
                     try {
-                        com.mql.realmonitor.tickdata.TickDataWriter writer = 
-                            new com.mql.realmonitor.tickdata.TickDataWriter(gui.getMonitor().getConfig());
+                        com.mql.realmonitor.tickdata.TickDataWriter writer = gui.getMonitor().getTickDataWriter();
                         
-                        java.util.Map<String, Boolean> results = writer.convertAllTickFilesToNewFormat();
+                        // NEU: Parallele Konvertierung mit Fortschrittsanzeige in der Statuszeile
+                        java.util.Map<String, Boolean> results = writer.convertAllTickFilesToNewFormat(
+                            (completed, total, signalId) -> gui.updateStatus(
+                                "Konvertiere Tick-Dateien: " + completed + "/" + total + " (" + signalId + ")"));
                         
                         long successCount = results.values().stream().filter(v -> v != null && v).count();
                         long skippedCount = results.values().stream().filter(v -> v == null).count();
@@ -668,18 +670,17 @@ public class MqlToolbarManager {
             LOGGER.info("Erstelle Drawdown-Daten für Signal: " + signalId);
             
             String tickFilePath = gui.getMonitor().getConfig().getTickFilePath(signalId);
-            File tickFile = new File(tickFilePath);
             
-            if (!tickFile.exists()) {
+            if (!com.mql.realmonitor.data.TickDataLoader.tickDataExists(tickFilePath, signalId)) {
                 gui.showInfo("Keine Tick-Daten", 
                     "Es wurden noch keine historischen Daten für das Signal " + signalId + " gespeichert.\n\n" +
                     "Das Monitoring muss mindestens einmal erfolgreich gelaufen sein, um Tick-Daten zu erfassen.");
                 return;
             }
             
-            // Lade Ticks
+            // Lade Ticks (VERBESSERT: über den gemeinsamen Tick-Daten-Cache)
             com.mql.realmonitor.data.TickDataLoader.TickDataSet dataSet = 
-                com.mql.realmonitor.data.TickDataLoader.loadTickData(tickFilePath, signalId);
+                com.mql.realmonitor.data.TickDataCache.getTickData(tickFilePath, signalId);
             
             if (dataSet == null || dataSet.getTicks().isEmpty()) {
                 gui.showInfo("Keine Ticks geladen", "Die Tick-Datei ist leer oder konnte nicht gelesen werden.");
@@ -25,6 +25,7 @@ import com.mql.realmonitor.parser.SignalData;
  * NEU: Support für WeeklyProfit und MonthlyProfit Spalten mit Farbkodierung
  * NEU: Weekly und Monthly Profit Currency Spalten zwischen Gesamtwert und WeeklyProfit
  * KORRIGIERT: Total Value Drawdown für Konsistenz zwischen Chart und Tabelle
+ * NEU: Risiko-Spalten (Max Drawdown, Volatilität, Sharpe, Sortino, Recovery Factor)
  * Enthält Berechnungen, Sortierung und Formatierung
  */
 public class ProviderTableHelper {
@@ -49,6 +50,11 @@ public class ProviderTableHelper {
     public static final int COL_LAST_UPDATE = 14;         // Letzte Aktualisierung (verschoben von 13 zu 14)
     public static final int COL_CHANGE = 15;              // Änderung (verschoben von 14 zu 15)
     public static final int COL_SUBSCRIBERS = 16;         // NEU: Abonnenten
+    public static final int COL_MAX_DRAWDOWN = 17;        // NEU: Maximaler Drawdown (Historie)
+    public static final int COL_VOLATILITY = 18;          // NEU: Volatilität (annualisiert)
+    public static final int COL_SHARPE = 19;              // NEU: Sharpe Ratio
+    public static final int COL_SORTINO = 20;             // NEU: Sortino Ratio
+    public static final int COL_RECOVERY_FACTOR = 21;     // NEU: Recovery Factor
     
     // DEPRECATED: Alte Konstante für Rückwärtskompatibilität
     @Deprecated
@@ -332,10 +338,10 @@ public class ProviderTableHelper {
             }
         }
         
-        // NEU: Spezielle Behandlung für Profit-Spalten (N/A Werte am Ende) (ERWEITERT: Monthly Profit Currency, Subscribers)
+        // NEU: Spezielle Behandlung für Profit-Spalten (N/A Werte am Ende) (ERWEITERT: Monthly Profit Currency, Subscribers, Risiko-Spalten)
         if (columnIndex == COL_PROFIT || columnIndex == COL_WEEKLY_PROFIT_CURRENCY || 
             columnIndex == COL_MONTHLY_PROFIT_CURRENCY || columnIndex == COL_WEEKLY_PROFIT || 
-            columnIndex == COL_MONTHLY_PROFIT || columnIndex == COL_SUBSCRIBERS) {
+            columnIndex == COL_MONTHLY_PROFIT || columnIndex == COL_SUBSCRIBERS || isRiskColumn(columnIndex)) {
             boolean text1NA = (text1 == null || text1.trim().isEmpty() || text1.equals("N/A") || text1.equals("-"));
             boolean text2NA = (text2 == null || text2.trim().isEmpty() || text2.equals("N/A") || text2.equals("-"));
             
@@ -370,6 +376,14 @@ public class ProviderTableHelper {
         return text1.compareToIgnoreCase(text2);
     }
     
+    /**
+     * NEU: true für die Risiko-Spalten (numerisch, N/A Werte am Ende)
+     */
+    public static boolean isRiskColumn(int columnIndex) {
+        return columnIndex == COL_MAX_DRAWDOWN || columnIndex == COL_VOLATILITY || columnIndex == COL_SHARPE ||
+               columnIndex == COL_SORTINO || columnIndex == COL_RECOVERY_FACTOR;
+    }
+    
     /**
      * Extrahiert eine Zahl aus formatiertem Text
      * ERWEITERT: Robustere Zahlen-Extraktion für Profit-Werte
@@ -458,6 +472,7 @@ public class ProviderTableHelper {
     /**
      * ERWEITERT: Zeigt Details für einen Provider an (mit neuer Profit-Spalte und Total Value Drawdown)
      * ERWEITERT: Jetzt mit Weekly und Monthly Profit Currency
+     * ERWEITERT: Jetzt mit Risiko-Kennzahlen
      * 
      * @param item Das Tabellen-Item
      * @param lastSignalData Map mit den letzten SignalData
@@ -491,6 +506,11 @@ public class ProviderTableHelper {
         details.append("Wochengewinn (%): ").append(weeklyProfit).append("\n");
         details.append("Monatsgewinn (%): ").append(monthlyProfit).append("\n");
         details.append("Abonnenten: ").append(subscribers).append("\n"); // NEU
+        details.append("Max Drawdown: ").append(item.getText(COL_MAX_DRAWDOWN)).append("\n"); // NEU: Risiko-Kennzahlen
+        details.append("Volatilität: ").append(item.getText(COL_VOLATILITY)).append("\n");
+        details.append("Sharpe Ratio: ").append(item.getText(COL_SHARPE)).append("\n");
+        details.append("Sortino Ratio: ").append(item.getText(COL_SORTINO)).append("\n");
+        details.append("Recovery Factor: ").append(item.getText(COL_RECOVERY_FACTOR)).append("\n");
         details.append("Währung: ").append(item.getText(COL_CURRENCY)).append("\n");
         details.append("Letzte Aktualisierung: ").append(item.getText(COL_LAST_UPDATE)).append("\n");
         details.append("Änderung: ").append(item.getText(COL_CHANGE)).append("\n");
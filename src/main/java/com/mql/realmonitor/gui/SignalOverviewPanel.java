@@ -299,8 +299,11 @@ public class SignalOverviewPanel extends Composite {
                     return;
                 }
                 
-                // Tick-Daten für Timeframe filtern
-                filteredTicks = TickDataFilter.filterTicksForTimeScale(tickDataSet, timeScale);
+                // NEU: Vorberechnete OHLC-Bars bevorzugen, sonst Tick-Daten für Timeframe filtern
+                filteredTicks = TickDataFilter.loadRollupTicksForTimeScale(tickDataSet, timeScale);
+                if (filteredTicks == null) {
+                    filteredTicks = TickDataFilter.filterTicksForTimeScale(tickDataSet, timeScale);
+                }
                 
                 if (filteredTicks == null || filteredTicks.isEmpty()) {
                     LOGGER.warning("Keine gefilterten Ticks für " + signalId + " im Timeframe " + timeScale.getLabel());
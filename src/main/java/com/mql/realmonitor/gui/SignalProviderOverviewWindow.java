@@ -23,6 +23,7 @@ import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableItem;
 
+import com.mql.realmonitor.data.TickDataCache;
 import com.mql.realmonitor.data.TickDataLoader;
 import com.mql.realmonitor.parser.SignalData;
 
@@ -482,7 +483,7 @@ public class SignalProviderOverviewWindow {
         try {
             String tickFilePath = parentGui.getMonitor().getConfig().getTickFilePath(providerData.signalId);
             
-            TickDataLoader.TickDataSet tickDataSet = TickDataLoader.loadTickData(tickFilePath, providerData.signalId);
+            TickDataLoader.TickDataSet tickDataSet = TickDataCache.getTickData(tickFilePath, providerData.signalId);
             
             if (tickDataSet != null && tickDataSet.getTickCount() > 0) {
                 LOGGER.fine("Tick-Daten geladen für " + providerData.signalId + ": " + tickDataSet.getTickCount() + " Ticks");
@@ -2,8 +2,6 @@ package com.mql.realmonitor.gui;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.List;
-import java.util.ArrayList;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -13,6 +11,7 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableColumn;
 import org.eclipse.swt.widgets.TableItem;
@@ -20,7 +19,10 @@ import org.eclipse.swt.widgets.TableItem;
 import com.mql.realmonitor.config.IdTranslationManager;
 import com.mql.realmonitor.parser.SignalData;
 import com.mql.realmonitor.utils.PeriodProfitCalculator;
+import com.mql.realmonitor.utils.RiskMetricsEngine;
+import com.mql.realmonitor.utils.TickStateSeeder;
 import com.mql.realmonitor.data.TickDataLoader;
+import com.mql.realmonitor.data.TickPeakIndex;
 
 /**
  * Refactored: Tabelle für die Anzeige der Signalprovider-Daten
@@ -39,6 +41,14 @@ public class SignalProviderTable {
     
     private static final Logger LOGGER = Logger.getLogger(SignalProviderTable.class.getName());
     
+    // NEU: Spalten aus den fortgeschriebenen Zuständen, "N/A" solange diese im Hintergrund geöffnet werden
+    private static final int[] DERIVED_COLUMNS = {
+        ProviderTableHelper.COL_WEEKLY_PROFIT_CURRENCY, ProviderTableHelper.COL_MONTHLY_PROFIT_CURRENCY,
+        ProviderTableHelper.COL_WEEKLY_PROFIT, ProviderTableHelper.COL_MONTHLY_PROFIT,
+        ProviderTableHelper.COL_MAX_DRAWDOWN, ProviderTableHelper.COL_VOLATILITY, ProviderTableHelper.COL_SHARPE,
+        ProviderTableHelper.COL_SORTINO, ProviderTableHelper.COL_RECOVERY_FACTOR
+    };
+    
     // Spalten-Definitionen (ERWEITERT: Weekly und Monthly Profit Currency hinzugefügt)
     private static final String[] COLUMN_TEXTS = {
         "Signal ID", 
@@ -57,7 +67,12 @@ public class SignalProviderTable {
         "Währung",             // Spalte 13 (verschoben von 12 zu 13)
         "Letzte Aktualisierung", // Spalte 14 (verschoben von 13 zu 14)
         "Änderung",            // Spalte 15 (verschoben von 14 zu 15)
-        "Abonnenten"           // Spalte 16 (NEU)
+        "Abonnenten",          // Spalte 16 (NEU)
+        "Max Drawdown",        // Spalte 17 (NEU: Risiko-Kennzahlen)
+        "Volatilität",         // Spalte 18 (NEU)
+        "Sharpe",              // Spalte 19 (NEU)
+        "Sortino",             // Spalte 20 (NEU)
+        "Recovery Factor"      // Spalte 21 (NEU)
     };
     
     private static final int[] COLUMN_WIDTHS = {
@@ -77,7 +92,12 @@ public class SignalProviderTable {
         70,   // Währung (verschoben)
         150,  // Letzte Aktualisierung (verschoben)
         120,  // Änderung (verschoben)
-        100   // Abonnenten (NEU)
+        100,  // Abonnenten (NEU)
+        100,  // Max Drawdown (NEU)
+        90,   // Volatilität (NEU)
+        70,   // Sharpe (NEU)
+        70,   // Sortino (NEU)
+        100   // Recovery Factor (NEU)
     };
     
     // Komponenten
@@ -99,15 +119,11 @@ public class SignalProviderTable {
     // NEU: IdTranslationManager für Provider-Namen
     private IdTranslationManager idTranslationManager;
     
-    // NEU: Peak-Total-Value Cache für konsistente Drawdown-Berechnung
-    private Map<String, Double> peakTotalValueCache;
-    
     public SignalProviderTable(Composite parent, MqlRealMonitorGUI parentGui) {
         LOGGER.info("=== NEUE SIGNALPROVIDER TABLE MIT TOTAL VALUE DRAWDOWN UND WEEKLY/MONTHLY PROFIT CURRENCY WIRD GELADEN ===");
         this.parentGui = parentGui;
         this.signalIdToItem = new HashMap<>();
         this.lastSignalData = new HashMap<>();
-        this.peakTotalValueCache = new HashMap<>();  // NEU: Peak-Cache initialisieren
         
         // Helfer-Klassen initialisieren
         this.tableHelper = new ProviderTableHelper(parentGui);
@@ -191,7 +207,6 @@ public class SignalProviderTable {
             (signalId, item) -> {
                 signalIdToItem.remove(signalId);
                 lastSignalData.remove(signalId);
-                peakTotalValueCache.remove(signalId);  // NEU: Auch Peak-Cache leeren
             }
         );
     }
@@ -248,105 +263,39 @@ public class SignalProviderTable {
     /**
      * NEU: Berechnet den Peak-Total-Value für eine Signal-ID aus den Tick-Daten
      * KONSISTENT MIT CHART: Verwendet die gleiche Peak-Tracking-Logik wie der Chart
-     * KORRIGIERT: Erstellt eine Kopie der Liste vor dem Sortieren
+     * VERBESSERT: Peak aus dem persistenten Peak-Index (O(1)) - die Tick-Historie wird nur einmalig
+     * gestreamt, wenn noch kein Index existiert; der TickDataWriter schreibt ihn mit jedem Tick fort
      * 
      * @param signalId Die Signal-ID
      * @return Der Peak-Total-Value oder aktueller Total Value als Fallback
      */
     private double calculatePeakTotalValueFromTickData(String signalId, SignalData currentData) {
+        double currentTotalValue = currentData.getTotalValue();
         try {
-            LOGGER.fine("PEAK BERECHNUNG: Starte für Signal " + signalId);
-            
-            // Prüfe Cache zuerst
-            if (peakTotalValueCache.containsKey(signalId)) {
-                double cachedPeak = peakTotalValueCache.get(signalId);
-                double currentTotalValue = currentData.getTotalValue();
-                
-                // Aktualisiere Cache falls neuer Peak erreicht
-                if (currentTotalValue > cachedPeak) {
-                    LOGGER.info("NEUER PEAK ERREICHT für " + signalId + ": " + 
-                               String.format("%.6f -> %.6f", cachedPeak, currentTotalValue));
-                    peakTotalValueCache.put(signalId, currentTotalValue);
-                    return currentTotalValue;
-                }
-                
-                LOGGER.fine("PEAK aus Cache für " + signalId + ": " + String.format("%.6f", cachedPeak));
-                return cachedPeak;
-            }
-            
-            // Tick-Datei-Pfad ermitteln
             String tickFilePath = parentGui.getMonitor().getConfig().getTickFilePath(signalId);
+            TickPeakIndex peakIndex = TickPeakIndex.open(tickFilePath, signalId);
             
-            // Prüfen ob Datei existiert
-            java.io.File tickFile = new java.io.File(tickFilePath);
-            if (!tickFile.exists()) {
-                LOGGER.info("PEAK BERECHNUNG: Tick-Datei existiert nicht für " + signalId + " - verwende aktuellen Total Value");
-                double currentTotalValue = currentData.getTotalValue();
-                peakTotalValueCache.put(signalId, currentTotalValue);
-                return currentTotalValue;
-            }
-            
-            // Alle Tick-Daten laden (KORRIGIERT: Statische Methode verwenden)
-            TickDataLoader.TickDataSet dataSet = TickDataLoader.loadTickData(tickFilePath, signalId);
-            
-            if (dataSet == null || dataSet.getTickCount() == 0) {
-                LOGGER.info("PEAK BERECHNUNG: Keine Tick-Daten gefunden für " + signalId + " - verwende aktuellen Total Value");
-                double currentTotalValue = currentData.getTotalValue();
-                peakTotalValueCache.put(signalId, currentTotalValue);
-                return currentTotalValue;
-            }
-            
-            // Tick-Daten aus DataSet extrahieren
-            List<TickDataLoader.TickData> allTickData = dataSet.getTicks();
-            
-            if (allTickData.isEmpty()) {
-                LOGGER.info("PEAK BERECHNUNG: Keine Tick-Daten gefunden für " + signalId + " - verwende aktuellen Total Value");
-                double currentTotalValue = currentData.getTotalValue();
-                peakTotalValueCache.put(signalId, currentTotalValue);
+            if (!peakIndex.hasData()) {
+                LOGGER.fine("PEAK BERECHNUNG: Keine Tick-Daten für " + signalId + " - verwende aktuellen Total Value");
                 return currentTotalValue;
             }
             
-            // KORRIGIERT: Erstelle eine Kopie der Liste vor dem Sortieren
-            List<TickDataLoader.TickData> sortedTickData = new ArrayList<>(allTickData);
-            
-            // KONSISTENT MIT CHART: Peak-Tracking durch alle historischen Daten
-            double peakTotalValue = 0.0;
-            boolean firstData = true;
-            
-            // Sortiere chronologisch (jetzt auf der Kopie)
-            sortedTickData.sort((a, b) -> a.getTimestamp().compareTo(b.getTimestamp()));
-            
-            for (TickDataLoader.TickData tick : sortedTickData) {
-                double totalValue = tick.getTotalValue();
-                
-                if (firstData) {
-                    peakTotalValue = totalValue;
-                    firstData = false;
-                    LOGGER.fine("PEAK INITIALISIERT für " + signalId + ": " + String.format("%.6f", peakTotalValue));
-                } else if (totalValue > peakTotalValue) {
-                    peakTotalValue = totalValue;
-                }
-            }
+            // KONSISTENT MIT CHART: Peak über alle historischen Daten
+            double peakTotalValue = peakIndex.getPeakTotalValue();
             
             // Auch aktuellen Wert prüfen (falls noch nicht in Datei)
-            double currentTotalValue = currentData.getTotalValue();
             if (currentTotalValue > peakTotalValue) {
-                peakTotalValue = currentTotalValue;
-                LOGGER.fine("PEAK AKTUALISIERT durch aktuellen Wert für " + signalId + ": " + String.format("%.6f", peakTotalValue));
+                LOGGER.info("NEUER PEAK ERREICHT für " + signalId + ": " + 
+                           String.format("%.6f -> %.6f", peakTotalValue, currentTotalValue));
+                return currentTotalValue;
             }
             
-            // Cache aktualisieren
-            peakTotalValueCache.put(signalId, peakTotalValue);
-            
-            LOGGER.info("PEAK BERECHNUNG ABGESCHLOSSEN für " + signalId + ": " + 
-                       String.format("%.6f", peakTotalValue) + " (aus " + sortedTickData.size() + " Tick-Datenpunkten)");
-            
+            LOGGER.fine("PEAK aus Index für " + signalId + ": " + String.format("%.6f", peakTotalValue) +
+                       " am " + peakIndex.getPeakTimestamp() + " (" + peakIndex.getTickCount() + " Ticks)");
             return peakTotalValue;
             
         } catch (Exception e) {
             LOGGER.log(Level.WARNING, "FEHLER bei Peak-Berechnung für Signal " + signalId + " - verwende aktuellen Total Value als Fallback", e);
-            double currentTotalValue = currentData.getTotalValue();
-            peakTotalValueCache.put(signalId, currentTotalValue);
             return currentTotalValue;
         }
     }
@@ -439,7 +388,8 @@ public class SignalProviderTable {
             String tickFilePath = parentGui.getMonitor().getConfig().getTickFilePath(signalId);
             
             // Profits berechnen (ERWEITERT: Mit Currency-Information)
-            PeriodProfitCalculator.ProfitResult result = PeriodProfitCalculator.calculateProfitsWithCurrency(tickFilePath, signalId, currency);
+            // VERBESSERT: Inkrementell über den PeriodProfitEngine - kein Neuladen der Tick-Datei pro Aktualisierung
+            PeriodProfitCalculator.ProfitResult result = PeriodProfitCalculator.calculateProfitsIncremental(tickFilePath, signalId, currency);
             
             LOGGER.fine("Profit-Berechnung für Signal " + signalId + ": " + result.toString());
             return result;
@@ -450,6 +400,27 @@ public class SignalProviderTable {
         }
     }
     
+    /**
+     * NEU: Liefert die Risiko-Kennzahlen eines Signals aus dem RiskMetricsEngine
+     * Der Engine wird vom TickDataWriter mit jedem Tick fortgeschrieben - kein Neuladen der Tick-Datei.
+     * 
+     * @param signalId Die Signal-ID
+     * @return Die Risiko-Kennzahlen oder null bei Fehlern
+     */
+    private RiskMetricsEngine.RiskMetrics calculateRiskMetricsForSignal(String signalId) {
+        try {
+            String tickFilePath = parentGui.getMonitor().getConfig().getTickFilePath(signalId);
+            RiskMetricsEngine.RiskMetrics metrics = RiskMetricsEngine.open(tickFilePath, signalId).getMetrics();
+            
+            LOGGER.fine("Risiko-Kennzahlen für Signal " + signalId + ": " + metrics);
+            return metrics;
+            
+        } catch (Exception e) {
+            LOGGER.warning("Fehler bei Risiko-Kennzahlen für Signal " + signalId + ": " + e.getMessage());
+            return null;
+        }
+    }
+    
     /**
      * NEU: Setzt Tooltip-Daten für ein TableItem (für zukünftige Tooltip-Implementierung)
      * VEREINFACHT: Speichert nur die Tooltip-Daten ohne Custom UI
@@ -479,6 +450,8 @@ public class SignalProviderTable {
      * ERWEITERT: Setzt auch die Favoritenklasse, Zeilen-Hintergrundfarbe, neue Profit-Spalte und berechnet Profit-Werte
      * NEU: Speichert neue Provider-Namen in der ID-Translation
      * NEU: Weekly Profit Currency Spalte mit Tooltip
+     * NEU: Risiko-Spalten (Max Drawdown, Volatilität, Sharpe, Sortino, Recovery Factor)
+     * VERBESSERT: Abgeleitete Spalten über updateDerivedColumns - ohne Lesen der Tick-Historie auf dem SWT-Thread
      * 
      * @param signalData Die aktualisierten Signaldaten
      */
@@ -522,9 +495,75 @@ public class SignalProviderTable {
             saveProviderNameToTranslation(signalId, providerName);
         }
         
+        // Tabellendaten setzen
+        item.setText(ProviderTableHelper.COL_SIGNAL_ID, signalId);
+        item.setText(ProviderTableHelper.COL_FAVORITE_CLASS, favoriteClass);                     
+        item.setText(ProviderTableHelper.COL_PROVIDER_NAME, providerName);  
+        item.setText(ProviderTableHelper.COL_STATUS, "OK");
+        item.setText(ProviderTableHelper.COL_EQUITY, signalData.getFormattedEquity());
+        item.setText(ProviderTableHelper.COL_PROFIT, signalData.getFormattedProfit());
+        item.setText(ProviderTableHelper.COL_FLOATING, signalData.getFormattedFloatingProfit());
+        item.setText(ProviderTableHelper.COL_TOTAL, signalData.getFormattedTotalValue());
+        item.setText(ProviderTableHelper.COL_CURRENCY, signalData.getCurrency());
+        item.setText(ProviderTableHelper.COL_LAST_UPDATE, signalData.getFormattedTimestamp());
+        item.setText(ProviderTableHelper.COL_CHANGE, changeText);
+        item.setText(ProviderTableHelper.COL_SUBSCRIBERS, String.valueOf(signalData.getSubscribers())); // NEU
+        
+        // Farben setzen über Helper
+        item.setForeground(ProviderTableHelper.COL_PROFIT, tableHelper.getProfitColor(signalData.getProfit()));
+        item.setForeground(ProviderTableHelper.COL_FLOATING, tableHelper.getFloatingProfitColor(signalData.getFloatingProfit()));
+        
+        item.setForeground(ProviderTableHelper.COL_CHANGE, changeColor);
+        
+        // VERBESSERT: Abgeleitete Spalten aus den fortgeschriebenen Zuständen (ohne Lesen der Tick-Historie)
+        updateDerivedColumns(item, signalData);
+        
+        // Status-Farbe
+        item.setForeground(ProviderTableHelper.COL_STATUS, parentGui.getGreenColor());
+        
+        // Zeilen-Hintergrundfarbe basierend auf Favoritenklasse setzen
+        Color backgroundColor = tableHelper.getFavoriteClassBackgroundColor(favoriteClass);
+        if (backgroundColor != null) {
+            item.setBackground(backgroundColor);
+            LOGGER.fine("Hintergrundfarbe gesetzt für Signal " + signalId + " (Klasse " + favoriteClass + ")");
+        }
+        
+        // Daten im Cache speichern
+        lastSignalData.put(signalId, signalData);
+        
+        LOGGER.fine("Provider-Daten aktualisiert (ERWEITERT - Weekly/Monthly Profit Currency + Tooltip): " + signalData.getSummary() + 
+                   " (Klasse: " + favoriteClass + ", Name: " + providerName + ")");
+    }
+    
+    /**
+     * NEU: Setzt die aus den fortgeschriebenen Zuständen abgeleiteten Spalten
+     * (Total Value Drawdown, Weekly/Monthly Profit, Risiko-Spalten)
+     * Sind die Zustände des Signals noch nicht offen, werden sie im Hintergrund in einem Durchlauf über die
+     * Tick-Historie geöffnet (TickStateSeeder) und die Spalten danach nachgetragen - der SWT-Thread liest
+     * nie die Historie. Bis dahin Drawdown zum aktuellen Total Value, die übrigen Spalten "N/A".
+     * 
+     * @param item Das TableItem
+     * @param signalData Die aktuellen Signaldaten
+     */
+    private void updateDerivedColumns(TableItem item, SignalData signalData) {
+        String signalId = signalData.getSignalId();
+        String tickFilePath = parentGui.getMonitor().getConfig().getTickFilePath(signalId);
+        if (!TickStateSeeder.isOpen(tickFilePath)) {
+            openStatesInBackground(signalId, tickFilePath, () -> refreshDerivedColumns(signalId));
+            item.setText(ProviderTableHelper.COL_TOTAL_VALUE_DRAWDOWN, signalData.getFormattedTotalValueDrawdown(signalData.getTotalValue()));
+            for (int column : DERIVED_COLUMNS) {
+                item.setText(column, "N/A");
+            }
+            LOGGER.fine("Zustände für " + signalId + " werden im Hintergrund geöffnet - abgeleitete Spalten folgen");
+            return;
+        }
+        
         // NEU: Profit-Werte berechnen (ERWEITERT: Mit Currency)
         PeriodProfitCalculator.ProfitResult profitResult = calculateProfitsForSignal(signalId, signalData.getCurrency());
         
+        // NEU: Risiko-Kennzahlen (inkrementell, ohne Neuladen der Tick-Datei)
+        RiskMetricsEngine.RiskMetrics riskMetrics = calculateRiskMetricsForSignal(signalId);
+        
         // KORRIGIERT: Total Value Drawdown berechnen (KONSISTENT MIT CHART)
         double peakTotalValue = calculatePeakTotalValueFromTickData(signalId, signalData);
         String totalValueDrawdown = signalData.getFormattedTotalValueDrawdown(peakTotalValue);
@@ -534,23 +573,16 @@ public class SignalProviderTable {
                    ", Current: " + String.format("%.6f", signalData.getTotalValue()) + ")");
         
         // Tabellendaten setzen - ERWEITERT: Weekly und Monthly Profit Currency Spalten
-        item.setText(ProviderTableHelper.COL_SIGNAL_ID, signalId);
-        item.setText(ProviderTableHelper.COL_FAVORITE_CLASS, favoriteClass);                     
-        item.setText(ProviderTableHelper.COL_PROVIDER_NAME, providerName);  
-        item.setText(ProviderTableHelper.COL_STATUS, "OK");
-        item.setText(ProviderTableHelper.COL_EQUITY, signalData.getFormattedEquity());
-        item.setText(ProviderTableHelper.COL_PROFIT, signalData.getFormattedProfit());
-        item.setText(ProviderTableHelper.COL_FLOATING, signalData.getFormattedFloatingProfit());
         item.setText(ProviderTableHelper.COL_TOTAL_VALUE_DRAWDOWN, totalValueDrawdown);  
-        item.setText(ProviderTableHelper.COL_TOTAL, signalData.getFormattedTotalValue());
         item.setText(ProviderTableHelper.COL_WEEKLY_PROFIT_CURRENCY, profitResult.getFormattedWeeklyProfitCurrency());
         item.setText(ProviderTableHelper.COL_MONTHLY_PROFIT_CURRENCY, profitResult.getFormattedMonthlyProfitCurrency()); // NEU
         item.setText(ProviderTableHelper.COL_WEEKLY_PROFIT, profitResult.getFormattedWeeklyProfit());
         item.setText(ProviderTableHelper.COL_MONTHLY_PROFIT, profitResult.getFormattedMonthlyProfit());
-        item.setText(ProviderTableHelper.COL_CURRENCY, signalData.getCurrency());
-        item.setText(ProviderTableHelper.COL_LAST_UPDATE, signalData.getFormattedTimestamp());
-        item.setText(ProviderTableHelper.COL_CHANGE, changeText);
-        item.setText(ProviderTableHelper.COL_SUBSCRIBERS, String.valueOf(signalData.getSubscribers())); // NEU
+        item.setText(ProviderTableHelper.COL_MAX_DRAWDOWN, riskMetrics != null ? riskMetrics.getFormattedMaxDrawdown() : "N/A");
+        item.setText(ProviderTableHelper.COL_VOLATILITY, riskMetrics != null ? riskMetrics.getFormattedVolatility() : "N/A");
+        item.setText(ProviderTableHelper.COL_SHARPE, riskMetrics != null ? riskMetrics.getFormattedSharpeRatio() : "N/A");
+        item.setText(ProviderTableHelper.COL_SORTINO, riskMetrics != null ? riskMetrics.getFormattedSortinoRatio() : "N/A");
+        item.setText(ProviderTableHelper.COL_RECOVERY_FACTOR, riskMetrics != null ? riskMetrics.getFormattedRecoveryFactor() : "N/A");
         
         // NEU: Tooltips für Profit Currency Spalten setzen
         if (profitResult.hasWeeklyData()) {
@@ -560,16 +592,10 @@ public class SignalProviderTable {
             setItemTooltip(item, ProviderTableHelper.COL_MONTHLY_PROFIT_CURRENCY, profitResult.getMonthlyTooltip());
         }
         
-        // Farben setzen über Helper
-        item.setForeground(ProviderTableHelper.COL_PROFIT, tableHelper.getProfitColor(signalData.getProfit()));
-        item.setForeground(ProviderTableHelper.COL_FLOATING, tableHelper.getFloatingProfitColor(signalData.getFloatingProfit()));
-        
         // KORRIGIERT: Verwende Total Value Drawdown für Farbbestimmung und neue Konstante
         double totalValueDrawdownPercent = signalData.getTotalValueDrawdownPercent(peakTotalValue);
         item.setForeground(ProviderTableHelper.COL_TOTAL_VALUE_DRAWDOWN, tableHelper.getTotalValueDrawdownColor(totalValueDrawdownPercent));
         
-        item.setForeground(ProviderTableHelper.COL_CHANGE, changeColor);
-        
         // Farben für Profit-Spalten setzen (ERWEITERT: Weekly und Monthly Profit Currency)
         if (profitResult.hasWeeklyData()) {
             item.setForeground(ProviderTableHelper.COL_WEEKLY_PROFIT_CURRENCY, 
@@ -584,26 +610,39 @@ public class SignalProviderTable {
                               tableHelper.getProfitColor(profitResult.getMonthlyProfitPercent()));
         }
         
-        // Status-Farbe
-        item.setForeground(ProviderTableHelper.COL_STATUS, parentGui.getGreenColor());
-        
-        // Zeilen-Hintergrundfarbe basierend auf Favoritenklasse setzen
-        Color backgroundColor = tableHelper.getFavoriteClassBackgroundColor(favoriteClass);
-        if (backgroundColor != null) {
-            item.setBackground(backgroundColor);
-            LOGGER.fine("Hintergrundfarbe gesetzt für Signal " + signalId + " (Klasse " + favoriteClass + ")");
+        // NEU: Farben für Risiko-Spalten
+        if (riskMetrics != null && riskMetrics.hasReturnData()) {
+            item.setForeground(ProviderTableHelper.COL_SHARPE, tableHelper.getProfitColor(riskMetrics.getSharpeRatio()));
+            item.setForeground(ProviderTableHelper.COL_SORTINO, tableHelper.getProfitColor(riskMetrics.getSortinoRatio()));
         }
-        
-        // Daten im Cache speichern
-        lastSignalData.put(signalId, signalData);
-        
-        LOGGER.fine("Provider-Daten aktualisiert (ERWEITERT - Weekly/Monthly Profit Currency + Tooltip): " + signalData.getSummary() + 
-                   " (Klasse: " + favoriteClass + ", Name: " + providerName + 
-                   ", Total Value Drawdown: " + totalValueDrawdown +
-                   ", Weekly Currency: " + profitResult.getFormattedWeeklyProfitCurrency() +
-                   ", Monthly Currency: " + profitResult.getFormattedMonthlyProfitCurrency() +
-                   ", WeeklyProfit: " + profitResult.getFormattedWeeklyProfit() + 
-                   ", MonthlyProfit: " + profitResult.getFormattedMonthlyProfit() + ")");
+        if (riskMetrics != null && riskMetrics.getTickCount() > 0) {
+            item.setForeground(ProviderTableHelper.COL_MAX_DRAWDOWN, tableHelper.getTotalValueDrawdownColor(-riskMetrics.getMaxDrawdownPercent()));
+        }
+    }
+    
+    /**
+     * NEU: Trägt die abgeleiteten Spalten eines Signals mit den zuletzt empfangenen Daten nach
+     */
+    private void refreshDerivedColumns(String signalId) {
+        TableItem item = signalIdToItem.get(signalId);
+        SignalData signalData = lastSignalData.get(signalId);
+        if (item != null && !item.isDisposed() && signalData != null) {
+            updateDerivedColumns(item, signalData);
+        }
+    }
+    
+    /**
+     * NEU: Öffnet die Zustände eines Signals im Hintergrund (TickStateSeeder)
+     * Die Aktion läuft danach auf dem SWT-Thread - nur wenn das Öffnen gelungen ist, sonst folgt
+     * der nächste Versuch erst mit der nächsten Aktualisierung.
+     */
+    private void openStatesInBackground(String signalId, String tickFilePath, Runnable onOpened) {
+        TickStateSeeder.openInBackground(tickFilePath, signalId, () -> {
+            Display display = parentGui.getDisplay();
+            if (TickStateSeeder.isOpen(tickFilePath) && display != null && !display.isDisposed()) {
+                display.asyncExec(onOpened);
+            }
+        });
     }
     
     /**
@@ -696,6 +735,11 @@ public class SignalProviderTable {
         item.setText(ProviderTableHelper.COL_LAST_UPDATE, "");
         item.setText(ProviderTableHelper.COL_CHANGE, "");
         item.setText(ProviderTableHelper.COL_SUBSCRIBERS, "-"); // NEU
+        item.setText(ProviderTableHelper.COL_MAX_DRAWDOWN, "");       // NEU: Risiko-Spalten leer bis Daten verfügbar
+        item.setText(ProviderTableHelper.COL_VOLATILITY, "");
+        item.setText(ProviderTableHelper.COL_SHARPE, "");
+        item.setText(ProviderTableHelper.COL_SORTINO, "");
+        item.setText(ProviderTableHelper.COL_RECOVERY_FACTOR, "");
         
         // Farben über Helper setzen
         Color statusColor = tableHelper.getStatusColor(initialStatus);
@@ -801,6 +845,13 @@ public class SignalProviderTable {
             TableItem item = entry.getValue();
             
             if (item != null && !item.isDisposed()) {
+                // VERBESSERT: Noch nicht offene Zustände im Hintergrund öffnen, danach erneut aktualisieren
+                String tickFilePath = parentGui.getMonitor().getConfig().getTickFilePath(signalId);
+                if (!TickStateSeeder.isOpen(tickFilePath)) {
+                    openStatesInBackground(signalId, tickFilePath, this::refreshProfitValues);
+                    continue;
+                }
+                
                 // Currency ermitteln
                 String currency = item.getText(ProviderTableHelper.COL_CURRENCY);
                 
@@ -875,11 +926,14 @@ public class SignalProviderTable {
     
     /**
      * NEU: Leert den Peak-Cache (nützlich bei Problemen oder für Debugging)
+     * VERBESSERT: Verwirft die persistenten Peak-Indizes der angezeigten Signale
      */
     public void clearPeakCache() {
-        LOGGER.info("Leere Peak-Total-Value-Cache für alle Signale...");
-        peakTotalValueCache.clear();
-        LOGGER.info("Peak-Cache geleert - Peaks werden bei nächstem Update neu berechnet");
+        LOGGER.info("Verwerfe Peak-Indizes für alle Signale...");
+        for (String signalId : signalIdToItem.keySet()) {
+            TickPeakIndex.invalidate(parentGui.getMonitor().getConfig().getTickFilePath(signalId));
+        }
+        LOGGER.info("Peak-Indizes verworfen - Peaks werden bei nächstem Update aus den Tick-Daten neu aufgebaut");
     }
     
     /**
@@ -898,7 +952,6 @@ public class SignalProviderTable {
         table.removeAll();
         signalIdToItem.clear();
         lastSignalData.clear();
-        peakTotalValueCache.clear();  // NEU: Auch Peak-Cache leeren
         
         // FavoritesReader Cache leeren
         if (favoritesReader != null) {
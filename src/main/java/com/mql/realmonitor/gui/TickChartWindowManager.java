@@ -20,6 +20,7 @@ import org.eclipse.swt.widgets.MessageBox;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Text;
 
+import com.mql.realmonitor.data.TickDataCache;
 import com.mql.realmonitor.data.TickDataLoader;
 import com.mql.realmonitor.parser.SignalData;
 
@@ -478,8 +479,13 @@ public class TickChartWindowManager implements TickChartWindowToolbar.ToolbarCal
         try {
             LOGGER.info("Chart-Update für TimeScale: " + currentTimeScale.getLabel());
             
+            // NEU: Vorberechnete OHLC-Bars der Zeitskala bevorzugen
+            filteredTicks = TickDataFilter.loadRollupTicksForTimeScale(tickDataSet, currentTimeScale);
+            
             // Daten mit ALL-Modus-Unterstützung filtern
-            filteredTicks = TickDataFilter.filterTicksForTimeScale(tickDataSet, currentTimeScale);
+            if (filteredTicks == null) {
+                filteredTicks = TickDataFilter.filterTicksForTimeScale(tickDataSet, currentTimeScale);
+            }
             
             if (filteredTicks == null || filteredTicks.isEmpty()) {
                 filteredTicks = tickDataSet.getTicks();
@@ -565,7 +571,7 @@ public class TickChartWindowManager implements TickChartWindowToolbar.ToolbarCal
                 Thread.sleep(50);
                 
                 updateLoadingProgress("Lade Tick-Daten...");
-                tickDataSet = TickDataLoader.loadTickData(tickFilePath, signalId);
+                tickDataSet = TickDataCache.getTickData(tickFilePath, signalId);
                 
                 if (tickDataSet == null || tickDataSet.getTickCount() == 0) {
                     display.asyncExec(() -> {
@@ -265,7 +265,7 @@ public class TickChartWindowToolbar extends Composite {
             repairTickDataButton.setText("Repariere...");
             
             // TickDataWriter für Reparatur verwenden
-            TickDataWriter tickDataWriter = new TickDataWriter(parentGui.getMonitor().getConfig());
+            TickDataWriter tickDataWriter = parentGui.getMonitor().getTickDataWriter();
             boolean success = tickDataWriter.convertTickFileToNewFormat(signalId);
             
             // Button wieder aktivieren
@@ -15,6 +15,7 @@ import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Text;
 
+import com.mql.realmonitor.data.TickDataCache;
 import com.mql.realmonitor.data.TickDataLoader;
 
 /**
@@ -135,8 +136,8 @@ public class TickDataDisplayWindow {
             try {
                 LOGGER.info("Lade Tickdaten für Signal: " + signalId + " aus: " + tickFilePath);
                 
-                // Tickdaten laden
-                TickDataLoader.TickDataSet tickDataSet = TickDataLoader.loadTickData(tickFilePath, signalId);
+                // Tickdaten laden (VERBESSERT: über den gemeinsamen Tick-Daten-Cache)
+                TickDataLoader.TickDataSet tickDataSet = TickDataCache.getTickData(tickFilePath, signalId);
                 
                 if (tickDataSet == null || tickDataSet.getTickCount() == 0) {
                     parentGui.getDisplay().asyncExec(() -> {
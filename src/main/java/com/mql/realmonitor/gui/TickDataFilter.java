@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.logging.Logger;
 
 import com.mql.realmonitor.data.TickDataLoader;
+import com.mql.realmonitor.data.TickRollupStore;
 
 /**
  * ERWEITERT: Filtert Tick-Daten basierend auf Zeitintervallen
@@ -16,6 +17,39 @@ public class TickDataFilter {
     
     private static final Logger LOGGER = Logger.getLogger(TickDataFilter.class.getName());
     
+    /**
+     * NEU: Liefert die vorberechneten OHLC-Bars der Zeitskala als Chart-Punkte (Schlusswert je Bar)
+     * Die Bars werden vom TickDataWriter beim Schreiben fortgeschrieben - kein Filtern und Samplen
+     * der Roh-Ticks nötig.
+     * 
+     * @param tickDataSet Das TickDataSet (liefert Signal-ID und Dateipfad)
+     * @param timeScale Das gewünschte Zeitintervall
+     * @return Chart-Punkte oder null wenn keine Bars verfügbar sind (ALL-Modus, zu wenig Bars im Zeitfenster)
+     */
+    public static List<TickDataLoader.TickData> loadRollupTicksForTimeScale(
+            TickDataLoader.TickDataSet tickDataSet, TimeScale timeScale) {
+        
+        if (tickDataSet == null || tickDataSet.getFilePath() == null || timeScale == null || timeScale.isAll()) {
+            return null;
+        }
+        
+        TickRollupStore.Resolution resolution = TickRollupStore.Resolution.forMinutes(timeScale.getIntervalMinutes());
+        if (resolution == null) {
+            return null;
+        }
+        
+        LocalDateTime cutoffTime = LocalDateTime.now().minusMinutes(timeScale.getDisplayMinutes());
+        List<TickRollupStore.Bar> bars = TickRollupStore.open(tickDataSet.getFilePath(), tickDataSet.getSignalId())
+                                                        .getBars(resolution, cutoffTime);
+        if (bars.size() < 2) {
+            LOGGER.info("Zu wenig " + resolution + "-Bars (" + bars.size() + ") - verwende Roh-Ticks");
+            return null;
+        }
+        
+        LOGGER.info("Rollup-Bars für " + tickDataSet.getSignalId() + " (" + timeScale.getLabel() + "): " + bars.size() + " Bars");
+        return TickRollupStore.toTickData(bars);
+    }
+    
     /**
      * ERWEITERT: Filtert Tick-Daten basierend auf dem Zeitintervall
      * NEU: Unterstützt ALL-Modus für kompletten Zeitraum ohne Filterung
@@ -100,30 +134,15 @@ public class TickDataFilter {
         }
         
         // NORMALE FILTERUNG: Ticks nach Zeitfenster filtern
-        List<TickDataLoader.TickData> filteredTicks = new ArrayList<>();
-        int excludedCount = 0;
-        
-        for (int i = 0; i < allTicks.size(); i++) {
-            TickDataLoader.TickData tick = allTicks.get(i);
-            
-            if (tick.getTimestamp().isAfter(cutoffTime)) {
-                filteredTicks.add(tick);
-                
-                // Log ersten paar und letzten paar gefilterten Ticks
-                if (filteredTicks.size() <= 3 || i >= allTicks.size() - 3) {
-                    LOGGER.info("GEFILTERT TICK #" + filteredTicks.size() + ": " + 
-                               tick.getTimestamp() + " (Equity=" + tick.getEquity() + 
-                               ", Floating=" + tick.getFloatingProfit() + ")");
-                }
-            } else {
-                excludedCount++;
-                
-                // Log ersten paar ausgeschlossenen Ticks
-                if (excludedCount <= 3) {
-                    LOGGER.info("AUSGESCHLOSSEN TICK #" + (i+1) + ": " + tick.getTimestamp() + 
-                               " (zu alt, vor " + cutoffTime + ")");
-                }
-            }
+        // VERBESSERT: Erster Tick nach dem Cutoff per binärer Suche, danach Block-Übernahme
+        int firstIndex = tickDataSet.higherIndex(cutoffTime);
+        List<TickDataLoader.TickData> filteredTicks = firstIndex < 0 ? new ArrayList<>()
+            : new ArrayList<>(tickDataSet.getTicks(firstIndex, tickDataSet.getTickCount()));
+        int excludedCount = allTicks.size() - filteredTicks.size();
+        
+        if (excludedCount > 0) {
+            LOGGER.info("AUSGESCHLOSSEN: " + excludedCount + " Ticks bis " + allTicks.get(excludedCount - 1).getTimestamp() + 
+                       " (zu alt, vor " + cutoffTime + ")");
         }
         
         LOGGER.info("FILTER-ERGEBNIS: " + filteredTicks.size() + " Ticks einbezogen, " + 
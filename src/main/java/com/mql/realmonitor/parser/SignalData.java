@@ -712,6 +712,12 @@ public class SignalData {
                 return null;
             }
             
+            // KORRIGIERT: Prüfsummen-Suffix (*XXXXXXXX) gehört nicht zum Profit-Feld
+            int checksumIndex = tickLine.lastIndexOf('*');
+            if (checksumIndex >= 0) {
+                tickLine = tickLine.substring(0, checksumIndex);
+            }
+            
             String[] parts = tickLine.split(",");
             if (parts.length < 4) {
                 LOGGER.warning("Tick-Datei-Zeile hat zu wenige Teile (" + parts.length + "): " + tickLine);
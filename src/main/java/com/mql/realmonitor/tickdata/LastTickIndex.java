@@ -0,0 +1,88 @@
+package com.mql.realmonitor.tickdata;
+
+import com.mql.realmonitor.parser.SignalData;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * NEU: In-Memory Index des letzten Tick-Eintrags pro Signal
+ * Wird beim Start einmal aus den Tick-Dateien gefüllt und bei jedem Schreibvorgang aktualisiert.
+ * Damit kostet die Duplikat-Prüfung O(1) statt eines kompletten Datei-Lesevorgangs.
+ * Thread-sicher, da Monitoring-Thread und GUI-Initialisierung parallel zugreifen.
+ */
+public class LastTickIndex {
+    
+    private static final Logger LOGGER = Logger.getLogger(LastTickIndex.class.getName());
+    
+    private final Map<String, SignalData> lastTicks = new ConcurrentHashMap<>();
+    
+    /**
+     * Liefert den zuletzt bekannten Tick eines Signals
+     * 
+     * @param signalId Die Signal-ID
+     * @return Der letzte Tick oder null wenn (noch) nicht im Index
+     */
+    public SignalData get(String signalId) {
+        if (signalId == null) {
+            return null;
+        }
+        return lastTicks.get(signalId);
+    }
+    
+    /**
+     * Setzt den letzten Tick eines Signals
+     * Ältere Einträge überschreiben keinen neueren (z.B. verspätetes Warm-up nach einem Schreibvorgang).
+     * 
+     * @param signalId Die Signal-ID
+     * @param signalData Der zuletzt geschriebene oder gelesene Tick
+     */
+    public void put(String signalId, SignalData signalData) {
+        if (signalId == null || signalData == null) {
+            return;
+        }
+        
+        lastTicks.merge(signalId, signalData, (existing, candidate) -> {
+            if (existing.getTimestamp() != null && candidate.getTimestamp() != null &&
+                candidate.getTimestamp().isBefore(existing.getTimestamp())) {
+                return existing;
+            }
+            return candidate;
+        });
+    }
+    
+    /**
+     * Entfernt ein Signal aus dem Index (z.B. nach Umschreiben oder Löschen der Datei)
+     * 
+     * @param signalId Die Signal-ID
+     */
+    public void invalidate(String signalId) {
+        if (signalId != null && lastTicks.remove(signalId) != null) {
+            LOGGER.fine("Last-Tick-Index invalidiert für Signal: " + signalId);
+        }
+    }
+    
+    /**
+     * Leert den kompletten Index
+     */
+    public void clear() {
+        lastTicks.clear();
+        LOGGER.info("Last-Tick-Index geleert");
+    }
+    
+    /**
+     * @param signalId Die Signal-ID
+     * @return true wenn das Signal im Index enthalten ist
+     */
+    public boolean contains(String signalId) {
+        return signalId != null && lastTicks.containsKey(signalId);
+    }
+    
+    /**
+     * @return Anzahl der Signale im Index
+     */
+    public int size() {
+        return lastTicks.size();
+    }
+}
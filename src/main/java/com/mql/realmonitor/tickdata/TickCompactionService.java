@@ -0,0 +1,329 @@
+package com.mql.realmonitor.tickdata;
+
+import com.mql.realmonitor.config.MqlRealMonitorConfig;
+import com.mql.realmonitor.data.TickDataLoader;
+import com.mql.realmonitor.data.TickDataLoader.TickData;
+import com.mql.realmonitor.data.TickSegmentIndex;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * NEU: Hintergrund-Kompaktierung der Tick-Segmente
+ * Wendet Aufbewahrungsregeln inkrementell an - ein Segment pro Schritt statt die ganze Historie:
+ * - Ticks älter als tickRetentionDays werden gelöscht
+ * - Ticks älter als tickThinAfterDays werden auf einen Tick pro tickThinIntervalMinutes ausgedünnt
+ * - Abgeschlossene Segmente älter als tickCompressAfterDays werden komprimiert
+ * 
+ * Die Kompaktierung läuft mit niedriger Priorität, wartet während eines Monitoring-Zyklus
+ * und ist auf tickCompactionKbPerSecond gedrosselt. Die aktive Tick-Datei wird nie angefasst.
+ * Ausnahme: nicht segmentierte CSV-Dateien, deren erster Tick die Aufbewahrungsfrist überschritten hat,
+ * werden (höchstens einmal pro Tag) atomar neu geschrieben.
+ */
+public class TickCompactionService {
+    
+    private static final Logger LOGGER = Logger.getLogger(TickCompactionService.class.getName());
+    
+    private static final long RUN_INTERVAL_MINUTES = 60;
+    private static final long INITIAL_DELAY_MINUTES = 5;
+    private static final long CYCLE_WAIT_MILLIS = 1000;
+    
+    /**
+     * Aufbewahrungsregeln für einen Kompaktierungslauf
+     * Stichtage sind auf Tagesbeginn gerundet, damit ein Segment höchstens einmal pro Tag neu geschrieben wird.
+     */
+    public static class RetentionPolicy {
+        private final LocalDateTime dropBefore;
+        private final LocalDateTime thinBefore;
+        private final int thinIntervalMinutes;
+        
+        public RetentionPolicy(LocalDateTime dropBefore, LocalDateTime thinBefore, int thinIntervalMinutes) {
+            this.dropBefore = dropBefore;
+            this.thinBefore = thinBefore;
+            this.thinIntervalMinutes = Math.max(1, thinIntervalMinutes);
+        }
+        
+        /**
+         * Erstellt die Regeln aus der Konfiguration (Stichtage relativ zu heute)
+         */
+        public static RetentionPolicy fromConfig(MqlRealMonitorConfig config) {
+            LocalDateTime today = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+            return new RetentionPolicy(
+                config.getTickRetentionDays() > 0 ? today.minusDays(config.getTickRetentionDays()) : null,
+                config.getTickThinAfterDays() > 0 ? today.minusDays(config.getTickThinAfterDays()) : null,
+                config.getTickThinIntervalMinutes());
+        }
+        
+        /**
+         * NEU: @return true wenn ein Tick mit diesem Zeitstempel die Aufbewahrungsfrist überschritten hat
+         */
+        public boolean isExpired(LocalDateTime timestamp) {
+            return dropBefore != null && timestamp.isBefore(dropBefore);
+        }
+        
+        /**
+         * @return true wenn das Segment Ticks enthält, die gelöscht oder noch ausgedünnt werden müssen
+         */
+        public boolean needsCompaction(TickSegmentIndex.Segment segment) {
+            if (dropBefore != null && segment.getFirstTimestamp().isBefore(dropBefore)) {
+                return true;
+            }
+            
+            if (thinBefore == null || !segment.getFirstTimestamp().isBefore(thinBefore)) {
+                return false;
+            }
+            
+            LocalDateTime compactedUntil = segment.getCompactedUntil();
+            return compactedUntil == null || compactedUntil.isBefore(getCompactedUntil(segment));
+        }
+        
+        /**
+         * @return Zeitpunkt, bis zu dem das Segment nach dieser Kompaktierung ausgedünnt ist
+         */
+        public LocalDateTime getCompactedUntil(TickSegmentIndex.Segment segment) {
+            if (thinBefore == null) {
+                return segment.getCompactedUntil();
+            }
+            return segment.getLastTimestamp().isBefore(thinBefore) ? segment.getLastTimestamp() : thinBefore;
+        }
+        
+        /**
+         * Wendet die Regeln an: alte Ticks löschen, ältere Ticks auf den letzten Tick je Intervall reduzieren
+         * 
+         * @param ticks Chronologisch sortierte Ticks
+         * @return Die verbleibenden Ticks
+         */
+        public List<TickData> apply(List<TickData> ticks) {
+            List<TickData> kept = new ArrayList<>(ticks.size());
+            long currentBucket = Long.MIN_VALUE;
+            
+            for (TickData tick : ticks) {
+                LocalDateTime timestamp = tick.getTimestamp();
+                if (dropBefore != null && timestamp.isBefore(dropBefore)) {
+                    continue;
+                }
+                
+                if (thinBefore != null && timestamp.isBefore(thinBefore)) {
+                    long bucket = timestamp.toEpochSecond(ZoneOffset.UTC) / 60 / thinIntervalMinutes;
+                    if (bucket == currentBucket) {
+                        kept.set(kept.size() - 1, tick); // letzter Tick des Intervalls bleibt
+                        continue;
+                    }
+                    currentBucket = bucket;
+                } else {
+                    currentBucket = Long.MIN_VALUE;
+                }
+                
+                kept.add(tick);
+            }
+            
+            return kept;
+        }
+    }
+    
+    private final MqlRealMonitorConfig config;
+    private final TickDataWriter writer;
+    private final ScheduledExecutorService scheduler;
+    
+    private volatile boolean running = false;
+    private volatile boolean stopped = false;
+    
+    public TickCompactionService(MqlRealMonitorConfig config, TickDataWriter writer) {
+        this.config = config;
+        this.writer = writer;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "TickCompaction");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+    
+    /**
+     * Startet die periodische Kompaktierung (nur wenn Regeln konfiguriert sind)
+     */
+    public void start() {
+        if (running) {
+            return;
+        }
+        
+        if (!config.isTickCompactionEnabled()) {
+            LOGGER.info("Tick-Kompaktierung deaktiviert (keine Aufbewahrungsregeln oder keine Segmentierung)");
+            return;
+        }
+        
+        running = true;
+        scheduler.scheduleWithFixedDelay(this::runCompaction, INITIAL_DELAY_MINUTES, RUN_INTERVAL_MINUTES, TimeUnit.MINUTES);
+        LOGGER.info("Tick-Kompaktierung gestartet - Lauf alle " + RUN_INTERVAL_MINUTES + " Minuten, max. " +
+                   config.getTickCompactionKbPerSecond() + " KB/s");
+    }
+    
+    /**
+     * Stoppt die Kompaktierung - ein laufendes Segment wird noch fertig bearbeitet
+     */
+    public void stop() {
+        running = false;
+        stopped = true;
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Führt einen Kompaktierungslauf über alle segmentierten Signale durch
+     * 
+     * @return Anzahl entfernter Ticks
+     */
+    public int runCompaction() {
+        RetentionPolicy policy = RetentionPolicy.fromConfig(config);
+        int removedTicks = 0;
+        int compactedSegments = 0;
+        int compressedSegments = 0;
+        
+        try {
+            for (String signalId : findSegmentedSignals()) {
+                TickSegmentIndex index = TickSegmentIndex.load(config.getTickFilePath(signalId));
+                
+                for (TickSegmentIndex.Segment segment : index.getSegments()) {
+                    if (!policy.needsCompaction(segment)) {
+                        continue;
+                    }
+                    
+                    if (!waitWhileCycleActive()) {
+                        return removedTicks;
+                    }
+                    
+                    Path segmentPath = index.resolve(segment);
+                    long bytes = Files.exists(segmentPath) ? Files.size(segmentPath) : 0;
+                    
+                    int removed = writer.compactSegment(signalId, segment.getFileName(), policy);
+                    if (removed > 0) {
+                        removedTicks += removed;
+                        compactedSegments++;
+                    }
+                    
+                    throttle(bytes);
+                }
+                
+                // NEU: Nach dem Ausdünnen die kalten Segmente komprimieren
+                if (config.getTickCompressAfterDays() > 0) {
+                    if (!waitWhileCycleActive()) {
+                        return removedTicks;
+                    }
+                    compressedSegments += writer.compressColdSegments(signalId);
+                }
+            }
+            
+            // NEU: Nicht segmentierte CSV-Dateien - nur die Aufbewahrungsfrist, Prüfung über den ersten Tick
+            if (config.getTickRetentionDays() > 0 && !config.isBinaryTickStorage() && !config.isLogTickStorage()) {
+                for (String signalId : findUnsegmentedSignals()) {
+                    String tickFilePath = config.getTickFilePath(signalId);
+                    TickData firstTick = TickDataLoader.loadFirstTick(tickFilePath, signalId);
+                    if (firstTick == null || !policy.isExpired(firstTick.getTimestamp())) {
+                        continue;
+                    }
+                    
+                    if (!waitWhileCycleActive()) {
+                        return removedTicks;
+                    }
+                    
+                    long bytes = Files.size(Paths.get(tickFilePath));
+                    int removed = writer.cleanupOldTickEntries(signalId, config.getTickRetentionDays());
+                    if (removed > 0) {
+                        removedTicks += removed;
+                        compactedSegments++;
+                    }
+                    
+                    throttle(bytes);
+                }
+            }
+            
+            if (compactedSegments > 0 || compressedSegments > 0) {
+                LOGGER.info("Tick-Kompaktierung abgeschlossen: " + compactedSegments + " Segment(e), " +
+                           removedTicks + " Ticks entfernt, " + compressedSegments + " Segment(e) komprimiert");
+            }
+        
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Fehler bei der Tick-Kompaktierung", e);
+        }
+        
+        return removedTicks;
+    }
+    
+    /**
+     * Wartet bis kein Monitoring-Zyklus mehr schreibt
+     * 
+     * @return false wenn der Dienst inzwischen gestoppt wurde
+     */
+    private boolean waitWhileCycleActive() throws InterruptedException {
+        while (writer.isCycleActive() && !stopped) {
+            Thread.sleep(CYCLE_WAIT_MILLIS);
+        }
+        return !stopped;
+    }
+    
+    /**
+     * Drosselt auf tickCompactionKbPerSecond: Pause proportional zur gelesenen Segmentgröße
+     */
+    private void throttle(long bytes) throws InterruptedException {
+        long bytesPerSecond = Math.max(1, config.getTickCompactionKbPerSecond()) * 1024L;
+        long pauseMillis = bytes * 1000 / bytesPerSecond;
+        if (pauseMillis > 0) {
+            Thread.sleep(pauseMillis);
+        }
+    }
+    
+    /**
+     * NEU: Signale mit einer aktiven CSV-Tick-Datei ohne ausgelagerte Segmente
+     */
+    private List<String> findUnsegmentedSignals() throws Exception {
+        Path tickDir = Paths.get(config.getTickDir());
+        if (!Files.exists(tickDir)) {
+            return new ArrayList<>();
+        }
+        
+        try (var stream = Files.list(tickDir)) {
+            return stream
+                .filter(path -> path.getFileName().toString().endsWith(".txt"))
+                .filter(path -> !TickSegmentIndex.hasSegments(path.toString()))
+                .map(path -> path.getFileName().toString())
+                .map(name -> name.substring(0, name.length() - ".txt".length()))
+                .collect(Collectors.toList());
+        }
+    }
+    
+    private List<String> findSegmentedSignals() throws Exception {
+        Path tickDir = Paths.get(config.getTickDir());
+        if (!Files.exists(tickDir)) {
+            return new ArrayList<>();
+        }
+        
+        try (var stream = Files.list(tickDir)) {
+            return stream
+                .map(path -> path.getFileName().toString())
+                .filter(name -> name.endsWith(TickSegmentIndex.SEGMENT_DIR_SUFFIX))
+                .map(name -> name.substring(0, name.length() - TickSegmentIndex.SEGMENT_DIR_SUFFIX.length()))
+                .collect(Collectors.toList());
+        }
+    }
+}
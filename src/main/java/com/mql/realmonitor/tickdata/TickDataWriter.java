@@ -1,18 +1,40 @@
 package com.mql.realmonitor.tickdata;
 
 import com.mql.realmonitor.config.MqlRealMonitorConfig;
+import com.mql.realmonitor.data.BinaryTickFile;
+import com.mql.realmonitor.data.CompressedTickFile;
+import com.mql.realmonitor.data.DepositEventIndex;
+import com.mql.realmonitor.data.ReverseLineReader;
+import com.mql.realmonitor.data.TickDataLoader;
+import com.mql.realmonitor.data.TickDataLoader.TickData;
+import com.mql.realmonitor.data.TickDataLoader.TickDataSet;
+import com.mql.realmonitor.data.TickDayIndex;
+import com.mql.realmonitor.data.TickLineChecksum;
+import com.mql.realmonitor.data.TickLineParser;
+import com.mql.realmonitor.data.TickLogStore;
+import com.mql.realmonitor.data.TickPeakIndex;
+import com.mql.realmonitor.data.TickRollupStore;
+import com.mql.realmonitor.data.TickSegmentIndex;
 import com.mql.realmonitor.parser.SignalData;
+import com.mql.realmonitor.utils.PeriodProfitEngine;
+import com.mql.realmonitor.utils.RiskMetricsEngine;
+import com.mql.realmonitor.utils.TickStateSeeder;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -26,10 +48,156 @@ public class TickDataWriter {
     
     private static final Logger LOGGER = Logger.getLogger(TickDataWriter.class.getName());
     
+    private static final String FORMAT_HEADER = "# MQL5 Signal Tick Data - Format: Datum,Uhrzeit,Equity,FloatingProfit,Profit";
+    
+    // NEU: Header-Zusatz, wenn jede Zeile ein CRC32-Suffix trägt (siehe TickLineChecksum)
+    private static final String CHECKSUM_HEADER_SUFFIX = TickLineChecksum.SEPARATOR + "XXXXXXXX (CRC32)";
+    
     private final MqlRealMonitorConfig config;
     
+    // NEU: Letzter Tick pro Signal im Speicher - Duplikat-Prüfung ohne Datei-Lesen
+    private final LastTickIndex lastTickIndex = new LastTickIndex();
+    
+    // NEU: Offene, gepufferte Tick-Dateien mit Group Commit
+    private final TickFileAppender appender;
+    
+    // NEU: Binärdateien, deren Ende in diesem Prozess bereits auf abgerissene Sätze geprüft wurde
+    private final Set<Path> checkedBinaryFiles = ConcurrentHashMap.newKeySet();
+    
+    // NEU: Beginn des aktiven Zeit-Segments pro Signal (erster Tick in tick/<id>.txt)
+    private final Map<String, YearMonth> activeSegmentStarts = new ConcurrentHashMap<>();
+    
+    // NEU: Gemeinsames Tick-Log aller Signale (nur bei tickStorageFormat=LOG, wird bei Bedarf geöffnet)
+    private TickLogStore logStore;
+    
+    private final TickFileAppender.DurabilityPolicy durability;
+    
+    // NEU: Sperre pro Signal für Änderungen an Tick-Dateien und Segmenten (Anhängen, Auslagern, Kompaktieren, Reparieren)
+    private final Map<String, Object> signalLocks = new ConcurrentHashMap<>();
+    
+    // NEU: true während ein Monitoring-Zyklus Ticks schreibt - Hintergrundarbeit wartet solange
+    private volatile boolean cycleActive;
+    
+    // NEU: Tick-Dateien, in die ein Tick eines neuen Tages geschrieben wurde - Tages-Index beim Flush nachführen
+    private final Set<String> dayIndexUpdates = ConcurrentHashMap.newKeySet();
+    
     public TickDataWriter(MqlRealMonitorConfig config) {
         this.config = config;
+        this.durability = TickFileAppender.DurabilityPolicy.fromConfigValue(config.getTickDurability());
+        this.appender = new TickFileAppender(
+            durability,
+            config.getTickMaxOpenFiles(),
+            config.getTickFlushIntervalSeconds(),
+            config.getTickFlushBufferKb());
+    }
+    
+    /**
+     * NEU: Group Commit - schreibt alle gepufferten Tick-Einträge in ihre Dateien
+     * Wird am Ende jedes Monitoring-Zyklus aufgerufen.
+     * ERWEITERT: Beim gemeinsamen Tick-Log werden alle Ticks des Zyklus sequentiell geschrieben
+     * ERWEITERT: Tages-Indizes werden nur bei einem Tageswechsel nachgeführt, nicht bei jedem Tick
+     * ERWEITERT: Abgeschlossene OHLC-Bars werden an die Rollup-Dateien angehängt
+     * ERWEITERT: Geänderte Peak-Indizes werden gespeichert
+     * ERWEITERT: Geänderte Ein-/Auszahlungs-Indizes werden gespeichert
+     * 
+     * @return Anzahl der geschriebenen Dateien
+     */
+    public int flush() {
+        int flushed = appender.flush();
+        TickRollupStore.flushAll();
+        TickPeakIndex.flushAll();
+        DepositEventIndex.flushAll();
+        
+        for (String tickFilePath : dayIndexUpdates) {
+            dayIndexUpdates.remove(tickFilePath);
+            TickDayIndex.update(tickFilePath);
+        }
+        
+        TickLogStore store = logStore;
+        if (store != null) {
+            try {
+                if (store.flush(durability != TickFileAppender.DurabilityPolicy.FLUSH) > 0) {
+                    flushed++;
+                }
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "Fehler beim Schreiben des Tick-Logs", e);
+            }
+        }
+        
+        return flushed;
+    }
+    
+    /**
+     * NEU: Schreibt alle gepufferten Einträge und schließt alle offenen Tick-Dateien
+     * Wird beim Beenden der Anwendung aufgerufen.
+     */
+    public void close() {
+        appender.close();
+        TickRollupStore.flushAll();
+        TickPeakIndex.flushAll();
+        DepositEventIndex.flushAll();
+        
+        TickLogStore store = logStore;
+        if (store != null) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "Fehler beim Schließen des Tick-Logs", e);
+            }
+            logStore = null;
+        }
+    }
+    
+    /**
+     * NEU: Markiert den Beginn eines Monitoring-Zyklus
+     */
+    public void beginCycle() {
+        cycleActive = true;
+    }
+    
+    /**
+     * NEU: Markiert das Ende eines Monitoring-Zyklus (nach dem Group Commit)
+     */
+    public void endCycle() {
+        cycleActive = false;
+    }
+    
+    /**
+     * NEU: true während ein Monitoring-Zyklus läuft
+     */
+    public boolean isCycleActive() {
+        return cycleActive;
+    }
+    
+    /**
+     * NEU: Liefert den Last-Tick-Index dieses Writers
+     * 
+     * @return Der In-Memory Index der letzten Tick-Einträge
+     */
+    public LastTickIndex getLastTickIndex() {
+        return lastTickIndex;
+    }
+    
+    /**
+     * NEU: Liefert den letzten Tick eines Signals aus dem Index
+     * Nur beim ersten Zugriff (Index noch kalt) wird die Tick-Datei gelesen.
+     * 
+     * @param signalId Die Signal-ID
+     * @return Der letzte Tick oder null wenn keine Daten vorhanden
+     */
+    public SignalData getLastTickEntry(String signalId) {
+        SignalData cached = lastTickIndex.get(signalId);
+        if (cached != null) {
+            return cached;
+        }
+        
+        String tickFilePath = config.getTickFilePath(signalId);
+        if (!TickDataLoader.tickDataExists(tickFilePath, signalId)) {
+            return null;
+        }
+        
+        // readLastTickEntry trägt das Ergebnis selbst in den Index ein
+        return readLastTickEntry(tickFilePath, signalId);
     }
     
     /**
@@ -58,11 +226,55 @@ public class TickDataWriter {
                 return true;
             }
             
-            // Tick-Datei-Eintrag erstellen
-            String tickEntry = signalData.toFullTickFileEntry();
+            if (config.isBinaryTickStorage()) {
+                // NEU: Binärformat - fester Satz statt CSV-Zeile
+                appendToBinaryTickFile(tickFilePath, signalData);
+            } else if (config.isLogTickStorage()) {
+                // NEU: Gemeinsames Tick-Log - geschrieben wird erst beim Group Commit
+                appendToTickLog(tickFilePath, signalData);
+            } else {
+                synchronized (getSignalLock(signalData.getSignalId())) {
+                    // NEU: Abgelaufene Zeit-Segmente aus der aktiven Datei auslagern
+                    if (config.isTickSegmentationEnabled()) {
+                        rollOverSegmentIfNeeded(signalData, tickFilePath);
+                    }
+                    
+                    // Tick-Datei-Eintrag erstellen
+                    String tickEntry = formatTickEntry(signalData);
+                    
+                    // An Datei anhängen (niemals überschreiben)
+                    appendToTickFile(tickFilePath, tickEntry);
+                    
+                    // NEU: Erster Tick eines Tages - neuen Tag beim nächsten Flush in den Tages-Index aufnehmen
+                    SignalData previous = lastTickIndex.get(signalData.getSignalId());
+                    if (previous == null || !previous.getTimestamp().toLocalDate().equals(signalData.getTimestamp().toLocalDate())) {
+                        dayIndexUpdates.add(tickFilePath);
+                    }
+                }
+            }
+            
+            // NEU: Index aktualisieren - nächste Duplikat-Prüfung ohne Datei-Zugriff
+            lastTickIndex.put(signalData.getSignalId(), signalData);
+            
+            // NEU: OHLC-Bars aller Zeitskalen fortschreiben
+            TickData tick = new TickData(signalData.getTimestamp(), signalData.getEquity(), 
+                                         signalData.getFloatingProfit(), signalData.getProfit());
+            
+            // VERBESSERT: Beim ersten Tick alle Zustände in einem Durchlauf über die Historie öffnen
+            TickStateSeeder.open(tickFilePath, signalData.getSignalId());
+            TickRollupStore.open(tickFilePath, signalData.getSignalId()).add(tick);
+            
+            // NEU: Wochen-/Monatsgewinn inkrementell fortschreiben
+            PeriodProfitEngine.open(tickFilePath, signalData.getSignalId()).add(tick);
+            
+            // NEU: Peak-Gesamtwert (High-Water-Mark) fortschreiben
+            TickPeakIndex.open(tickFilePath, signalData.getSignalId()).add(tick);
             
-            // An Datei anhängen (niemals überschreiben)
-            appendToTickFile(tickFilePath, tickEntry);
+            // NEU: Ein-/Auszahlungserkennung einmal pro neuem Tick-Paar
+            DepositEventIndex.open(tickFilePath, signalData.getSignalId()).add(tick);
+            
+            // NEU: Risiko-Kennzahlen (Drawdown, Volatilität, Sharpe/Sortino) fortschreiben
+            RiskMetricsEngine.open(tickFilePath, signalData.getSignalId()).add(tick);
             
             LOGGER.info("Tick-Daten erfolgreich geschrieben: " + signalData.getSummary());
             return true;
@@ -94,6 +306,9 @@ public class TickDataWriter {
             }
         }
         
+        // NEU: Group Commit für den kompletten Batch
+        flush();
+        
         LOGGER.info("Batch-Schreibvorgang abgeschlossen: " + successCount + "/" + 
                    signalDataList.size() + " erfolgreich");
         
@@ -114,6 +329,7 @@ public class TickDataWriter {
     
     /**
      * Hängt einen Eintrag an eine Tick-Datei an
+     * VERBESSERT: Über den TickFileAppender gepuffert statt FileWriter pro Eintrag
      * 
      * @param tickFilePath Der Pfad zur Tick-Datei
      * @param tickEntry Der anzuhängende Eintrag
@@ -123,37 +339,342 @@ public class TickDataWriter {
         
         // Header schreiben falls Datei neu ist
         if (!Files.exists(filePath)) {
+            appender.release(filePath); // Datei wurde evtl. extern gelöscht
             writeTickFileHeader(filePath);
         }
         
-        // Eintrag anhängen
-        try (FileWriter writer = new FileWriter(tickFilePath, StandardCharsets.UTF_8, true)) {
-            writer.write(tickEntry);
-            writer.write(System.lineSeparator());
-        }
+        // Eintrag anhängen (gepuffert bis zum nächsten Group Commit)
+        appender.append(filePath, tickEntry + System.lineSeparator());
         
         LOGGER.fine("Tick-Eintrag angehängt: " + tickFilePath);
     }
     
+    /**
+     * NEU: Hängt einen Tick an die binäre Tick-Datei (.tkb) an
+     * Existiert nur die CSV-Datei, wird sie beim ersten Schreiben ins Binärformat migriert.
+     * 
+     * @param tickFilePath Der Pfad zur CSV-Tick-Datei (Binärpfad wird daraus abgeleitet)
+     * @param signalData Die zu schreibenden Signaldaten
+     */
+    private void appendToBinaryTickFile(String tickFilePath, SignalData signalData) throws IOException {
+        Path binaryPath = Paths.get(BinaryTickFile.getBinaryPath(tickFilePath));
+        
+        if (!Files.exists(binaryPath)) {
+            appender.release(binaryPath);
+            
+            Path csvPath = Paths.get(tickFilePath);
+            if (Files.exists(csvPath)) {
+                syncTickFile(csvPath);
+                if (BinaryTickFile.migrateFromCsv(tickFilePath, signalData.getSignalId()) < 0) {
+                    throw new IOException("Migration ins Binärformat fehlgeschlagen: " + tickFilePath);
+                }
+            } else {
+                BinaryTickFile.createFile(binaryPath, java.time.LocalDateTime.now());
+                LOGGER.info("Binäre Tick-Datei angelegt: " + binaryPath);
+            }
+        }
+        
+        // KORRIGIERT: Vor dem ersten Anhängen im Prozess einen abgerissenen Satz abschneiden
+        if (checkedBinaryFiles.add(binaryPath.toAbsolutePath().normalize())) {
+            syncTickFile(binaryPath);
+            BinaryTickFile.truncateIncompleteRecord(binaryPath);
+        }
+        
+        appender.append(binaryPath, BinaryTickFile.encodeRecord(
+            signalData.getTimestamp(), signalData.getEquity(), signalData.getFloatingProfit(), signalData.getProfit()));
+        
+        LOGGER.fine("Binärer Tick-Eintrag angehängt: " + binaryPath);
+    }
+    
+    /**
+     * NEU: Hängt einen Tick an das gemeinsame Tick-Log an
+     * Ist das Signal noch nicht im Log, wird seine bisherige Historie (CSV, binär oder Segmente)
+     * vorher übernommen. Die Einzeldateien bleiben als Sicherung unverändert liegen.
+     * 
+     * @param tickFilePath Der Pfad zur CSV-Tick-Datei
+     * @param signalData Die zu schreibenden Signaldaten
+     */
+    private void appendToTickLog(String tickFilePath, SignalData signalData) throws IOException {
+        TickLogStore store = getLogStore();
+        String signalId = signalData.getSignalId();
+        
+        if (!store.contains(signalId) && TickDataLoader.tickDataExists(tickFilePath, signalId)) {
+            syncTickFile(Paths.get(tickFilePath));
+            syncTickFile(Paths.get(BinaryTickFile.getBinaryPath(tickFilePath)));
+            
+            TickDataSet history = TickDataLoader.loadTickData(tickFilePath, signalId);
+            if (history != null) {
+                for (TickData tick : history.getTicks()) {
+                    store.append(signalId, tick.getTimestamp(), tick.getEquity(), tick.getFloatingProfit(), tick.getProfit());
+                }
+                LOGGER.info("Tick-Historie von Signal " + signalId + " ins Tick-Log übernommen: " + history.getTickCount() + " Ticks");
+            }
+        }
+        
+        store.append(signalId, signalData.getTimestamp(), signalData.getEquity(),
+                    signalData.getFloatingProfit(), signalData.getProfit());
+        
+        if (durability == TickFileAppender.DurabilityPolicy.FSYNC_TICK) {
+            store.flush(true);
+        }
+    }
+    
+    /**
+     * NEU: Öffnet das gemeinsame Tick-Log beim ersten Zugriff
+     */
+    private synchronized TickLogStore getLogStore() throws IOException {
+        if (logStore == null) {
+            logStore = TickLogStore.open(Paths.get(config.getTickDir()));
+        }
+        return logStore;
+    }
+    
+    /**
+     * NEU: Formatiert einen Tick als CSV-Zeile, bei aktivierten Prüfsummen mit CRC32-Suffix
+     * 
+     * @param signalData Die Signaldaten
+     * @return Die Zeile ohne Zeilenende
+     */
+    private String formatTickEntry(SignalData signalData) {
+        String entry = signalData.toFullTickFileEntry();
+        return config.isTickChecksums() ? TickLineChecksum.append(entry) : entry;
+    }
+    
+    /**
+     * NEU: Ergänzt bei aktivierten Prüfsummen das Suffix einer umgeschriebenen Datenzeile
+     * Für Reparatur und Konvertierung - jede geschriebene Zeile passt so zum deklarierten Header.
+     * Zeilen mit fehlerhafter Prüfsumme bleiben unverändert (die Beschädigung bleibt erkennbar).
+     * 
+     * @param line Die Datenzeile ohne Zeilenende
+     * @return Die Zeile mit Prüfsumme oder unverändert
+     */
+    private String withChecksum(String line) {
+        if (!config.isTickChecksums() || TickLineChecksum.verify(line.trim()) != TickLineChecksum.Status.UNCHECKED) {
+            return line;
+        }
+        return TickLineChecksum.append(line.trim());
+    }
+    
+    /**
+     * NEU: Schreibt gepufferte Einträge einer Tick-Datei und schließt ihren Channel
+     * Vor jedem direkten Lesen oder Umschreiben der Datei aufrufen.
+     * 
+     * @param filePath Der Pfad zur Tick-Datei
+     */
+    private void syncTickFile(Path filePath) throws IOException {
+        appender.release(filePath);
+    }
+    
+    /**
+     * NEU: Verwirft alle aus den Tick-Daten abgeleiteten Zustände eines Signals
+     * Nach jedem Neuschreiben, Kompaktieren oder Löschen von Tick-Daten aufrufen - Indizes und Engines
+     * werden beim nächsten Zugriff aus den Tick-Daten neu aufgebaut.
+     * 
+     * @param signalId Die Signal-ID
+     * @param tickFilePath Pfad der Tick-Datei
+     */
+    private void invalidateDerivedState(String signalId, String tickFilePath) {
+        lastTickIndex.invalidate(signalId);
+        TickDayIndex.invalidate(tickFilePath);
+        TickPeakIndex.invalidate(tickFilePath);
+        DepositEventIndex.invalidate(tickFilePath);
+        RiskMetricsEngine.invalidate(tickFilePath);
+        TickRollupStore.invalidate(tickFilePath);
+        PeriodProfitEngine.invalidate(tickFilePath);
+    }
+    
     /**
      * Schreibt den Header für eine neue Tick-Datei
      * 
      * @param filePath Der Pfad zur Tick-Datei
      */
     private void writeTickFileHeader(Path filePath) throws IOException {
-        String header = "# MQL5 Signal Tick Data - Format: Datum,Uhrzeit,Equity,FloatingProfit,Profit" + 
-                       System.lineSeparator() +
-                       "# Signal ID: " + extractSignalIdFromFilePath(filePath.toString()) + 
-                       System.lineSeparator() +
-                       "# Created: " + java.time.LocalDateTime.now().format(SignalData.TIMESTAMP_FORMATTER) + 
-                       System.lineSeparator();
+        String header = createTickFileHeader(extractSignalIdFromFilePath(filePath.toString()));
         
         Files.writeString(filePath, header, StandardCharsets.UTF_8, 
-                         StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                         StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
         
         LOGGER.info("Tick-Datei Header geschrieben (mit Profit-Feld): " + filePath);
     }
     
+    /**
+     * Erstellt den Header-Text einer Tick-Datei
+     * 
+     * @param signalId Die Signal-ID
+     * @return Header inkl. Zeilenenden
+     */
+    private String createTickFileHeader(String signalId) {
+        return createFormatHeaderLine() + 
+               System.lineSeparator() +
+               "# Signal ID: " + signalId + 
+               System.lineSeparator() +
+               "# Created: " + java.time.LocalDateTime.now().format(SignalData.TIMESTAMP_FORMATTER) + 
+               System.lineSeparator();
+    }
+    
+    /**
+     * NEU: Format-Zeile des Headers - deklariert das Prüfsummen-Suffix, wenn Prüfsummen geschrieben werden
+     * 
+     * @return Header-Zeile ohne Zeilenende
+     */
+    private String createFormatHeaderLine() {
+        return config.isTickChecksums() ? FORMAT_HEADER + CHECKSUM_HEADER_SUFFIX : FORMAT_HEADER;
+    }
+    
+    /**
+     * NEU: Lagert abgelaufene Zeit-Segmente aus, bevor ein Tick eines neuen Segments geschrieben wird
+     * Die aktive Datei tick/<id>.txt enthält danach nur noch das aktuelle Segment.
+     * 
+     * @param signalData Der zu schreibende Tick
+     * @param tickFilePath Pfad der aktiven Tick-Datei
+     */
+    private void rollOverSegmentIfNeeded(SignalData signalData, String tickFilePath) throws IOException {
+        String signalId = signalData.getSignalId();
+        YearMonth tickSegment = TickSegmentIndex.getSegmentStart(signalData.getTimestamp(), config.getTickSegmentMonths());
+        YearMonth activeSegment = getActiveSegmentStart(signalId, tickFilePath);
+        
+        if (activeSegment != null && tickSegment.isAfter(activeSegment)) {
+            sealSegmentsBefore(signalId, tickFilePath, tickSegment);
+            
+            // NEU: Alte Segmente bei dieser Gelegenheit komprimieren
+            if (config.getTickCompressAfterDays() > 0) {
+                compressColdSegments(signalId);
+            }
+        }
+        
+        if (activeSegment == null || tickSegment.isAfter(activeSegment)) {
+            activeSegmentStarts.put(signalId, tickSegment);
+        }
+    }
+    
+    /**
+     * NEU: Ermittelt das Segment des ersten Ticks der aktiven Datei (gecacht)
+     * 
+     * @return Segment-Beginn oder null wenn die Datei keine Ticks enthält
+     */
+    private YearMonth getActiveSegmentStart(String signalId, String tickFilePath) {
+        YearMonth cached = activeSegmentStarts.get(signalId);
+        if (cached != null) {
+            return cached;
+        }
+        
+        Path filePath = Paths.get(tickFilePath);
+        if (!Files.exists(filePath)) {
+            return null;
+        }
+        
+        try {
+            syncTickFile(filePath);
+        } catch (IOException e) {
+            // Nur lesend - der erste Tick liegt ohnehin schon in der Datei
+            LOGGER.log(Level.WARNING, "Gepufferte Ticks konnten nicht geschrieben werden: " + filePath, e);
+        }
+        
+        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                
+                SignalData firstEntry = parseTickLineRobust(signalId, line, lineNumber);
+                if (firstEntry != null) {
+                    YearMonth start = TickSegmentIndex.getSegmentStart(firstEntry.getTimestamp(), config.getTickSegmentMonths());
+                    activeSegmentStarts.put(signalId, start);
+                    return start;
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Lesen des ersten Ticks: " + tickFilePath, e);
+        }
+        
+        return null;
+    }
+    
+    /**
+     * NEU: Verschiebt alle Ticks vor dem angegebenen Segment in Segment-Dateien
+     * Reihenfolge: Segmente schreiben, Index speichern, dann aktive Datei atomar ersetzen.
+     * Bestehende Dateien mit über mehrere Segmente gewachsener Historie werden dabei aufgeteilt.
+     * 
+     * @param signalId Die Signal-ID
+     * @param tickFilePath Pfad der aktiven Tick-Datei
+     * @param currentSegment Das Segment, das aktiv bleibt
+     */
+    private void sealSegmentsBefore(String signalId, String tickFilePath, YearMonth currentSegment) throws IOException {
+        Path filePath = Paths.get(tickFilePath);
+        syncTickFile(filePath);
+        
+        List<SignalData> entries = readTickEntries(filePath, signalId);
+        TreeMap<YearMonth, List<SignalData>> sealed = new TreeMap<>();
+        List<SignalData> remaining = new ArrayList<>();
+        
+        for (SignalData entry : entries) {
+            YearMonth segment = TickSegmentIndex.getSegmentStart(entry.getTimestamp(), config.getTickSegmentMonths());
+            if (segment.isBefore(currentSegment)) {
+                sealed.computeIfAbsent(segment, k -> new ArrayList<>()).add(entry);
+            } else {
+                remaining.add(entry);
+            }
+        }
+        
+        if (sealed.isEmpty()) {
+            return;
+        }
+        
+        TickSegmentIndex index = TickSegmentIndex.load(tickFilePath);
+        Files.createDirectories(index.getSegmentDirectory());
+        
+        for (Map.Entry<YearMonth, List<SignalData>> group : sealed.entrySet()) {
+            String fileName = TickSegmentIndex.getSegmentFileName(signalId, group.getKey());
+            List<SignalData> segmentEntries = group.getValue();
+            Path segmentPath = index.getSegmentDirectory().resolve(fileName);
+            
+            StringBuilder content = new StringBuilder();
+            TickSegmentIndex.Segment existing = index.findSegment(fileName);
+            if (existing == null || !Files.exists(segmentPath)) {
+                existing = null;
+                content.append(createTickFileHeader(signalId));
+            }
+            for (SignalData entry : segmentEntries) {
+                content.append(formatTickEntry(entry)).append(System.lineSeparator());
+            }
+            
+            Files.writeString(segmentPath, content.toString(), StandardCharsets.UTF_8,
+                             StandardOpenOption.CREATE, StandardOpenOption.WRITE, 
+                             existing != null ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+            
+            // Nachzügler an ein bereits bestehendes Segment anhängen - Zeitbereich erweitern
+            java.time.LocalDateTime first = segmentEntries.get(0).getTimestamp();
+            java.time.LocalDateTime last = segmentEntries.get(segmentEntries.size() - 1).getTimestamp();
+            int count = segmentEntries.size();
+            if (existing != null) {
+                first = existing.getFirstTimestamp().isBefore(first) ? existing.getFirstTimestamp() : first;
+                last = existing.getLastTimestamp().isAfter(last) ? existing.getLastTimestamp() : last;
+                count += existing.getTickCount();
+            }
+            index.putSegment(new TickSegmentIndex.Segment(fileName, first, last, count));
+        }
+        
+        index.save();
+        
+        // Aktive Datei mit den verbleibenden Ticks ersetzen
+        Path tempPath = Paths.get(tickFilePath + ".tmp");
+        StringBuilder active = new StringBuilder(createTickFileHeader(signalId));
+        for (SignalData entry : remaining) {
+            active.append(formatTickEntry(entry)).append(System.lineSeparator());
+        }
+        Files.writeString(tempPath, active.toString(), StandardCharsets.UTF_8);
+        Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        TickDayIndex.invalidate(tickFilePath);
+        
+        LOGGER.info("Tick-Segmente ausgelagert für Signal " + signalId + ": " + sealed.size() + 
+                   " Segment(e), " + (entries.size() - remaining.size()) + " Ticks, " + 
+                   remaining.size() + " Ticks verbleiben in " + tickFilePath);
+    }
+    
     /**
      * Extrahiert die Signal-ID aus dem Dateipfad
      * 
@@ -185,14 +706,17 @@ public class TickDataWriter {
      */
     private boolean shouldSkipDuplicateData(SignalData signalData, String tickFilePath) {
         try {
-            Path filePath = Paths.get(tickFilePath);
-            
-            if (!Files.exists(filePath)) {
+            if (!TickDataLoader.tickDataExists(tickFilePath, signalData.getSignalId())) {
+                invalidateDerivedState(signalData.getSignalId(), tickFilePath); // Datei wurde gelöscht
+                activeSegmentStarts.remove(signalData.getSignalId());
                 return false; // Neue Datei - nicht überspringen
             }
             
-            // Letzte Zeile der Datei lesen
-            SignalData lastEntry = readLastTickEntry(tickFilePath, signalData.getSignalId());
+            // VERBESSERT: Letzten Eintrag aus dem Index holen, Datei nur bei kaltem Index lesen
+            SignalData lastEntry = lastTickIndex.get(signalData.getSignalId());
+            if (lastEntry == null) {
+                lastEntry = readLastTickEntry(tickFilePath, signalData.getSignalId());
+            }
             
             if (lastEntry == null) {
                 return false; // Kann letzte Zeile nicht lesen - sicherheitshalber schreiben
@@ -221,15 +745,27 @@ public class TickDataWriter {
     
     /**
      * KOMPLETT NEU GESCHRIEBEN: Liest den letzten Tick-Eintrag aus einer Datei
-     * ALLE PROBLEME BEHOBEN: Robuste Fehlerbehandlung und umfassende Diagnostik
+     * VERBESSERT: Liest rückwärts vom Dateiende (ReverseLineReader) statt die komplette Datei zu laden.
+     * Die Kosten hängen nur noch von der Anzahl der Zeilen bis zum letzten gültigen Eintrag ab.
      * 
      * @param tickFilePath Der Pfad zur Tick-Datei
      * @param signalId Die Signal-ID
      * @return Der letzte SignalData-Eintrag oder null
      */
     public SignalData readLastTickEntry(String tickFilePath, String signalId) {
-        LOGGER.info("=== LESE LETZTEN TICK-EINTRAG für Signal: " + signalId + " ===");
-        LOGGER.info("Datei-Pfad: " + tickFilePath);
+        LOGGER.fine("Lese letzten Tick-Eintrag für Signal: " + signalId + " aus " + tickFilePath);
+        
+        // NEU: Gemeinsames Tick-Log - letzter Offset des Signals
+        TickLogStore store = TickLogStore.findPreferred(tickFilePath, signalId);
+        if (store != null) {
+            return readLastLogTickEntry(store, tickFilePath, signalId);
+        }
+        
+        // NEU: Binärformat - letzter Satz per direktem Zugriff
+        String binaryPath = BinaryTickFile.getPreferredBinaryPath(tickFilePath);
+        if (binaryPath != null) {
+            return readLastBinaryTickEntry(tickFilePath, binaryPath, signalId);
+        }
         
         try {
             Path filePath = Paths.get(tickFilePath);
@@ -239,76 +775,57 @@ public class TickDataWriter {
                 return null;
             }
             
+            syncTickFile(filePath);
             long fileSize = Files.size(filePath);
-            LOGGER.info("Datei-Größe: " + fileSize + " Bytes");
             
             if (fileSize == 0) {
                 LOGGER.warning("Tick-Datei ist leer: " + tickFilePath);
                 return null;
             }
             
-            List<String> lines = Files.readAllLines(filePath, StandardCharsets.UTF_8);
-            LOGGER.info("Gesamte Zeilen in Datei: " + lines.size());
-            
-            if (lines.isEmpty()) {
-                LOGGER.warning("Keine Zeilen in Tick-Datei gefunden: " + tickFilePath);
-                return null;
-            }
-            
-            // ERWEITERTE DIAGNOSTIK: Zeige erste und letzte paar Zeilen
-            LOGGER.info("=== DATEI-INHALT ANALYSE ===");
-            LOGGER.info("Erste 3 Zeilen:");
-            for (int i = 0; i < Math.min(3, lines.size()); i++) {
-                LOGGER.info("  Zeile " + (i+1) + ": " + lines.get(i));
-            }
-            
-            if (lines.size() > 6) {
-                LOGGER.info("...");
-            }
-            
-            LOGGER.info("Letzte 3 Zeilen:");
-            for (int i = Math.max(0, lines.size() - 3); i < lines.size(); i++) {
-                LOGGER.info("  Zeile " + (i+1) + ": " + lines.get(i));
-            }
-            
-            // Von hinten nach vorne durch die Zeilen gehen
+            // Von hinten nach vorne durch die Zeilen gehen - nur bis zum ersten gültigen Eintrag
             int dataLineCount = 0;
+            int linesRead = 0;
             SignalData lastValidEntry = null;
             
-            for (int i = lines.size() - 1; i >= 0; i--) {
-                String line = lines.get(i).trim();
-                
-                LOGGER.fine("Prüfe Zeile " + (i+1) + ": '" + line + "'");
-                
-                // Kommentare und leere Zeilen überspringen
-                if (line.isEmpty() || line.startsWith("#")) {
-                    LOGGER.fine("Überspringe Kommentar/Leer-Zeile " + (i+1));
-                    continue;
-                }
-                
-                dataLineCount++;
-                LOGGER.info("Verarbeite Daten-Zeile #" + dataLineCount + " (Zeile " + (i+1) + "): " + line);
-                
-                // Versuche Zeile zu parsen
-                SignalData signalData = parseTickLineRobust(signalId, line, i+1);
-                
-                if (signalData != null) {
-                    LOGGER.info("ERFOLG: Letzter Tick-Eintrag gefunden und geparst!");
-                    LOGGER.info("Ergebnis: " + signalData.getSummary());
-                    LOGGER.info("Diagnostik: " + signalData.getDiagnosticSummary());
-                    lastValidEntry = signalData;
-                    break;
-                } else {
-                    LOGGER.warning("FEHLER: Konnte Zeile " + (i+1) + " nicht parsen: " + line);
-                    // Weiter versuchen mit vorherigen Zeilen
+            try (ReverseLineReader reader = new ReverseLineReader(filePath)) {
+                String rawLine;
+                while ((rawLine = reader.readPreviousLine()) != null) {
+                    linesRead++;
+                    String line = rawLine.trim();
+                    
+                    // Kommentare und leere Zeilen überspringen
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    
+                    dataLineCount++;
+                    
+                    // Versuche Zeile zu parsen (Zeilennummer von hinten gezählt)
+                    SignalData signalData = parseTickLineRobust(signalId, line, -linesRead);
+                    
+                    if (signalData != null) {
+                        lastValidEntry = signalData;
+                        break;
+                    } else {
+                        LOGGER.warning("FEHLER: Konnte Zeile (" + linesRead + ". von hinten) nicht parsen: " + line);
+                        // Weiter versuchen mit vorherigen Zeilen
+                    }
                 }
             }
             
             if (lastValidEntry == null) {
-                LOGGER.warning("KEIN GÜLTIGER EINTRAG GEFUNDEN in " + dataLineCount + " Daten-Zeilen");
+                LOGGER.warning("KEIN GÜLTIGER EINTRAG GEFUNDEN in " + dataLineCount + " Daten-Zeilen: " + tickFilePath);
+            } else {
+                LOGGER.info("Letzter Tick-Eintrag für Signal " + signalId + " (" + fileSize + " Bytes, " + 
+                           linesRead + " Zeilen rückwärts gelesen): " + lastValidEntry.getSummary());
+                
+                if (filePath.equals(Paths.get(config.getTickFilePath(signalId)))) {
+                    // NEU: Index mit dem gelesenen Eintrag aufwärmen
+                    lastTickIndex.put(signalId, lastValidEntry);
+                }
             }
             
-            LOGGER.info("=== LESE LETZTEN TICK-EINTRAG ENDE ===");
             return lastValidEntry;
             
         } catch (Exception e) {
@@ -318,257 +835,276 @@ public class TickDataWriter {
     }
     
     /**
-     * NEU: Robuste Parsing-Methode für Tick-Zeilen mit umfassender Diagnostik
-     * 
-     * @param signalId Die Signal-ID
-     * @param line Die zu parsende Zeile
-     * @param lineNumber Die Zeilennummer für Logging
-     * @return SignalData oder null bei Fehlern
+     * NEU: Liest den letzten Tick eines Signals aus dem gemeinsamen Tick-Log
      */
-    private SignalData parseTickLineRobust(String signalId, String line, int lineNumber) {
-        LOGGER.info("=== PARSE TICK-ZEILE #" + lineNumber + " ===");
-        LOGGER.info("Input: '" + line + "'");
-        
-        if (line == null || line.trim().isEmpty()) {
-            LOGGER.warning("Zeile ist leer oder null");
-            return null;
-        }
-        
+    private SignalData readLastLogTickEntry(TickLogStore store, String tickFilePath, String signalId) {
         try {
-            String[] parts = line.split(",");
-            LOGGER.info("Aufgeteilte Teile: " + parts.length + " -> " + java.util.Arrays.toString(parts));
-            
-            // Verschiedene Formate unterstützen
-            if (parts.length == 4) {
-                // Altes Format ohne Profit: Datum,Zeit,Equity,FloatingProfit
-                return parseStandardFormat(signalId, parts, lineNumber);
-                
-            } else if (parts.length == 5) {
-                // NEUES Format mit Profit: Datum,Zeit,Equity,FloatingProfit,Profit
-                return parseExtendedFormat(signalId, parts, lineNumber);
-                
-            } else if (parts.length == 6) {
-                // Fehlerhaftes Format mit Tausendertrennzeichen: 
-                // 24.05.2025,15:22:13,53745,30,0,00
-                return parseBrokenFormat(signalId, parts, lineNumber);
-                
-            } else if (parts.length == 7) {
-                // NEUES fehlerhaftes Format mit Profit und Tausendertrennzeichen:
-                // 24.05.2025,15:22:13,53745,30,0,00,179,29
-                return parseBrokenExtendedFormat(signalId, parts, lineNumber);
-                
-            } else {
-                LOGGER.warning("Unbekanntes Format: " + parts.length + " Teile - " + java.util.Arrays.toString(parts));
+            TickData lastTick = store.readLast(signalId);
+            if (lastTick == null) {
                 return null;
             }
             
+            SignalData lastEntry = new SignalData(signalId, null, lastTick.getEquity(), lastTick.getFloatingProfit(),
+                                                  lastTick.getProfit(), "USD", lastTick.getTimestamp());
+            LOGGER.info("Letzter Tick-Eintrag für Signal " + signalId + " (Tick-Log): " + lastEntry.getSummary());
+            
+            if (Paths.get(tickFilePath).equals(Paths.get(config.getTickFilePath(signalId)))) {
+                lastTickIndex.put(signalId, lastEntry);
+            }
+            return lastEntry;
+            
         } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Exception beim Parsen von Zeile " + lineNumber + ": " + line, e);
+            LOGGER.log(Level.SEVERE, "FATALER FEHLER beim Lesen des letzten Tick-Eintrags aus dem Tick-Log", e);
             return null;
         }
     }
     
     /**
-     * NEU: Parst Standard-Format (4 Teile)
+     * NEU: Liest den letzten Satz einer binären Tick-Datei
+     * 
+     * @param tickFilePath Der CSV-Pfad (für den Index-Abgleich)
+     * @param binaryPath Der Pfad der Binärdatei
+     * @param signalId Die Signal-ID
+     * @return Der letzte SignalData-Eintrag oder null
      */
-    private SignalData parseStandardFormat(String signalId, String[] parts, int lineNumber) {
-        LOGGER.info("Parse Standard-Format ohne Profit (4 Teile)");
-        
+    private SignalData readLastBinaryTickEntry(String tickFilePath, String binaryPath, String signalId) {
         try {
-            String dateStr = parts[0].trim();
-            String timeStr = parts[1].trim();
-            String equityStr = parts[2].trim();
-            String floatingStr = parts[3].trim();
-            
-            LOGGER.info("Datum: '" + dateStr + "', Zeit: '" + timeStr + "', Equity: '" + equityStr + "', Floating: '" + floatingStr + "'");
-            
-            // Timestamp parsen
-            java.time.LocalDateTime timestamp = java.time.LocalDateTime.parse(
-                dateStr + " " + timeStr, SignalData.FILE_TIMESTAMP_FORMATTER);
-            LOGGER.info("Geparster Timestamp: " + timestamp);
+            Path filePath = Paths.get(binaryPath);
+            syncTickFile(filePath);
             
-            // Werte parsen
-            double equity = Double.parseDouble(equityStr);
-            double floatingProfit = Double.parseDouble(floatingStr);
-            LOGGER.info("Geparste Werte: Equity=" + equity + ", Floating=" + floatingProfit + " (Profit=0.0)");
+            TickData lastTick = BinaryTickFile.readLastTick(filePath);
+            if (lastTick == null) {
+                LOGGER.warning("KEIN GÜLTIGER EINTRAG in binärer Tick-Datei: " + binaryPath);
+                return null;
+            }
             
-            // Profit auf 0.0 setzen für alte Daten
-            SignalData result = new SignalData(signalId, null, equity, floatingProfit, 0.0, "USD", timestamp);
-            LOGGER.info("STANDARD-FORMAT ERFOLGREICH (ohne Profit): " + result.getSummary());
+            SignalData lastEntry = new SignalData(signalId, null, lastTick.getEquity(), lastTick.getFloatingProfit(),
+                                                  lastTick.getProfit(), "USD", lastTick.getTimestamp());
+            LOGGER.info("Letzter Tick-Eintrag für Signal " + signalId + " (binär): " + lastEntry.getSummary());
             
-            return result;
+            if (Paths.get(tickFilePath).equals(Paths.get(config.getTickFilePath(signalId)))) {
+                lastTickIndex.put(signalId, lastEntry);
+            }
+            return lastEntry;
             
         } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Fehler beim Parsen Standard-Format in Zeile " + lineNumber, e);
+            LOGGER.log(Level.SEVERE, "FATALER FEHLER beim Lesen des letzten binären Tick-Eintrags: " + binaryPath, e);
             return null;
         }
     }
     
     /**
-     * NEU: Parst erweitertes Format (5 Teile)
+     * NEU: Robuste Parsing-Methode für Tick-Zeilen mit umfassender Diagnostik
+     * 
+     * @param signalId Die Signal-ID
+     * @param line Die zu parsende Zeile
+     * @param lineNumber Die Zeilennummer für Logging
+     * @return SignalData oder null bei Fehlern
+     */
+    private SignalData parseTickLineRobust(String signalId, String line, int lineNumber) {
+        return parseTickLineRobust(new TickLineParser(), signalId, line, lineNumber);
+    }
+    
+    /**
+     * VERBESSERT: Parst über den gemeinsamen TickLineParser (4 bis 8 Spalten, Prüfsumme) statt
+     * eigener split/parse-Logik - der Parser wird in Lese-Schleifen wiederverwendet
+     * 
+     * @param parser Der wiederverwendete Parser
+     * @param signalId Die Signal-ID
+     * @param line Die zu parsende Zeile
+     * @param lineNumber Die Zeilennummer für Logging
+     * @return SignalData oder null bei Fehlern
      */
-    private SignalData parseExtendedFormat(String signalId, String[] parts, int lineNumber) {
-        LOGGER.info("Parse Erweitertes Format mit Profit (5 Teile)");
+    private SignalData parseTickLineRobust(TickLineParser parser, String signalId, String line, int lineNumber) {
+        if (line == null || line.trim().isEmpty()) {
+            LOGGER.warning("Zeile ist leer oder null");
+            return null;
+        }
         
-        try {
-            String dateStr = parts[0].trim();
-            String timeStr = parts[1].trim();
-            String equityStr = parts[2].trim();
-            String floatingStr = parts[3].trim();
-            String profitStr = parts[4].trim();
-            
-            LOGGER.info("Datum: '" + dateStr + "', Zeit: '" + timeStr + 
-                       "', Equity: '" + equityStr + "', Floating: '" + floatingStr + 
-                       "', Profit: '" + profitStr + "'");
-            
-            // Timestamp parsen
-            java.time.LocalDateTime timestamp = java.time.LocalDateTime.parse(
-                dateStr + " " + timeStr, SignalData.FILE_TIMESTAMP_FORMATTER);
-            LOGGER.info("Geparster Timestamp: " + timestamp);
-            
-            // Werte parsen
-            double equity = Double.parseDouble(equityStr);
-            double floatingProfit = Double.parseDouble(floatingStr);
-            double profit = Double.parseDouble(profitStr);
-            LOGGER.info("Geparste Werte: Equity=" + equity + ", Floating=" + floatingProfit + ", Profit=" + profit);
-            
-            SignalData result = new SignalData(signalId, null, equity, floatingProfit, profit, "USD", timestamp);
-            LOGGER.info("ERWEITERTES FORMAT ERFOLGREICH: " + result.getSummary());
-            
-            return result;
-            
-        } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Fehler beim Parsen erweitertes Format in Zeile " + lineNumber, e);
+        if (!parser.parse(line)) {
+            LOGGER.warning("Fehler beim Parsen von Zeile " + lineNumber + " (" + parser.getError() + "): " + line);
             return null;
         }
+        
+        if (parser.getColumnCount() > 5) {
+            LOGGER.fine("Fehlerhaftes Format mit " + parser.getColumnCount() + " Teilen repariert in Zeile " + lineNumber +
+                       ": Equity=" + parser.getEquity() + ", Floating=" + parser.getFloatingProfit() + ", Profit=" + parser.getProfit());
+        }
+        
+        return new SignalData(signalId, null, parser.getEquity(), parser.getFloatingProfit(), parser.getProfit(),
+                              "USD", parser.getTimestamp());
     }
     
     /**
-     * NEU: Parst fehlerhaftes Format (6 Teile)
+     * Liest alle Tick-Einträge einer Signal-ID
+     * ERWEITERT: Inklusive der ausgelagerten Zeit-Segmente (chronologisch vor der aktiven Datei)
+     * ERWEITERT: Aus dem gemeinsamen Tick-Log, wenn das Signal dort enthalten ist
+     * 
+     * @param signalId Die Signal-ID
+     * @return Liste aller Tick-Einträge
      */
-    private SignalData parseBrokenFormat(String signalId, String[] parts, int lineNumber) {
-        LOGGER.info("Parse Fehlerhaftes Format ohne Profit (6 Teile)");
+    public List<SignalData> readAllTickEntries(String signalId) {
+        String tickFilePath = config.getTickFilePath(signalId);
         
-        try {
-            String dateStr = parts[0].trim();
-            String timeStr = parts[1].trim();
-            String equityWhole = parts[2].trim();
-            String equityDecimal = parts[3].trim();
-            String floatingWhole = parts[4].trim();
-            String floatingDecimal = parts[5].trim();
-            
-            LOGGER.info("Teile: Datum='" + dateStr + "', Zeit='" + timeStr + "', " +
-                       "EquityWhole='" + equityWhole + "', EquityDecimal='" + equityDecimal + "', " +
-                       "FloatingWhole='" + floatingWhole + "', FloatingDecimal='" + floatingDecimal + "'");
-            
-            // Timestamp parsen
-            java.time.LocalDateTime timestamp = java.time.LocalDateTime.parse(
-                dateStr + " " + timeStr, SignalData.FILE_TIMESTAMP_FORMATTER);
-            LOGGER.info("Geparster Timestamp: " + timestamp);
-            
-            // Werte zusammensetzen und parsen
-            String equityStr = equityWhole + "." + equityDecimal;
-            String floatingStr = floatingWhole + "." + floatingDecimal;
-            
-            double equity = Double.parseDouble(equityStr);
-            double floatingProfit = Double.parseDouble(floatingStr);
-            
-            LOGGER.info("Zusammengesetzte Werte: Equity='" + equityStr + "'=" + equity + 
-                       ", Floating='" + floatingStr + "'=" + floatingProfit + " (Profit=0.0)");
-            
-            // Profit auf 0.0 setzen für alte Daten
-            SignalData result = new SignalData(signalId, null, equity, floatingProfit, 0.0, "USD", timestamp);
-            LOGGER.info("FEHLERHAFTES FORMAT REPARIERT (ohne Profit): " + result.getSummary());
-            
-            return result;
-            
-        } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Fehler beim Parsen fehlerhaftes Format in Zeile " + lineNumber, e);
-            return null;
+        LOGGER.info("=== LESE ALLE TICK-EINTRÄGE für Signal: " + signalId + " ===");
+        
+        TickLogStore store = TickLogStore.findPreferred(tickFilePath, signalId);
+        if (store != null) {
+            return toSignalDataList(store.load(signalId, tickFilePath, null, null), signalId);
+        }
+        
+        if (!TickSegmentIndex.hasSegments(tickFilePath)) {
+            return readTickEntries(Paths.get(tickFilePath), signalId);
+        }
+        
+        List<SignalData> entries = new ArrayList<>();
+        TickSegmentIndex index = TickSegmentIndex.load(tickFilePath);
+        for (TickSegmentIndex.Segment segment : index.getSegments()) {
+            if (CompressedTickFile.isCompressed(segment.getFileName())) {
+                entries.addAll(readCompressedTickEntries(index.resolve(segment), signalId));
+            } else {
+                entries.addAll(readTickEntries(index.resolve(segment), signalId));
+            }
+        }
+        entries.addAll(readTickEntries(Paths.get(tickFilePath), signalId));
+        
+        LOGGER.info("Tick-Einträge aus " + index.getSegments().size() + " Segmenten + aktiver Datei: " + entries.size());
+        return entries;
+    }
+    
+    /**
+     * NEU: Liest alle Tick-Einträge eines komprimierten Segments
+     */
+    private List<SignalData> readCompressedTickEntries(Path filePath, String signalId) {
+        return toSignalDataList(CompressedTickFile.load(filePath, signalId, null, null), signalId);
+    }
+    
+    /**
+     * NEU: Wandelt geladene Ticks in SignalData-Einträge um
+     */
+    private List<SignalData> toSignalDataList(TickDataSet dataSet, String signalId) {
+        List<SignalData> entries = new ArrayList<>();
+        
+        if (dataSet != null) {
+            for (TickData tick : dataSet.getTicks()) {
+                entries.add(new SignalData(signalId, null, tick.getEquity(), tick.getFloatingProfit(),
+                                           tick.getProfit(), "USD", tick.getTimestamp()));
+            }
         }
+        
+        return entries;
     }
     
     /**
-     * NEU: Parst fehlerhaftes erweitertes Format (7 Teile)
+     * NEU: Komprimiert alle abgeschlossenen Segmente, deren letzter Tick älter als tickCompressAfterDays ist
+     * Bereits komprimierte Ticks desselben Segments werden zusammengeführt (z.B. nach Nachzüglern).
+     * 
+     * @param signalId Die Signal-ID
+     * @return Anzahl komprimierter Segmente
      */
-    private SignalData parseBrokenExtendedFormat(String signalId, String[] parts, int lineNumber) {
-        LOGGER.info("Parse Fehlerhaftes Erweitertes Format mit Profit (7 Teile)");
+    public int compressColdSegments(String signalId) {
+        int compressAfterDays = config.getTickCompressAfterDays();
+        String tickFilePath = config.getTickFilePath(signalId);
         
-        try {
-            String dateStr = parts[0].trim();
-            String timeStr = parts[1].trim();
-            String equityWhole = parts[2].trim();
-            String equityDecimal = parts[3].trim();
-            String floatingWhole = parts[4].trim();
-            String floatingDecimal = parts[5].trim();
-            String profitStr = parts[6].trim();
-            
-            // Prüfe ob Profit auch aufgeteilt ist (8 Teile)
-            if (parts.length >= 8) {
-                String profitDecimal = parts[7].trim();
-                profitStr = profitStr + "." + profitDecimal;
-                LOGGER.info("Profit zusammengesetzt aus 2 Teilen: " + profitStr);
+        if (compressAfterDays <= 0 || !TickSegmentIndex.hasSegments(tickFilePath)) {
+            return 0;
+        }
+        
+        synchronized (getSignalLock(signalId)) {
+            return compressColdSegments(signalId, tickFilePath, java.time.LocalDateTime.now().minusDays(compressAfterDays));
+        }
+    }
+    
+    private int compressColdSegments(String signalId, String tickFilePath, java.time.LocalDateTime cutoffDate) {
+        TickSegmentIndex index = TickSegmentIndex.load(tickFilePath);
+        int compressedCount = 0;
+        
+        for (TickSegmentIndex.Segment segment : new ArrayList<>(index.getSegments())) {
+            if (CompressedTickFile.isCompressed(segment.getFileName()) || segment.getLastTimestamp().isAfter(cutoffDate)) {
+                continue;
             }
             
-            LOGGER.info("Teile: Datum='" + dateStr + "', Zeit='" + timeStr + "', " +
-                       "EquityWhole='" + equityWhole + "', EquityDecimal='" + equityDecimal + "', " +
-                       "FloatingWhole='" + floatingWhole + "', FloatingDecimal='" + floatingDecimal + "', " +
-                       "Profit='" + profitStr + "'");
-            
-            // Timestamp parsen
-            java.time.LocalDateTime timestamp = java.time.LocalDateTime.parse(
-                dateStr + " " + timeStr, SignalData.FILE_TIMESTAMP_FORMATTER);
-            LOGGER.info("Geparster Timestamp: " + timestamp);
-            
-            // Werte zusammensetzen und parsen
-            String equityStr = equityWhole + "." + equityDecimal;
-            String floatingStr = floatingWhole + "." + floatingDecimal;
-            
-            double equity = Double.parseDouble(equityStr);
-            double floatingProfit = Double.parseDouble(floatingStr);
-            double profit = Double.parseDouble(profitStr);
-            
-            LOGGER.info("Zusammengesetzte Werte: Equity='" + equityStr + "'=" + equity + 
-                       ", Floating='" + floatingStr + "'=" + floatingProfit +
-                       ", Profit='" + profitStr + "'=" + profit);
-            
-            SignalData result = new SignalData(signalId, null, equity, floatingProfit, profit, "USD", timestamp);
-            LOGGER.info("FEHLERHAFTES ERWEITERTES FORMAT REPARIERT: " + result.getSummary());
-            
-            return result;
-            
-        } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Fehler beim Parsen fehlerhaftes erweitertes Format in Zeile " + lineNumber, e);
-            return null;
+            try {
+                Path csvPath = index.resolve(segment);
+                String compressedName = CompressedTickFile.getCompressedFileName(segment.getFileName());
+                Path compressedPath = index.getSegmentDirectory().resolve(compressedName);
+                
+                // KORRIGIERT: Ticks in Dateireihenfolge sammeln und stabil nach Zeitstempel sortieren -
+                // gleiche Zeitstempel (z.B. die wiederholte Stunde beim Ende der Sommerzeit) bleiben alle erhalten
+                List<TickData> ticks = new ArrayList<>();
+                java.time.LocalDateTime createdDate = null;
+                
+                if (Files.exists(compressedPath)) {
+                    TickDataSet existing = CompressedTickFile.load(compressedPath, signalId, null, null);
+                    if (existing == null) {
+                        LOGGER.warning("Komprimiertes Segment nicht lesbar, überspringe: " + compressedPath);
+                        continue;
+                    }
+                    createdDate = existing.getCreatedDate();
+                    ticks.addAll(existing.getTicks());
+                }
+                
+                TickDataSet csvData = TickDataLoader.loadCsvTickData(csvPath.toString(), signalId);
+                if (csvData != null) {
+                    createdDate = createdDate != null ? createdDate : csvData.getCreatedDate();
+                    ticks.addAll(csvData.getTicks());
+                }
+                
+                if (ticks.isEmpty()) {
+                    continue;
+                }
+                
+                ticks.sort(java.util.Comparator.comparing(TickData::getTimestamp));
+                CompressedTickFile.write(compressedPath, createdDate, ticks);
+                
+                // Index zuerst umstellen, dann die CSV-Datei löschen
+                index.removeSegment(segment.getFileName());
+                index.putSegment(new TickSegmentIndex.Segment(compressedName, ticks.get(0).getTimestamp(),
+                                                              ticks.get(ticks.size() - 1).getTimestamp(), ticks.size(),
+                                                              segment.getCompactedUntil()));
+                index.save();
+                
+                long csvSize = Files.exists(csvPath) ? Files.size(csvPath) : 0;
+                Files.deleteIfExists(csvPath);
+                compressedCount++;
+                
+                LOGGER.info("Tick-Segment komprimiert: " + segment.getFileName() + " -> " + compressedName + 
+                           " (" + ticks.size() + " Ticks, " + csvSize + " -> " + Files.size(compressedPath) + " Bytes)");
+                
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "Fehler beim Komprimieren des Tick-Segments " + segment.getFileName(), e);
+            }
         }
+        
+        return compressedCount;
     }
     
     /**
-     * Liest alle Tick-Einträge einer Signal-ID
+     * Liest alle Tick-Einträge einer einzelnen Datei
      * 
+     * @param filePath Pfad der Tick- oder Segment-Datei
      * @param signalId Die Signal-ID
-     * @return Liste aller Tick-Einträge
+     * @return Liste der Tick-Einträge (leer wenn Datei fehlt)
      */
-    public List<SignalData> readAllTickEntries(String signalId) {
+    private List<SignalData> readTickEntries(Path filePath, String signalId) {
         List<SignalData> entries = new ArrayList<>();
-        String tickFilePath = config.getTickFilePath(signalId);
         
-        LOGGER.info("=== LESE ALLE TICK-EINTRÄGE für Signal: " + signalId + " ===");
-        LOGGER.info("Datei: " + tickFilePath);
+        LOGGER.info("Datei: " + filePath);
         
         try {
-            Path filePath = Paths.get(tickFilePath);
-            
             if (!Files.exists(filePath)) {
-                LOGGER.fine("Tick-Datei nicht gefunden: " + tickFilePath);
+                LOGGER.fine("Tick-Datei nicht gefunden: " + filePath);
                 return entries;
             }
             
+            syncTickFile(filePath);
+            
             List<String> lines = Files.readAllLines(filePath, StandardCharsets.UTF_8);
             LOGGER.info("Zeilen in Datei: " + lines.size());
             
             int parsedCount = 0;
             int skippedCount = 0;
+            TickLineParser parser = new TickLineParser();
             
             for (int i = 0; i < lines.size(); i++) {
                 String line = lines.get(i).trim();
@@ -580,7 +1116,7 @@ public class TickDataWriter {
                 }
                 
                 // Versuche Zeile zu parsen
-                SignalData signalData = parseTickLineRobust(signalId, line, i+1);
+                SignalData signalData = parseTickLineRobust(parser, signalId, line, i+1);
                 if (signalData != null) {
                     entries.add(signalData);
                     parsedCount++;
@@ -610,61 +1146,140 @@ public class TickDataWriter {
      * @return Map mit Signal-ID und Konvertierungs-Status (true=konvertiert, false=Fehler, null=bereits neues Format)
      */
     public Map<String, Boolean> convertAllTickFilesToNewFormat() {
-        Map<String, Boolean> results = new HashMap<>();
+        return convertAllTickFilesToNewFormat(null);
+    }
+    
+    /**
+     * VERBESSERT: Konvertiert alle Tick-Dateien parallel und streamend mit Fortschrittsmeldung
+     * 
+     * @param listener Fortschritts-Listener oder null
+     * @return Map mit Signal-ID und Konvertierungs-Status (null = bereits neues Format)
+     */
+    public Map<String, Boolean> convertAllTickFilesToNewFormat(TickFileTransformer.ProgressListener listener) {
+        List<String> signalIds = listTickFileSignalIds();
+        if (signalIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        
+        LOGGER.info("=== STARTE FORMAT-KONVERTIERUNG ALLER TICK-DATEIEN ===");
+        LOGGER.info("Verzeichnis: " + config.getTickDir() + ", gefundene Tick-Dateien: " + signalIds.size());
+        long startTime = System.currentTimeMillis();
+        
+        Map<String, Boolean> results = TickFileTransformer.processAll(signalIds, signalId -> {
+            FormatAnalysisResult analysis = analyzeTickFileFormat(config.getTickFilePath(signalId));
+            
+            if (analysis.isNewFormat) {
+                LOGGER.fine("Datei " + signalId + " ist bereits im neuen Format - überspringe");
+                return null; // null = bereits neues Format
+            }
+            if (!analysis.isOldFormat) {
+                LOGGER.warning("Datei " + signalId + " hat unbekanntes Format - überspringe");
+                return false;
+            }
+            
+            boolean success = convertTickFileToNewFormat(signalId, analysis);
+            LOGGER.info("Konvertierung " + signalId + ": " + (success ? "ERFOLG" : "FEHLER"));
+            return success;
+        }, listener);
+        
+        long convertedCount = results.values().stream().filter(v -> v != null && v).count();
+        long skippedCount = results.values().stream().filter(v -> v == null).count();
+        long failedCount = results.values().stream().filter(v -> v != null && !v).count();
+        
+        LOGGER.info("=== FORMAT-KONVERTIERUNG ABGESCHLOSSEN in " + (System.currentTimeMillis() - startTime) + " ms ===");
+        LOGGER.info("Gesamt: " + results.size() + " Dateien");
+        LOGGER.info("Konvertiert: " + convertedCount);
+        LOGGER.info("Bereits neues Format: " + skippedCount);
+        LOGGER.info("Fehlgeschlagen: " + failedCount);
+        
+        return results;
+    }
+    
+    /**
+     * NEU: Liefert die Signal-IDs aller CSV-Tick-Dateien im Tick-Verzeichnis
+     */
+    private List<String> listTickFileSignalIds() {
+        List<String> signalIds = new ArrayList<>();
+        Path tickDir = Paths.get(config.getTickDir());
+        
+        if (!Files.exists(tickDir)) {
+            LOGGER.warning("Tick-Verzeichnis existiert nicht: " + tickDir);
+            return signalIds;
+        }
+        
+        try (var stream = Files.list(tickDir)) {
+            stream.map(path -> path.getFileName().toString())
+                  .filter(name -> name.toLowerCase().endsWith(".txt"))
+                  .forEach(name -> signalIds.add(name.substring(0, name.lastIndexOf('.'))));
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Fehler beim Auflisten der Tick-Dateien in " + tickDir, e);
+        }
+        
+        return signalIds;
+    }
+    
+    /**
+     * NEU: Prüft beim Start das Ende aller Tick-Dateien und schneidet abgerissene Zeilen ab
+     * Ersetzt den kompletten Reparatur-Scan: geprüft wird nur bis zur letzten gültigen Zeile.
+     * ERWEITERT: Binärdateien (.tkb) werden auf einen unvollständigen letzten Satz geprüft.
+     * 
+     * @return Map mit Signal-ID und Anzahl entfernter Zeilen bzw. Sätze (nur veränderte Dateien)
+     */
+    public Map<String, Integer> recoverTickFiles() {
+        Map<String, Integer> results = new HashMap<>();
         
         try {
             Path tickDir = Paths.get(config.getTickDir());
             
             if (!Files.exists(tickDir)) {
-                LOGGER.warning("Tick-Verzeichnis existiert nicht: " + tickDir);
                 return results;
             }
             
-            LOGGER.info("=== STARTE FORMAT-KONVERTIERUNG ALLER TICK-DATEIEN ===");
-            LOGGER.info("Verzeichnis: " + tickDir);
+            long startTime = System.currentTimeMillis();
+            int checkedFiles = 0;
             
             try (var stream = Files.list(tickDir)) {
                 List<Path> tickFiles = stream
-                    .filter(path -> path.toString().toLowerCase().endsWith(".txt"))
+                    .filter(path -> path.toString().toLowerCase().endsWith(".txt") ||
+                                    path.toString().toLowerCase().endsWith(BinaryTickFile.FILE_EXTENSION))
                     .collect(java.util.stream.Collectors.toList());
                 
-                LOGGER.info("Gefundene Tick-Dateien: " + tickFiles.size());
-                
                 for (Path tickFile : tickFiles) {
                     String fileName = tickFile.getFileName().toString();
                     String signalId = fileName.substring(0, fileName.lastIndexOf('.'));
                     
-                    LOGGER.info("Konvertiere: " + signalId + " (" + fileName + ")");
-                    
-                    // Format-Analyse vor Konvertierung
-                    FormatAnalysisResult analysis = analyzeTickFileFormat(tickFile.toString());
-                    
-                    if (analysis.isNewFormat) {
-                        LOGGER.info("Datei " + signalId + " ist bereits im neuen Format - überspringe");
-                        results.put(signalId, null); // null = bereits neues Format
-                    } else if (analysis.isOldFormat) {
-                        boolean success = convertTickFileToNewFormat(signalId);
-                        results.put(signalId, success);
-                        LOGGER.info("Konvertierung " + signalId + ": " + (success ? "ERFOLG" : "FEHLER"));
-                    } else {
-                        LOGGER.warning("Datei " + signalId + " hat unbekanntes Format - überspringe");
-                        results.put(signalId, false);
+                    try {
+                        syncTickFile(tickFile);
+                        
+                        if (fileName.toLowerCase().endsWith(BinaryTickFile.FILE_EXTENSION)) {
+                            int removedBytes = BinaryTickFile.truncateIncompleteRecord(tickFile);
+                            checkedBinaryFiles.add(tickFile.toAbsolutePath().normalize());
+                            checkedFiles++;
+                            if (removedBytes > 0) {
+                                invalidateDerivedState(signalId, config.getTickFilePath(signalId));
+                                results.merge(signalId, 1, Integer::sum);
+                            }
+                            continue;
+                        }
+                        
+                        TickFileRecovery.RecoveryResult result = TickFileRecovery.recover(tickFile);
+                        checkedFiles++;
+                        
+                        if (result.isModified()) {
+                            invalidateDerivedState(signalId, tickFile.toString());
+                            results.merge(signalId, result.removedLines, Integer::sum);
+                        }
+                    } catch (IOException e) {
+                        LOGGER.log(Level.WARNING, "Fehler bei der Wiederherstellung von " + tickFile, e);
                     }
                 }
             }
             
-            long convertedCount = results.values().stream().filter(v -> v != null && v).count();
-            long skippedCount = results.values().stream().filter(v -> v == null).count();
-            long failedCount = results.values().stream().filter(v -> v != null && !v).count();
-            
-            LOGGER.info("=== FORMAT-KONVERTIERUNG ABGESCHLOSSEN ===");
-            LOGGER.info("Gesamt: " + results.size() + " Dateien");
-            LOGGER.info("Konvertiert: " + convertedCount);
-            LOGGER.info("Bereits neues Format: " + skippedCount);
-            LOGGER.info("Fehlgeschlagen: " + failedCount);
+            LOGGER.info("Tick-Dateien geprüft: " + checkedFiles + " Dateien in " + 
+                       (System.currentTimeMillis() - startTime) + " ms, " + results.size() + " wiederhergestellt");
             
         } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Fehler beim Konvertieren aller Tick-Dateien", e);
+            LOGGER.log(Level.SEVERE, "Fehler bei der Wiederherstellung der Tick-Dateien", e);
         }
         
         return results;
@@ -679,6 +1294,25 @@ public class TickDataWriter {
      * @return true wenn erfolgreich konvertiert, false bei Fehlern
      */
     public boolean convertTickFileToNewFormat(String signalId) {
+        FormatAnalysisResult analysis = analyzeTickFileFormat(config.getTickFilePath(signalId));
+        LOGGER.info("Format-Analyse: " + analysis.toString());
+        
+        if (analysis.isNewFormat) {
+            LOGGER.info("Datei ist bereits im neuen 5-Spalten-Format - keine Konvertierung notwendig");
+            return true;
+        }
+        
+        return convertTickFileToNewFormat(signalId, analysis);
+    }
+    
+    /**
+     * VERBESSERT: Konvertiert streamend Zeile für Zeile in eine Temp-Datei (konstanter Speicherbedarf)
+     * 
+     * @param signalId Die Signal-ID
+     * @param analysis Bereits ermittelte Format-Analyse
+     * @return true wenn erfolgreich konvertiert, false bei Fehlern
+     */
+    private boolean convertTickFileToNewFormat(String signalId, FormatAnalysisResult analysis) {
         String tickFilePath = config.getTickFilePath(signalId);
         Path filePath = Paths.get(tickFilePath);
         
@@ -690,81 +1324,60 @@ public class TickDataWriter {
             return false;
         }
         
-        try {
-            // Datei analysieren um Format zu bestimmen
-            FormatAnalysisResult analysis = analyzeTickFileFormat(tickFilePath);
-            LOGGER.info("Format-Analyse: " + analysis.toString());
-            
-            if (analysis.isNewFormat) {
-                LOGGER.info("Datei ist bereits im neuen 5-Spalten-Format - keine Konvertierung notwendig");
-                return true;
-            }
-            
-            if (!analysis.isOldFormat) {
-                LOGGER.warning("Unbekanntes oder beschädigtes Format - kann nicht konvertieren");
+        if (!analysis.isOldFormat) {
+            LOGGER.warning("Unbekanntes oder beschädigtes Format - kann nicht konvertieren");
+            return false;
+        }
+        
+        synchronized (getSignalLock(signalId)) {
+            try {
+                syncTickFile(filePath);
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "Konvertierung abgebrochen - gepufferte Ticks konnten nicht geschrieben werden: " + tickFilePath, e);
                 return false;
             }
             
-            // Backup erstellen
-            Path backupPath = Paths.get(tickFilePath + ".backup_format_" + System.currentTimeMillis());
-            Files.copy(filePath, backupPath, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-            LOGGER.info("Backup erstellt: " + backupPath);
-            
-            // Datei lesen
-            List<String> lines = Files.readAllLines(filePath, StandardCharsets.UTF_8);
-            List<String> convertedLines = new ArrayList<>();
-            
-            int convertedCount = 0;
-            int headerLines = 0;
-            
-            for (int i = 0; i < lines.size(); i++) {
-                String line = lines.get(i);
+            try {
+                int[] convertedCount = new int[1];
                 
-                // Kommentare und leere Zeilen - Header aktualisieren
-                if (line.trim().isEmpty() || line.trim().startsWith("#")) {
-                    if (line.contains("Format: Datum,Uhrzeit,Equity,FloatingProfit")) {
-                        // Header aktualisieren auf neues Format
-                        convertedLines.add("# MQL5 Signal Tick Data - Format: Datum,Uhrzeit,Equity,FloatingProfit,Profit");
-                        LOGGER.info("Header aktualisiert auf neues Format");
-                    } else {
-                        convertedLines.add(line);
+                TickFileTransformer.TransformResult result = TickFileTransformer.transform(filePath, (line, lineNumber) -> {
+                    // Kommentare und leere Zeilen - Header aktualisieren
+                    if (line.trim().isEmpty() || line.trim().startsWith("#")) {
+                        if (line.contains("Format: Datum,Uhrzeit,Equity,FloatingProfit")) {
+                            return createFormatHeaderLine();
+                        }
+                        return line;
                     }
-                    headerLines++;
-                    continue;
-                }
-                
-                // Datenzeile konvertieren
-                String convertedLine = convertOldFormatLine(line, i + 1);
-                if (convertedLine != null) {
-                    convertedLines.add(convertedLine);
-                    convertedCount++;
                     
-                    // Logge erste und letzte paar Konvertierungen
-                    if (convertedCount <= 3 || i >= lines.size() - 3) {
-                        LOGGER.info("Konvertiert Zeile " + (i + 1) + ": " + line + " -> " + convertedLine);
+                    // Datenzeile konvertieren
+                    String convertedLine = convertOldFormatLine(line, lineNumber);
+                    if (convertedLine == null) {
+                        LOGGER.warning("Konnte Zeile " + lineNumber + " nicht konvertieren: " + line);
+                        return withChecksum(line); // Inhalt unverändert übernehmen
+                    }
+                    
+                    convertedLine = withChecksum(convertedLine);
+                    
+                    convertedCount[0]++;
+                    if (convertedCount[0] <= 3) {
+                        LOGGER.info("Konvertiert Zeile " + lineNumber + ": " + line + " -> " + convertedLine);
                     }
+                    return convertedLine;
+                }, ".backup_format_" + System.currentTimeMillis());
+                
+                if (convertedCount[0] > 0) {
+                    invalidateDerivedState(signalId, tickFilePath);
+                    LOGGER.info("FORMAT-KONVERTIERUNG ERFOLGREICH: " + convertedCount[0] + " Datenzeilen konvertiert, " + result);
+                    return true;
                 } else {
-                    LOGGER.warning("Konnte Zeile " + (i + 1) + " nicht konvertieren: " + line);
-                    convertedLines.add(line); // Unverändert übernehmen
+                    LOGGER.warning("Keine Zeilen konvertiert - möglicherweise bereits im neuen Format oder beschädigt");
+                    return false;
                 }
-            }
-            
-            if (convertedCount > 0) {
-                // Konvertierte Datei schreiben
-                Files.write(filePath, convertedLines, StandardCharsets.UTF_8);
-                LOGGER.info("FORMAT-KONVERTIERUNG ERFOLGREICH: " + convertedCount + " Datenzeilen konvertiert, " + 
-                           headerLines + " Header-Zeilen, Backup: " + backupPath.getFileName());
-                return true;
-            } else {
-                LOGGER.warning("Keine Zeilen konvertiert - möglicherweise bereits im neuen Format oder beschädigt");
-                // Backup löschen wenn keine Änderungen
-                Files.delete(backupPath);
+                
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Fehler beim Konvertieren der Tick-Datei: " + tickFilePath, e);
                 return false;
             }
-            
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Fehler beim Konvertieren der Tick-Datei: " + tickFilePath, e);
-            return false;
         }
     }
     
@@ -852,49 +1465,52 @@ public class TickDataWriter {
                 return result;
             }
             
-            List<String> lines = Files.readAllLines(filePath, StandardCharsets.UTF_8);
-            result.totalLines = lines.size();
-            
-            if (lines.isEmpty()) {
-                result.error = "Datei ist leer";
-                return result;
-            }
+            syncTickFile(filePath);
             
-            // Analysiere erste paar Datenzeilen
-            for (String line : lines) {
-                line = line.trim();
-                
-                // Kommentare und leere Zeilen überspringen
-                if (line.isEmpty() || line.startsWith("#")) {
-                    // Prüfe Header auf Format-Information
-                    if (line.contains("Format: Datum,Uhrzeit,Equity,FloatingProfit,Profit")) {
-                        result.headerIndicatesNewFormat = true;
-                    } else if (line.contains("Format: Datum,Uhrzeit,Equity,FloatingProfit")) {
-                        result.headerIndicatesOldFormat = true;
+            // VERBESSERT: Nur bis zur zehnten Datenzeile lesen statt die ganze Datei zu laden
+            try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+                String rawLine;
+                while ((rawLine = reader.readLine()) != null) {
+                    result.totalLines++;
+                    String line = rawLine.trim();
+                    
+                    // Kommentare und leere Zeilen überspringen
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        // Prüfe Header auf Format-Information
+                        if (line.contains("Format: Datum,Uhrzeit,Equity,FloatingProfit,Profit")) {
+                            result.headerIndicatesNewFormat = true;
+                            result.headerIndicatesChecksums = line.contains(CHECKSUM_HEADER_SUFFIX);
+                        } else if (line.contains("Format: Datum,Uhrzeit,Equity,FloatingProfit")) {
+                            result.headerIndicatesOldFormat = true;
+                        }
+                        continue;
+                    }
+                    
+                    // Erste Datenzeile analysieren (Prüfsummen-Suffix zählt nicht als Spalte)
+                    if (line.indexOf(TickLineChecksum.SEPARATOR) >= 0) {
+                        result.checksumLines++;
+                        line = TickLineChecksum.strip(line);
+                    }
+                    String[] parts = line.split(",");
+                    result.sampleDataLine = line;
+                    result.sampleColumnCount = parts.length;
+                    
+                    if (parts.length == 4) {
+                        result.oldFormatLines++;
+                    } else if (parts.length == 5) {
+                        result.newFormatLines++;
+                    } else if (parts.length == 6) {
+                        result.brokenFormatLines++;
+                    } else {
+                        result.unknownFormatLines++;
+                    }
+                    
+                    result.dataLinesAnalyzed++;
+                    
+                    // Nur erste paar Datenzeilen analysieren
+                    if (result.dataLinesAnalyzed >= 10) {
+                        break;
                     }
-                    continue;
-                }
-                
-                // Erste Datenzeile analysieren
-                String[] parts = line.split(",");
-                result.sampleDataLine = line;
-                result.sampleColumnCount = parts.length;
-                
-                if (parts.length == 4) {
-                    result.oldFormatLines++;
-                } else if (parts.length == 5) {
-                    result.newFormatLines++;
-                } else if (parts.length == 6) {
-                    result.brokenFormatLines++;
-                } else {
-                    result.unknownFormatLines++;
-                }
-                
-                result.dataLinesAnalyzed++;
-                
-                // Nur erste paar Datenzeilen analysieren
-                if (result.dataLinesAnalyzed >= 10) {
-                    break;
                 }
             }
             
@@ -932,6 +1548,8 @@ public class TickDataWriter {
         public int sampleColumnCount = 0;
         public boolean headerIndicatesOldFormat = false;
         public boolean headerIndicatesNewFormat = false;
+        public boolean headerIndicatesChecksums = false;
+        public int checksumLines = 0;      // Zeilen mit Prüfsummen-Suffix
         public boolean isOldFormat = false;
         public boolean isNewFormat = false;
         public String error = null;
@@ -957,6 +1575,10 @@ public class TickDataWriter {
                 sb.append("Format: UNBEKANNT");
             }
             
+            if (checksumLines > 0 || headerIndicatesChecksums) {
+                sb.append(", Prüfsummen: ").append(checksumLines).append(" Zeilen");
+            }
+            
             if (!sampleDataLine.isEmpty()) {
                 sb.append(", Beispiel: ").append(sampleDataLine);
             }
@@ -975,6 +1597,13 @@ public class TickDataWriter {
         String tickFilePath = config.getTickFilePath(signalId);
         Path filePath = Paths.get(tickFilePath);
         
+        try {
+            syncTickFile(filePath);
+        } catch (IOException e) {
+            // Statistik trotzdem aus dem bereits geschriebenen Stand ermitteln
+            LOGGER.log(Level.WARNING, "Gepufferte Ticks konnten nicht geschrieben werden: " + tickFilePath, e);
+        }
+        
         TickFileStatistics stats = new TickFileStatistics(signalId);
         stats.filePath = tickFilePath;
         stats.fileExists = Files.exists(filePath);
@@ -1002,67 +1631,234 @@ public class TickDataWriter {
     
     /**
      * Bereinigt alte Tick-Einträge (löscht Einträge älter als X Tage)
+     * KORRIGIERT: Lesen, Filtern und Neuschreiben unter der Signal-Sperre - kein Tick geht zwischendurch verloren
+     * Nicht segmentierte Dateien werden nur im CSV-Format bereinigt (dort ist die CSV-Datei die aktive Datei).
      * 
      * @param signalId Die Signal-ID
      * @param maxAgeDays Maximales Alter in Tagen
      * @return Anzahl gelöschter Einträge
      */
     public int cleanupOldTickEntries(String signalId, int maxAgeDays) {
-        List<SignalData> allEntries = readAllTickEntries(signalId);
+        java.time.LocalDateTime cutoffDate = java.time.LocalDateTime.now().minusDays(maxAgeDays);
         
-        if (allEntries.isEmpty()) {
-            return 0;
+        // NEU: Segmentierte Daten - ganze Segmente löschen statt die Datei neu zu schreiben
+        if (TickSegmentIndex.hasSegments(config.getTickFilePath(signalId))) {
+            return deleteExpiredSegments(signalId, cutoffDate);
         }
         
-        java.time.LocalDateTime cutoffDate = java.time.LocalDateTime.now().minusDays(maxAgeDays);
-        List<SignalData> validEntries = new ArrayList<>();
-        int deletedCount = 0;
+        if (config.isBinaryTickStorage() || config.isLogTickStorage()) {
+            return 0;
+        }
         
-        for (SignalData entry : allEntries) {
-            if (entry.getTimestamp().isAfter(cutoffDate)) {
-                validEntries.add(entry);
-            } else {
-                deletedCount++;
+        synchronized (getSignalLock(signalId)) {
+            Path filePath = Paths.get(config.getTickFilePath(signalId));
+            
+            try {
+                syncTickFile(filePath);
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "Bereinigung abgebrochen - gepufferte Ticks konnten nicht geschrieben werden: " + filePath, e);
+                return 0;
+            }
+            
+            List<SignalData> allEntries = readTickEntries(filePath, signalId);
+            List<SignalData> validEntries = new ArrayList<>();
+            int deletedCount = 0;
+            
+            for (SignalData entry : allEntries) {
+                if (entry.getTimestamp().isAfter(cutoffDate)) {
+                    validEntries.add(entry);
+                } else {
+                    deletedCount++;
+                }
+            }
+            
+            // Datei neu schreiben mit nur gültigen Einträgen
+            if (deletedCount > 0 && rewriteTickFile(signalId, validEntries)) {
+                LOGGER.info("Tick-Einträge bereinigt für Signal " + signalId + ": " + 
+                           deletedCount + " alte Einträge entfernt");
+                return deletedCount;
             }
+            
+            return 0;
+        }
+    }
+    
+    /**
+     * NEU: Löscht alle Segmente, deren letzter Tick vor dem Stichtag liegt
+     * Segmente, die den Stichtag überspannen, bleiben vollständig erhalten.
+     * 
+     * @param signalId Die Signal-ID
+     * @param cutoffDate Stichtag
+     * @return Anzahl der mit den Segmenten gelöschten Einträge
+     */
+    private int deleteExpiredSegments(String signalId, java.time.LocalDateTime cutoffDate) {
+        synchronized (getSignalLock(signalId)) {
+            return deleteExpiredSegments(TickSegmentIndex.load(config.getTickFilePath(signalId)), signalId, cutoffDate);
         }
+    }
+    
+    private int deleteExpiredSegments(TickSegmentIndex index, String signalId, java.time.LocalDateTime cutoffDate) {
+        int deletedCount = 0;
+        int deletedSegments = 0;
         
-        if (deletedCount > 0) {
-            // Datei neu schreiben mit nur gültigen Einträgen
-            rewriteTickFile(signalId, validEntries);
-            LOGGER.info("Tick-Einträge bereinigt für Signal " + signalId + ": " + 
-                       deletedCount + " alte Einträge entfernt");
+        try {
+            for (TickSegmentIndex.Segment segment : new ArrayList<>(index.getSegments())) {
+                if (segment.getLastTimestamp().isAfter(cutoffDate)) {
+                    continue;
+                }
+                
+                Files.deleteIfExists(index.resolve(segment));
+                index.removeSegment(segment.getFileName());
+                deletedCount += segment.getTickCount();
+                deletedSegments++;
+            }
+            
+            if (deletedSegments > 0) {
+                index.save();
+                invalidateDerivedState(signalId, config.getTickFilePath(signalId));
+                LOGGER.info("Tick-Segmente bereinigt für Signal " + signalId + ": " + deletedSegments + 
+                           " Segment(e) mit " + deletedCount + " Einträgen gelöscht");
+            }
+            
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Fehler beim Löschen alter Tick-Segmente für Signal " + signalId, e);
         }
         
         return deletedCount;
     }
     
     /**
-     * Schreibt eine Tick-Datei komplett neu
+     * NEU: Wendet Aufbewahrungsregeln auf ein einzelnes abgeschlossenes Segment an
+     * Das Segment wird gelöscht, gekürzt oder ausgedünnt und im selben Format (CSV oder .tkz) per
+     * Temp-Datei und atomarem Umbenennen ersetzt. Die aktive Tick-Datei wird nie angefasst.
      * 
      * @param signalId Die Signal-ID
-     * @param entries Die zu schreibenden Einträge
+     * @param segmentFileName Dateiname des Segments laut Segment-Index
+     * @param policy Die anzuwendenden Regeln
+     * @return Anzahl entfernter Ticks oder -1 bei Fehlern
      */
-    private void rewriteTickFile(String signalId, List<SignalData> entries) {
+    public int compactSegment(String signalId, String segmentFileName, TickCompactionService.RetentionPolicy policy) {
         String tickFilePath = config.getTickFilePath(signalId);
         
-        try {
-            Path filePath = Paths.get(tickFilePath);
-            
-            // Backup der alten Datei erstellen
-            if (Files.exists(filePath)) {
-                Path backupPath = Paths.get(tickFilePath + ".backup");
-                Files.copy(filePath, backupPath, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+        synchronized (getSignalLock(signalId)) {
+            TickSegmentIndex index = TickSegmentIndex.load(tickFilePath);
+            TickSegmentIndex.Segment segment = index.findSegment(segmentFileName);
+            if (segment == null || !policy.needsCompaction(segment)) {
+                return 0;
             }
             
-            // Neue Datei schreiben
-            writeTickFileHeader(filePath);
+            Path segmentPath = index.resolve(segment);
+            boolean compressed = CompressedTickFile.isCompressed(segmentFileName);
             
-            for (SignalData entry : entries) {
-                appendToTickFile(tickFilePath, entry.toFullTickFileEntry());
+            try {
+                TickDataSet dataSet = compressed ? CompressedTickFile.load(segmentPath, signalId, null, null)
+                                                 : TickDataLoader.loadCsvTickData(segmentPath.toString(), signalId);
+                if (dataSet == null) {
+                    LOGGER.warning("Tick-Segment nicht lesbar, überspringe Kompaktierung: " + segmentPath);
+                    return -1;
+                }
+                
+                List<TickData> kept = policy.apply(dataSet.getTicks());
+                int removed = dataSet.getTickCount() - kept.size();
+                
+                if (kept.isEmpty()) {
+                    index.removeSegment(segmentFileName);
+                    index.save();
+                    Files.deleteIfExists(segmentPath);
+                    invalidateDerivedState(signalId, tickFilePath);
+                    LOGGER.info("Tick-Segment gelöscht (Aufbewahrung abgelaufen): " + segmentPath);
+                    return removed;
+                }
+                
+                if (removed > 0) {
+                    if (compressed) {
+                        CompressedTickFile.write(segmentPath, dataSet.getCreatedDate(), kept);
+                    } else {
+                        Path tempPath = Paths.get(segmentPath + ".tmp");
+                        StringBuilder content = new StringBuilder(createTickFileHeader(signalId));
+                        for (TickData tick : kept) {
+                            SignalData entry = new SignalData(signalId, null, tick.getEquity(), tick.getFloatingProfit(),
+                                                              tick.getProfit(), "USD", tick.getTimestamp());
+                            content.append(formatTickEntry(entry)).append(System.lineSeparator());
+                        }
+                        Files.writeString(tempPath, content.toString(), StandardCharsets.UTF_8);
+                        Files.move(tempPath, segmentPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    }
+                }
+                
+                index.putSegment(new TickSegmentIndex.Segment(segmentFileName, kept.get(0).getTimestamp(),
+                                                              kept.get(kept.size() - 1).getTimestamp(), kept.size(),
+                                                              policy.getCompactedUntil(segment)));
+                index.save();
+                if (removed > 0) {
+                    invalidateDerivedState(signalId, tickFilePath);
+                }
+                
+                LOGGER.info("Tick-Segment kompaktiert: " + segmentFileName + " - " + removed + " von " + 
+                           dataSet.getTickCount() + " Ticks entfernt");
+                return removed;
+                
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "Fehler beim Kompaktieren des Tick-Segments " + segmentPath, e);
+                return -1;
+            }
+        }
+    }
+    
+    /**
+     * NEU: Sperrobjekt für Änderungen an den Tick-Dateien eines Signals
+     */
+    private Object getSignalLock(String signalId) {
+        return signalLocks.computeIfAbsent(signalId, k -> new Object());
+    }
+    
+    /**
+     * Schreibt eine Tick-Datei komplett neu
+     * KORRIGIERT: Unter der Signal-Sperre per Temp-Datei und atomarem Umbenennen (wie compactSegment) -
+     * die aktive Datei wird nie über den Appender gekürzt, Leser sehen die alte oder die neue Datei.
+     * 
+     * @param signalId Die Signal-ID
+     * @param entries Die zu schreibenden Einträge
+     * @return true wenn die Datei ersetzt wurde
+     */
+    private boolean rewriteTickFile(String signalId, List<SignalData> entries) {
+        String tickFilePath = config.getTickFilePath(signalId);
+        Path filePath = Paths.get(tickFilePath);
+        Path tempPath = Paths.get(tickFilePath + ".tmp");
+        
+        synchronized (getSignalLock(signalId)) {
+            try {
+                syncTickFile(filePath);
+                
+                // Backup der alten Datei erstellen
+                if (Files.exists(filePath)) {
+                    Path backupPath = Paths.get(tickFilePath + ".backup");
+                    Files.copy(filePath, backupPath, StandardCopyOption.REPLACE_EXISTING);
+                }
+                
+                // Neue Datei schreiben
+                try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+                    writer.write(createTickFileHeader(signalId));
+                    for (SignalData entry : entries) {
+                        writer.write(formatTickEntry(entry));
+                        writer.write(System.lineSeparator());
+                    }
+                }
+                Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                
+                invalidateDerivedState(signalId, tickFilePath);
+                activeSegmentStarts.remove(signalId);
+                return true;
+                
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "Fehler beim Neuschreiben der Tick-Datei für Signal " + signalId, e);
+                try {
+                    Files.deleteIfExists(tempPath);
+                } catch (IOException ignored) {
+                    // Temp-Datei bleibt liegen - wird beim nächsten Versuch überschrieben
+                }
+                return false;
             }
-            
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Fehler beim Neuschreiben der Tick-Datei für Signal " + signalId, e);
         }
     }
     
@@ -1085,59 +1881,45 @@ public class TickDataWriter {
         try {
             LOGGER.info("Repariere Tick-Datei für Signal: " + signalId);
             
-            // Backup erstellen
-            Path backupPath = Paths.get(tickFilePath + ".backup_" + System.currentTimeMillis());
-            Files.copy(filePath, backupPath, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-            LOGGER.info("Backup erstellt: " + backupPath);
-            
-            // Datei lesen
-            List<String> lines = Files.readAllLines(filePath, StandardCharsets.UTF_8);
-            List<String> repairedLines = new ArrayList<>();
-            
-            int repairedCount = 0;
-            
-            for (String line : lines) {
-                // Kommentare und leere Zeilen unverändert übernehmen
-                if (line.trim().isEmpty() || line.trim().startsWith("#")) {
-                    repairedLines.add(line);
-                    continue;
-                }
-                
-                String[] parts = line.split(",");
+            TickFileTransformer.TransformResult result;
+            synchronized (getSignalLock(signalId)) {
+                syncTickFile(filePath);
                 
-                if (parts.length == 6) {
-                    // Fehlerhaftes Format: 24.05.2025,15:22:13,53745,30,0,00
-                    // Repariere zu: 24.05.2025,15:22:13,53745.30,0.00
-                    String repaired = String.format("%s,%s,%s.%s,%s.%s",
-                                                  parts[0].trim(),  // Datum
-                                                  parts[1].trim(),  // Zeit
-                                                  parts[2].trim(),  // Equity Ganzzahl
-                                                  parts[3].trim(),  // Equity Nachkomma
-                                                  parts[4].trim(),  // Floating Ganzzahl
-                                                  parts[5].trim()); // Floating Nachkomma
-                    repairedLines.add(repaired);
-                    repairedCount++;
-                    LOGGER.fine("Repariert: " + line + " -> " + repaired);
-                } else if (parts.length == 4) {
-                    // Format bereits korrekt
-                    repairedLines.add(line);
-                } else {
-                    LOGGER.warning("Unbekanntes Format, überspringe Zeile: " + line);
-                    repairedLines.add(line);
-                }
+                // VERBESSERT: Streamend über Temp-Datei, Backup nur bei Änderungen
+                result = TickFileTransformer.transform(filePath, (line, lineNumber) -> {
+                    // Kommentare und leere Zeilen unverändert übernehmen
+                    if (line.trim().isEmpty() || line.trim().startsWith("#")) {
+                        return line;
+                    }
+                    
+                    String[] parts = line.split(",");
+                    
+                    if (parts.length == 6) {
+                        // Fehlerhaftes Format: 24.05.2025,15:22:13,53745,30,0,00
+                        // Repariere zu: 24.05.2025,15:22:13,53745.30,0.00
+                        String repaired = String.format("%s,%s,%s.%s,%s.%s",
+                                                      parts[0].trim(),  // Datum
+                                                      parts[1].trim(),  // Zeit
+                                                      parts[2].trim(),  // Equity Ganzzahl
+                                                      parts[3].trim(),  // Equity Nachkomma
+                                                      parts[4].trim(),  // Floating Ganzzahl
+                                                      parts[5].trim()); // Floating Nachkomma
+                        LOGGER.fine("Repariert: " + line + " -> " + repaired);
+                        return withChecksum(repaired);
+                    } else if (parts.length != 4) {
+                        LOGGER.warning("Unbekanntes Format, überspringe Zeile: " + line);
+                    }
+                    return line;
+                }, ".backup_" + System.currentTimeMillis());
             }
             
-            if (repairedCount > 0) {
-                // Reparierte Datei schreiben
-                Files.write(filePath, repairedLines, StandardCharsets.UTF_8);
-                LOGGER.info("Tick-Datei erfolgreich repariert: " + repairedCount + " Zeilen korrigiert");
-                return true;
+            if (result.isModified()) {
+                invalidateDerivedState(signalId, tickFilePath);
+                LOGGER.info("Tick-Datei erfolgreich repariert: " + result);
             } else {
                 LOGGER.info("Keine Reparatur notwendig für: " + tickFilePath);
-                // Backup löschen wenn keine Änderungen
-                Files.delete(backupPath);
-                return true;
             }
+            return true;
             
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Fehler beim Reparieren der Tick-Datei: " + tickFilePath, e);
@@ -1151,38 +1933,24 @@ public class TickDataWriter {
      * @return Map mit Signal-ID und Reparatur-Status
      */
     public Map<String, Boolean> repairAllTickFiles() {
-        Map<String, Boolean> results = new HashMap<>();
+        return repairAllTickFiles(null);
+    }
+    
+    /**
+     * VERBESSERT: Repariert alle Tick-Dateien parallel mit Fortschrittsmeldung
+     * 
+     * @param listener Fortschritts-Listener oder null
+     * @return Map mit Signal-ID und Reparatur-Status
+     */
+    public Map<String, Boolean> repairAllTickFiles(TickFileTransformer.ProgressListener listener) {
+        List<String> signalIds = listTickFileSignalIds();
+        LOGGER.info("Starte Reparatur aller Tick-Dateien in: " + config.getTickDir());
         
-        try {
-            Path tickDir = Paths.get(config.getTickDir());
-            
-            if (!Files.exists(tickDir)) {
-                LOGGER.warning("Tick-Verzeichnis existiert nicht: " + tickDir);
-                return results;
-            }
-            
-            LOGGER.info("Starte Reparatur aller Tick-Dateien in: " + tickDir);
-            
-            try (var stream = Files.list(tickDir)) {
-                List<Path> tickFiles = stream
-                    .filter(path -> path.toString().toLowerCase().endsWith(".txt"))
-                    .collect(java.util.stream.Collectors.toList());
-                
-                for (Path tickFile : tickFiles) {
-                    String fileName = tickFile.getFileName().toString();
-                    String signalId = fileName.substring(0, fileName.lastIndexOf('.'));
-                    
-                    boolean success = repairTickFile(signalId);
-                    results.put(signalId, success);
-                }
-            }
-            
-            long successCount = results.values().stream().filter(v -> v).count();
-            LOGGER.info("Reparatur abgeschlossen: " + successCount + "/" + results.size() + " erfolgreich");
-            
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Fehler beim Reparieren aller Tick-Dateien", e);
-        }
+        Map<String, Boolean> results = TickFileTransformer.processAll(signalIds, this::repairTickFile, listener);
+        results.replaceAll((signalId, success) -> success != null && success);
+        
+        long successCount = results.values().stream().filter(v -> v).count();
+        LOGGER.info("Reparatur abgeschlossen: " + successCount + "/" + results.size() + " erfolgreich");
         
         return results;
     }
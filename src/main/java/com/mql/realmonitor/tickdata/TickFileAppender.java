@@ -0,0 +1,301 @@
+package com.mql.realmonitor.tickdata;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * NEU: Gepuffertes Anhängen an Tick-Dateien mit Group Commit
+ * Hält pro Signal einen FileChannel offen (LRU-begrenzt) und sammelt Einträge im Speicher.
+ * Geschrieben wird gemeinsam am Ende eines Monitoring-Zyklus (flush) oder wenn
+ * Zeit- bzw. Größenschwelle erreicht sind.
+ * 
+ * Durability-Policy:
+ * - FLUSH: Daten werden beim Group Commit an das Betriebssystem übergeben (kein fsync)
+ * - FSYNC_BATCH: zusätzlich fsync pro Datei beim Group Commit
+ * - FSYNC_TICK: jeder Eintrag wird sofort geschrieben und per fsync gesichert
+ */
+public class TickFileAppender {
+    
+    private static final Logger LOGGER = Logger.getLogger(TickFileAppender.class.getName());
+    
+    /**
+     * Durability-Policy für das Schreiben der Tick-Dateien
+     */
+    public enum DurabilityPolicy {
+        FLUSH,
+        FSYNC_BATCH,
+        FSYNC_TICK;
+        
+        /**
+         * Liest die Policy aus dem Konfigurationswert, unbekannte Werte ergeben FLUSH
+         */
+        public static DurabilityPolicy fromConfigValue(String value) {
+            if (value != null) {
+                for (DurabilityPolicy policy : values()) {
+                    if (policy.name().equalsIgnoreCase(value.trim())) {
+                        return policy;
+                    }
+                }
+                LOGGER.warning("Unbekannte Tick-Durability '" + value + "', verwende FLUSH");
+            }
+            return FLUSH;
+        }
+    }
+    
+    /**
+     * Offene Tick-Datei mit ihrem Schreibpuffer
+     */
+    private static class OpenTickFile {
+        final FileChannel channel;
+        final ByteArrayOutputStream pending = new ByteArrayOutputStream(256);
+        
+        OpenTickFile(FileChannel channel) {
+            this.channel = channel;
+        }
+    }
+    
+    private final DurabilityPolicy policy;
+    private final int maxOpenFiles;
+    private final long flushIntervalMillis;
+    private final int flushBufferBytes;
+    
+    // Zugriffsreihenfolge für LRU - der älteste Eintrag wird beim Überschreiten geschlossen
+    private final LinkedHashMap<Path, OpenTickFile> openFiles = new LinkedHashMap<>(16, 0.75f, true);
+    
+    private int pendingBytes = 0;
+    private long oldestPendingMillis = 0;
+    
+    public TickFileAppender(DurabilityPolicy policy, int maxOpenFiles, int flushIntervalSeconds, int flushBufferKb) {
+        this.policy = policy != null ? policy : DurabilityPolicy.FLUSH;
+        this.maxOpenFiles = Math.max(1, maxOpenFiles);
+        this.flushIntervalMillis = Math.max(1, flushIntervalSeconds) * 1000L;
+        this.flushBufferBytes = Math.max(1, flushBufferKb) * 1024;
+        
+        LOGGER.info("TickFileAppender initialisiert: Policy=" + this.policy + ", max. offene Dateien=" + this.maxOpenFiles +
+                   ", Flush-Intervall=" + flushIntervalSeconds + "s, Puffer=" + flushBufferKb + " KB");
+    }
+    
+    /**
+     * Hängt Text an eine Datei an (gepuffert je nach Policy)
+     * 
+     * @param file Die Zieldatei
+     * @param text Der Text inkl. Zeilenende
+     */
+    public synchronized void append(Path file, String text) throws IOException {
+        append(file, text.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * NEU: Hängt Bytes an eine Datei an (z.B. Sätze des Binärformats)
+     * 
+     * @param file Die Zieldatei
+     * @param bytes Die anzuhängenden Bytes
+     */
+    public synchronized void append(Path file, byte[] bytes) throws IOException {
+        OpenTickFile openFile = getOrOpen(file);
+        
+        if (policy == DurabilityPolicy.FSYNC_TICK) {
+            writeFully(openFile.channel, bytes);
+            openFile.channel.force(false);
+            return;
+        }
+        
+        if (pendingBytes == 0) {
+            oldestPendingMillis = System.currentTimeMillis();
+        }
+        openFile.pending.write(bytes, 0, bytes.length);
+        pendingBytes += bytes.length;
+        
+        // Schwellen prüfen: Größe oder Alter der gepufferten Daten
+        if (pendingBytes >= flushBufferBytes ||
+            System.currentTimeMillis() - oldestPendingMillis >= flushIntervalMillis) {
+            flush();
+        }
+    }
+    
+    /**
+     * Group Commit: Schreibt alle gepufferten Einträge in ihre Dateien
+     * Bei FSYNC_BATCH wird jede beschriebene Datei anschließend per fsync gesichert.
+     * 
+     * @return Anzahl der geschriebenen Dateien
+     */
+    public synchronized int flush() {
+        if (pendingBytes == 0) {
+            return 0;
+        }
+        
+        int flushedFiles = 0;
+        int remainingBytes = 0;
+        
+        for (Map.Entry<Path, OpenTickFile> entry : openFiles.entrySet()) {
+            if (flushFile(entry.getKey(), entry.getValue())) {
+                flushedFiles++;
+            }
+            remainingBytes += entry.getValue().pending.size();
+        }
+        
+        LOGGER.fine("Group Commit: " + (pendingBytes - remainingBytes) + " Bytes in " + flushedFiles + 
+                   " Tick-Dateien geschrieben (" + policy + ")");
+        pendingBytes = remainingBytes;
+        oldestPendingMillis = System.currentTimeMillis();
+        return flushedFiles;
+    }
+    
+    /**
+     * Schreibt gepufferte Daten einer Datei und schließt ihren Channel
+     * Muss vor dem Umschreiben, Umbenennen oder Löschen einer Tick-Datei aufgerufen werden.
+     * KORRIGIERT: Schlägt das Schreiben fehl, bleiben Puffer und Channel erhalten (nächster Flush versucht es erneut)
+     * 
+     * @param file Die Datei
+     * @throws IOException wenn gepufferte Daten nicht geschrieben werden konnten - der Aufrufer muss abbrechen
+     */
+    public synchronized void release(Path file) throws IOException {
+        OpenTickFile openFile = openFiles.get(file);
+        if (openFile == null) {
+            return;
+        }
+        
+        int before = openFile.pending.size();
+        flushFile(file, openFile);
+        int remaining = openFile.pending.size();
+        pendingBytes -= before - remaining;
+        if (remaining > 0) {
+            throw new IOException("Tick-Datei hat " + remaining + " ungeschriebene Bytes im Puffer: " + file);
+        }
+        
+        openFiles.remove(file);
+        closeQuietly(file, openFile);
+    }
+    
+    /**
+     * Schreibt alle gepufferten Daten und schließt alle offenen Dateien
+     */
+    public synchronized void close() {
+        flush();
+        
+        Iterator<Map.Entry<Path, OpenTickFile>> it = openFiles.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Path, OpenTickFile> entry = it.next();
+            closeQuietly(entry.getKey(), entry.getValue());
+            it.remove();
+        }
+        
+        LOGGER.info("TickFileAppender geschlossen");
+    }
+    
+    /**
+     * @return true wenn für die Datei noch ungeschriebene Daten im Puffer liegen
+     */
+    public synchronized boolean hasPendingData(Path file) {
+        OpenTickFile openFile = openFiles.get(file);
+        return openFile != null && openFile.pending.size() > 0;
+    }
+    
+    /**
+     * @return Anzahl aktuell offener Tick-Dateien
+     */
+    public synchronized int getOpenFileCount() {
+        return openFiles.size();
+    }
+    
+    public DurabilityPolicy getPolicy() {
+        return policy;
+    }
+    
+    /**
+     * Liefert den offenen Channel einer Datei oder öffnet ihn (LRU-Verdrängung bei Überschreitung)
+     */
+    private OpenTickFile getOrOpen(Path file) throws IOException {
+        OpenTickFile openFile = openFiles.get(file);
+        if (openFile != null) {
+            return openFile;
+        }
+        
+        // LRU: älteste Dateien schließen bevor eine neue geöffnet wird
+        if (openFiles.size() >= maxOpenFiles) {
+            List<Path> toEvict = new ArrayList<>();
+            Iterator<Path> it = openFiles.keySet().iterator();
+            while (it.hasNext() && openFiles.size() - toEvict.size() >= maxOpenFiles) {
+                toEvict.add(it.next());
+            }
+            for (Path evict : toEvict) {
+                LOGGER.fine("LRU: Schließe Tick-Datei " + evict);
+                try {
+                    release(evict);
+                } catch (IOException e) {
+                    // Bleibt offen, damit der Puffer nicht verloren geht
+                    LOGGER.log(Level.WARNING, "LRU: Tick-Datei bleibt offen, Puffer konnte nicht geschrieben werden: " + evict, e);
+                }
+            }
+        }
+        
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        openFile = new OpenTickFile(channel);
+        openFiles.put(file, openFile);
+        return openFile;
+    }
+    
+    /**
+     * Schreibt den Puffer einer Datei, Fehler werden geloggt
+     * 
+     * @return true wenn Daten geschrieben wurden
+     */
+    private boolean flushFile(Path file, OpenTickFile openFile) {
+        if (openFile.pending.size() == 0) {
+            return false;
+        }
+        
+        byte[] bytes = openFile.pending.toByteArray();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            while (buffer.hasRemaining()) {
+                openFile.channel.write(buffer);
+            }
+            openFile.pending.reset();
+            
+            if (policy == DurabilityPolicy.FSYNC_BATCH) {
+                openFile.channel.force(false);
+            }
+            return true;
+        
+        } catch (IOException e) {
+            // KORRIGIERT: Nur den noch nicht geschriebenen Rest behalten - bereits geschriebene Bytes
+            // würden beim nächsten Flush sonst doppelt in der Datei landen
+            int written = buffer.position();
+            if (written > 0) {
+                openFile.pending.reset();
+                openFile.pending.write(bytes, written, bytes.length - written);
+            }
+            LOGGER.log(Level.SEVERE, "Fehler beim Group Commit für Tick-Datei " + file + 
+                      " (" + written + " von " + bytes.length + " Bytes geschrieben)", e);
+            return false;
+        }
+    }
+    
+    private static void writeFully(FileChannel channel, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+    
+    private static void closeQuietly(Path file, OpenTickFile openFile) {
+        try {
+            openFile.channel.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Schließen der Tick-Datei " + file, e);
+        }
+    }
+}
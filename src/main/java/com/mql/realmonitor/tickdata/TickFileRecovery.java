@@ -0,0 +1,146 @@
+package com.mql.realmonitor.tickdata;
+
+import com.mql.realmonitor.data.ReverseLineReader;
+import com.mql.realmonitor.data.TickLineChecksum;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Logger;
+
+/**
+ * NEU: Wiederherstellung von Tick-Dateien nach einem Absturz
+ * Prüft nur das Dateiende (rückwärts) bis zur letzten Zeile mit gültiger Prüfsumme
+ * und schneidet abgerissene oder beschädigte Zeilen ab. Die Kosten hängen damit von
+ * der Länge des beschädigten Endes ab, nicht von der Dateigröße.
+ * 
+ * Zeilen ohne Prüfsumme (ältere Dateien) gelten als gültig - für sie bleibt repairTickFile zuständig.
+ */
+public class TickFileRecovery {
+    
+    private static final Logger LOGGER = Logger.getLogger(TickFileRecovery.class.getName());
+    
+    // Maximale Anzahl Zeilen, die vom Dateiende her geprüft werden
+    private static final int MAX_TAIL_LINES = 64;
+    
+    /**
+     * Ergebnis einer Wiederherstellung
+     */
+    public static class RecoveryResult {
+        public int removedLines;
+        public long removedBytes;
+        public boolean newlineAppended;
+        
+        public boolean isModified() {
+            return removedBytes > 0 || newlineAppended;
+        }
+        
+        @Override
+        public String toString() {
+            return removedLines + " Zeile(n) / " + removedBytes + " Bytes entfernt" +
+                   (newlineAppended ? ", Zeilenende ergänzt" : "");
+        }
+    }
+    
+    /**
+     * Prüft das Ende einer Tick-Datei und schneidet ungültige Zeilen ab
+     * Jeder Eintrag wird inkl. Zeilenende in einem Stück geschrieben - eine letzte Zeile ohne
+     * Zeilenende ist daher abgerissen, außer ihre Prüfsumme ist gültig. Dann wird nur das
+     * Zeilenende ergänzt, damit der nächste Eintrag nicht an sie angehängt wird.
+     * 
+     * @param file Die Tick-Datei
+     * @return Ergebnis der Wiederherstellung
+     */
+    public static RecoveryResult recover(Path file) throws IOException {
+        RecoveryResult result = new RecoveryResult();
+        long size = Files.size(file);
+        long validEnd = size;
+        
+        if (size == 0) {
+            return result;
+        }
+        
+        boolean terminated;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            terminated = endsWithNewline(channel, size);
+        }
+        
+        try (ReverseLineReader reader = new ReverseLineReader(file)) {
+            String line;
+            int linesChecked = 0;
+            boolean lastLine = true;
+            while ((line = reader.readPreviousLine()) != null) {
+                if (linesChecked >= MAX_TAIL_LINES) {
+                    // KORRIGIERT: Nicht stillschweigend aufhören - davor liegende Zeilen bleiben ungeprüft
+                    LOGGER.warning("Wiederherstellung von " + file + ": " + MAX_TAIL_LINES + 
+                                  " ungültige Zeilen am Dateiende entfernt, ältere Zeilen wurden nicht geprüft");
+                    break;
+                }
+                
+                boolean unterminated = lastLine && !terminated;
+                lastLine = false;
+                
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() && !containsGarbage(line)) {
+                    continue;
+                }
+                if (trimmed.startsWith("#")) {
+                    break; // Header erreicht
+                }
+                
+                TickLineChecksum.Status status = TickLineChecksum.verify(trimmed);
+                linesChecked++;
+                
+                boolean valid = unterminated ? status == TickLineChecksum.Status.VALID
+                                             : status != TickLineChecksum.Status.INVALID;
+                if (valid && !containsGarbage(line)) {
+                    break; // Letzte gültige Zeile - alles davor gilt als intakt
+                }
+                
+                LOGGER.warning("Ungültige Tick-Zeile am Dateiende von " + file + ": '" + trimmed + "'");
+                validEnd = reader.getLineStartOffset();
+                result.removedLines++;
+            }
+        }
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (validEnd < size) {
+                channel.truncate(validEnd);
+                result.removedBytes = size - validEnd;
+            } else if (!terminated) {
+                channel.write(ByteBuffer.wrap(System.lineSeparator().getBytes(StandardCharsets.UTF_8)), size);
+                result.newlineAppended = true;
+            }
+            
+            if (result.isModified()) {
+                channel.force(false);
+                LOGGER.info("Tick-Datei wiederhergestellt: " + file + " - " + result);
+            }
+        }
+        
+        return result;
+    }
+    
+    private static boolean endsWithNewline(FileChannel channel, long size) throws IOException {
+        ByteBuffer last = ByteBuffer.allocate(1);
+        channel.read(last, size - 1);
+        return last.get(0) == '\n';
+    }
+    
+    /**
+     * Erkennt Datenmüll aus abgebrochenen Schreibvorgängen (Null-Bytes, ungültiges UTF-8)
+     */
+    private static boolean containsGarbage(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if ((c < 0x20 && c != '\t') || c == '\uFFFD') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
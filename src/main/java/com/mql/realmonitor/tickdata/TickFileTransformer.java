@@ -0,0 +1,158 @@
+package com.mql.realmonitor.tickdata;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * NEU: Streamende Wartungs-Pipeline für Tick-Dateien
+ * Dateien werden Zeile für Zeile in eine Temp-Datei transformiert und atomar umbenannt -
+ * der Speicherbedarf ist unabhängig von der Dateigröße. Mehrere Dateien werden parallel
+ * in einem Fork-Join-Pool bearbeitet, der Fortschritt wird an einen Listener gemeldet.
+ */
+public class TickFileTransformer {
+    
+    private static final Logger LOGGER = Logger.getLogger(TickFileTransformer.class.getName());
+    
+    // Festplatten-gebunden - mehr Threads bringen keinen Gewinn
+    private static final int MAX_PARALLELISM = 4;
+    
+    /**
+     * Transformation einer einzelnen Zeile
+     */
+    @FunctionalInterface
+    public interface LineTransform {
+        /**
+         * @param line Die Zeile ohne Zeilenende
+         * @param lineNumber Zeilennummer (1-basiert)
+         * @return Die neue Zeile (die unveränderte Zeile, wenn nichts zu tun ist)
+         */
+        String apply(String line, int lineNumber);
+    }
+    
+    /**
+     * Fortschritt einer Wartungsaufgabe über mehrere Dateien
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(int completed, int total, String signalId);
+    }
+    
+    /**
+     * Ergebnis einer Datei-Transformation
+     */
+    public static class TransformResult {
+        public int linesRead;
+        public int linesChanged;
+        public Path backupPath;
+        
+        public boolean isModified() {
+            return linesChanged > 0;
+        }
+        
+        @Override
+        public String toString() {
+            return linesChanged + " von " + linesRead + " Zeilen geändert" +
+                   (backupPath != null ? ", Backup: " + backupPath.getFileName() : "");
+        }
+    }
+    
+    /**
+     * Transformiert eine Datei zeilenweise über eine Temp-Datei
+     * Nur wenn sich mindestens eine Zeile ändert, wird ein Backup angelegt und die Datei atomar ersetzt.
+     * 
+     * @param file Die zu transformierende Datei
+     * @param transform Die Zeilen-Transformation
+     * @param backupSuffix Suffix für das Backup oder null für kein Backup
+     * @return Ergebnis der Transformation
+     */
+    public static TransformResult transform(Path file, LineTransform transform, String backupSuffix) throws IOException {
+        TransformResult result = new TransformResult();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                result.linesRead++;
+                String transformed = transform.apply(line, result.linesRead);
+                if (!line.equals(transformed)) {
+                    result.linesChanged++;
+                }
+                writer.write(transformed);
+                writer.newLine();
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        
+        if (!result.isModified()) {
+            Files.deleteIfExists(temp);
+            return result;
+        }
+        
+        if (backupSuffix != null) {
+            result.backupPath = file.resolveSibling(file.getFileName() + backupSuffix);
+            Files.copy(file, result.backupPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return result;
+    }
+    
+    /**
+     * Führt eine Aufgabe für mehrere Signale parallel aus
+     * Fehler einzelner Aufgaben werden geloggt und als null-Ergebnis eingetragen.
+     * 
+     * @param signalIds Die zu bearbeitenden Signale
+     * @param job Die Aufgabe pro Signal
+     * @param listener Fortschritts-Listener oder null
+     * @return Map mit Signal-ID und Ergebnis
+     */
+    public static <R> Map<String, R> processAll(List<String> signalIds, Function<String, R> job, ProgressListener listener) {
+        Map<String, R> results = Collections.synchronizedMap(new HashMap<>());
+        AtomicInteger completed = new AtomicInteger();
+        int total = signalIds.size();
+        int parallelism = Math.max(1, Math.min(MAX_PARALLELISM, Runtime.getRuntime().availableProcessors()));
+        
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> signalIds.parallelStream().forEach(signalId -> {
+                R result = null;
+                try {
+                    result = job.apply(signalId);
+                } catch (Exception e) {
+                    LOGGER.log(Level.SEVERE, "Fehler bei der Bearbeitung von Signal " + signalId, e);
+                }
+                results.put(signalId, result);
+                
+                if (listener != null) {
+                    listener.onProgress(completed.incrementAndGet(), total, signalId);
+                }
+            })).get();
+        
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Fehler bei der parallelen Bearbeitung der Tick-Dateien", e);
+        } finally {
+            pool.shutdown();
+        }
+        
+        return new HashMap<>(results);
+    }
+}
@@ -7,6 +7,8 @@ import java.time.LocalTime;
 import java.util.List;
 import java.util.logging.Logger;
 
+import com.mql.realmonitor.data.DepositEventIndex;
+import com.mql.realmonitor.data.TickDataCache;
 import com.mql.realmonitor.data.TickDataLoader;
 import com.mql.realmonitor.data.TickDataLoader.TickData;
 import com.mql.realmonitor.data.TickDataLoader.TickDataSet;
@@ -32,145 +34,43 @@ public class PeriodProfitCalculator {
      * KONZEPT:
      * - Drawdown % → verwendet echte Equity (mit Ein-/Auszahlungen) - bleibt in SignalData
      * - Gewinn % → verwendet bereinigte Equity (ohne Ein-/Auszahlungen)
+     * Die Erkennung selbst läuft beim Schreiben im DepositEventIndex.
      */
     public static class DepositWithdrawalDetector {
         
         private static final Logger LOGGER = Logger.getLogger(DepositWithdrawalDetector.class.getName());
         
-        // Schwellwerte für Ein-/Auszahlungserkennung
-        private static final double MINIMUM_AMOUNT_THRESHOLD = 100.0;     // Mindest-Betrag
-        private static final double PERCENTAGE_THRESHOLD = 0.03;          // 3% Equity-Sprung
-        private static final double TIME_THRESHOLD_MINUTES = 30.0;        // Max 30 Minuten zwischen Ticks
-        
         /**
-         * Erkennt Ein-/Auszahlungen zwischen zwei aufeinanderfolgenden Ticks
-         * 
-         * Logik: Wenn Equity-Änderung deutlich von Performance-Änderung abweicht
+         * NEU: Berechnet bereinigte Equity-Basis aus dem Ein-/Auszahlungs-Index des Signals
+         * Die Basis ist bewusst die Equity am Referenz-Tick: Der Zähler (Profit + FloatingProfit) enthält keine
+         * Ein-/Auszahlungen, spätere Ein-/Auszahlungen verändern das Kapital zu Periodenbeginn nicht.
+         * Die Ein-/Auszahlungen nach dem Referenz-Tick werden nur zur Diagnose protokolliert (Präfixsummen, O(log n)).
          */
-        public static boolean isDepositOrWithdrawal(TickData previousTick, TickData currentTick) {
-            if (previousTick == null || currentTick == null) return false;
-            
-            // Zeitdifferenz prüfen (nur bei aufeinanderfolgenden Ticks sinnvoll)
-            long timeDiffMinutes = java.time.Duration.between(
-                previousTick.getTimestamp(), currentTick.getTimestamp()).toMinutes();
-            
-            if (timeDiffMinutes > TIME_THRESHOLD_MINUTES) {
-                // Bei großen Zeitabständen keine Ein-/Auszahlungserkennung
-                return false;
-            }
-            
-            // Berechne Änderungen
-            double equityChange = currentTick.getEquity() - previousTick.getEquity();
-            double profitChange = currentTick.getProfit() - previousTick.getProfit();
-            double floatingChange = currentTick.getFloatingProfit() - previousTick.getFloatingProfit();
-            double performanceChange = profitChange + floatingChange;
-            
-            // Unerwartete Equity-Änderung (potentielle Ein-/Auszahlung)
-            double unexpectedChange = equityChange - performanceChange;
-            
-            // Schwellwert-Prüfungen
-            boolean absoluteThreshold = Math.abs(unexpectedChange) > MINIMUM_AMOUNT_THRESHOLD;
-            boolean percentageThreshold = Math.abs(unexpectedChange / previousTick.getEquity()) > PERCENTAGE_THRESHOLD;
-            
-            boolean isDepositWithdrawal = absoluteThreshold && percentageThreshold;
-            
-            if (isDepositWithdrawal) {
-                String type = unexpectedChange > 0 ? "EINZAHLUNG" : "AUSZAHLUNG";
-                LOGGER.info("DEPOSIT/WITHDRAWAL DETECTED (" + type + "): " +
-                           "Equity: " + String.format("%.2f → %.2f (Δ %.2f)", 
-                                       previousTick.getEquity(), currentTick.getEquity(), equityChange) + 
-                           ", Performance: Δ " + String.format("%.2f", performanceChange) + 
-                           ", Unexpected: " + String.format("%.2f", unexpectedChange) + 
-                           " (Timestamp: " + currentTick.getTimestamp() + ")");
-            }
-            
-            return isDepositWithdrawal;
-        }
-        
-        /**
-         * Berechnet bereinigte Equity-Basis für Gewinn-Prozent-Berechnungen
-         * 
-         * Entfernt Ein-/Auszahlungseffekte aus der Equity-Entwicklung
-         */
-        public static double calculateCleanEquityBasis(List<TickData> allTicks, TickData referenceTick) {
-            if (allTicks == null || allTicks.isEmpty() || referenceTick == null) {
+        public static double calculateCleanEquityBasis(DepositEventIndex events, TickData referenceTick) {
+            if (events == null || referenceTick == null) {
                 return 0.0;
             }
             
-            // Finde Referenz-Tick in der Liste
-            int referenceIndex = findTickIndex(allTicks, referenceTick);
-            if (referenceIndex == -1) {
-                // Referenz-Tick nicht gefunden, verwende echte Equity
-                LOGGER.warning("CLEAN EQUITY: Referenz-Tick nicht gefunden, verwende echte Equity: " + 
-                              referenceTick.getEquity());
-                return referenceTick.getEquity();
-            }
-            
-            // Starte mit der Equity vom Referenz-Tick
-            double cleanEquity = referenceTick.getEquity();
-            double totalDepositsAfterReference = 0.0;
-            
-            LOGGER.info("CLEAN EQUITY BASIS: Start mit Referenz-Equity: " + cleanEquity + 
-                       " (Referenz-Index: " + referenceIndex + ")");
-            
-            // Analysiere alle Ticks nach dem Referenz-Tick für Ein-/Auszahlungen
-            for (int i = referenceIndex + 1; i < allTicks.size(); i++) {
-                TickData prevTick = allTicks.get(i - 1);
-                TickData currTick = allTicks.get(i);
-                
-                if (isDepositOrWithdrawal(prevTick, currTick)) {
-                    double equityChange = currTick.getEquity() - prevTick.getEquity();
-                    double profitChange = currTick.getProfit() - prevTick.getProfit();
-                    double floatingChange = currTick.getFloatingProfit() - prevTick.getFloatingProfit();
-                    double performanceChange = profitChange + floatingChange;
-                    
-                    // Der Ein-/Auszahlungsbetrag
-                    double depositAmount = equityChange - performanceChange;
-                    totalDepositsAfterReference += depositAmount;
-                    
-                    LOGGER.info("CLEAN EQUITY ADJUSTMENT: " + 
-                               (depositAmount > 0 ? "Einzahlung" : "Auszahlung") + " von " + 
-                               String.format("%.2f", Math.abs(depositAmount)) + 
-                               " bei Tick " + i + " (" + currTick.getTimestamp() + ")");
-                }
-            }
-            
             // Bereinigte Equity = Original Equity am Referenzpunkt
             // (Ein-/Auszahlungen NACH dem Referenzpunkt beeinflussen die Basis nicht)
-            double finalCleanEquity = cleanEquity;
+            double cleanEquity = referenceTick.getEquity();
+            double totalDepositsAfterReference = events.getAmountAfter(referenceTick.getTimestamp());
             
             LOGGER.info("CLEAN EQUITY BERECHNUNG: " +
                        "Referenz-Equity: " + cleanEquity + 
                        ", Deposits nach Referenz: " + String.format("%.2f", totalDepositsAfterReference) + 
-                       ", Finale bereinigte Equity-Basis: " + finalCleanEquity);
+                       " (" + events.getEventCountAfter(referenceTick.getTimestamp()) + " Ereignisse aus Index)" +
+                       ", Finale bereinigte Equity-Basis: " + cleanEquity);
             
-            return finalCleanEquity;
-        }
-        
-        /**
-         * Hilfsmethode: Findet Index eines Ticks in der Liste
-         */
-        private static int findTickIndex(List<TickData> ticks, TickData targetTick) {
-            for (int i = 0; i < ticks.size(); i++) {
-                if (ticks.get(i).getTimestamp().equals(targetTick.getTimestamp())) {
-                    return i;
-                }
-            }
-            return -1;
+            return cleanEquity;
         }
         
         /**
-         * Berechnet bereinigte Gewinn-Prozente mit Ein-/Auszahlungskorrektur
-         * 
-         * WICHTIG: Verwendet bereinigte Equity-Basis statt echter Equity
+         * NEU: Berechnet bereinigte Gewinn-Prozente mit bereits ermittelter Equity-Basis
+         * (z.B. aus dem inkrementellen PeriodProfitEngine, ohne erneuten Durchlauf über die Ticks)
          */
-        public static double calculateCleanPercentage(double performanceChange, 
-                                                     List<TickData> allTicks, 
-                                                     TickData referenceTick) {
-            
-            // Berechne bereinigte Equity-Basis zum Referenzzeitpunkt
-            double cleanEquityBasis = calculateCleanEquityBasis(allTicks, referenceTick);
-            
+        public static double calculateCleanPercentage(double performanceChange, TickData referenceTick, 
+                                                     double cleanEquityBasis) {
             // Fallback: Wenn bereinigte Equity zu klein oder ungültig
             if (cleanEquityBasis <= 0) {
                 cleanEquityBasis = referenceTick.getEquity();
@@ -333,8 +233,20 @@ public class PeriodProfitCalculator {
         
         LOGGER.info("CLEAN PROFITS: Berechne Profits mit Ein-/Auszahlungskorrektur für Signal " + signalId + " - Tick-Datei: " + tickFilePath);
         
-        // Tick-Daten laden
-        TickDataSet dataSet = TickDataLoader.loadTickData(tickFilePath, signalId);
+        LocalDateTime now = LocalDateTime.now();
+        
+        // Referenzzeitpunkte ermitteln
+        LocalDateTime weekStart = getLastSunday(now);
+        LocalDateTime monthStart = getFirstOfCurrentMonth(now);
+        
+        // VERBESSERT: Nur Ticks ab dem früheren Referenzzeitpunkt laden (bei Zeit-Segmenten
+        // bzw. Binärformat wird ältere Historie nicht gelesen). Reichen die Ticks dafür nicht,
+        // wird wie bisher die komplette Historie geladen (Fallback-Strategien 2 und 3).
+        LocalDateTime windowStart = weekStart.isBefore(monthStart) ? weekStart : monthStart;
+        TickDataSet dataSet = TickDataCache.getTickDataSince(tickFilePath, signalId, windowStart);
+        if (dataSet == null || dataSet.getTickCount() < 2) {
+            dataSet = TickDataCache.getTickData(tickFilePath, signalId);
+        }
         if (dataSet == null || dataSet.getTickCount() == 0) {
             LOGGER.warning("CLEAN PROFITS: Keine Tick-Daten verfügbar für Signal " + signalId + " - Datei: " + tickFilePath);
             return new ProfitResult(0.0, 0.0, 0.0, 0.0, currency, false, false, "Keine Tick-Daten verfügbar: " + tickFilePath, "", "");
@@ -354,13 +266,9 @@ public class PeriodProfitCalculator {
         double currentPerformance = latestTick.getProfit() + latestTick.getFloatingProfit();
         
         // Initiale Equity als Fallback-Basis für prozentuale Berechnungen (vom ersten Tick)
-        double initialEquity = dataSet.getFirstTick().getEquity();
-        
-        LocalDateTime now = LocalDateTime.now();
-        
-        // Referenzzeitpunkte ermitteln
-        LocalDateTime weekStart = getLastSunday(now);
-        LocalDateTime monthStart = getFirstOfCurrentMonth(now);
+        // KORRIGIERT: Vom ersten Tick der kompletten Historie, nicht vom ersten Tick des geladenen Zeitfensters
+        TickData historyFirstTick = TickDataLoader.loadFirstTick(tickFilePath, signalId);
+        double initialEquity = (historyFirstTick != null ? historyFirstTick : dataSet.getFirstTick()).getEquity();
         
         LOGGER.info("CLEAN PROFITS: Signal " + signalId + " - Aktuell: " + now + 
                    ", Wochenstart: " + weekStart + ", Monatsstart: " + monthStart + 
@@ -377,153 +285,197 @@ public class PeriodProfitCalculator {
                    " (Performance: " + (lastTick.getProfit() + lastTick.getFloatingProfit()) + ")");
         
         // PERFORMANCE-BASIERT: Suche Performance für Referenzzeitpunkte
-        PerformanceSearchResult weekPerformanceResult = findBestPerformanceForReference(ticks, weekStart, "Wochenstart", signalId);
-        PerformanceSearchResult monthPerformanceResult = findBestPerformanceForReference(ticks, monthStart, "Monatsstart", signalId);
-        
-        // Performance-Berechnungen
-        boolean hasWeeklyData = weekPerformanceResult.hasValidData();
-        boolean hasMonthlyData = monthPerformanceResult.hasValidData();
-        
-        double weeklyProfit = 0.0;
-        double monthlyProfit = 0.0;
-        double weeklyProfitCurrency = 0.0;    // NEU
-        double monthlyProfitCurrency = 0.0;   // NEU
-        
-        // NEU: Tooltip-Informationen aufbauen
-        String weeklyTooltip = "";
-        String monthlyTooltip = "";
-        
-        // WOCHENGEWINN mit bereinigter Equity-Basis
-        if (hasWeeklyData) {
-            double weekStartPerformance = weekPerformanceResult.getPerformance();
-            double performanceChange = currentPerformance - weekStartPerformance;
-            weeklyProfitCurrency = performanceChange;
-            
-            // Finde Referenz-Tick für Wochenstart
-            TickData weekReferenceTick = findTickForPerformanceResult(ticks, weekPerformanceResult);
-            
-            if (weekReferenceTick != null) {
-                // NEUE BERECHNUNG: Mit Ein-/Auszahlungskorrektur
-                weeklyProfit = DepositWithdrawalDetector.calculateCleanPercentage(
-                    performanceChange, ticks, weekReferenceTick);
-                
-                double cleanEquity = DepositWithdrawalDetector.calculateCleanEquityBasis(ticks, weekReferenceTick);
-                
-                weeklyTooltip = String.format("Weekly Profit (BEREINIGT):\n\n" +
-                                            "Aktuelle Performance: %.2f %s\n" +
-                                            "Performance am %s: %.2f %s\n" +
-                                            "Differenz: %.2f %s\n\n" +
-                                            "Bereinigte Equity-Basis: %.2f %s\n" +
-                                            "Prozentual: %.2f%%\n\n" +
-                                            "Ein-/Auszahlungen werden erkannt und bereinigt",
-                                            currentPerformance, currency != null ? currency : "",
-                                            weekStart.toLocalDate(), weekStartPerformance, currency != null ? currency : "",
-                                            weeklyProfitCurrency, currency != null ? currency : "",
-                                            cleanEquity, currency != null ? currency : "",
-                                            weeklyProfit);
-            } else {
-                // Fallback: Ursprüngliche Berechnung mit initialer Equity
-                weeklyProfit = (performanceChange / initialEquity) * 100.0;
-                weeklyTooltip = "Weekly Profit (Fallback): Bereinigte Berechnung nicht möglich, verwende initiale Equity als Basis";
-                
-                LOGGER.warning("CLEAN PROFITS: Wochengewinn Fallback für Signal " + signalId + 
-                              " - Verwende initiale Equity: " + initialEquity);
-            }
-            
-            LOGGER.info("CLEAN PROFITS: Wochengewinn berechnet für Signal " + signalId + ": " + 
-                       String.format("%.4f%%", weeklyProfit) + 
-                       " (Currency: " + String.format("%.2f", weeklyProfitCurrency) + " " + (currency != null ? currency : "") + ")");
-        } else {
-            LOGGER.warning("CLEAN PROFITS: Signal " + signalId + " - Keine gültigen Wochendaten verfügbar");
-            weeklyTooltip = "Keine Daten für Wochengewinn verfügbar\n\n" +
-                          "Benötigt mindestens einen Tick seit Wochenstart\n" +
-                          "oder historische Daten vor dem Wochenstart";
+        PerformanceSearchResult weekPerformanceResult = findBestPerformanceForReference(dataSet, weekStart, "Wochenstart", signalId);
+        PerformanceSearchResult monthPerformanceResult = findBestPerformanceForReference(dataSet, monthStart, "Monatsstart", signalId);
+        
+        // Referenz-Ticks mit bereinigter Equity-Basis
+        // VERBESSERT: Ein-/Auszahlungen aus dem beim Schreiben geführten Index statt erneuter Analyse der Ticks
+        DepositEventIndex events = DepositEventIndex.open(tickFilePath, signalId);
+        TickData weekReferenceTick = findTickForPerformanceResult(dataSet, weekPerformanceResult);
+        TickData monthReferenceTick = findTickForPerformanceResult(dataSet, monthPerformanceResult);
+        PeriodReference weekReference = new PeriodReference(weekStart, weekPerformanceResult, weekReferenceTick,
+            weekReferenceTick != null ? DepositWithdrawalDetector.calculateCleanEquityBasis(events, weekReferenceTick) : 0.0);
+        PeriodReference monthReference = new PeriodReference(monthStart, monthPerformanceResult, monthReferenceTick,
+            monthReferenceTick != null ? DepositWithdrawalDetector.calculateCleanEquityBasis(events, monthReferenceTick) : 0.0);
+        
+        return createProfitResult(signalId, currency, latestTick, initialEquity, weekReference, monthReference);
+    }
+    
+    /**
+     * NEU: Berechnet Wochen- und Monatsgewinne inkrementell über den PeriodProfitEngine des Signals
+     * Die Tick-Datei wird nur beim ersten Aufruf gelesen, danach hält der Engine die Referenz-Ticks
+     * und wird vom TickDataWriter mit jedem neuen Tick fortgeschrieben (O(1) pro Tick und Abfrage).
+     * 
+     * @param tickFilePath Pfad zur Tick-Datei
+     * @param signalId Die Signal-ID
+     * @param currency Die Währung für Currency-Berechnungen (optional)
+     * @return ProfitResult mit den berechneten Werten
+     */
+    public static ProfitResult calculateProfitsIncremental(String tickFilePath, String signalId, String currency) {
+        if (tickFilePath == null || signalId == null) {
+            LOGGER.warning("CLEAN PROFITS: Ungültige Parameter für Profit-Berechnung: tickFilePath=" + tickFilePath + ", signalId=" + signalId);
+            return new ProfitResult(0.0, 0.0, 0.0, 0.0, currency, false, false, "Ungültige Parameter", "", "");
         }
         
-        // MONATSGEWINN mit bereinigter Equity-Basis
-        if (hasMonthlyData) {
-            double monthStartPerformance = monthPerformanceResult.getPerformance();
-            double performanceChange = currentPerformance - monthStartPerformance;
-            monthlyProfitCurrency = performanceChange;
-            
-            // Finde Referenz-Tick für Monatsstart
-            TickData monthReferenceTick = findTickForPerformanceResult(ticks, monthPerformanceResult);
-            
-            if (monthReferenceTick != null) {
-                // NEUE BERECHNUNG: Mit Ein-/Auszahlungskorrektur
-                monthlyProfit = DepositWithdrawalDetector.calculateCleanPercentage(
-                    performanceChange, ticks, monthReferenceTick);
-                
-                double cleanEquity = DepositWithdrawalDetector.calculateCleanEquityBasis(ticks, monthReferenceTick);
-                
-                monthlyTooltip = String.format("Monthly Profit (BEREINIGT):\n\n" +
-                                             "Aktuelle Performance: %.2f %s\n" +
-                                             "Performance am %s: %.2f %s\n" +
-                                             "Differenz: %.2f %s\n\n" +
-                                             "Bereinigte Equity-Basis: %.2f %s\n" +
-                                             "Prozentual: %.2f%%\n\n" +
-                                             "Ein-/Auszahlungen werden erkannt und bereinigt",
-                                             currentPerformance, currency != null ? currency : "",
-                                             monthStart.toLocalDate(), monthStartPerformance, currency != null ? currency : "",
-                                             monthlyProfitCurrency, currency != null ? currency : "",
-                                             cleanEquity, currency != null ? currency : "",
-                                             monthlyProfit);
-            } else {
-                // Fallback: Ursprüngliche Berechnung mit initialer Equity
-                monthlyProfit = (performanceChange / initialEquity) * 100.0;
-                monthlyTooltip = "Monthly Profit (Fallback): Bereinigte Berechnung nicht möglich, verwende initiale Equity als Basis";
-                
-                LOGGER.warning("CLEAN PROFITS: Monatsgewinn Fallback für Signal " + signalId + 
-                              " - Verwende initiale Equity: " + initialEquity);
-            }
-            
-            LOGGER.info("CLEAN PROFITS: Monatsgewinn berechnet für Signal " + signalId + ": " + 
-                       String.format("%.4f%%", monthlyProfit) + 
-                       " (Currency: " + String.format("%.2f", monthlyProfitCurrency) + " " + (currency != null ? currency : "") + ")");
-        } else {
-            LOGGER.warning("CLEAN PROFITS: Signal " + signalId + " - Keine gültigen Monatsdaten verfügbar");
-            monthlyTooltip = "Keine Daten für Monatsgewinn verfügbar\n\n" +
-                           "Benötigt mindestens einen Tick seit Monatsstart\n" +
-                           "oder historische Daten vor dem Monatsstart";
-        }
+        return PeriodProfitEngine.open(tickFilePath, signalId).getResult(currency);
+    }
+    
+    /**
+     * NEU: Erstellt das ProfitResult aus dem aktuellen Tick und den Referenzpunkten von Woche und Monat
+     * Gemeinsam genutzt von der vollständigen Berechnung und dem inkrementellen PeriodProfitEngine.
+     * 
+     * @param latestTick Der neueste Tick
+     * @param initialEquity Equity des ersten Ticks (Fallback-Basis)
+     */
+    static ProfitResult createProfitResult(String signalId, String currency, TickData latestTick, double initialEquity,
+                                           PeriodReference weekReference, PeriodReference monthReference) {
+        // PERFORMANCE-BASIERT: Aktuelle Gesamt-Performance (Profit + FloatingProfit)
+        double currentPerformance = latestTick.getProfit() + latestTick.getFloatingProfit();
+        
+        // WOCHENGEWINN bzw. MONATSGEWINN mit bereinigter Equity-Basis
+        PeriodProfit weekly = calculatePeriodProfit(weekReference, "Weekly", "Wochen", currentPerformance, initialEquity, currency, signalId);
+        PeriodProfit monthly = calculatePeriodProfit(monthReference, "Monthly", "Monats", currentPerformance, initialEquity, currency, signalId);
         
         // Diagnostik-Informationen
         StringBuilder diagnostic = new StringBuilder();
         diagnostic.append("Signal: ").append(signalId).append(" [CLEAN PERCENTAGES WITH DEPOSIT/WITHDRAWAL DETECTION], ");
         diagnostic.append("Current Performance: ").append(String.format("%.2f", currentPerformance)).append(", ");
         diagnostic.append("Initial Equity: ").append(String.format("%.2f", initialEquity)).append(", ");
-        diagnostic.append("Week: ").append(weekPerformanceResult.getDiagnosticInfo()).append(", ");
-        diagnostic.append("Month: ").append(monthPerformanceResult.getDiagnosticInfo());
+        diagnostic.append("Week: ").append(weekReference.searchResult.getDiagnosticInfo()).append(", ");
+        diagnostic.append("Month: ").append(monthReference.searchResult.getDiagnosticInfo());
         
-        LOGGER.info("CLEAN PROFITS: Ergebnis für " + signalId + ": WeeklyProfit=" + String.format("%.4f%%", weeklyProfit) + 
-                   " (" + String.format("%.2f", weeklyProfitCurrency) + " " + (currency != null ? currency : "") + ")" +
-                   ", MonthlyProfit=" + String.format("%.4f%%", monthlyProfit) + 
-                   " (" + String.format("%.2f", monthlyProfitCurrency) + " " + (currency != null ? currency : "") + ")");
+        LOGGER.info("CLEAN PROFITS: Ergebnis für " + signalId + ": WeeklyProfit=" + String.format("%.4f%%", weekly.percent) + 
+                   " (" + String.format("%.2f", weekly.currencyAmount) + " " + (currency != null ? currency : "") + ")" +
+                   ", MonthlyProfit=" + String.format("%.4f%%", monthly.percent) + 
+                   " (" + String.format("%.2f", monthly.currencyAmount) + " " + (currency != null ? currency : "") + ")");
         
-        return new ProfitResult(weeklyProfit, monthlyProfit, weeklyProfitCurrency, monthlyProfitCurrency, currency,
-                               hasWeeklyData, hasMonthlyData, diagnostic.toString(), weeklyTooltip, monthlyTooltip);
+        return new ProfitResult(weekly.percent, monthly.percent, weekly.currencyAmount, monthly.currencyAmount, currency,
+                               weekReference.searchResult.hasValidData(), monthReference.searchResult.hasValidData(), 
+                               diagnostic.toString(), weekly.tooltip, monthly.tooltip);
+    }
+    
+    /**
+     * NEU: Gewinn eines Zeitraums (Prozent, Betrag und Tooltip)
+     */
+    private static class PeriodProfit {
+        final double percent;
+        final double currencyAmount;
+        final String tooltip;
+        
+        PeriodProfit(double percent, double currencyAmount, String tooltip) {
+            this.percent = percent;
+            this.currencyAmount = currencyAmount;
+            this.tooltip = tooltip;
+        }
+    }
+    
+    /**
+     * Berechnet den Gewinn seit dem Referenzpunkt eines Zeitraums
+     * 
+     * @param label "Weekly" bzw. "Monthly" (Tooltip)
+     * @param period "Wochen" bzw. "Monats" (Log und Tooltip)
+     */
+    private static PeriodProfit calculatePeriodProfit(PeriodReference reference, String label, String period,
+                                                      double currentPerformance, double initialEquity, 
+                                                      String currency, String signalId) {
+        String unit = currency != null ? currency : "";
+        
+        if (!reference.searchResult.hasValidData()) {
+            LOGGER.warning("CLEAN PROFITS: Signal " + signalId + " - Keine gültigen " + period + "daten verfügbar");
+            return new PeriodProfit(0.0, 0.0, "Keine Daten für " + period + "gewinn verfügbar\n\n" +
+                                    "Benötigt mindestens einen Tick seit " + period + "start\n" +
+                                    "oder historische Daten vor dem " + period + "start");
+        }
+        
+        double periodStartPerformance = reference.searchResult.getPerformance();
+        double performanceChange = currentPerformance - periodStartPerformance;
+        double percent;
+        String tooltip;
+        
+        if (reference.referenceTick != null) {
+            // NEUE BERECHNUNG: Mit Ein-/Auszahlungskorrektur
+            percent = DepositWithdrawalDetector.calculateCleanPercentage(
+                performanceChange, reference.referenceTick, reference.cleanEquityBasis);
+            
+            tooltip = String.format(label + " Profit (BEREINIGT):\n\n" +
+                                    "Aktuelle Performance: %.2f %s\n" +
+                                    "Performance am %s: %.2f %s\n" +
+                                    "Differenz: %.2f %s\n\n" +
+                                    "Bereinigte Equity-Basis: %.2f %s\n" +
+                                    "Prozentual: %.2f%%\n\n" +
+                                    "Ein-/Auszahlungen werden erkannt und bereinigt",
+                                    currentPerformance, unit,
+                                    reference.periodStart.toLocalDate(), periodStartPerformance, unit,
+                                    performanceChange, unit,
+                                    reference.cleanEquityBasis, unit,
+                                    percent);
+        } else {
+            // Fallback: Ursprüngliche Berechnung mit initialer Equity
+            percent = (performanceChange / initialEquity) * 100.0;
+            tooltip = label + " Profit (Fallback): Bereinigte Berechnung nicht möglich, verwende initiale Equity als Basis";
+            
+            LOGGER.warning("CLEAN PROFITS: " + period + "gewinn Fallback für Signal " + signalId + 
+                          " - Verwende initiale Equity: " + initialEquity);
+        }
+        
+        LOGGER.info("CLEAN PROFITS: " + period + "gewinn berechnet für Signal " + signalId + ": " + 
+                   String.format("%.4f%%", percent) + 
+                   " (Currency: " + String.format("%.2f", performanceChange) + " " + unit + ")");
+        
+        return new PeriodProfit(percent, performanceChange, tooltip);
+    }
+    
+    /**
+     * NEU: Referenzpunkt eines Zeitraums (Wochen- bzw. Monatsstart) mit Referenz-Tick und bereinigter Equity-Basis
+     */
+    static class PeriodReference {
+        final LocalDateTime periodStart;
+        final PerformanceSearchResult searchResult;
+        final TickData referenceTick;
+        final double cleanEquityBasis;
+        
+        PeriodReference(LocalDateTime periodStart, PerformanceSearchResult searchResult, 
+                        TickData referenceTick, double cleanEquityBasis) {
+            this.periodStart = periodStart;
+            this.searchResult = searchResult;
+            this.referenceTick = referenceTick;
+            this.cleanEquityBasis = cleanEquityBasis;
+        }
+        
+        /**
+         * Referenzpunkt aus einem Tick - die bereinigte Equity-Basis ist die Equity am Referenz-Tick
+         * (Ein-/Auszahlungen nach dem Referenzpunkt beeinflussen die Basis nicht)
+         * 
+         * @param referenceTick Referenz-Tick oder null wenn keine Ticks vorhanden sind
+         * @param strategy Beschreibung der Suchstrategie für die Diagnose
+         */
+        static PeriodReference of(LocalDateTime periodStart, TickData referenceTick, String strategy) {
+            if (referenceTick == null) {
+                return new PeriodReference(periodStart, PerformanceSearchResult.noData("keine Ticks"), null, 0.0);
+            }
+            PerformanceSearchResult result = new PerformanceSearchResult(
+                referenceTick.getProfit() + referenceTick.getFloatingProfit(), referenceTick.getTimestamp(), strategy);
+            return new PeriodReference(periodStart, result, referenceTick, referenceTick.getEquity());
+        }
     }
     
     /**
      * Hilfsmethode: Findet den TickData für ein PerformanceSearchResult
+     * VERBESSERT: Binäre Suche über die Zeitspalte des TickDataSet
      */
-    private static TickData findTickForPerformanceResult(List<TickData> ticks, PerformanceSearchResult result) {
+    private static TickData findTickForPerformanceResult(TickDataSet dataSet, PerformanceSearchResult result) {
         if (result == null || !result.hasValidData() || result.getTimestamp() == null) {
             return null;
         }
         
-        for (TickData tick : ticks) {
-            if (tick.getTimestamp().equals(result.getTimestamp())) {
-                return tick;
-            }
-        }
-        return null;
+        TickData tick = dataSet.ceilingTick(result.getTimestamp());
+        return tick != null && tick.getTimestamp().equals(result.getTimestamp()) ? tick : null;
     }
     
     /**
      * PERFORMANCE-BASIERT: Hilfsobjekt für Performance-Suchergebnisse (Profit + FloatingProfit)
      */
-    private static class PerformanceSearchResult {
+    static class PerformanceSearchResult {
         private final Double performance;
         private final LocalDateTime timestamp;
         private final String strategy;
@@ -563,43 +515,34 @@ public class PeriodProfitCalculator {
      * 2. FALLBACK: Suche letzten verfügbaren Tick VOR dem Referenzzeitpunkt
      * 3. Als letzte Option: Verwende ersten Tick
      */
-    private static PerformanceSearchResult findBestPerformanceForReference(List<TickData> ticks, LocalDateTime referenceTime, String purpose, String signalId) {
-        if (ticks == null || ticks.isEmpty()) {
+    private static PerformanceSearchResult findBestPerformanceForReference(TickDataSet dataSet, LocalDateTime referenceTime, String purpose, String signalId) {
+        if (dataSet == null || dataSet.getTickCount() == 0) {
             LOGGER.warning("PERFORMANCE DEBUG: Keine Ticks verfügbar für " + purpose + " von Signal " + signalId + " [PERFORMANCE-BASIERT]");
             return PerformanceSearchResult.noData("keine Ticks");
         }
         
-        LOGGER.info("PERFORMANCE DEBUG: Suche " + purpose + " für " + referenceTime + " in " + ticks.size() + " Ticks (Signal " + signalId + ") [PERFORMANCE-BASIERT]");
-        
-        LocalDateTime firstTickTime = ticks.get(0).getTimestamp();
-        LocalDateTime lastTickTime = ticks.get(ticks.size() - 1).getTimestamp();
-        LOGGER.info("PERFORMANCE DEBUG: Verfügbarer Zeitraum: " + firstTickTime + " bis " + lastTickTime + " [PERFORMANCE-BASIERT]");
+        LOGGER.info("PERFORMANCE DEBUG: Suche " + purpose + " für " + referenceTime + " in " + dataSet.getTickCount() + " Ticks (Signal " + signalId + ") [PERFORMANCE-BASIERT]");
+        LOGGER.info("PERFORMANCE DEBUG: Verfügbarer Zeitraum: " + dataSet.getTimestamp(0) + " bis " + 
+                   dataSet.getTimestamp(dataSet.getTickCount() - 1) + " [PERFORMANCE-BASIERT]");
         
         // Strategie 1: Suche Tick am oder nach dem Referenzzeitpunkt (bevorzugt)
-        for (TickData tick : ticks) {
-            if (!tick.getTimestamp().isBefore(referenceTime)) {
-                double performance = tick.getProfit() + tick.getFloatingProfit();
-                LOGGER.info("PERFORMANCE DEBUG: " + purpose + " - Strategie 1 (ab Referenzzeit): " + performance + 
-                           " (Profit: " + tick.getProfit() + " + Floating: " + tick.getFloatingProfit() + ")" +
-                           " am " + tick.getTimestamp() + " (Signal " + signalId + ") [PERFORMANCE-BASIERT]");
-                return new PerformanceSearchResult(performance, tick.getTimestamp(), 
-                                                 "Strategie 1 (ab " + referenceTime.toLocalDate() + ")");
-            }
+        // VERBESSERT: Binäre Suche statt linearem Durchlauf
+        TickData tick = dataSet.ceilingTick(referenceTime);
+        if (tick != null) {
+            double performance = tick.getProfit() + tick.getFloatingProfit();
+            LOGGER.info("PERFORMANCE DEBUG: " + purpose + " - Strategie 1 (ab Referenzzeit): " + performance + 
+                       " (Profit: " + tick.getProfit() + " + Floating: " + tick.getFloatingProfit() + ")" +
+                       " am " + tick.getTimestamp() + " (Signal " + signalId + ") [PERFORMANCE-BASIERT]");
+            return new PerformanceSearchResult(performance, tick.getTimestamp(), 
+                                             "Strategie 1 (ab " + referenceTime.toLocalDate() + ")");
         }
         
         // Strategie 2: FALLBACK - Suche letzten verfügbaren Tick VOR dem Referenzzeitpunkt
         LOGGER.info("PERFORMANCE DEBUG: " + purpose + " - Kein Tick ab " + referenceTime + " gefunden, suche letzten Tick davor (Signal " + signalId + ") [PERFORMANCE-BASIERT]");
         
-        TickData lastTickBefore = null;
-        for (TickData tick : ticks) {
-            if (tick.getTimestamp().isBefore(referenceTime)) {
-                lastTickBefore = tick;  // Überschreibe mit jedem späteren Tick vor der Referenzzeit
-            } else {
-                break; // Wir haben den Referenzzeitpunkt überschritten
-            }
-        }
-        
-        if (lastTickBefore != null) {
+        int lastBeforeIndex = dataSet.lowerIndex(referenceTime);
+        if (lastBeforeIndex >= 0) {
+            TickData lastTickBefore = dataSet.getTick(lastBeforeIndex);
             double performance = lastTickBefore.getProfit() + lastTickBefore.getFloatingProfit();
             LOGGER.info("PERFORMANCE DEBUG: " + purpose + " - Strategie 2 (letzter vor Referenzzeit): " + performance + 
                        " (Profit: " + lastTickBefore.getProfit() + " + Floating: " + lastTickBefore.getFloatingProfit() + ")" +
@@ -611,7 +554,7 @@ public class PeriodProfitCalculator {
         // Strategie 3: Als absolute letzte Option - verwende ersten verfügbaren Tick
         LOGGER.warning("PERFORMANCE DEBUG: " + purpose + " - Alle Ticks liegen nach " + referenceTime + 
                       ", verwende ersten verfügbaren als Notlösung (Signal " + signalId + ") [PERFORMANCE-BASIERT]");
-        TickData firstTick = ticks.get(0);
+        TickData firstTick = dataSet.getFirstTick();
         double performance = firstTick.getProfit() + firstTick.getFloatingProfit();
         return new PerformanceSearchResult(performance, firstTick.getTimestamp(), 
                                          "Strategie 3 (Notlösung - erster Tick)");
@@ -623,7 +566,7 @@ public class PeriodProfitCalculator {
      * @param referenceDate Das Referenzdatum
      * @return LocalDateTime des letzten Sonntags um 00:00:00
      */
-    private static LocalDateTime getLastSunday(LocalDateTime referenceDate) {
+    static LocalDateTime getLastSunday(LocalDateTime referenceDate) {
         LocalDate date = referenceDate.toLocalDate();
         
         // Wenn heute Sonntag ist, nehme heute
@@ -651,7 +594,7 @@ public class PeriodProfitCalculator {
      * @param referenceDate Das Referenzdatum
      * @return LocalDateTime des 1. des Monats um 00:00:00
      */
-    private static LocalDateTime getFirstOfCurrentMonth(LocalDateTime referenceDate) {
+    static LocalDateTime getFirstOfCurrentMonth(LocalDateTime referenceDate) {
         LocalDate date = referenceDate.toLocalDate();
         LocalDate firstOfMonth = date.withDayOfMonth(1);
         return firstOfMonth.atTime(LocalTime.MIN);
@@ -691,7 +634,7 @@ public class PeriodProfitCalculator {
         diag.append("Week Start: ").append(getLastSunday(now)).append("\n");
         diag.append("Month Start: ").append(getFirstOfCurrentMonth(now)).append("\n");
         
-        TickDataSet dataSet = TickDataLoader.loadTickData(tickFilePath, signalId);
+        TickDataSet dataSet = TickDataCache.getTickData(tickFilePath, signalId);
         if (dataSet != null) {
             diag.append("Tick Count: ").append(dataSet.getTickCount()).append("\n");
             if (dataSet.getTickCount() > 0) {
@@ -705,15 +648,10 @@ public class PeriodProfitCalculator {
                     .append(" (Profit: ").append(lastTick.getProfit())
                     .append(" + Floating: ").append(lastTick.getFloatingProfit()).append(") [PERFORMANCE-BASIERT]\n");
                 
-                // Ein-/Auszahlungsdiagnose
-                List<TickData> ticks = dataSet.getTicks();
-                int depositCount = 0;
-                for (int i = 1; i < ticks.size(); i++) {
-                    if (DepositWithdrawalDetector.isDepositOrWithdrawal(ticks.get(i-1), ticks.get(i))) {
-                        depositCount++;
-                    }
-                }
-                diag.append("Detected Deposits/Withdrawals: ").append(depositCount).append(" transactions\n");
+                // Ein-/Auszahlungsdiagnose (VERBESSERT: aus dem Ein-/Auszahlungs-Index)
+                DepositEventIndex events = DepositEventIndex.open(tickFilePath, signalId);
+                diag.append("Detected Deposits/Withdrawals: ").append(events.getEventCount()).append(" transactions")
+                    .append(String.format(" (net %.2f)", events.getTotalAmount())).append("\n");
             }
         } else {
             diag.append("No tick data available\n");
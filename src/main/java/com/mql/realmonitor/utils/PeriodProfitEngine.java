@@ -0,0 +1,263 @@
+package com.mql.realmonitor.utils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import com.mql.realmonitor.data.TickDataLoader;
+import com.mql.realmonitor.data.TickDataLoader.TickData;
+import com.mql.realmonitor.data.TickSeedPass;
+import com.mql.realmonitor.utils.PeriodProfitCalculator.PeriodReference;
+import com.mql.realmonitor.utils.PeriodProfitCalculator.ProfitResult;
+
+/**
+ * NEU: Zustandsbehaftete Wochen-/Monatsgewinn-Berechnung pro Signal
+ * Hält die Referenz-Ticks für Wochen- und Monatsstart sowie den neuesten Tick. Die Tick-Datei wird
+ * nur beim ersten Öffnen gelesen; danach schreibt der TickDataWriter jeden neuen Tick fort und eine
+ * Abfrage kostet O(1) statt eines Ladens und Durchsuchens der Historie.
+ * 
+ * Referenz eines Zeitraums (wie PeriodProfitCalculator): erster Tick ab Periodenbeginn, solange es den
+ * nicht gibt der letzte Tick davor. Beim Wechsel in eine neue Woche bzw. einen neuen Monat wird der
+ * neueste Tick zur vorläufigen Referenz, bis der erste Tick des neuen Zeitraums eintrifft.
+ */
+public class PeriodProfitEngine {
+    
+    private static final Logger LOGGER = Logger.getLogger(PeriodProfitEngine.class.getName());
+    
+    // Ein Engine pro Tick-Datei - Writer und Tabelle teilen sich den Zustand
+    private static final Map<String, PeriodProfitEngine> OPEN_ENGINES = new ConcurrentHashMap<>();
+    
+    /**
+     * Referenz eines Zeitraums
+     */
+    private static class Period {
+        LocalDateTime start;
+        TickData reference;
+        boolean referenceBeforeStart; // Strategie 2 - wird vom ersten Tick ab Periodenbeginn ersetzt
+        
+        void add(TickData tick) {
+            if (reference == null || referenceBeforeStart) {
+                reference = tick;
+                referenceBeforeStart = tick.getTimestamp().isBefore(start);
+            }
+        }
+        
+        PeriodReference toReference() {
+            String strategy = referenceBeforeStart ? "Strategie 2 (letzter vor " + start.toLocalDate() + ")"
+                                                   : "Strategie 1 (ab " + start.toLocalDate() + ")";
+            return PeriodReference.of(start, reference, strategy);
+        }
+    }
+    
+    private final String tickFilePath;
+    private final String signalId;
+    private final Period week = new Period();
+    private final Period month = new Period();
+    
+    private TickData firstTick;
+    private TickData latestTick;
+    private LocalDateTime latestTime; // Neuester Zeitstempel (bei wiederholter Stunde nicht der von latestTick)
+    private int tickCount;
+    
+    private PeriodProfitEngine(String tickFilePath, String signalId) {
+        this.tickFilePath = tickFilePath;
+        this.signalId = signalId;
+    }
+    
+    /**
+     * Öffnet den Engine einer Tick-Datei (einmal pro Prozess)
+     * Beim ersten Öffnen werden die Referenz-Ticks aus den Tick-Daten ab dem früheren Periodenbeginn bestimmt.
+     * VERBESSERT: Sperre pro Tick-Datei statt global (TickSeedPass.lockFor)
+     * 
+     * @param tickFilePath Pfad der Tick-Datei
+     * @param signalId Die Signal-ID
+     * @return Der Engine (nie null)
+     */
+    public static PeriodProfitEngine open(String tickFilePath, String signalId) {
+        PeriodProfitEngine engine = OPEN_ENGINES.get(tickFilePath);
+        if (engine != null) {
+            return engine;
+        }
+        
+        synchronized (TickSeedPass.lockFor(tickFilePath)) {
+            if (!OPEN_ENGINES.containsKey(tickFilePath)) {
+                TickSeedPass pass = new TickSeedPass(tickFilePath, signalId);
+                join(pass);
+                pass.run();
+            }
+            return OPEN_ENGINES.get(tickFilePath);
+        }
+    }
+    
+    /**
+     * NEU: Meldet den Engine für einen gemeinsamen Durchlauf an (Aufruf unter TickSeedPass.lockFor)
+     * Ist er noch nicht offen, sind nach pass.run() die Referenz-Ticks bestimmt und der Engine ist offen.
+     * 
+     * @param pass Der Durchlauf über die Tick-Historie
+     */
+    public static void join(TickSeedPass pass) {
+        String tickFilePath = pass.getTickFilePath();
+        if (OPEN_ENGINES.containsKey(tickFilePath)) {
+            return;
+        }
+        
+        PeriodProfitEngine engine = new PeriodProfitEngine(tickFilePath, pass.getSignalId());
+        engine.seed(LocalDateTime.now(), pass, false);
+        pass.onFinished(() -> OPEN_ENGINES.put(tickFilePath, engine));
+    }
+    
+    /**
+     * NEU: Prüft ob der Engine einer Tick-Datei bereits offen ist (Abfragen ohne Lesen der Historie)
+     */
+    public static boolean isOpen(String tickFilePath) {
+        return OPEN_ENGINES.containsKey(tickFilePath);
+    }
+    
+    /**
+     * NEU: Verwirft den Engine einer Tick-Datei (nach dem Neuschreiben der Datei)
+     * Beim nächsten Öffnen wird er aus den Tick-Daten neu aufgebaut.
+     */
+    public static void invalidate(String tickFilePath) {
+        synchronized (TickSeedPass.lockFor(tickFilePath)) {
+            OPEN_ENGINES.remove(tickFilePath);
+        }
+    }
+    
+    /**
+     * Nimmt einen neuen Tick auf (O(1))
+     * Ticks, die nicht neuer als der neueste aufgenommene Tick sind, werden ignoriert.
+     * KORRIGIERT: Ausnahme ist die beim Ende der Sommerzeit wiederholte Stunde (siehe TickDataLoader.isNewTick) -
+     * deren Ticks sind trotz älterem Zeitstempel der aktuelle Stand.
+     */
+    public synchronized void add(TickData tick) {
+        if (!TickDataLoader.isNewTick(latestTime, tick.getTimestamp())) {
+            return;
+        }
+        
+        if (firstTick == null) {
+            firstTick = tick;
+        }
+        if (latestTime == null || tick.getTimestamp().isAfter(latestTime)) {
+            latestTime = tick.getTimestamp();
+        }
+        latestTick = tick;
+        tickCount++;
+        week.add(tick);
+        month.add(tick);
+    }
+    
+    /**
+     * Liefert Wochen- und Monatsgewinn zum aktuellen Zeitpunkt
+     * 
+     * @param currency Die Währung für Currency-Berechnungen (optional)
+     * @return ProfitResult mit den berechneten Werten
+     */
+    public synchronized ProfitResult getResult(String currency) {
+        rollOver(LocalDateTime.now());
+        
+        if (tickCount == 0) {
+            LOGGER.warning("CLEAN PROFITS: Keine Tick-Daten verfügbar für Signal " + signalId + " - Datei: " + tickFilePath);
+            return new ProfitResult(0.0, 0.0, 0.0, 0.0, currency, false, false, "Keine Tick-Daten verfügbar: " + tickFilePath, "", "");
+        }
+        
+        if (tickCount < 2) {
+            LOGGER.info("CLEAN PROFITS: Signal " + signalId + " - Nur " + tickCount + " Tick(s) verfügbar, brauche mindestens 2 für Profit-Berechnung");
+            return new ProfitResult(0.0, 0.0, 0.0, 0.0, currency, false, false, "Nicht genügend Daten für Profit-Berechnung", "", "");
+        }
+        
+        return PeriodProfitCalculator.createProfitResult(signalId, currency, latestTick, firstTick.getEquity(),
+                                                         week.toReference(), month.toReference());
+    }
+    
+    /**
+     * Wechselt bei Bedarf in die neue Woche bzw. den neuen Monat
+     * Liegt der neueste Tick vor dem neuen Periodenbeginn, wird er zur vorläufigen Referenz (O(1)).
+     * Andernfalls (Uhr zurückgestellt, Ticks mit Zeitstempeln in der Zukunft) wird neu initialisiert.
+     */
+    private void rollOver(LocalDateTime now) {
+        LocalDateTime weekStart = PeriodProfitCalculator.getLastSunday(now);
+        LocalDateTime monthStart = PeriodProfitCalculator.getFirstOfCurrentMonth(now);
+        boolean weekChanged = !weekStart.equals(week.start);
+        boolean monthChanged = !monthStart.equals(month.start);
+        if (!weekChanged && !monthChanged) {
+            return;
+        }
+        
+        if (latestTick != null && ((weekChanged && !latestTick.getTimestamp().isBefore(weekStart)) ||
+                                   (monthChanged && !latestTick.getTimestamp().isBefore(monthStart)))) {
+            LOGGER.info("PROFIT ENGINE: Periodenwechsel für Signal " + signalId + " nicht fortschreibbar - initialisiere neu");
+            seed(now);
+            return;
+        }
+        
+        LOGGER.info("PROFIT ENGINE: Periodenwechsel für Signal " + signalId + " - Wochenstart " + weekStart +
+                   ", Monatsstart " + monthStart);
+        startPeriod(week, weekStart);
+        startPeriod(month, monthStart);
+    }
+    
+    private void startPeriod(Period period, LocalDateTime start) {
+        if (start.equals(period.start)) {
+            return;
+        }
+        period.start = start;
+        period.reference = latestTick;
+        period.referenceBeforeStart = latestTick != null;
+    }
+    
+    /**
+     * Bestimmt die Referenz-Ticks neu aus den Tick-Daten (eigener Durchlauf, z.B. nach zurückgestellter Uhr)
+     */
+    private void seed(LocalDateTime now) {
+        TickSeedPass pass = new TickSeedPass(tickFilePath, signalId);
+        seed(now, pass, false);
+        pass.run();
+    }
+    
+    /**
+     * Bestimmt die Referenz-Ticks aus den Tick-Daten (wie PeriodProfitCalculator: Ticks ab dem früheren
+     * Periodenbeginn, bei weniger als 2 Ticks die komplette Historie)
+     * VERBESSERT: Die Ticks kommen aus dem gemeinsamen Durchlauf und werden wie neue Ticks aufgenommen -
+     * Referenz ist so der erste Tick ab Periodenbeginn bzw. der letzte davor (siehe Period.add).
+     */
+    private void seed(LocalDateTime now, TickSeedPass pass, boolean fullHistory) {
+        week.start = PeriodProfitCalculator.getLastSunday(now);
+        month.start = PeriodProfitCalculator.getFirstOfCurrentMonth(now);
+        week.reference = null;
+        month.reference = null;
+        firstTick = null;
+        latestTick = null;
+        latestTime = null;
+        tickCount = 0;
+        
+        LocalDateTime windowStart = week.start.isBefore(month.start) ? week.start : month.start;
+        pass.register(fullHistory ? null : windowStart, this::add);
+        pass.onFinished(() -> finishSeed(now, fullHistory));
+    }
+    
+    private void finishSeed(LocalDateTime now, boolean fullHistory) {
+        if (tickCount < 2 && !fullHistory) {
+            TickSeedPass pass = new TickSeedPass(tickFilePath, signalId);
+            seed(now, pass, true);
+            pass.run();
+            return;
+        }
+        
+        if (tickCount == 0) {
+            LOGGER.info("PROFIT ENGINE: Keine Tick-Daten für Signal " + signalId + " - warte auf neue Ticks");
+            return;
+        }
+        
+        // KORRIGIERT: Erster Tick der kompletten Historie (Basis der initialen Equity), nicht des Zeitfensters
+        if (!fullHistory) {
+            TickData historyFirstTick = TickDataLoader.loadFirstTick(tickFilePath, signalId);
+            if (historyFirstTick != null) {
+                firstTick = historyFirstTick;
+            }
+        }
+        
+        LOGGER.info("PROFIT ENGINE: Initialisiert für Signal " + signalId + " aus " + tickCount + " Ticks - Wochen-Referenz " +
+                   week.reference.getTimestamp() + ", Monats-Referenz " + month.reference.getTimestamp());
+    }
+}
@@ -0,0 +1,331 @@
+package com.mql.realmonitor.utils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import com.mql.realmonitor.data.TickDataLoader;
+import com.mql.realmonitor.data.TickDataLoader.TickData;
+import com.mql.realmonitor.data.TickSeedPass;
+
+/**
+ * NEU: Inkrementelle Risiko-Kennzahlen pro Signal (Max Drawdown, Volatilität, Sharpe, Sortino, Recovery Factor)
+ * Die Historie wird nur beim ersten Öffnen einmal gestreamt, danach schreibt der TickDataWriter jeden
+ * neuen Tick fort (O(1) pro Tick und Abfrage, kein Neuladen der Tick-Datei).
+ * 
+ * PERFORMANCE-BASIERT wie PeriodProfitCalculator: Die Wertkurve ist der Gesamtwert des ersten Ticks plus
+ * die Änderung von Profit + FloatingProfit seitdem - Ein-/Auszahlungen verfälschen die Kennzahlen nicht.
+ * - Max Drawdown: größter Rückgang der Wertkurve gegenüber ihrem bisherigen Höchststand
+ * - Renditen: Tagesrenditen der Wertkurve (Tagesschluss zu Tagesschluss), der laufende Tag zählt vorläufig mit
+ * - Kalendertage ohne Ticks (Wochenende, Feiertage, Ausfälle) gehen mit Rendite 0 ein - die Wertkurve ist an
+ *   diesen Tagen unverändert. Nur so passt die Annualisierung mit 365 Kalendertagen zu den Renditen.
+ * - Volatilität, Sharpe und Sortino annualisiert mit 365 Tagen, risikofreier Zins 0
+ * - Recovery Factor: Nettogewinn / maximaler Drawdown (Betrag)
+ */
+public class RiskMetricsEngine {
+    
+    private static final Logger LOGGER = Logger.getLogger(RiskMetricsEngine.class.getName());
+    
+    private static final double DAYS_PER_YEAR = 365.0;
+    
+    // Mindestanzahl Tagesrenditen für Volatilität, Sharpe und Sortino
+    private static final int MIN_RETURNS = 2;
+    
+    // Ein Engine pro Tick-Datei - Writer und Tabelle teilen sich den Zustand
+    private static final Map<String, RiskMetricsEngine> OPEN_ENGINES = new ConcurrentHashMap<>();
+    
+    /**
+     * Laufende Statistik der Tagesrenditen (Welford für Mittelwert und Varianz)
+     */
+    private static class ReturnStatistics {
+        int count;
+        double mean;
+        double m2;
+        double downsideSquares;
+        
+        void add(double value) {
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+            if (value < 0) {
+                downsideSquares += value * value;
+            }
+        }
+        
+        ReturnStatistics copy() {
+            ReturnStatistics copy = new ReturnStatistics();
+            copy.count = count;
+            copy.mean = mean;
+            copy.m2 = m2;
+            copy.downsideSquares = downsideSquares;
+            return copy;
+        }
+    }
+    
+    /**
+     * Ergebnis-Klasse für Risiko-Kennzahlen
+     */
+    public static class RiskMetrics {
+        private final double maxDrawdownPercent;
+        private final double volatilityPercent;
+        private final double sharpeRatio;
+        private final double sortinoRatio;
+        private final double recoveryFactor;
+        private final int tickCount;
+        private final int returnCount;
+        
+        RiskMetrics(double maxDrawdownPercent, double volatilityPercent, double sharpeRatio, double sortinoRatio,
+                    double recoveryFactor, int tickCount, int returnCount) {
+            this.maxDrawdownPercent = maxDrawdownPercent;
+            this.volatilityPercent = volatilityPercent;
+            this.sharpeRatio = sharpeRatio;
+            this.sortinoRatio = sortinoRatio;
+            this.recoveryFactor = recoveryFactor;
+            this.tickCount = tickCount;
+            this.returnCount = returnCount;
+        }
+        
+        public double getMaxDrawdownPercent() { return maxDrawdownPercent; }
+        public double getVolatilityPercent() { return volatilityPercent; }
+        public double getSharpeRatio() { return sharpeRatio; }
+        public double getSortinoRatio() { return sortinoRatio; }
+        public double getRecoveryFactor() { return recoveryFactor; }
+        public int getTickCount() { return tickCount; }
+        public int getReturnCount() { return returnCount; }
+        
+        /**
+         * @return true wenn genügend Tagesrenditen für Volatilität, Sharpe und Sortino vorliegen
+         */
+        public boolean hasReturnData() {
+            return returnCount >= MIN_RETURNS;
+        }
+        
+        /**
+         * Formatiert den maximalen Drawdown für die Anzeige (negativ)
+         */
+        public String getFormattedMaxDrawdown() {
+            if (tickCount == 0) {
+                return "N/A";
+            }
+            return String.format("%.2f%%", maxDrawdownPercent > 0 ? -maxDrawdownPercent : 0.0);
+        }
+        
+        public String getFormattedVolatility() {
+            return hasReturnData() ? String.format("%.2f%%", volatilityPercent) : "N/A";
+        }
+        
+        public String getFormattedSharpeRatio() {
+            return formatRatio(sharpeRatio);
+        }
+        
+        public String getFormattedSortinoRatio() {
+            return formatRatio(sortinoRatio);
+        }
+        
+        public String getFormattedRecoveryFactor() {
+            return Double.isNaN(recoveryFactor) ? "N/A" : String.format("%.2f", recoveryFactor);
+        }
+        
+        private String formatRatio(double ratio) {
+            return hasReturnData() && !Double.isNaN(ratio) ? String.format("%.2f", ratio) : "N/A";
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("RiskMetrics{maxDD=%s, vol=%s, sharpe=%s, sortino=%s, recovery=%s, ticks=%d, returns=%d}",
+                               getFormattedMaxDrawdown(), getFormattedVolatility(), getFormattedSharpeRatio(),
+                               getFormattedSortinoRatio(), getFormattedRecoveryFactor(), tickCount, returnCount);
+        }
+    }
+    
+    private final String tickFilePath;
+    private final String signalId;
+    
+    private LocalDateTime latestTime;
+    private int tickCount;
+    
+    // Wertkurve: Gesamtwert des ersten Ticks + Performance-Änderung seitdem
+    private double baseValue;
+    private double basePerformance;
+    private double lastValue;
+    
+    // Drawdown
+    private double peakValue;
+    private double maxDrawdownAmount;
+    private double maxDrawdownPercent;
+    
+    // Tagesrenditen (abgeschlossene Tage)
+    private LocalDate currentDay;
+    private double dayStartValue;
+    private final ReturnStatistics returns = new ReturnStatistics();
+    
+    private RiskMetricsEngine(String tickFilePath, String signalId) {
+        this.tickFilePath = tickFilePath;
+        this.signalId = signalId;
+    }
+    
+    /**
+     * Öffnet den Engine einer Tick-Datei (einmal pro Prozess)
+     * Beim ersten Öffnen wird die Tick-Historie einmal lazy gestreamt (konstanter Speicher).
+     * VERBESSERT: Sperre pro Tick-Datei statt global (TickSeedPass.lockFor)
+     * 
+     * @param tickFilePath Pfad der Tick-Datei
+     * @param signalId Die Signal-ID
+     * @return Der Engine (nie null)
+     */
+    public static RiskMetricsEngine open(String tickFilePath, String signalId) {
+        RiskMetricsEngine engine = OPEN_ENGINES.get(tickFilePath);
+        if (engine != null) {
+            return engine;
+        }
+        
+        synchronized (TickSeedPass.lockFor(tickFilePath)) {
+            if (!OPEN_ENGINES.containsKey(tickFilePath)) {
+                TickSeedPass pass = new TickSeedPass(tickFilePath, signalId);
+                join(pass);
+                pass.run();
+            }
+            return OPEN_ENGINES.get(tickFilePath);
+        }
+    }
+    
+    /**
+     * NEU: Meldet den Engine für einen gemeinsamen Durchlauf an (Aufruf unter TickSeedPass.lockFor)
+     * Ist er noch nicht offen, ist er nach pass.run() aus der kompletten Historie aufgebaut und offen.
+     * 
+     * @param pass Der Durchlauf über die Tick-Historie
+     */
+    public static void join(TickSeedPass pass) {
+        String tickFilePath = pass.getTickFilePath();
+        if (OPEN_ENGINES.containsKey(tickFilePath)) {
+            return;
+        }
+        
+        RiskMetricsEngine engine = new RiskMetricsEngine(tickFilePath, pass.getSignalId());
+        engine.seed(pass);
+        pass.onFinished(() -> OPEN_ENGINES.put(tickFilePath, engine));
+    }
+    
+    /**
+     * NEU: Prüft ob der Engine einer Tick-Datei bereits offen ist (Abfragen ohne Lesen der Historie)
+     */
+    public static boolean isOpen(String tickFilePath) {
+        return OPEN_ENGINES.containsKey(tickFilePath);
+    }
+    
+    /**
+     * Verwirft den Engine einer Tick-Datei (nach dem Neuschreiben der Datei)
+     * Beim nächsten Öffnen wird er aus den Tick-Daten neu aufgebaut.
+     */
+    public static void invalidate(String tickFilePath) {
+        synchronized (TickSeedPass.lockFor(tickFilePath)) {
+            OPEN_ENGINES.remove(tickFilePath);
+        }
+    }
+    
+    /**
+     * Nimmt einen neuen Tick auf (O(1))
+     * Ticks, die nicht neuer als der neueste aufgenommene Tick sind, werden ignoriert.
+     * KORRIGIERT: Ausnahme ist die beim Ende der Sommerzeit wiederholte Stunde (siehe TickDataLoader.isNewTick) -
+     * deren Ticks werden in Eingangsreihenfolge fortgeschrieben.
+     */
+    public synchronized void add(TickData tick) {
+        if (!TickDataLoader.isNewTick(latestTime, tick.getTimestamp())) {
+            return;
+        }
+        if (latestTime == null || tick.getTimestamp().isAfter(latestTime)) {
+            latestTime = tick.getTimestamp();
+        }
+        
+        double performance = tick.getProfit() + tick.getFloatingProfit();
+        LocalDate day = tick.getTimestamp().toLocalDate();
+        
+        if (tickCount == 0) {
+            baseValue = tick.getTotalValue();
+            basePerformance = performance;
+            lastValue = baseValue;
+            peakValue = baseValue;
+            dayStartValue = baseValue;
+            currentDay = day;
+        } else if (day.isAfter(currentDay)) {
+            // Tageswechsel - Rendite des abgeschlossenen Tages übernehmen
+            addDailyReturn(returns, dayStartValue, lastValue);
+            // KORRIGIERT: Kalendertage ohne Ticks als Rendite 0 (passend zur Annualisierung mit 365 Tagen)
+            if (lastValue > 0) {
+                for (LocalDate missing = currentDay.plusDays(1); missing.isBefore(day); missing = missing.plusDays(1)) {
+                    returns.add(0.0);
+                }
+            }
+            dayStartValue = lastValue;
+            currentDay = day;
+        }
+        
+        lastValue = baseValue + (performance - basePerformance);
+        if (lastValue > peakValue) {
+            peakValue = lastValue;
+        } else {
+            double drawdown = peakValue - lastValue;
+            if (drawdown > maxDrawdownAmount) {
+                maxDrawdownAmount = drawdown;
+            }
+            if (peakValue > 0 && drawdown / peakValue * 100.0 > maxDrawdownPercent) {
+                maxDrawdownPercent = drawdown / peakValue * 100.0;
+            }
+        }
+        
+        tickCount++;
+    }
+    
+    /**
+     * Liefert die Risiko-Kennzahlen zum aktuellen Stand (O(1))
+     * Der laufende Tag geht mit seiner vorläufigen Rendite ein.
+     */
+    public synchronized RiskMetrics getMetrics() {
+        if (tickCount == 0) {
+            return new RiskMetrics(0.0, 0.0, Double.NaN, Double.NaN, Double.NaN, 0, 0);
+        }
+        
+        ReturnStatistics stats = returns.copy();
+        addDailyReturn(stats, dayStartValue, lastValue);
+        
+        double annualization = Math.sqrt(DAYS_PER_YEAR);
+        double volatility = Double.NaN;
+        double sharpe = Double.NaN;
+        double sortino = Double.NaN;
+        if (stats.count >= MIN_RETURNS) {
+            double stdDev = Math.sqrt(stats.m2 / (stats.count - 1));
+            double downsideDeviation = Math.sqrt(stats.downsideSquares / stats.count);
+            volatility = stdDev * annualization * 100.0;
+            sharpe = stdDev > 0 ? stats.mean / stdDev * annualization : Double.NaN;
+            sortino = downsideDeviation > 0 ? stats.mean / downsideDeviation * annualization : Double.NaN;
+        }
+        
+        double netProfit = lastValue - baseValue;
+        double recoveryFactor = maxDrawdownAmount > 0 ? netProfit / maxDrawdownAmount : Double.NaN;
+        
+        return new RiskMetrics(maxDrawdownPercent, volatility, sharpe, sortino, recoveryFactor, tickCount, stats.count);
+    }
+    
+    private static void addDailyReturn(ReturnStatistics stats, double startValue, double endValue) {
+        if (startValue > 0) {
+            stats.add((endValue - startValue) / startValue);
+        }
+    }
+    
+    /**
+     * Baut den Zustand aus der Tick-Historie auf (im gemeinsamen Durchlauf gestreamt, konstanter Speicher)
+     */
+    private void seed(TickSeedPass pass) {
+        pass.register(null, this::add);
+        pass.onFinished(() -> {
+            if (tickCount == 0) {
+                LOGGER.info("RISK METRICS: Keine Tick-Daten für Signal " + signalId + " - warte auf neue Ticks");
+                return;
+            }
+            LOGGER.info("RISK METRICS: Initialisiert für Signal " + signalId + " aus " + tickCount + " Ticks - " + getMetrics());
+        });
+    }
+}
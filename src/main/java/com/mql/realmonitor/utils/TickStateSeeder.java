@@ -0,0 +1,103 @@
+package com.mql.realmonitor.utils;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.mql.realmonitor.data.DepositEventIndex;
+import com.mql.realmonitor.data.TickPeakIndex;
+import com.mql.realmonitor.data.TickRollupStore;
+import com.mql.realmonitor.data.TickSeedPass;
+
+/**
+ * NEU: Öffnet alle fortgeschriebenen Zustände eines Signals in einem gemeinsamen Durchlauf
+ * (TickRollupStore, PeriodProfitEngine, TickPeakIndex, DepositEventIndex, RiskMetricsEngine)
+ * Statt dass jeder Zustand beim ersten Tick die Historie selbst liest, wird sie über TickSeedPass
+ * einmal gestreamt - unter der Sperre der Tick-Datei, andere Signale laufen ungehindert weiter.
+ * 
+ * Die GUI öffnet über openInBackground, damit der SWT-Thread nie die Tick-Historie liest.
+ */
+public class TickStateSeeder {
+    
+    private static final Logger LOGGER = Logger.getLogger(TickStateSeeder.class.getName());
+    
+    // Ein niedrig priorisierter Hintergrund-Thread - der Aufbau konkurriert nicht mit dem Monitoring
+    private static final ExecutorService SEED_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "TickStateSeeder-Worker");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+    
+    // Tick-Dateien, deren Aufbau im Hintergrund bereits ansteht
+    private static final Set<String> PENDING = ConcurrentHashMap.newKeySet();
+    
+    /**
+     * Prüft ob alle Zustände einer Tick-Datei offen sind (Abfragen lesen dann nicht mehr die Historie)
+     * 
+     * @param tickFilePath Pfad der Tick-Datei
+     * @return true wenn alle Zustände offen sind
+     */
+    public static boolean isOpen(String tickFilePath) {
+        return TickRollupStore.isOpen(tickFilePath) && PeriodProfitEngine.isOpen(tickFilePath) &&
+               TickPeakIndex.isOpen(tickFilePath) && DepositEventIndex.isOpen(tickFilePath) &&
+               RiskMetricsEngine.isOpen(tickFilePath);
+    }
+    
+    /**
+     * Öffnet alle noch nicht offenen Zustände einer Tick-Datei in einem Durchlauf über die Historie
+     * 
+     * @param tickFilePath Pfad der Tick-Datei
+     * @param signalId Die Signal-ID
+     */
+    public static void open(String tickFilePath, String signalId) {
+        if (isOpen(tickFilePath)) {
+            return;
+        }
+        
+        synchronized (TickSeedPass.lockFor(tickFilePath)) {
+            TickSeedPass pass = new TickSeedPass(tickFilePath, signalId);
+            TickRollupStore.join(pass);
+            PeriodProfitEngine.join(pass);
+            TickPeakIndex.join(pass);
+            DepositEventIndex.join(pass);
+            RiskMetricsEngine.join(pass);
+            
+            long startTime = System.currentTimeMillis();
+            int streamed = pass.run();
+            LOGGER.info("Zustände für Signal " + signalId + " geöffnet: " + streamed + " Ticks in " +
+                       (System.currentTimeMillis() - startTime) + "ms gelesen");
+        }
+    }
+    
+    /**
+     * Öffnet alle Zustände einer Tick-Datei im Hintergrund (für den SWT-Thread)
+     * Steht der Aufbau für die Datei bereits an, wird er nicht erneut eingeplant.
+     * 
+     * @param tickFilePath Pfad der Tick-Datei
+     * @param signalId Die Signal-ID
+     * @param onOpened Wird danach im Hintergrund-Thread aufgerufen (optional)
+     */
+    public static void openInBackground(String tickFilePath, String signalId, Runnable onOpened) {
+        if (!PENDING.add(tickFilePath)) {
+            return;
+        }
+        
+        SEED_EXECUTOR.execute(() -> {
+            try {
+                open(tickFilePath, signalId);
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Fehler beim Öffnen der Zustände für Signal " + signalId, e);
+            } finally {
+                PENDING.remove(tickFilePath);
+            }
+            
+            if (onOpened != null) {
+                onOpened.run();
+            }
+        });
+    }
+}